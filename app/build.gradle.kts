@@ -15,6 +15,13 @@ android {
         versionName = "1.0"
 
         testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+
+        // Room のスキーマ(JSON)を出力し、マイグレーションの検証に使う
+        javaCompileOptions {
+            annotationProcessorOptions {
+                arguments += mapOf("room.schemaLocation" to "$projectDir/schemas")
+            }
+        }
     }
 
     buildTypes {
@@ -26,6 +33,16 @@ android {
             )
         }
     }
+    // マイグレーションのテスト(MigrationTestHelper)が出力済みのスキーマを読み込めるようにする
+    sourceSets {
+        getByName("androidTest").assets.srcDir("$projectDir/schemas")
+    }
+    // ベンチマーク(TitleMatcherBenchmarkTest)は -Pbenchmark を指定した場合のみ実行する
+    testOptions {
+        unitTests.all {
+            it.systemProperty("bookapp.benchmark", project.hasProperty("benchmark").toString())
+        }
+    }
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
@@ -58,6 +75,7 @@ dependencies {
     implementation("androidx.room:room-runtime:2.6.1")
     implementation("androidx.room:room-ktx:2.6.1")
     annotationProcessor("androidx.room:room-compiler:2.6.1")
+    androidTestImplementation("androidx.room:room-testing:2.6.1")
     // Core Android dependencies
     implementation("androidx.core:core-ktx:1.12.0")
     implementation("androidx.appcompat:appcompat:1.6.1")
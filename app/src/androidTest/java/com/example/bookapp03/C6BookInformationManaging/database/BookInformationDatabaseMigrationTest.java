@@ -0,0 +1,136 @@
+package com.example.bookapp03.C6BookInformationManaging.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.room.Room;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+/**
+ * BookInformationDatabaseのマイグレーションの計装テスト
+ * - 出力済みのスキーマ(app/schemas)から version 1 のデータベースを作成し、1 → 5 まで1段ずつ移行して
+ *   各バージョンのスキーマと一致することを検証
+ * - 移行前に登録した行が残り、version 3 で書籍メタデータのタイトル・表紙URLが summary に引き継がれることを確認
+ */
+@RunWith(AndroidJUnit4.class)
+public class BookInformationDatabaseMigrationTest {
+
+    private static final String TEST_DB = "migration-test";
+
+    @Rule
+    public MigrationTestHelper helper = new MigrationTestHelper(
+            InstrumentationRegistry.getInstrumentation(),
+            BookInformationDatabase.class);
+
+    @Test
+    public void testMigrate1To5_eachStepMatchesSchemaAndKeepsRows() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 1);
+        insertSummary(db, "u1", "vol1");
+        insertSummary(db, "u1", "vol2");
+        insertHighlightMemo(db, "u1", "vol1", 12, 3, "メモ");
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 2, true, BookInformationDatabase.MIGRATION_1_2);
+        ContentValues metadata = new ContentValues();
+        metadata.put("volumeId", "vol1");
+        metadata.put("title", "タイトル");
+        metadata.put("coverImageUrl", "https://example.com/vol1.jpg");
+        metadata.put("fetchedAt", 1L);
+        db.insert("volume_metadata", SQLiteDatabase.CONFLICT_ABORT, metadata);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 3, true, BookInformationDatabase.MIGRATION_2_3);
+        try (Cursor cursor = db.query("SELECT `volumeId`, `title`, `coverImageUrl` FROM `summary` ORDER BY `volumeId`")) {
+            assertTrue(cursor.moveToNext());
+            assertEquals("vol1", cursor.getString(0));
+            assertEquals("タイトル", cursor.getString(1));
+            assertEquals("https://example.com/vol1.jpg", cursor.getString(2));
+            // 書籍メタデータがない行は未保存(null)のまま
+            assertTrue(cursor.moveToNext());
+            assertEquals("vol2", cursor.getString(0));
+            assertTrue(cursor.isNull(1));
+            assertTrue(cursor.isNull(2));
+        }
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 4, true, BookInformationDatabase.MIGRATION_3_4);
+        ContentValues isbn = new ContentValues();
+        isbn.put("isbn13", "9784000000000");
+        isbn.put("volumeId", "vol1");
+        isbn.put("resolvedAt", 1L);
+        db.insert("isbn_volume_index", SQLiteDatabase.CONFLICT_ABORT, isbn);
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 5, true, BookInformationDatabase.MIGRATION_4_5);
+        try (Cursor cursor = db.query("SELECT `page`, `line`, `memo`, `createdAt` FROM `highlight_memo`")) {
+            assertTrue(cursor.moveToNext());
+            assertEquals(12, cursor.getInt(0));
+            assertEquals(3, cursor.getInt(1));
+            assertEquals("メモ", cursor.getString(2));
+            // 既存のメモの登録日時は 0
+            assertEquals(0L, cursor.getLong(3));
+        }
+        try (Cursor cursor = db.query("SELECT COUNT(*) FROM `isbn_volume_index`")) {
+            assertTrue(cursor.moveToNext());
+            assertEquals(1, cursor.getInt(0));
+        }
+        db.close();
+    }
+
+    @Test
+    public void testMigrate1To5_openedByRoomWithAllMigrations() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 1);
+        insertSummary(db, "u1", "vol1");
+        db.close();
+
+        BookInformationDatabase database = Room.databaseBuilder(
+                        InstrumentationRegistry.getInstrumentation().getTargetContext(),
+                        BookInformationDatabase.class,
+                        TEST_DB)
+                .addMigrations(
+                        BookInformationDatabase.MIGRATION_1_2,
+                        BookInformationDatabase.MIGRATION_2_3,
+                        BookInformationDatabase.MIGRATION_3_4,
+                        BookInformationDatabase.MIGRATION_4_5)
+                .allowMainThreadQueries()
+                .build();
+        helper.closeWhenFinished(database);
+
+        // 開く時点で Room がコンパイル済みのスキーマと照合する
+        SummaryEntity summary = database.summaryDao().getSummary("u1", "vol1");
+        assertEquals("vol1", summary.volumeId);
+    }
+
+    private static void insertSummary(SupportSQLiteDatabase db, String uid, String volumeId) {
+        ContentValues values = new ContentValues();
+        values.put("uid", uid);
+        values.put("volumeId", volumeId);
+        values.put("overallSummary", "まとめ");
+        values.put("isPublic", 1);
+        db.insert("summary", SQLiteDatabase.CONFLICT_ABORT, values);
+    }
+
+    private static void insertHighlightMemo(SupportSQLiteDatabase db, String uid, String volumeId,
+                                            int page, int line, String memo) {
+        ContentValues values = new ContentValues();
+        values.put("uid", uid);
+        values.put("volumeId", volumeId);
+        values.put("page", page);
+        values.put("line", line);
+        values.put("memo", memo);
+        db.insert("highlight_memo", SQLiteDatabase.CONFLICT_ABORT, values);
+    }
+}
@@ -8,17 +8,16 @@
  * 2025/06/15 増田学斗 新規作成
  * 2025/07/07 増田学斗 Base64形式でアイコンを保存するよう改修
  * 2025/07/07 増田学斗 ログアウト状態でのデータ表示対応（Intent経由）
+ * 2026/10/18 増田学斗 アイコン画像を縮小・圧縮して保存し、表示時は AvatarImagePipeline でデコードするよう変更
+ * 2026/10/18 増田学斗 アイコン画像を user_avatars に分けて保存し、変更した場合のみ書き込むよう変更
  */
 package com.example.bookapp03.C1UIProcessing;
 
 import android.app.Activity;
 import android.content.Intent;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.net.Uri;
 import android.os.Bundle;
 import android.provider.MediaStore;
-import android.util.Base64;
 import android.util.Log;
 import android.widget.Button;
 import android.widget.EditText;
@@ -26,15 +25,12 @@ import android.widget.ImageView;
 import android.widget.Toast;
 
 import com.example.bookapp03.R;
+import com.example.bookapp03.C5UserInformationManaging.AvatarImagePipeline;
+import com.example.bookapp03.C5UserInformationManaging.UserProfileStore;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.FirebaseFirestore;
 
-import java.io.ByteArrayOutputStream;
-import java.io.InputStream;
-import java.util.HashMap;
-import java.util.Map;
-
 public class AccountSettingActivity extends Activity {
 
     /**
@@ -77,6 +73,26 @@ public class AccountSettingActivity extends Activity {
      */
     private String iconBase64 = null;
 
+    /**
+     * 選択された画像を変換中かどうか（変換が終わるまで保存しない）
+     */
+    private boolean isEncodingImage = false;
+
+    /**
+     * この画面でアイコン画像を選び直したかどうか（選び直した場合のみアイコン画像を保存する）
+     */
+    private boolean isIconChanged = false;
+
+    /**
+     * Firestore上のユーザー情報の読み書き
+     */
+    private final UserProfileStore userProfileStore = new UserProfileStore();
+
+    /**
+     * アイコン画像の変換・デコード
+     */
+    private final AvatarImagePipeline avatarImagePipeline = AvatarImagePipeline.getInstance();
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -130,19 +146,29 @@ public class AccountSettingActivity extends Activity {
         FirebaseFirestore db = FirebaseFirestore.getInstance();
 
         if (uid != null) {
-            // ログイン状態 → Firestoreから取得
-            db.collection("users").document(uid).get().addOnSuccessListener(document -> {
+            // ログイン状態 → Firestoreから取得（ニックネームとアイコン画像は別のドキュメント）
+            db.collection(UserProfileStore.USERS).document(uid).get().addOnSuccessListener(document -> {
                 if (document.exists()) {
-                    String nickname = document.getString("nickname");
-                    String iconBase64Str = document.getString("iconBase64");
-
+                    String nickname = document.getString(UserProfileStore.FIELD_NICKNAME);
                     if (nickname != null) editTextNickname.setText(nickname);
-                    if (iconBase64Str != null && !iconBase64Str.isEmpty()) {
-                        iconBase64 = iconBase64Str;
-                        showImageFromBase64(iconBase64Str);
-                    }
                 }
             }).addOnFailureListener(e -> Log.e("AccountSetting", "Firestore読み取り失敗", e));
+
+            userProfileStore.loadAvatar(uid, new UserProfileStore.AvatarCallback() {
+                @Override
+                public void onAvatarLoaded(String iconBase64Str) {
+                    if (iconBase64Str == null || iconBase64Str.isEmpty() || isIconChanged || isEncodingImage) {
+                        return;
+                    }
+                    iconBase64 = iconBase64Str;
+                    showImageFromBase64(uid, iconBase64Str);
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    Log.e("AccountSetting", "アイコン画像の読み取り失敗", e);
+                }
+            });
         } else {
             // ログアウト状態 → Intentから受け取り
             String nickname = getIntent().getStringExtra("nickname");
@@ -151,26 +177,30 @@ public class AccountSettingActivity extends Activity {
             if (nickname != null) editTextNickname.setText(nickname);
             if (iconBase64Str != null && !iconBase64Str.isEmpty()) {
                 iconBase64 = iconBase64Str;
-                showImageFromBase64(iconBase64Str);
+                showImageFromBase64(null, iconBase64Str);
             }
         }
     }
 
     /**
-     * Base64文字列からBitmapに変換し、ImageViewに表示
+     * Base64文字列を表示サイズでデコードし、ImageViewに表示
      */
-    private void showImageFromBase64(String base64) {
-        try {
-            byte[] decodedBytes = Base64.decode(base64, Base64.DEFAULT);
-            Bitmap bitmap = BitmapFactory.decodeByteArray(decodedBytes, 0, decodedBytes.length);
+    private void showImageFromBase64(String uid, String base64) {
+        avatarImagePipeline.decodeAsync(uid, base64, bitmap -> {
+            if (bitmap == null) {
+                Log.e("AccountSetting", "画像表示失敗");
+                return;
+            }
+            if (isEncodingImage || !base64.equals(iconBase64)) {
+                // デコード中に別の画像が選択された
+                return;
+            }
             imageViewIcon.setImageBitmap(bitmap);
-        } catch (Exception e) {
-            Log.e("AccountSetting", "画像表示失敗", e);
-        }
+        });
     }
 
     /**
-     * ギャラリーから選択された画像をBase64に変換
+     * ギャラリーから選択された画像をアイコンの大きさに縮小・圧縮し、Base64に変換
      */
     @Override
     protected void onActivityResult(int requestCode, int resultCode, Intent data) {
@@ -178,31 +208,23 @@ public class AccountSettingActivity extends Activity {
 
         if (requestCode == REQUEST_CODE_IMAGE_PICK && resultCode == RESULT_OK && data != null) {
             selectedImageUri = data.getData();
-            imageViewIcon.setImageURI(selectedImageUri);  // 仮表示
-            iconBase64 = convertImageToBase64(selectedImageUri);
-        }
-    }
-
-    /**
-     * 画像をBase64形式に変換して返す
-     */
-    private String convertImageToBase64(Uri imageUri) {
-        try {
-            InputStream inputStream = getContentResolver().openInputStream(imageUri);
-            ByteArrayOutputStream byteBuffer = new ByteArrayOutputStream();
-
-            byte[] buffer = new byte[1024];
-            int len;
-            while ((len = inputStream.read(buffer)) != -1) {
-                byteBuffer.write(buffer, 0, len);
-            }
-            inputStream.close();
-
-            byte[] imageBytes = byteBuffer.toByteArray();
-            return Base64.encodeToString(imageBytes, Base64.DEFAULT);
-        } catch (Exception e) {
-            Log.e("AccountSetting", "画像Base64変換失敗", e);
-            return null;
+            Uri imageUri = selectedImageUri;
+            isEncodingImage = true;
+            avatarImagePipeline.encodeAsync(getContentResolver(), imageUri, (base64, bitmap) -> {
+                if (!imageUri.equals(selectedImageUri)) {
+                    // 変換中に別の画像が選択された
+                    return;
+                }
+                isEncodingImage = false;
+                if (base64 == null) {
+                    Log.e("AccountSetting", "画像Base64変換失敗");
+                    Toast.makeText(this, "画像を読み込めませんでした", Toast.LENGTH_SHORT).show();
+                    return;
+                }
+                iconBase64 = base64;
+                isIconChanged = true;
+                imageViewIcon.setImageBitmap(bitmap);
+            });
         }
     }
 
@@ -217,6 +239,11 @@ public class AccountSettingActivity extends Activity {
             return;
         }
 
+        if (isEncodingImage) {
+            Toast.makeText(this, "画像を処理しています。しばらくお待ちください", Toast.LENGTH_SHORT).show();
+            return;
+        }
+
         if (iconBase64 == null) {
             Toast.makeText(this, "アイコン画像を選択してください", Toast.LENGTH_SHORT).show();
             return;
@@ -229,19 +256,12 @@ public class AccountSettingActivity extends Activity {
         }
 
         String uid = user.getUid();
-        Map<String, Object> userMap = new HashMap<>();
-        userMap.put("nickname", nickname);
-        userMap.put("iconBase64", iconBase64);
-
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-        db.collection("users").document(uid).update(userMap).addOnSuccessListener(unused -> {
+        userProfileStore.saveProfile(uid, nickname, isIconChanged ? iconBase64 : null).addOnSuccessListener(unused -> {
             Log.d("AccountSetting", "ユーザー情報をFirestoreに保存しました");
 
             if (isFirstTime) {
                 // 初回設定ならジャンル選択画面へ遷移
                 Intent intent = new Intent(this, GenreSelectionActivity.class);
-                intent.putExtra("nickname", nickname);
-                intent.putExtra("iconBase64", iconBase64);
                 intent.putExtra("isFirstTime", true);
                 startActivity(intent);
                 finish();
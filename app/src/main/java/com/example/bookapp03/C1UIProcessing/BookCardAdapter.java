@@ -6,6 +6,7 @@
  * 横スクロールリストなどで書籍のサムネイルとタイトルを表示します。
  * 履歴:
  * 2025/06/30 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 感想の件数のバッジを表示するよう変更
  */
 package com.example.bookapp03.C1UIProcessing;
 
@@ -22,7 +23,9 @@ import com.bumptech.glide.Glide;
 import com.example.bookapp03.R;
 import com.example.bookapp03.C4SearchProcessing.Book;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public class BookCardAdapter extends RecyclerView.Adapter<BookCardAdapter.BookViewHolder> {
 
@@ -36,6 +39,11 @@ public class BookCardAdapter extends RecyclerView.Adapter<BookCardAdapter.BookVi
      */
     private OnBookClickListener listener;
 
+    /**
+     * ボリュームID → 感想の件数。件数が分からない書籍は含みません。
+     */
+    private Map<String, Long> reviewCounts = Collections.emptyMap();
+
     /**
      * 書籍カードのクリックイベントを処理するためのインターフェースです。
      */
@@ -69,6 +77,26 @@ public class BookCardAdapter extends RecyclerView.Adapter<BookCardAdapter.BookVi
         notifyDataSetChanged();
     }
 
+    /**
+     * 書籍ごとの感想の件数を設定し、バッジの表示を更新します。
+     *
+     * @param counts ボリュームID → 感想の件数
+     */
+    public void setReviewCounts(Map<String, Long> counts) {
+        this.reviewCounts = counts != null ? counts : Collections.emptyMap();
+        notifyDataSetChanged();
+    }
+
+    /**
+     * 書籍の感想の件数を返します。
+     *
+     * @param volumeId ボリュームID
+     * @return 感想の件数（分からない場合は null）
+     */
+    public Long getReviewCount(String volumeId) {
+        return reviewCounts.get(volumeId);
+    }
+
     /**
      * ViewHolderを作成します。レイアウトをインフレートし、ViewHolderを初期化します。
      *
@@ -92,7 +120,7 @@ public class BookCardAdapter extends RecyclerView.Adapter<BookCardAdapter.BookVi
     @Override
     public void onBindViewHolder(@NonNull BookViewHolder holder, int position) {
         Book book = bookList.get(position);
-        holder.bind(book, listener);
+        holder.bind(book, listener, reviewCounts.get(book.getId()));
     }
 
     /**
@@ -119,6 +147,11 @@ public class BookCardAdapter extends RecyclerView.Adapter<BookCardAdapter.BookVi
          */
         TextView bookTitleTextView;
 
+        /**
+         * 感想の件数を表示するTextView。
+         */
+        TextView reviewCountBadgeTextView;
+
         /**
          * BookViewHolderのコンストラクタです。
          *
@@ -128,17 +161,26 @@ public class BookCardAdapter extends RecyclerView.Adapter<BookCardAdapter.BookVi
             super(itemView);
             bookThumbnailImageView = itemView.findViewById(R.id.book_thumbnail_image_view);
             bookTitleTextView = itemView.findViewById(R.id.book_title_text_view);
+            reviewCountBadgeTextView = itemView.findViewById(R.id.review_count_badge_text_view);
         }
 
         /**
          * 指定された書籍データをViewHolderのUI要素にバインドします。
          *
-         * @param book     バインドする書籍オブジェクト
-         * @param listener アイテムクリックリスナー
+         * @param book        バインドする書籍オブジェクト
+         * @param listener    アイテムクリックリスナー
+         * @param reviewCount 感想の件数（分からない場合は null）
          */
-        public void bind(final Book book, final OnBookClickListener listener) {
+        public void bind(final Book book, final OnBookClickListener listener, Long reviewCount) {
             bookTitleTextView.setText(book.getTitle());
 
+            if (reviewCount != null && reviewCount > 0) {
+                reviewCountBadgeTextView.setText("感想 " + reviewCount + "件");
+                reviewCountBadgeTextView.setVisibility(View.VISIBLE);
+            } else {
+                reviewCountBadgeTextView.setVisibility(View.GONE);
+            }
+
             if (book.getThumbnailUrl() != null && !book.getThumbnailUrl().isEmpty()) {
                 Glide.with(itemView.getContext())
                         .load(book.getThumbnailUrl())
@@ -5,6 +5,7 @@
  * 概要: ユーザーの読書記録を一覧表示し、新規書籍の追加や公開・非公開状態の切り替えを可能にするアクティビティ。
  * 履歴:
  *   2025/06/09 横山葉 新規作成
+ *   2026/10/18 横山葉 表示範囲の変化をViewModelに伝え、補完済みの行のみ再描画するよう変更
  */
 
 package com.example.bookapp03.C1UIProcessing;
@@ -83,11 +84,15 @@ public class BookListActivity extends AppCompatActivity {
                     isEmpty ? new ArrayList<>() : bookSummaries,
                     currentUserId != null ? currentUserId : "",
                     toggleHandler,
-                    isEmpty
+                    isEmpty,
+                    (first, last) -> viewModel.onVisibleRangeChanged(currentUserId, first, last)
             );
             emptyTextView.setVisibility(isEmpty ? View.VISIBLE : View.GONE);
         });
 
+        // 書籍情報を補完した行のみ再描画する
+        viewModel.hydratedPositions.observe(this, positions -> controller.refreshRows(recyclerView, positions));
+
         // ボトムナビゲーションのリスナー設定
         BottomNavigationView nav = findViewById(R.id.bottom_navigation);
         nav.setOnItemSelectedListener(item -> {
@@ -5,6 +5,7 @@
  * 概要: 書籍一覧をRecyclerViewで表示するためのアダプタークラス。
  * 履歴:
  *   2025/06/09 横山葉 新規作成
+ *   2026/10/18 横山葉 書籍情報が未取得の行をプレースホルダで表示するよう変更
  */
 
 package com.example.bookapp03.C1UIProcessing;
@@ -78,8 +79,11 @@ public class BookListAdapter extends RecyclerView.Adapter<BookListAdapter.BookVi
         BookSummaryData book = bookList.get(position);
         holder.titleView.setText(book.getTitle());
 
+        // 書籍情報が補完されるまではプレースホルダ画像を表示する
         Glide.with(holder.coverView.getContext())
                 .load(book.getImageUrl())
+                .placeholder(R.mipmap.ic_launcher)
+                .error(R.mipmap.ic_launcher)
                 .into(holder.coverView);
 
         holder.publicSwitch.setChecked(book.isPublic());
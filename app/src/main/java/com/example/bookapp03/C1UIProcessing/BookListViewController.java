@@ -5,6 +5,7 @@
  * 概要: 書籍一覧の表示制御を行うコントローラークラス。
  * 履歴:
  *   2025/06/09 横山葉 新規作成
+ *   2026/10/18 横山葉 表示範囲の変化を通知するスクロール監視と、補完済み行のみの再描画を追加
  */
 
 package com.example.bookapp03.C1UIProcessing;
@@ -29,6 +30,24 @@ public class BookListViewController {
      */
     private static final String TAG = "BookListViewController";
 
+    /**
+     * グリッドの列数
+     */
+    private static final int SPAN_COUNT = 3;
+
+    /**
+     * 画面に表示中の行の範囲の変化を受け取るリスナー
+     */
+    public interface OnVisibleRangeChangedListener {
+        /**
+         * 表示範囲が変化したときに呼び出される
+         *
+         * @param firstVisible 表示中の先頭行の位置
+         * @param lastVisible  表示中の末尾行の位置
+         */
+        void onVisibleRangeChanged(int firstVisible, int lastVisible);
+    }
+
     /**
      * 書籍一覧をRecyclerViewに表示する
      *
@@ -40,19 +59,80 @@ public class BookListViewController {
      */
     public void displayBookList(RecyclerView recyclerView, List<BookSummaryData> bookSummaries,
                                 String uid, PublicPrivateToggleHandler toggleHandler, boolean showEmptyMessage) {
+        displayBookList(recyclerView, bookSummaries, uid, toggleHandler, showEmptyMessage, null);
+    }
+
+    /**
+     * 書籍一覧をRecyclerViewに表示し、表示範囲の変化をリスナーに通知する
+     *
+     * @param recyclerView        RecyclerView本体
+     * @param bookSummaries       表示対象の書籍サマリ一覧
+     * @param uid                 ユーザーID（公開状態更新に使用）
+     * @param toggleHandler       公開・非公開切り替え操作のハンドラ
+     * @param showEmptyMessage    書籍が存在しないときのメッセージ表示フラグ
+     * @param rangeChangeListener 表示範囲の変化を受け取るリスナー（null可）
+     */
+    public void displayBookList(RecyclerView recyclerView, List<BookSummaryData> bookSummaries,
+                                String uid, PublicPrivateToggleHandler toggleHandler, boolean showEmptyMessage,
+                                OnVisibleRangeChangedListener rangeChangeListener) {
         if (recyclerView == null) {
             Log.e(TAG, "RecyclerViewがnullです。書籍リストを表示できません。");
             return;
         }
 
-        recyclerView.setLayoutManager(new GridLayoutManager(recyclerView.getContext(), 3));
+        GridLayoutManager layoutManager = new GridLayoutManager(recyclerView.getContext(), SPAN_COUNT);
+        recyclerView.setLayoutManager(layoutManager);
         BookListAdapter adapter = new BookListAdapter(bookSummaries, uid, toggleHandler);
         recyclerView.setAdapter(adapter);
 
+        recyclerView.clearOnScrollListeners();
+        if (rangeChangeListener != null) {
+            recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+                @Override
+                public void onScrolled(RecyclerView rv, int dx, int dy) {
+                    notifyVisibleRange(layoutManager, rangeChangeListener);
+                }
+            });
+            // スクロール前の初期表示範囲はレイアウト完了後に通知する
+            recyclerView.post(() -> notifyVisibleRange(layoutManager, rangeChangeListener));
+        }
+
         View parentView = (View) recyclerView.getParent();
         TextView emptyTextView = parentView.findViewById(R.id.empty_text);
         if (emptyTextView != null) {
             emptyTextView.setVisibility(showEmptyMessage ? View.VISIBLE : View.GONE);
         }
     }
+
+    /**
+     * 書籍情報を補完した行のみを再描画する
+     *
+     * @param recyclerView RecyclerView本体
+     * @param positions    再描画する行の位置リスト
+     */
+    public void refreshRows(RecyclerView recyclerView, List<Integer> positions) {
+        if (recyclerView == null || recyclerView.getAdapter() == null || positions == null) {
+            return;
+        }
+        int itemCount = recyclerView.getAdapter().getItemCount();
+        for (int position : positions) {
+            if (position < itemCount) {
+                recyclerView.getAdapter().notifyItemChanged(position);
+            }
+        }
+    }
+
+    /**
+     * 現在の表示範囲をリスナーに通知する
+     *
+     * @param layoutManager       RecyclerViewのレイアウトマネージャー
+     * @param rangeChangeListener 通知先のリスナー
+     */
+    private void notifyVisibleRange(GridLayoutManager layoutManager, OnVisibleRangeChangedListener rangeChangeListener) {
+        int first = layoutManager.findFirstVisibleItemPosition();
+        int last = layoutManager.findLastVisibleItemPosition();
+        if (first != RecyclerView.NO_POSITION && last != RecyclerView.NO_POSITION) {
+            rangeChangeListener.onVisibleRangeChanged(first, last);
+        }
+    }
 }
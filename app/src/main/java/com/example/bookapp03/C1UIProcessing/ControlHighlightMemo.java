@@ -11,6 +11,7 @@ import com.example.bookapp03.C3BookInformationProcessing.TransmitHighlightMemo;
  * 概要: ページ・行・メモの入力を検証し、DB登録モジュールへ転送するクラス
  * 履歴:
  * 2025/06/15 鶴田凌 新規作成
+ * 2026/10/18 鶴田凌 登録完了を待たずに戻る送信処理を追加
  */
 public class ControlHighlightMemo {
     private final TransmitHighlightMemo transmitter;
@@ -48,8 +49,20 @@ public class ControlHighlightMemo {
         return new HighlightMemoData(page, line, memo);
     }
 
+    /**
+     * バリデーション済みデータを DB 登録モジュールへ送信する。登録の完了を待たずに戻り、
+     * 結果はメインスレッドでコールバックに通知する。
+     *
+     * @param data     ハイライトメモ情報オブジェクト
+     * @param callback 登録結果を受け取るコールバック
+     */
+    public void sendDataAsync(HighlightMemoData data, TransmitHighlightMemo.Callback callback) {
+        transmitter.transmitHighlightMemoAsync(data, callback);
+    }
+
     /**
      * バリデーション済みデータを DB 登録モジュールへ送信する。
+     * 登録が完了するまで戻らないため、UIスレッドからは sendDataAsync を使用すること。
      *
      * @param data ハイライトメモ情報オブジェクト
      * @return true=登録成功／false=登録失敗
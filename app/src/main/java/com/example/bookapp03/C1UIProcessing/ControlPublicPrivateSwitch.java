@@ -1,13 +1,14 @@
 package com.example.bookapp03.C1UIProcessing;
 
-import android.app.Activity;
 import android.widget.Switch;
 
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+
 import com.example.bookapp03.C6BookInformationManaging.database.SummaryDao;
 import com.example.bookapp03.C6BookInformationManaging.database.SummaryEntity;
 
-import java.util.concurrent.ExecutorService;
-
 /**
  * モジュール名: 公開・非公開スイッチ制御
  * 作成者: 鶴田凌
@@ -15,48 +16,67 @@ import java.util.concurrent.ExecutorService;
  * 概要: 全体まとめの公開・非公開フラグをDBから読み込み、スイッチに反映するクラス
  * 履歴:
  * 2025/06/15 鶴田凌 新規作成
+ * 2026/10/18 鶴田凌 スレッドでの読み込みをやめ、全体まとめの LiveData を監視して反映するよう変更
+ * 2026/10/18 鶴田凌 isPublic が変化した通知のみ反映し、未保存の切り替えを他の列の更新で戻さないよう変更
  */
 public class ControlPublicPrivateSwitch {
-    private final Activity activity;
+    private final LifecycleOwner owner;
     private final SummaryDao summaryDao;
     private final String uid;
     private final String volumeId;
-    private final ExecutorService executor;
+
+    private LiveData<SummaryEntity> summary;
+    private Observer<SummaryEntity> observer;
+    /** 最後にスイッチへ反映した isPublic（未反映の場合は null） */
+    private Boolean lastPublic;
 
     /**
-     * @param activity   呼び出し元 Activity
+     * @param owner      監視のライフサイクルを決める Activity
      * @param summaryDao 要約用 DAO
      * @param uid        ユーザID
      * @param volumeId   書籍ボリュームID
-     * @param executor   DB操作実行用スレッドプール
      */
     public ControlPublicPrivateSwitch(
-            Activity activity,
+            LifecycleOwner owner,
             SummaryDao summaryDao,
             String uid,
-            String volumeId,
-            ExecutorService executor
+            String volumeId
     ) {
-        this.activity = activity;
+        this.owner = owner;
         this.summaryDao = summaryDao;
         this.uid = uid;
         this.volumeId = volumeId;
-        this.executor = executor;
     }
 
     /**
-     * スイッチをバインドし、DBから要約エンティティを取得して
-     * isPublic を反映する。
+     * スイッチをバインドし、要約エンティティを監視して isPublic を反映する。
+     * Room は summary テーブルが更新されるたびに通知するため、isPublic が前回反映した値から
+     * 変化した場合のみスイッチを更新し、ユーザーが切り替えた未保存の状態を戻さない。
      *
      * @param sw 公開・非公開スイッチ
      */
     public void bind(Switch sw) {
-        executor.execute(() -> {
-            SummaryEntity summary = summaryDao.getSummary(uid, volumeId);
-            if (summary != null) {
-                boolean isPub = summary.isPublic;
-                activity.runOnUiThread(() -> sw.setChecked(isPub));
+        unbind();
+        summary = summaryDao.observeSummary(uid, volumeId);
+        observer = entity -> {
+            if (entity == null || Boolean.valueOf(entity.isPublic).equals(lastPublic)) {
+                return;
             }
-        });
+            lastPublic = entity.isPublic;
+            sw.setChecked(entity.isPublic);
+        };
+        summary.observe(owner, observer);
+    }
+
+    /**
+     * 要約エンティティの監視を終了する。書籍が切り替わり別のコントローラを作る前に呼び出す。
+     */
+    public void unbind() {
+        if (summary != null) {
+            summary.removeObserver(observer);
+            summary = null;
+            observer = null;
+        }
+        lastPublic = null;
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,7 @@
  * 概要: 本の画像の押下を処理するActivityです。
  * 履歴:
  * 2025/06/15 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 BookSelectionActivity を経由せず、感想の件数に応じて直接遷移するよう変更
  */
 package com.example.bookapp03.C1UIProcessing;
 
@@ -23,18 +24,32 @@ public class ControlPushBookImage {
     }
 
     /**
-     * 書籍がクリックされた際の処理。
-     * BookSelectionActivityへ遷移し、書籍IDとタイトルを渡します。
+     * 書籍がクリックされた際の処理。感想の件数が分からないものとして遷移します。
      * @param book クリックされた書籍オブジェクト
      */
     public void handleBookClick(Book book) {
+        handleBookClick(book, null);
+    }
+
+    /**
+     * 書籍がクリックされた際の処理。
+     * 感想がないと分かっている場合はNoReviewsActivityへ、それ以外はUserReviewListActivityへ直接遷移し、書籍IDとタイトルを渡します。
+     * 件数が分からない場合もUserReviewListActivityが先頭ページの読み込み結果で感想の有無を判定するため、
+     * 確認のためだけの問い合わせは行いません。
+     * @param book        クリックされた書籍オブジェクト
+     * @param reviewCount 感想の件数（分からない場合は null）
+     */
+    public void handleBookClick(Book book, Long reviewCount) {
         if (book == null) {
             Log.e(TAG, "クリックされたBookオブジェクトがnullです。");
             return;
         }
 
-        Log.d(TAG, "「" + book.getTitle() + "」がクリックされました。BookSelectionActivityへ遷移します。");
-        Intent intent = new Intent(context, BookSelectionActivity.class);
+        Class<?> destination = reviewCount != null && reviewCount == 0
+                ? NoReviewsActivity.class
+                : UserReviewListActivity.class;
+        Log.d(TAG, "「" + book.getTitle() + "」がクリックされました。" + destination.getSimpleName() + "へ遷移します。");
+        Intent intent = new Intent(context, destination);
         intent.putExtra("bookId", book.getId());
         intent.putExtra("bookTitle", book.getTitle());
         // ActivityのコンテキストからActivityを開始する場合、FLAG_ACTIVITY_NEW_TASKは通常不要ですが、
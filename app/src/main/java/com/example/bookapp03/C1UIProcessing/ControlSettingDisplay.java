@@ -3,12 +3,8 @@ package com.example.bookapp03.C1UIProcessing;
 import android.app.Activity;
 import android.content.Intent;
 import android.widget.TextView;
-import android.util.Log;
 
 import com.example.bookapp03.R;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.firestore.FirebaseFirestore;
 
 /**
  * モジュール名: ユーザ設定画面UI制御
@@ -19,6 +15,7 @@ import com.google.firebase.firestore.FirebaseFirestore;
  * 2025/06/16 鶴田凌 新規作成
  * 2025/07/01 増田学斗　.putExtra追加
  * 2025/07/07 増田学斗　AccountSettingActivityにnicknameとiconBase64を渡す処理を追加
+ * 2026/10/18 増田学斗　ユーザー情報の事前読み込みをやめ、AccountSettingActivityを直接起動するよう変更
  */
 public class ControlSettingDisplay {
     private final Activity activity;
@@ -43,35 +40,10 @@ public class ControlSettingDisplay {
      */
     public void bind(TextView btnNicknameIcon, TextView btnGenre, TextView btnDarkMode, TextView btnAccountSwitch, TextView btnLogout) {
         btnNicknameIcon.setOnClickListener(v -> {
-            FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
-            if (user == null) {
-                // ログインしていない場合は空データを送って起動
-                Intent intent = new Intent(activity, AccountSettingActivity.class);
-                intent.putExtra("isFirstTime", false);
-                activity.startActivity(intent);
-                return;
-            }
-
-            String uid = user.getUid();
-            FirebaseFirestore db = FirebaseFirestore.getInstance();
-
-            // FirestoreからnicknameとiconBase64を取得してIntentに渡す
-            db.collection("users").document(uid).get().addOnSuccessListener(doc -> {
-                String nickname = doc.getString("nickname");
-                String iconBase64 = doc.getString("iconBase64");
-
-                Intent intent = new Intent(activity, AccountSettingActivity.class);
-                intent.putExtra("nickname", nickname);
-                intent.putExtra("iconBase64", iconBase64);
-                intent.putExtra("isFirstTime", false);
-                activity.startActivity(intent);
-            }).addOnFailureListener(e -> {
-                Log.e("ControlSetting", "Firestore取得失敗", e);
-                // 失敗してもとりあえず画面を開く
-                Intent intent = new Intent(activity, AccountSettingActivity.class);
-                intent.putExtra("isFirstTime", false);
-                activity.startActivity(intent);
-            });
+            // ニックネームとアイコン画像は AccountSettingActivity がログイン中のユーザーについて読み込む
+            Intent intent = new Intent(activity, AccountSettingActivity.class);
+            intent.putExtra("isFirstTime", false);
+            activity.startActivity(intent);
         });
 
         btnGenre.setOnClickListener(v -> {
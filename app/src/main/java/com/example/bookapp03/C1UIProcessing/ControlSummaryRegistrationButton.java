@@ -9,6 +9,7 @@ import android.widget.Toast;
 import androidx.appcompat.app.AlertDialog;
 
 import com.example.bookapp03.C3BookInformationProcessing.TransmitSummary;
+import com.example.bookapp03.C4SearchProcessing.Book;
 import com.example.bookapp03.C6BookInformationManaging.database.SummaryDao;
 import com.example.bookapp03.R;
 
@@ -22,6 +23,7 @@ import java.util.concurrent.ExecutorService;
  * 履歴:
  *   2025/06/15 鶴田凌 新規作成
  *   2025/07/05 鶴田凌 volumeIdを再取得するよう修正
+ *   2026/10/18 鶴田凌 選択書籍のタイトル・著者・表紙URLを合わせて登録するよう変更
  */
 public class ControlSummaryRegistrationButton {
     /** 呼び出し元の Activity */
@@ -96,6 +98,11 @@ public class ControlSummaryRegistrationButton {
                 return;
             }
 
+            // 一覧表示用に選択書籍の情報も保存する（検索結果にない場合は登録済みの値を維持）
+            Book book = ds.findBookByTitle(title);
+            final String author = book != null ? book.getAuthor() : null;
+            final String coverImageUrl = book != null ? book.getThumbnailUrl() : null;
+
             // final変数として新しい変数に代入
             final String finalVolumeId = volumeId;
             final String finalOverall = overall;
@@ -103,7 +110,8 @@ public class ControlSummaryRegistrationButton {
 
             executor.execute(() -> {
                 boolean ok = new TransmitSummary(activity)
-                        .transmitSummary(uid, finalVolumeId, finalOverall, isPublic);
+                        .transmitSummary(uid, finalVolumeId, finalOverall, isPublic,
+                                title, author, coverImageUrl);
                 activity.runOnUiThread(() -> {
                     Toast.makeText(
                         activity,
@@ -7,20 +7,21 @@ import android.widget.ImageButton;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.bookapp03.R;
+import com.example.bookapp03.C6BookInformationManaging.AppExecutors;
 import com.example.bookapp03.C6BookInformationManaging.database.BookInformationDatabase;
 import com.example.bookapp03.C6BookInformationManaging.database.HighlightMemoDao;
-import com.example.bookapp03.C6BookInformationManaging.database.HighlightMemoEntity;
+import com.example.bookapp03.C7SearchManaging.KeysetPager;
 
-import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * モジュール名: ハイライトメモ表示画面(ハンバーガーバーをタップした時の画面)
@@ -30,10 +31,24 @@ import java.util.concurrent.Executors;
  * 履歴:
  * 2025/06/15 鶴田凌 新規作成
  * 2025/07/02 鶴田凌 通常画面として修正
+ * 2026/10/18 鶴田凌 メモを一定件数ずつ読み込み、スクロールに合わせて続きを読み込むよう変更
+ * 2026/10/18 鶴田凌 先頭ページを LiveData で監視し、メモの登録・削除を自動で反映するよう変更
+ * 2026/10/18 鶴田凌 画面ごとのスレッド作成をやめ、アプリ共通のデータベース用プールを使用するよう変更
+ * 2026/10/18 鶴田凌 先頭ページの再通知で読み込み済みの続きのページを破棄しないよう変更
  */
 public class DisplayHighlightMemo extends AppCompatActivity {
     
     private static final String TAG = "DisplayHighlightMemo";
+
+    /** 1回に読み込むメモの件数 */
+    private static final int PAGE_SIZE = 50;
+    /** 末尾から何件以内まで表示されたら続きを読み込むか */
+    private static final int PREFETCH_DISTANCE = KeysetPager.DEFAULT_PREFETCH_DISTANCE;
+    /** HighlightMemoDao の検索と同じ並び順（ページ・行・レコードID） */
+    private static final Comparator<HighlightMemoData> MEMO_ORDER = Comparator
+            .comparingInt(HighlightMemoData::getPage)
+            .thenComparingInt(HighlightMemoData::getLine)
+            .thenComparingLong(HighlightMemoData::getId);
     
     private RecyclerView recyclerView;
     private TextView txtNoMemos;
@@ -42,6 +57,10 @@ public class DisplayHighlightMemo extends AppCompatActivity {
     private String volumeId;
     private HighlightMemoDao highlightMemoDao;
     private ExecutorService executor;
+    /** 読み込み済みのメモ（カーソルは前のページの最後のメモ） */
+    private KeysetPager<HighlightMemoData, HighlightMemoData> pager;
+    /** 先頭ページを初めて受け取ったかどうか */
+    private boolean firstPageShown;
 
     /**
      * アクティビティの初期化
@@ -79,7 +98,7 @@ public class DisplayHighlightMemo extends AppCompatActivity {
             
             // Database 初期化
             highlightMemoDao = BookInformationDatabase.getDatabase(this).highlightMemoDao();
-            executor = Executors.newSingleThreadExecutor();
+            executor = AppExecutors.getInstance().db();
             Log.d(TAG, "Database初期化完了");
             
             // View 初期化
@@ -119,57 +138,84 @@ public class DisplayHighlightMemo extends AppCompatActivity {
         adapter = new HighlightMemoAdapter();
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
         recyclerView.setAdapter(adapter);
+
+        pager = new KeysetPager<>(
+                this::fetchPageAfter,
+                new KeysetPager.Listener<HighlightMemoData>() {
+                    @Override
+                    public void onItemsChanged(List<HighlightMemoData> items) {
+                        adapter.setItems(items);
+                    }
+
+                    @Override
+                    public void onLoadFailed(Exception e) {
+                        Log.e(TAG, "ハイライトメモの続きの読み込みエラー", e);
+                    }
+                },
+                PAGE_SIZE,
+                PREFETCH_DISTANCE);
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+                LinearLayoutManager lm = (LinearLayoutManager) rv.getLayoutManager();
+                if (lm != null) {
+                    pager.onScrolled(lm.findLastVisibleItemPosition());
+                }
+            }
+        });
         
         Log.d(TAG, "View初期化完了");
     }
     
     /**
-     * ハイライトメモの読み込み
+     * ハイライトメモの先頭ページの監視を開始する。
+     * メモが登録・削除されると Room から先頭ページが再通知され、読み込み済みの続きのページを残したまま先頭ページだけを反映する。
      */
     private void loadHighlightMemos() {
         Log.d(TAG, "ハイライトメモ読み込み開始");
-        
+
+        highlightMemoDao.observeFirstPage(uid, volumeId, PAGE_SIZE).observe(this, firstPage -> {
+            Log.d(TAG, "データベースクエリ結果: " + firstPage.size() + "件");
+            pager.mergeFirstPage(firstPage, lastOf(firstPage), MEMO_ORDER);
+            updateUI(firstPage);
+        });
+    }
+
+    /**
+     * 前のページの最後のメモに続くハイライトメモを読み込む
+     *
+     * @param last     前のページの最後のメモ
+     * @param limit    読み込む最大件数
+     * @param callback 結果を返すコールバック（メインスレッドで呼び出す）
+     */
+    private void fetchPageAfter(HighlightMemoData last, int limit,
+                                KeysetPager.PageCallback<HighlightMemoData, HighlightMemoData> callback) {
         executor.execute(() -> {
             try {
-                List<HighlightMemoEntity> entities = highlightMemoDao.getByUserAndVolume(uid, volumeId);
-                Log.d(TAG, "データベースクエリ結果: " + entities.size() + "件");
-                
-                List<HighlightMemoData> dataList = new ArrayList<>();
-                
-                for (HighlightMemoEntity entity : entities) {
-                    HighlightMemoData data = new HighlightMemoData(
-                            entity.page,
-                            entity.line,
-                            entity.memo
-                    );
-                    dataList.add(data);
-                    Log.d(TAG, "メモ追加 - Page: " + entity.page + ", Line: " + entity.line + ", Memo: " + entity.memo);
-                }
-                
-                runOnUiThread(() -> {
-                    updateUI(dataList);
-                });
-                
+                List<HighlightMemoData> page = highlightMemoDao.getPage(uid, volumeId, last, limit);
+                runOnUiThread(() -> callback.onPage(page, lastOf(page)));
             } catch (Exception e) {
-                Log.e(TAG, "ハイライトメモ読み込みエラー", e);
-                runOnUiThread(() -> {
-                    updateUI(new ArrayList<>());
-                    Toast.makeText(this, "データの読み込みに失敗しました", Toast.LENGTH_SHORT).show();
-                });
+                runOnUiThread(() -> callback.onFailure(e));
             }
         });
     }
+
+    /**
+     * @param page 読み込んだメモ
+     * @return 最後のメモ（メモがない場合は null）
+     */
+    private static HighlightMemoData lastOf(List<HighlightMemoData> page) {
+        return page.isEmpty() ? null : page.get(page.size() - 1);
+    }
     
     /**
-     * UIの更新
-     * @param dataList ハイライトメモのデータリスト
+     * 先頭ページの通知ごとのUIの更新
+     * @param dataList 先頭ページのハイライトメモのデータリスト
      */
     private void updateUI(List<HighlightMemoData> dataList) {
         try {
-            if (adapter != null) {
-                adapter.setItems(dataList);
-                Log.d(TAG, "ハイライトメモ " + dataList.size() + " 件を表示");
-            }
+            // 表示するメモは pager のリスナーから adapter に反映される
+            Log.d(TAG, "ハイライトメモ " + dataList.size() + " 件を表示");
             
             // メッセージ表示の制御
             if (txtNoMemos != null) {
@@ -182,10 +228,14 @@ public class DisplayHighlightMemo extends AppCompatActivity {
                 }
             }
             
-            String message = dataList.isEmpty() ? 
-                "この書籍にはハイライトメモがありません" : 
-                dataList.size() + "件のメモを表示中";
-            Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
+            // 件数の案内は画面を開いたときのみ表示する
+            if (!firstPageShown) {
+                firstPageShown = true;
+                String message = dataList.isEmpty() ? 
+                    "この書籍にはハイライトメモがありません" : 
+                    pager.isEndReached() ? dataList.size() + "件のメモを表示中" : "メモを表示中";
+                Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
+            }
             
         } catch (Exception e) {
             Log.e(TAG, "UI更新エラー", e);
@@ -207,9 +257,6 @@ public class DisplayHighlightMemo extends AppCompatActivity {
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        if (executor != null && !executor.isShutdown()) {
-            executor.shutdown();
-        }
         Log.d(TAG, "DisplayHighlightMemo onDestroy完了");
     }
 }
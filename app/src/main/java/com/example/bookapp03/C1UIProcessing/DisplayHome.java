@@ -7,12 +7,19 @@
  * 2025/06/20 鶴田凌 新規作成
  * 2025/07/05 鶴田凌 入力値の永続化対応
  * 2025/07/07 鶴田凌 ダークモード設定の復元機能追加
+ * 2026/10/18 鶴田凌 書籍名の自動補完を DebouncedQueryPipeline 経由の少件数検索に変更
+ * 2026/10/18 鶴田凌 登録後のデータベース確認を、登録した書籍のハイライトメモの LiveData の監視に変更
+ * 2026/10/18 鶴田凌 ハイライトメモの登録を完了を待たない送信に変更
+ * 2026/10/18 鶴田凌 Google Books API サービスを画面ごとに生成・終了せず、アプリ共通のインスタンス（AppServices）を使用するよう変更
+ * 2026/10/18 鶴田凌 ログ出力のためだけに登録後のハイライトメモを監視する処理を削除
  */
 package com.example.bookapp03.C1UIProcessing;
 
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.Editable;
 import android.text.TextWatcher;
 import android.util.Log;
@@ -27,18 +34,15 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.app.AppCompatDelegate; // ← 追加
 
 import com.example.bookapp03.C5UserInformationManaging.UserAuthManager;
-import com.example.bookapp03.C6BookInformationManaging.database.BookInformationDatabase;
-import com.example.bookapp03.C6BookInformationManaging.database.HighlightMemoDao;
-import com.example.bookapp03.C6BookInformationManaging.database.HighlightMemoEntity;
+import com.example.bookapp03.C6BookInformationManaging.AppServices;
 import com.example.bookapp03.R;
 import com.example.bookapp03.C4SearchProcessing.Book;
+import com.example.bookapp03.C7SearchManaging.DebouncedQueryPipeline;
 import com.example.bookapp03.C7SearchManaging.GoogleBooksApiService;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class DisplayHome extends AppCompatActivity {
     // SharedPreferences 用キー
@@ -119,6 +123,11 @@ public class DisplayHome extends AppCompatActivity {
      */
     private GoogleBooksApiService googleBooksApiService;
 
+    /**
+     * 書籍名の自動補完用の検索パイプライン
+     */
+    private DebouncedQueryPipeline<List<Book>> suggestionPipeline;
+
     /**
      * 検索結果の書籍リスト
      */
@@ -144,8 +153,8 @@ public class DisplayHome extends AppCompatActivity {
         // 1) View バインド
         initializeViews();
 
-        // 2) Google Books API サービス初期化
-        googleBooksApiService = new GoogleBooksApiService();
+        // 2) Google Books API サービス取得（アプリ共通）
+        googleBooksApiService = AppServices.from(this).getGoogleBooksApiService();
 
         // 3) UID取得とコントローラ初期化
         String uid = UserAuthManager.getCurrentUid();
@@ -208,6 +217,41 @@ public class DisplayHome extends AppCompatActivity {
      * 本のタイトル自動補完機能を設定
      */
     private void setupBookTitleAutoComplete() {
+        suggestionPipeline = new DebouncedQueryPipeline<>(
+                new Handler(Looper.getMainLooper()),
+                (query, callback) -> googleBooksApiService.autocompleteBooks(query,
+                        new GoogleBooksApiService.SearchCallback() {
+                            @Override
+                            public void onSearchResultsReceived(List<Book> books) {
+                                callback.onResult(books);
+                            }
+
+                            @Override
+                            public void onFailure(String errorMessage) {
+                                callback.onFailure(errorMessage);
+                            }
+                        }),
+                new DebouncedQueryPipeline.Listener<List<Book>>() {
+                    @Override
+                    public void onResult(String query, List<Book> books) {
+                        searchResults = books;
+                        updateAutoCompleteAdapter(books);
+                        Log.d(TAG, "検索結果: " + books.size() + "件");
+                    }
+
+                    @Override
+                    public void onFailure(String query, String errorMessage) {
+                        Log.e(TAG, "書籍検索エラー: " + errorMessage);
+                        Toast.makeText(DisplayHome.this, "書籍検索に失敗しました",
+                                Toast.LENGTH_SHORT).show();
+                    }
+
+                    @Override
+                    public void onCleared() {
+                        // 表示中の候補はそのまま残す
+                    }
+                });
+
         bookNameInput.addTextChangedListener(new TextWatcher() {
             @Override
             public void beforeTextChanged(CharSequence s, int start, int count, int after) {
@@ -216,10 +260,8 @@ public class DisplayHome extends AppCompatActivity {
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                String query = s.toString().trim();
-                if (query.length() >= 2) { // 2文字以上で検索開始
-                    searchBookSuggestions(query);
-                }
+                // 2文字以上で、入力が止まってから検索開始（古い検索は取り消す）
+                suggestionPipeline.submit(s.toString());
             }
 
             @Override
@@ -240,34 +282,6 @@ public class DisplayHome extends AppCompatActivity {
         });
     }
 
-    /**
-     * Google Books APIで書籍を検索して候補を表示
-     * @param query 検索クエリ
-     */
-    private void searchBookSuggestions(String query) {
-        Log.d(TAG, "書籍検索開始: " + query);
-
-        googleBooksApiService.searchBooks(query, new GoogleBooksApiService.SearchCallback() {
-            @Override
-            public void onSearchResultsReceived(List<Book> books) {
-                runOnUiThread(() -> {
-                    searchResults = books;
-                    updateAutoCompleteAdapter(books);
-                    Log.d(TAG, "検索結果: " + books.size() + "件");
-                });
-            }
-
-            @Override
-            public void onFailure(String errorMessage) {
-                runOnUiThread(() -> {
-                    Log.e(TAG, "書籍検索エラー: " + errorMessage);
-                    Toast.makeText(DisplayHome.this, "書籍検索に失敗しました",
-                            Toast.LENGTH_SHORT).show();
-                });
-            }
-        });
-    }
-
     /**
      * AutoCompleteTextViewのアダプターを更新
      * @param books 検索結果の書籍リスト
@@ -321,14 +335,16 @@ public class DisplayHome extends AppCompatActivity {
                 int page = Integer.parseInt(pageText);
                 int line = Integer.parseInt(lineText);
                 HighlightMemoData data = controlHighlightMemo.getHighlightMemo(page, line, memo);
-                boolean ok = controlHighlightMemo.sendData(data);
-                Toast.makeText(this, ok ? "登録成功" : "登録失敗", Toast.LENGTH_SHORT).show();
-                if (ok) {
-                    // 登録成功時はメモ入力欄をクリア
-                    editMemo.setText("");
-                    
-                    verifyDataInDatabase();
-                }
+                // 登録はバックグラウンドでまとめて行われ、結果はメインスレッドで通知される
+                controlHighlightMemo.sendDataAsync(data, ok -> {
+                    Toast.makeText(this, ok ? "登録成功" : "登録失敗", Toast.LENGTH_SHORT).show();
+                    if (ok) {
+                        // 登録成功時はメモ入力欄をクリア（登録後に入力し直した内容は残す）
+                        if (editMemo.getText().toString().trim().equals(memo)) {
+                            editMemo.setText("");
+                        }
+                    }
+                });
             } catch (IllegalArgumentException e) {
                 Toast.makeText(this, e.getMessage(), Toast.LENGTH_SHORT).show();
             }
@@ -350,44 +366,6 @@ public class DisplayHome extends AppCompatActivity {
         return "";
     }
 
-    /**
-     * データベース内容を確認してログ出力
-     */
-    private void verifyDataInDatabase() {
-        String uid = UserAuthManager.getCurrentUid();
-
-        Log.d(TAG, "データベース確認開始 - UID: " + uid + ", VolumeID: " + currentVolumeId);
-
-        ExecutorService executor = Executors.newSingleThreadExecutor();
-        executor.execute(() -> {
-            try {
-                HighlightMemoDao dao = BookInformationDatabase
-                        .getDatabase(this)
-                        .highlightMemoDao();
-
-                List<HighlightMemoEntity> entities = dao.getByUserAndVolume(uid, currentVolumeId);
-
-                runOnUiThread(() -> {
-                    Log.d(TAG, "=== データベース内容確認 ===");
-                    Log.d(TAG, "総メモ数: " + entities.size());
-
-                    for (int i = 0; i < entities.size(); i++) {
-                        HighlightMemoEntity entity = entities.get(i);
-                        Log.d(TAG, "メモ" + (i + 1) + " - Page: " + entity.page +
-                                ", Line: " + entity.line +
-                                ", Memo: '" + entity.memo + "'");
-                    }
-                    Log.d(TAG, "=== 確認終了 ===");
-                });
-
-            } catch (Exception e) {
-                Log.e(TAG, "データベース確認エラー", e);
-            } finally {
-                executor.shutdown();
-            }
-        });
-    }
-
     /**
      * その他のボタン設定
      */
@@ -551,13 +529,13 @@ public class DisplayHome extends AppCompatActivity {
     }
 
     /**
-     * Google Books API サービスのシャットダウン
+     * 書籍名の自動補完の取り消し（Google Books API サービスはアプリ共通のため終了しない）
      */
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        if (googleBooksApiService != null) {
-            googleBooksApiService.shutdown();
+        if (suggestionPipeline != null) {
+            suggestionPipeline.cancel();
         }
     }
 }
@@ -6,6 +6,7 @@
  *  * 検索クエリに基づいてGoogle Books APIから取得した書籍リストを表示します。
  * 履歴:
  * 2025/06/15 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 表示する書籍の感想の件数をまとめて取得し、バッジと遷移先の判定に使用するよう変更
  */
 package com.example.bookapp03.C1UIProcessing;
 
@@ -20,6 +21,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.bookapp03.R;
 import com.example.bookapp03.C4SearchProcessing.Book;
+import com.example.bookapp03.C6BookInformationManaging.ReviewCountIndex;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 
@@ -96,6 +98,7 @@ public class DisplaySelectBook extends AppCompatActivity implements BookCardAdap
                 if (searchResults != null && !searchResults.isEmpty()) {
                     bookCardAdapter.setBookList(searchResults);
                     Log.d(TAG, "検索結果を正常にロードしました。数: " + searchResults.size());
+                    loadReviewCounts(searchResults);
                 } else {
                     Toast.makeText(this, "検索結果が見つかりませんでした。", Toast.LENGTH_SHORT).show();
                     Log.d(TAG, "Intentから検索結果がロードされましたが、リストは空でした。");
@@ -111,14 +114,33 @@ public class DisplaySelectBook extends AppCompatActivity implements BookCardAdap
         }
     }
 
+    /**
+     * 検索結果の書籍の感想の件数をまとめて取得し、アダプターに設定します。
+     *
+     * @param books 検索結果の書籍リスト
+     */
+    private void loadReviewCounts(List<Book> books) {
+        List<String> volumeIds = new ArrayList<>(books.size());
+        for (Book book : books) {
+            volumeIds.add(book.getId());
+        }
+        ReviewCountIndex.getInstance().fetchCounts(volumeIds, counts -> {
+            if (isFinishing() || isDestroyed()) {
+                return;
+            }
+            Log.d(TAG, "感想の件数を取得しました。数: " + counts.size());
+            bookCardAdapter.setReviewCounts(counts);
+        });
+    }
+
     /**
      * 書籍カードがクリックされたときに呼び出されるコールバックメソッドです。
-     * 選択された書籍の詳細に基づいて、感想選択画面 (BookSelectionActivity) へ遷移します。
+     * 取得済みの感想の件数に基づいて、感想一覧画面または感想なし画面へ直接遷移します。
      *
      * @param book クリックされた書籍オブジェクト
      */
     @Override
     public void onBookClick(Book book) {
-        controlPushBookImage.handleBookClick(book);
+        controlPushBookImage.handleBookClick(book, bookCardAdapter.getReviewCount(book.getId()));
     }
 }
@@ -2,10 +2,11 @@ package com.example.bookapp03.C1UIProcessing;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.Editable;
 import android.text.TextWatcher;
 import android.util.Log;
-import android.view.View;                     // for drawer listener callback
 import android.view.ViewGroup;               // for LayoutParams
 import android.widget.ArrayAdapter;
 import android.widget.AutoCompleteTextView;
@@ -18,23 +19,24 @@ import androidx.annotation.Nullable;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.drawerlayout.widget.DrawerLayout;            // ← 必須
+import androidx.lifecycle.LiveData;
 import androidx.recyclerview.widget.LinearLayoutManager;   // ← 必須
 import androidx.recyclerview.widget.RecyclerView;          // ← 必須
 
 import com.example.bookapp03.C3BookInformationProcessing.TransmitSummary;
 import com.example.bookapp03.C5UserInformationManaging.UserAuthManager;
+import com.example.bookapp03.C6BookInformationManaging.AppExecutors;
+import com.example.bookapp03.C6BookInformationManaging.AppServices;
 import com.example.bookapp03.C6BookInformationManaging.database.BookInformationDatabase;
 import com.example.bookapp03.C6BookInformationManaging.database.SummaryDao;
 import com.example.bookapp03.R;
-import com.example.bookapp03.C6BookInformationManaging.database.HighlightMemoEntity;
 import com.example.bookapp03.C4SearchProcessing.Book;
+import com.example.bookapp03.C7SearchManaging.DebouncedQueryPipeline;
 import com.example.bookapp03.C7SearchManaging.GoogleBooksApiService;
 import com.example.bookapp03.C6BookInformationManaging.database.SummaryEntity;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * モジュール名: 全体まとめ登録画面表示
@@ -46,6 +48,11 @@ import java.util.concurrent.Executors;
  * 2025/07/01 鶴田凌 本の名前引き継ぎと自動補完機能を追加
  * 2025/07/05 鶴田凌 既存まとめの読み込み機能を追加
  * 2025/07/07 鶴田凌 volumeId引き継ぎ問題を修正
+ * 2026/10/18 鶴田凌 登録時に選択書籍のタイトル・著者・表紙URLを保存するよう変更
+ * 2026/10/18 鶴田凌 本の名前の自動補完を DebouncedQueryPipeline 経由の少件数検索に変更
+ * 2026/10/18 鶴田凌 ドロワーのハイライトメモと公開スイッチを LiveData の監視に変更し、開くたびの再検索をやめた
+ * 2026/10/18 鶴田凌 画面・保存ごとのスレッド作成をやめ、アプリ共通のプール（AppExecutors）を使用するよう変更
+ * 2026/10/18 鶴田凌 Google Books API サービスを画面ごとに生成・終了せず、アプリ共通のインスタンス（AppServices）を使用するよう変更
  */
 public class DisplaySummary extends AppCompatActivity {
     
@@ -72,6 +79,11 @@ public class DisplaySummary extends AppCompatActivity {
      */
     private GoogleBooksApiService googleBooksApiService;
 
+    /**
+     * 本の名前の自動補完用の検索パイプライン
+     */
+    private DebouncedQueryPipeline<List<Book>> suggestionPipeline;
+
     /**
      * 検索結果の書籍リスト
      */
@@ -82,6 +94,11 @@ public class DisplaySummary extends AppCompatActivity {
     private ControlPublicPrivateSwitch ctrlSwitch;
     private ControlSummaryRegistrationButton ctrlRegister;
 
+    /** ドロワーのハイライトメモ表示用アダプター */
+    private HighlightMemoAdapter memoAdapter;
+    /** 監視中の書籍のハイライトメモ */
+    private LiveData<List<HighlightMemoData>> observedMemos;
+
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -90,14 +107,14 @@ public class DisplaySummary extends AppCompatActivity {
         Log.d(TAG, "DisplaySummary onCreate開始");
 
         try {
-            // SummaryDao／Executor 初期化
+            // SummaryDao／Executor 初期化（Executor はアプリ共通のデータベース用プール）
             summaryDao = BookInformationDatabase
                     .getDatabase(this)
                     .summaryDao();
-            executor = Executors.newSingleThreadExecutor();
+            executor = AppExecutors.getInstance().db();
 
-            // Google Books API サービス初期化
-            googleBooksApiService = new GoogleBooksApiService();
+            // Google Books API サービス取得（アプリ共通）
+            googleBooksApiService = AppServices.from(this).getGoogleBooksApiService();
 
             // View バインド
             initializeViews();
@@ -183,6 +200,40 @@ public class DisplaySummary extends AppCompatActivity {
         // 自動補完の設定をコードで行う
         bookNameInput.setThreshold(2); // 2文字で自動補完開始
         bookNameInput.setDropDownWidth(ViewGroup.LayoutParams.MATCH_PARENT);
+
+        suggestionPipeline = new DebouncedQueryPipeline<>(
+                new Handler(Looper.getMainLooper()),
+                (query, callback) -> googleBooksApiService.autocompleteBooks(query,
+                        new GoogleBooksApiService.SearchCallback() {
+                            @Override
+                            public void onSearchResultsReceived(List<Book> books) {
+                                callback.onResult(books);
+                            }
+
+                            @Override
+                            public void onFailure(String errorMessage) {
+                                callback.onFailure(errorMessage);
+                            }
+                        }),
+                new DebouncedQueryPipeline.Listener<List<Book>>() {
+                    @Override
+                    public void onResult(String query, List<Book> books) {
+                        searchResults = books;
+                        updateAutoCompleteAdapter(books);
+                        Log.d(TAG, "検索結果取得: " + books.size() + "件");
+                    }
+
+                    @Override
+                    public void onFailure(String query, String errorMessage) {
+                        Log.e(TAG, "書籍検索エラー: " + errorMessage);
+                        // エラーは表示しない（ユーザビリティのため）
+                    }
+
+                    @Override
+                    public void onCleared() {
+                        // 表示中の候補はそのまま残す
+                    }
+                });
         
         bookNameInput.addTextChangedListener(new TextWatcher() {
             @Override
@@ -193,10 +244,8 @@ public class DisplaySummary extends AppCompatActivity {
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
                 String query = s.toString().trim();
-                if (query.length() >= 2) { // 2文字以上で検索開始
-                    Log.d(TAG, "自動補完検索開始: " + query);
-                    searchBookSuggestions(query);
-                }
+                // 2文字以上で、入力が止まってから検索開始（古い検索は取り消す）
+                suggestionPipeline.submit(query);
                 
                 // 重要：テキストが変更されたら、ホーム画面からのvolumeIdをクリア
                 if (currentBookTitle != null && !query.equals(currentBookTitle)) {
@@ -228,6 +277,8 @@ public class DisplaySummary extends AppCompatActivity {
                 
                 // コントローラを再初期化（新しいvolumeIdで）
                 setupControllers();
+                // 新しい書籍のハイライトメモを監視
+                observeHighlightMemos();
                 // 新しい書籍のまとめを読み込み
                 loadExistingSummary();
                 
@@ -238,33 +289,6 @@ public class DisplaySummary extends AppCompatActivity {
         Log.d(TAG, "自動補完機能の設定完了");
     }
 
-    /**
-     * Google Books APIで書籍を検索して候補を表示
-     * @param query 検索クエリ
-     */
-    private void searchBookSuggestions(String query) {
-        Log.d(TAG, "Google Books API検索開始: " + query);
-        
-        googleBooksApiService.searchBooks(query, new GoogleBooksApiService.SearchCallback() {
-            @Override
-            public void onSearchResultsReceived(List<Book> books) {
-                runOnUiThread(() -> {
-                    searchResults = books;
-                    updateAutoCompleteAdapter(books);
-                    Log.d(TAG, "検索結果取得: " + books.size() + "件");
-                });
-            }
-
-            @Override
-            public void onFailure(String errorMessage) {
-                runOnUiThread(() -> {
-                    Log.e(TAG, "書籍検索エラー: " + errorMessage);
-                    // エラーは表示しない（ユーザビリティのため）
-                });
-            }
-        });
-    }
-
     /**
      * 本の名前入力欄の候補を表示する
      * AutoCompleteTextViewのアダプターを更新
@@ -313,8 +337,11 @@ public class DisplaySummary extends AppCompatActivity {
         ctrlMenu = new ControlHamburgerBar(this, drawer, currentUid, currentVolumeId);
         ctrlMenu.bind(btnMenu);
 
+        if (ctrlSwitch != null) {
+            ctrlSwitch.unbind();
+        }
         ctrlSwitch = new ControlPublicPrivateSwitch(
-            this, summaryDao, currentUid, currentVolumeId, executor
+            this, summaryDao, currentUid, currentVolumeId
         );
         ctrlSwitch.bind(switchPublic);
 
@@ -331,40 +358,34 @@ public class DisplaySummary extends AppCompatActivity {
      */
     private void initializeRecyclerView() {
         RecyclerView recycler = findViewById(R.id.recyclerHighlight);
-        HighlightMemoAdapter adapter = new HighlightMemoAdapter();
+        memoAdapter = new HighlightMemoAdapter();
         recycler.setLayoutManager(new LinearLayoutManager(this));
-        recycler.setAdapter(adapter);
+        recycler.setAdapter(memoAdapter);
 
-        DrawerLayout drawer = findViewById(R.id.drawer_layout);
-        drawer.addDrawerListener(new DrawerLayout.SimpleDrawerListener() {
-            @Override
-            public void onDrawerOpened(View drawerView) {
-                Executors.newSingleThreadExecutor().execute(() -> {
-                    List<HighlightMemoEntity> list =
-                        BookInformationDatabase.getDatabase(DisplaySummary.this)
-                            .highlightMemoDao()
-                            .getByUserAndVolume(currentUid, currentVolumeId);
-
-                    List<HighlightMemoData> data = new ArrayList<>();
-                    for (HighlightMemoEntity e : list) {
-                        data.add(new HighlightMemoData(e.page, e.line, e.memo));
-                    }
-                    runOnUiThread(() -> adapter.setItems(data));
-                });
-            }
-        });
+        // ドロワーを開くたびに検索せず、登録・削除のたびに Room から通知された内容を表示する
+        observeHighlightMemos();
         
         Log.d(TAG, "RecyclerView セクションの初期化完了");
     }
+
+    /**
+     * 現在の書籍のハイライトメモの監視を開始する。書籍が切り替わった場合は前の書籍の監視を終了する。
+     */
+    private void observeHighlightMemos() {
+        if (observedMemos != null) {
+            observedMemos.removeObservers(this);
+        }
+        observedMemos = BookInformationDatabase.getDatabase(this)
+                .highlightMemoDao()
+                .observeByUserAndVolume(currentUid, currentVolumeId);
+        observedMemos.observe(this, memoAdapter::setItems);
+    }
     
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        if (executor != null && !executor.isShutdown()) {
-            executor.shutdown();
-        }
-        if (googleBooksApiService != null) {
-            googleBooksApiService.shutdown();
+        if (suggestionPipeline != null) {
+            suggestionPipeline.cancel();
         }
         Log.d(TAG, "DisplaySummary onDestroy完了");
     }
@@ -410,6 +431,24 @@ public class DisplaySummary extends AppCompatActivity {
         return "";
     }
 
+    /**
+     * タイトル文字列に対応する検索結果の書籍を返す。
+     * 登録時に書籍情報（タイトル・著者・表紙URL）を保存するために使用する。
+     *
+     * @param title 入力されたタイトル
+     * @return 一致する書籍。検索結果にない場合は null
+     */
+    public Book findBookByTitle(String title) {
+        if (searchResults != null) {
+            for (Book b : searchResults) {
+                if (title.equals(b.getTitle())) {
+                    return b;
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * 戻るボタン押下時に保存確認を行い、「はい」で保存→ホーム遷移、「いいえ」で即ホーム遷移する。
      */
@@ -438,9 +477,14 @@ public class DisplaySummary extends AppCompatActivity {
             return;
         }
 
-        Executors.newSingleThreadExecutor().execute(() -> {
+        Book book = findBookByTitle(title);
+        String author = book != null ? book.getAuthor() : null;
+        String coverImageUrl = book != null ? book.getThumbnailUrl() : null;
+
+        // 保存処理はデータベース用プールの完了を待つため、通信用プールで実行する
+        AppExecutors.getInstance().io().execute(() -> {
             boolean ok = new TransmitSummary(this)
-                .transmitSummary(currentUid, volumeId, overall, false);
+                .transmitSummary(currentUid, volumeId, overall, false, title, author, coverImageUrl);
             runOnUiThread(() -> {
                 Toast.makeText(this,
                     ok ? "保存成功" : "保存失敗",
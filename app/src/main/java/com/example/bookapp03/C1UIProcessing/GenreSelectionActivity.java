@@ -8,6 +8,8 @@
  * 2025/06/15 増田学斗 新規作成
  * 2025/07/07 増田学斗 Firestoreからジャンル情報を読み込みチェック状態を復元する機能を追加
  * 2025/07/15 増田学斗 ジャンルを英語保存・日本語表示するマッピング機能を追加
+ * 2026/10/18 増田学斗 ジャンルの一覧と英語・日本語の対応を GenreRegistry に移動
+ * 2026/10/18 増田学斗 保存時にニックネーム・アイコンを書き直さず、ジャンルのみを保存するよう変更
  */
 package com.example.bookapp03.C1UIProcessing;
 
@@ -21,13 +23,13 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.example.bookapp03.C4SearchProcessing.GenreRegistry;
+import com.example.bookapp03.C5UserInformationManaging.UserProfileStore;
 import com.example.bookapp03.R;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.SetOptions;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 
 public class GenreSelectionActivity extends AppCompatActivity {
@@ -35,76 +37,8 @@ public class GenreSelectionActivity extends AppCompatActivity {
     private static final String TAG = "GenreSelectionActivity";
     private boolean isFirstTime = true; // 初回設定かどうかのフラグ
     private ArrayList<CheckBox> genreCheckboxes = new ArrayList<>(); // チェックボックス一覧
-    private String nickname; // 受け取ったニックネーム
-    private String iconBase64; // 受け取ったBase64形式のアイコン
     private Button buttonNext; // 「次へ」ボタン
 
-    /**
-     * 英語ジャンル → 日本語ジャンル のマッピング
-     */
-    private static final HashMap<String, String> genreMap = new HashMap<String, String>() {{
-        // 省略：ジャンル名マッピング（英語→日本語）
-        put("Architecture", "建築");
-        put("Art", "美術");
-        put("Biography & Autobiography", "伝記・自伝");
-        put("Body, Mind & Spirit", "ボディ・マインド・スピリット");
-        put("Business & Economics", "ビジネス・経済");
-        put("Comics & Graphic Novels", "コミックス・グラフィックノベル");
-        put("Children's stories", "児童書");
-        put("Computers", "コンピュータ");
-        put("Cooking", "料理");
-        put("Crafts & Hobbies", "クラフト・趣味");
-        put("Design", "デザイン");
-        put("Drama", "演劇");
-        put("Education", "教育");
-        put("Family & Relationships", "家族・人間関係");
-        put("Fiction", "小説");
-        put("Foreign Language Study", "外国語学習");
-        put("Health & Fitness", "健康・フィットネス");
-        put("History", "歴史");
-        put("House & Home", "家・住まい");
-        put("Humor", "ユーモア");
-        put("Juvenile Fiction", "児童小説");
-        put("Juvenile Nonfiction", "児童ノンフィクション");
-        put("Language Arts & Disciplines", "言語学・文学研究");
-        put("Law", "法律");
-        put("Literary Collections", "文学評論");
-        put("Literary Criticism", "文芸評論");
-        put("Mathematics", "数学");
-        put("Medical", "医学");
-        put("Music", "音楽");
-        put("Nature", "自然");
-        put("Performing Arts", "舞台芸術");
-        put("Pets", "ペット");
-        put("Philosophy", "哲学");
-        put("Photography", "写真");
-        put("Poetry", "詩");
-        put("Political Science", "政治学");
-        put("Psychology", "心理学");
-        put("Reference", "リファレンス");
-        put("Religion", "宗教");
-        put("Science", "科学");
-        put("Self-Help", "自己啓発");
-        put("Social Science", "社会科学");
-        put("Sports & Recreation", "スポーツ・レクリエーション");
-        put("Study Aids", "学習補助");
-        put("Technology & Engineering", "テクノロジー・エンジニアリング");
-        put("Transportation", "交通");
-        put("Travel", "旅行");
-        put("True Crime", "実録・犯罪");
-    }};
-
-    /**
-     * 日本語ジャンル → 英語ジャンル の逆マッピング（保存・読み込み時に使用）
-     */
-    private static final HashMap<String, String> reverseGenreMap = new HashMap<>();
-
-    static {
-        for (String key : genreMap.keySet()) {
-            reverseGenreMap.put(genreMap.get(key), key);
-        }
-    }
-
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -118,11 +52,9 @@ public class GenreSelectionActivity extends AppCompatActivity {
     }
 
     /**
-     * 前画面からのデータ（nickname, iconBase64, 初回設定かどうか）を取得
+     * 前画面からのデータ（初回設定かどうか）を取得
      */
     private void retrieveIntentData() {
-        nickname = getIntent().getStringExtra("nickname");
-        iconBase64 = getIntent().getStringExtra("iconBase64");
         isFirstTime = getIntent().getBooleanExtra("isFirstTime", true);
     }
 
@@ -144,8 +76,7 @@ public class GenreSelectionActivity extends AppCompatActivity {
      * ID名は checkbox_ジャンル名（英語）をスネークケースに変換した形式
      */
     private void initializeViews() {
-        for (String jp : reverseGenreMap.keySet()) {
-            String english = reverseGenreMap.get(jp);
+        for (String english : GenreRegistry.getEnglishNames()) {
             String idName = "checkbox_" + toSnakeCaseId(english);
             int resID = getResources().getIdentifier(idName, "id", getPackageName());
             CheckBox cb = findViewById(resID);
@@ -169,7 +100,7 @@ public class GenreSelectionActivity extends AppCompatActivity {
             for (CheckBox cb : genreCheckboxes) {
                 if (cb.isChecked()) {
                     String japanese = cb.getText().toString();
-                    String english = reverseGenreMap.get(japanese);
+                    String english = GenreRegistry.toEnglish(japanese);
                     if (english != null) selectedGenres.add(english);
                 }
             }
@@ -184,18 +115,12 @@ public class GenreSelectionActivity extends AppCompatActivity {
     }
 
     /**
-     * Firestoreにジャンル（英語）を保存。ニックネームとアイコンも一緒に保存。
+     * Firestoreにジャンル（英語）のみを保存。ニックネームとアイコンは AccountSettingActivity で保存済み。
      */
     private void saveGenresToFirestore(List<String> selectedGenres) {
         String uid = FirebaseAuth.getInstance().getCurrentUser().getUid();
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-
-        HashMap<String, Object> userData = new HashMap<>();
-        userData.put("nickname", nickname);
-        userData.put("iconBase64", iconBase64);
-        userData.put("genre", selectedGenres);
 
-        db.collection("users").document(uid).set(userData, SetOptions.merge()).addOnSuccessListener(unused -> {
+        new UserProfileStore().saveGenres(uid, selectedGenres).addOnSuccessListener(unused -> {
             Log.d(TAG, "ユーザ情報の保存に成功");
             if (isFirstTime) {
                 startActivity(new Intent(this, CompleteActivity.class));
@@ -223,7 +148,7 @@ public class GenreSelectionActivity extends AppCompatActivity {
                 if (savedGenres != null) {
                     for (CheckBox cb : genreCheckboxes) {
                         String japanese = cb.getText().toString();
-                        String english = reverseGenreMap.get(japanese);
+                        String english = GenreRegistry.toEnglish(japanese);
                         if (english != null && savedGenres.contains(english)) {
                             cb.setChecked(true);
                         }
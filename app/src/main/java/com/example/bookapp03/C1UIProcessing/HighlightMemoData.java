@@ -1,5 +1,9 @@
 package com.example.bookapp03.C1UIProcessing;
 
+import androidx.room.Ignore;
+
+import java.util.Objects;
+
 /**
  * モジュール名: ハイライトメモデータ
  * 作成者: 鶴田凌
@@ -7,9 +11,14 @@ package com.example.bookapp03.C1UIProcessing;
  * 概要: ハイライトメモのページ番号・行番号・メモ文字列を保持するデータオブジェクト
  * 履歴:
  *   2025/06/15 鶴田凌 新規作成
+ *   2026/10/18 鶴田凌 ページ単位の読み込みの位置として使用するレコードIDを追加
+ *   2026/10/18 鶴田凌 先頭ページの再通知で内容が変わったかを判定できるよう、同値判定を追加
  */
 public class HighlightMemoData {
 
+    /** レコードID（未登録のメモは 0） */
+    private final long id;
+
     /** ページ番号 */
     private final int page;
 
@@ -26,12 +35,35 @@ public class HighlightMemoData {
      * @param line 行番号
      * @param memo メモ文字列
      */
+    @Ignore
     public HighlightMemoData(int page, int line, String memo) {
+        this(0, page, line, memo);
+    }
+
+    /**
+     * コンストラクタ（Room の検索結果から作成する場合）
+     *
+     * @param id   レコードID
+     * @param page ページ番号
+     * @param line 行番号
+     * @param memo メモ文字列
+     */
+    public HighlightMemoData(long id, int page, int line, String memo) {
+        this.id = id;
         this.page = page;
         this.line = line;
         this.memo = memo;
     }
 
+    /**
+     * レコードIDを取得する。
+     *
+     * @return レコードID（未登録のメモは 0）
+     */
+    public long getId() {
+        return id;
+    }
+
     /**
      * ページ番号を取得する。
      *
@@ -58,4 +90,21 @@ public class HighlightMemoData {
     public String getMemo() {
         return memo;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HighlightMemoData)) {
+            return false;
+        }
+        HighlightMemoData other = (HighlightMemoData) o;
+        return id == other.id && page == other.page && line == other.line && Objects.equals(memo, other.memo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, page, line, memo);
+    }
 }
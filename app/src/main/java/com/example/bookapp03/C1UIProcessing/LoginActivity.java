@@ -8,6 +8,7 @@
  * 履歴:
  *   2025/06/15 増田学斗 新規作成
  *   2025/07/06 鶴田凌 UIDを端末に保存する処理を追加
+ *   2026/10/18 増田学斗 ログイン時に以前の形式のアイコン画像を user_avatars へ移すよう変更
  */
 package com.example.bookapp03.C1UIProcessing;
 
@@ -20,6 +21,7 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.bookapp03.C2UserInformationProcessing.LocalAccountStore;
+import com.example.bookapp03.C5UserInformationManaging.UserProfileStore;
 import com.example.bookapp03.R;
 import com.google.android.gms.auth.api.signin.*;
 import com.google.android.gms.common.api.ApiException;
@@ -150,6 +152,7 @@ public class LoginActivity extends AppCompatActivity {
             if (task.getResult().exists()) {
                 // 既存ユーザー → UIDを保存してホームへ
                 Log.d(TAG, "ユーザーは登録済み");
+                new UserProfileStore().migrateLegacyAvatar(task.getResult());
                 LocalAccountStore.addUid(this, uid);
                 startActivity(new Intent(this, DisplayHome.class));
                 finish();
@@ -7,6 +7,7 @@
  * 履歴:
  *   2025/06/15 増田学斗 新規作成
  *   2025/06/27 増田学斗 Firestore対応に改修
+ *   2026/10/18 増田学斗 ログイン時に以前の形式のアイコン画像を user_avatars へ移すよう変更
  */
 package com.example.bookapp03.C1UIProcessing;
 
@@ -17,6 +18,7 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.example.bookapp03.C5UserInformationManaging.UserProfileStore;
 import com.example.bookapp03.R;
 import com.google.android.gms.auth.api.signin.*;
 import com.google.android.gms.common.api.ApiException;
@@ -134,6 +136,7 @@ public class MainActivity extends AppCompatActivity {
         userRef.get().addOnCompleteListener(task -> {
             if (task.isSuccessful() && task.getResult().exists()) {
                 // 既存ユーザー → ホーム画面へ
+                new UserProfileStore().migrateLegacyAvatar(task.getResult());
                 startActivity(new Intent(this, DisplayHome.class));
                 finish();
             } else {
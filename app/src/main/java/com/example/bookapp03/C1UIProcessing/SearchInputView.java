@@ -7,6 +7,7 @@
  * このビューはUI層の一部として機能し、ユーザーの検索操作を受け付け、処理部に委譲します。
  * 履歴:
  * 2025/06/30 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 検索候補の取得を DebouncedQueryPipeline に置き換え、古いリクエストを取り消すよう変更
  */
 package com.example.bookapp03.C1UIProcessing;
 
@@ -32,6 +33,8 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.bookapp03.R;
 import com.example.bookapp03.C4SearchProcessing.Book;
 import com.example.bookapp03.C4SearchProcessing.SearchFeatureProcessor;
+import com.example.bookapp03.C7SearchManaging.DebouncedQueryPipeline;
+import com.example.bookapp03.C7SearchManaging.SingleFlight;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.textfield.TextInputLayout;
 
@@ -72,9 +75,9 @@ public class SearchInputView extends LinearLayout implements SuggestionAdapter.O
      */
     private Handler mainHandler;
     /**
-     * 検索候補の遅延取得などの非同期処理をスケジュールするためのHandler。
+     * 検索候補の取得（デバウンス・古いリクエストの取り消し・最新結果のみの表示）を行うパイプライン。
      */
-    private Handler suggestionHandler;
+    private DebouncedQueryPipeline<List<String>> suggestionPipeline;
 
     /**
      * 検索アクションの結果を親コンポーネント（例: MainActivity）に通知するためのリスナー。
@@ -152,7 +155,40 @@ public class SearchInputView extends LinearLayout implements SuggestionAdapter.O
         suggestionsRecyclerView = findViewById(R.id.suggestions_recycler_view_internal);
 
         mainHandler = new Handler(Looper.getMainLooper());
-        suggestionHandler = new Handler(Looper.getMainLooper());
+        suggestionPipeline = new DebouncedQueryPipeline<>(mainHandler, this::fetchSuggestions,
+                new DebouncedQueryPipeline.Listener<List<String>>() {
+                    /**
+                     * 最新の入力に対する検索候補を表示します。
+                     * @param query       検索クエリ
+                     * @param suggestions 取得された検索候補のリスト
+                     */
+                    @Override
+                    public void onResult(String query, List<String> suggestions) {
+                        if (!suggestions.isEmpty()) {
+                            suggestionAdapter.setSuggestions(suggestions);
+                            suggestionsRecyclerView.setVisibility(View.VISIBLE);
+                        } else {
+                            suggestionAdapter.setSuggestions(null);
+                            suggestionsRecyclerView.setVisibility(View.GONE);
+                        }
+                    }
+
+                    /**
+                     * エラーメッセージをトースト表示し、サジェストリストを非表示にします。
+                     * @param query        検索クエリ
+                     * @param errorMessage エラーメッセージ
+                     */
+                    @Override
+                    public void onFailure(String query, String errorMessage) {
+                        Toast.makeText(getContext(), "検索候補の取得に失敗しました: " + errorMessage, Toast.LENGTH_LONG).show();
+                        suggestionsRecyclerView.setVisibility(View.GONE);
+                    }
+
+                    @Override
+                    public void onCleared() {
+                        suggestionsRecyclerView.setVisibility(View.GONE);
+                    }
+                });
 
         setupSuggestionsRecyclerView();
 
@@ -208,18 +244,12 @@ public class SearchInputView extends LinearLayout implements SuggestionAdapter.O
 
             /**
              * テキストが変更された後に呼び出されます。
-             * 入力されたクエリに基づいて検索候補の取得をスケジュールします。
+             * 入力されたクエリに基づいて検索候補の取得をスケジュールします（2文字未満の場合は候補を非表示）。
              * @param s 変更されたテキストのEditableオブジェクト
              */
             @Override
             public void afterTextChanged(Editable s) {
-                suggestionHandler.removeCallbacksAndMessages(null);
-                String query = s.toString().trim();
-                if (query.length() >= 2) {
-                    suggestionHandler.postDelayed(() -> fetchSuggestions(query), 500);
-                } else {
-                    suggestionsRecyclerView.setVisibility(View.GONE);
-                }
+                suggestionPipeline.submit(s.toString());
             }
         });
 
@@ -243,47 +273,31 @@ public class SearchInputView extends LinearLayout implements SuggestionAdapter.O
     /**
      * SearchFeatureProcessorを使用して検索候補を取得します。
      * このメソッドはバックグラウンドで検索処理部にリクエストを委譲します。
+     * 結果は suggestionPipeline を経由し、最新の入力に対するもののみUIスレッドで表示されます。
      *
-     * @param query 検索クエリ文字列
+     * @param query    検索クエリ文字列
+     * @param callback 結果を返すコールバック
+     * @return リクエストを取り消すためのハンドル
      */
-    private void fetchSuggestions(String query) {
+    private SingleFlight.Cancellable fetchSuggestions(String query,
+                                                      DebouncedQueryPipeline.ResultCallback<List<String>> callback) {
         if (searchFeatureProcessor == null) {
             Log.e(TAG, "SearchFeatureProcessorが初期化されていません。");
             mainHandler.post(() -> Toast.makeText(getContext(), "検索サービスが利用できません。", Toast.LENGTH_SHORT).show());
             suggestionsRecyclerView.setVisibility(View.GONE);
-            return;
+            return () -> {
+            };
         }
 
-        searchFeatureProcessor.fetchSuggestions(query, new SearchFeatureProcessor.SuggestionsCallback() {
-            /**
-             * 検索候補が正常に取得されたときに呼び出されます。
-             * UIスレッドでサジェストリストの表示を更新します。
-             * @param suggestions 取得された検索候補のリスト
-             */
+        return searchFeatureProcessor.fetchSuggestions(query, new SearchFeatureProcessor.SuggestionsCallback() {
             @Override
             public void onSuggestionsReceived(List<String> suggestions) {
-                mainHandler.post(() -> {
-                    if (!suggestions.isEmpty()) {
-                        suggestionAdapter.setSuggestions(suggestions);
-                        suggestionsRecyclerView.setVisibility(View.VISIBLE);
-                    } else {
-                        suggestionAdapter.setSuggestions(null);
-                        suggestionsRecyclerView.setVisibility(View.GONE);
-                    }
-                });
+                callback.onResult(suggestions);
             }
 
-            /**
-             * 検索候補の取得中にエラーが発生したときに呼び出されます。
-             * UIスレッドでエラーメッセージをトースト表示し、サジェストリストを非表示にします。
-             * @param errorMessage エラーメッセージ
-             */
             @Override
             public void onFailure(String errorMessage) {
-                mainHandler.post(() -> {
-                    Toast.makeText(getContext(), "検索候補の取得に失敗しました: " + errorMessage, Toast.LENGTH_LONG).show();
-                    suggestionsRecyclerView.setVisibility(View.GONE);
-                });
+                callback.onFailure(errorMessage);
             }
         });
     }
@@ -300,6 +314,8 @@ public class SearchInputView extends LinearLayout implements SuggestionAdapter.O
             return;
         }
         mainHandler.post(() -> Toast.makeText(getContext(), "「" + query + "」を検索中...", Toast.LENGTH_SHORT).show());
+        // 検索の実行後に古い候補が表示されないよう、待機中・送信中の候補取得を取り消す
+        suggestionPipeline.cancel();
         suggestionsRecyclerView.setVisibility(View.GONE);
 
         if (searchFeatureProcessor == null) {
@@ -357,12 +373,12 @@ public class SearchInputView extends LinearLayout implements SuggestionAdapter.O
     }
 
     /**
-     * ビューが破棄される際に、関連するハンドラーのコールバックをクリアします。
+     * ビューが破棄される際に、待機中・送信中の検索候補の取得を取り消します。
      * これによりメモリリークを防ぎます。
      * アクティビティやフラグメントのライフサイクル（例: onDestroyメソッド）からこのメソッドを呼び出すことを推奨します。
      */
     public void onDestroy() {
-        suggestionHandler.removeCallbacksAndMessages(null);
+        suggestionPipeline.cancel();
         Log.d(TAG, "SearchInputView handlers cleared.");
     }
 
@@ -3,14 +3,20 @@
  * 作成者: 三浦寛生
  * 作成日: 2025/06/15
  * 概要:　特定の書籍に対するユーザの全体まとめ一覧を表示するActivityです。
- *  * FirestoreRecyclerAdapterを使用してFirestoreからリアルタイムでレビューデータを取得し、表示します。
+ *  * Firestoreからレビューデータを一定件数ずつ取得し、表示します。先頭ページのみリアルタイムで監視します。
  * 履歴:
  * 2025/06/15 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 投稿者のニックネームを UserProfileCache からまとめて取得するよう変更
+ * 2026/10/18 三浦寛生 全件の監視をやめ、カーソルによるページングと先読みに変更
+ * 2026/10/18 三浦寛生 件数の記録がない書籍は、読み込んだ件数を ReviewCountIndex に記録するよう変更
+ * 2026/10/18 三浦寛生 件数とあわせて公開レビューの投稿者を ReviewCountIndex に記録するよう変更
+ * 2026/10/18 三浦寛生 先頭ページの変更で読み込み済みのページとスクロール位置が失われないよう変更
  */
 package com.example.bookapp03.C1UIProcessing;
 
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
@@ -26,16 +32,37 @@ import android.widget.Toast;
 
 import com.example.bookapp03.R;
 import com.example.bookapp03.C3BookInformationProcessing.Review;
-import com.firebase.ui.firestore.FirestoreRecyclerAdapter;
-import com.firebase.ui.firestore.FirestoreRecyclerOptions;
+import com.example.bookapp03.C5UserInformationManaging.UserProfileCache;
+import com.example.bookapp03.C6BookInformationManaging.ReviewCountIndex;
+import com.example.bookapp03.C7SearchManaging.KeysetPager;
 import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.ListenerRegistration;
 import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
 
 public class UserReviewListActivity extends AppCompatActivity {
 
     private static final String TAG = "UserReviewListActivity";
 
+    /** 1ページに読み込むレビューの件数 */
+    private static final int PAGE_SIZE = KeysetPager.DEFAULT_PAGE_SIZE;
+    /** 末尾から何件以内まで表示されたら次のページを読み込むか */
+    private static final int PREFETCH_DISTANCE = KeysetPager.DEFAULT_PREFETCH_DISTANCE;
+
+    /**
+     * クエリと同じドキュメントIDの順。自動生成のIDは英数字のみのため、文字列の比較で Firestore の並びと一致します。
+     */
+    private static final Comparator<Review> REVIEW_ORDER =
+            Comparator.comparing(Review::getDocumentId, Comparator.nullsLast(Comparator.naturalOrder()));
+
     /**
      * 検索結果画面に戻るためのボタン。
      */
@@ -54,9 +81,26 @@ public class UserReviewListActivity extends AppCompatActivity {
      */
     private FirebaseFirestore db;
     /**
-     * Firestoreからレビューデータを取得し、RecyclerViewにバインドするためのアダプター。
+     * 読み込み済みのレビューをRecyclerViewにバインドするためのアダプター。
+     */
+    private ReviewAdapter adapter;
+    /**
+     * レビューのページングの状態。
+     */
+    private KeysetPager<Review, DocumentSnapshot> pager;
+    /**
+     * 先頭ページの監視の登録。画面が表示されている間のみ保持します。
+     */
+    private ListenerRegistration firstPageRegistration;
+    private LinearLayoutManager layoutManager;
+    /**
+     * この画面で件数を ReviewCountIndex に記録済みかどうか。
      */
-    private FirestoreRecyclerAdapter<Review, ReviewViewHolder> adapter;
+    private boolean reviewCountRecorded;
+    /**
+     * 投稿者のプロフィールのキャッシュ。表示中の行のユーザーをまとめて取得します。
+     */
+    private UserProfileCache userProfileCache;
 
     /**
      * 前の画面から渡される本のID。Firestoreのクエリに使用されます。
@@ -79,6 +123,7 @@ public class UserReviewListActivity extends AppCompatActivity {
         setContentView(R.layout.activity_user_review_list);
 
         db = FirebaseFirestore.getInstance();
+        userProfileCache = UserProfileCache.getInstance();
 
         bookTitleTextView = findViewById(R.id.bookTitleTextView);
         reviewsRecyclerView = findViewById(R.id.reviewsRecyclerView);
@@ -103,110 +148,241 @@ public class UserReviewListActivity extends AppCompatActivity {
 
     /**
      * レビューを表示するためのRecyclerViewをセットアップします。
-     * Firestoreのクエリを構築し、FirestoreRecyclerAdapterを初期化・設定します。
+     * 2ページ目以降は、前のページの最後のドキュメントを開始位置（startAfter）として一度だけ取得します。
      */
     private void setupRecyclerView() {
-        Query query = db.collection("summaries")
-                .whereEqualTo("volumeId", bookId);
-        FirestoreRecyclerOptions<Review> options = new FirestoreRecyclerOptions.Builder<Review>()
-                .setQuery(query, Review.class)
-                .build();
-        adapter = new FirestoreRecyclerAdapter<Review, ReviewViewHolder>(options) {
-            /**
-             * ViewHolderを作成します。レビューアイテムのレイアウトをインフレートします。
-             * @param parent ViewHolderが属するViewGroup
-             * @param viewType ビューのタイプ（使用しない）
-             * @return 新しく作成されたReviewViewHolder
-             */
-            @NonNull
+        adapter = new ReviewAdapter();
+        pager = new KeysetPager<>(
+                (cursor, limit, callback) -> reviewsQuery()
+                        .startAfter(cursor)
+                        .limit(limit)
+                        .get()
+                        .addOnSuccessListener(snapshots -> callback.onPage(toReviews(snapshots), lastDocumentOf(snapshots)))
+                        .addOnFailureListener(callback::onFailure),
+                new KeysetPager.Listener<Review>() {
+                    @Override
+                    public void onItemsChanged(List<Review> items) {
+                        adapter.setReviews(items);
+                        // 1ページ目だけで画面が埋まらない場合もあるため、表示後に先読みの要否を確認する
+                        reviewsRecyclerView.post(UserReviewListActivity.this::checkPrefetch);
+                    }
+
+                    @Override
+                    public void onLoadFailed(Exception e) {
+                        Log.e(TAG, "次のページの読み込みに失敗しました", e);
+                        Toast.makeText(UserReviewListActivity.this, "感想の読み込み中にエラーが発生しました。", Toast.LENGTH_SHORT).show();
+                    }
+                },
+                PAGE_SIZE, PREFETCH_DISTANCE);
+
+        layoutManager = new LinearLayoutManager(this);
+        reviewsRecyclerView.setLayoutManager(layoutManager);
+        reviewsRecyclerView.setAdapter(adapter);
+        reviewsRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
             @Override
-            public ReviewViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-                View view = LayoutInflater.from(parent.getContext())
-                        .inflate(R.layout.item_review, parent, false);
-                return new ReviewViewHolder(view);
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                checkPrefetch();
             }
+        });
+    }
 
-            /**
-             * ViewHolderにレビューデータをバインドします。
-             * 各レビューアイテムにクリックリスナーを設定し、ボトムシートを表示するロジックを含みます。
-             * @param holder データをバインドするReviewViewHolder
-             * @param position リスト内のアイテムの位置
-             * @param model データをバインドするReviewモデルオブジェクト
-             */
-            @Override
-            protected void onBindViewHolder(@NonNull ReviewViewHolder holder, int position, @NonNull Review model) {
-                String userId = model.getUid(); // Reviewモデルからuidを取得
-                if (userId != null && !userId.isEmpty()) {
-                    db.collection("users").document(userId).get()
-                            .addOnCompleteListener(task -> {
-                                if (task.isSuccessful()) {
-                                    DocumentSnapshot userDocument = task.getResult();
-                                    if (userDocument.exists()) {
-                                        String nickname = userDocument.getString("nickname");
-                                        if (nickname != null) {
-                                            holder.usernameTextView.setText(nickname);
-                                        } else {
-                                            holder.usernameTextView.setText("名無しユーザー");
-                                        }
-                                    } else {
-                                        holder.usernameTextView.setText("不明なユーザー");
-                                    }
-                                } else {
-                                    Log.e(TAG, "Error getting user document: ", task.getException());
-                                    holder.usernameTextView.setText("ユーザー名取得エラー");
-                                }
-                            });
-                } else {
-                    holder.usernameTextView.setText("ゲストユーザー");
+    /**
+     * この書籍のレビューを取得するクエリを作成します。
+     * カーソルの位置が変わらないよう、一意で変化しないドキュメントIDの順に並べます。
+     *
+     * @return 並び順を指定したクエリ
+     */
+    private Query reviewsQuery() {
+        return db.collection("summaries")
+                .whereEqualTo("volumeId", bookId)
+                .orderBy(FieldPath.documentId());
+    }
+
+    /**
+     * 公開されているレビューの投稿者のユーザーIDを取得します。
+     *
+     * @param snapshots レビューのドキュメント
+     * @return 投稿者のユーザーID
+     */
+    private static List<String> publicReviewerUids(QuerySnapshot snapshots) {
+        List<String> uids = new ArrayList<>();
+        for (DocumentSnapshot document : snapshots.getDocuments()) {
+            String uid = document.getString("uid");
+            if (uid != null && Boolean.TRUE.equals(document.getBoolean("isPublic"))) {
+                uids.add(uid);
+            }
+        }
+        return uids;
+    }
+
+    /**
+     * 先頭ページの監視結果を反映します。レビューがない場合はNoReviewsActivityへ遷移します。
+     * 読み込み済みの2ページ目以降は残したまま先頭ページの変更だけを反映し、監視の再開時に届く同じ内容の先頭ページは無視されます。
+     *
+     * @param snapshots 先頭ページのドキュメント
+     * @param e         発生したエラー（正常時は null）
+     */
+    private void onFirstPageChanged(QuerySnapshot snapshots, FirebaseFirestoreException e) {
+        if (e != null) {
+            Log.e(TAG, "先頭ページの監視中にエラーが発生しました", e);
+            Toast.makeText(this, "感想の読み込み中にエラーが発生しました。", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        if (snapshots == null) {
+            return;
+        }
+        Log.d(TAG, "onFirstPageChanged: first page has " + snapshots.size() + " items.");
+        if (!reviewCountRecorded && snapshots.size() < PAGE_SIZE && !snapshots.getMetadata().isFromCache()) {
+            // 先頭ページに全件が収まっているため、件数が確定している
+            reviewCountRecorded = true;
+            ReviewCountIndex.getInstance().recordObservedReviewers(bookId, publicReviewerUids(snapshots));
+        }
+        if (snapshots.isEmpty()) {
+            Log.d(TAG, "No reviews found for bookId: " + bookId + ". Navigating to NoReviewsActivity.");
+            Intent intent = new Intent(this, NoReviewsActivity.class);
+            intent.putExtra("bookTitle", bookTitle);
+            intent.putExtra("bookId", bookId);
+            startActivity(intent);
+            finish();
+            return;
+        }
+        pager.mergeFirstPage(toReviews(snapshots), lastDocumentOf(snapshots), REVIEW_ORDER);
+    }
+
+    /**
+     * 表示されている最後の行の位置をページングに伝え、末尾に近ければ次のページを読み込ませます。
+     */
+    private void checkPrefetch() {
+        int lastVisible = layoutManager.findLastVisibleItemPosition();
+        if (lastVisible != RecyclerView.NO_POSITION) {
+            pager.onScrolled(lastVisible);
+        }
+    }
+
+    private static List<Review> toReviews(QuerySnapshot snapshots) {
+        List<Review> reviews = new ArrayList<>(snapshots.size());
+        for (DocumentSnapshot document : snapshots.getDocuments()) {
+            Review review = document.toObject(Review.class);
+            if (review != null) {
+                reviews.add(review);
+            }
+        }
+        return reviews;
+    }
+
+    private static DocumentSnapshot lastDocumentOf(QuerySnapshot snapshots) {
+        List<DocumentSnapshot> documents = snapshots.getDocuments();
+        return documents.isEmpty() ? null : documents.get(documents.size() - 1);
+    }
+
+    /**
+     * 読み込み済みのレビューを表示するアダプターです。
+     */
+    private class ReviewAdapter extends RecyclerView.Adapter<ReviewViewHolder> {
+
+        private final List<Review> reviews = new ArrayList<>();
+
+        /**
+         * 表示するレビューを置き換えます。ドキュメントIDで前後の要素を対応付け、変わった行だけを更新するため、
+         * スクロール位置は保たれます。
+         *
+         * @param newReviews 表示するレビュー
+         */
+        void setReviews(List<Review> newReviews) {
+            List<Review> oldReviews = new ArrayList<>(reviews);
+            DiffUtil.DiffResult diff = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+                @Override
+                public int getOldListSize() {
+                    return oldReviews.size();
                 }
 
-                String comment = model.getComment();
-                if (comment != null && comment.length() > 50) {
-                    holder.commentTextView.setText(comment.substring(0, 50) + "...");
-                } else {
-                    holder.commentTextView.setText(comment);
+                @Override
+                public int getNewListSize() {
+                    return newReviews.size();
                 }
 
-                holder.itemView.setOnClickListener(v -> {
-                    ReviewDetailBottomSheetFragment bottomSheet = ReviewDetailBottomSheetFragment.newInstance(
-                            model.getOverallSummary(),
-                            holder.usernameTextView.getText().toString()
-                    );
-                    bottomSheet.show(getSupportFragmentManager(), bottomSheet.getTag());
-                });
-            }
+                @Override
+                public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                    return Objects.equals(oldReviews.get(oldPosition).getDocumentId(),
+                            newReviews.get(newPosition).getDocumentId());
+                }
 
-            /**
-             * FirestoreRecyclerAdapterでエラーが発生したときに呼び出されます。
-             * @param e 発生したFirebaseFirestoreException
-             */
-            @Override
-            public void onError(@NonNull com.google.firebase.firestore.FirebaseFirestoreException e) {
-                Log.e(TAG, "FirestoreRecyclerAdapter: onError", e);
-                Toast.makeText(UserReviewListActivity.this, "感想の読み込み中にエラーが発生しました。", Toast.LENGTH_SHORT).show();
+                @Override
+                public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                    return oldReviews.get(oldPosition).equals(newReviews.get(newPosition));
+                }
+            });
+            reviews.clear();
+            reviews.addAll(newReviews);
+            diff.dispatchUpdatesTo(this);
+        }
+
+        @Override
+        public int getItemCount() {
+            return reviews.size();
+        }
+
+        /**
+         * ViewHolderを作成します。レビューアイテムのレイアウトをインフレートします。
+         * @param parent ViewHolderが属するViewGroup
+         * @param viewType ビューのタイプ（使用しない）
+         * @return 新しく作成されたReviewViewHolder
+         */
+        @NonNull
+        @Override
+        public ReviewViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            View view = LayoutInflater.from(parent.getContext())
+                    .inflate(R.layout.item_review, parent, false);
+            return new ReviewViewHolder(view);
+        }
+
+        /**
+         * ViewHolderにレビューデータをバインドします。
+         * 各レビューアイテムにクリックリスナーを設定し、ボトムシートを表示するロジックを含みます。
+         * @param holder データをバインドするReviewViewHolder
+         * @param position リスト内のアイテムの位置
+         */
+        @Override
+        public void onBindViewHolder(@NonNull ReviewViewHolder holder, int position) {
+            Review model = reviews.get(position);
+            String userId = model.getUid(); // Reviewモデルからuidを取得
+            holder.boundUid = userId;
+            if (userId != null && !userId.isEmpty()) {
+                holder.usernameTextView.setText("");
+                userProfileCache.request(userId, (uid, profile) -> {
+                    if (!uid.equals(holder.boundUid)) {
+                        // 取得中に別の行として再利用された
+                        return;
+                    }
+                    if (profile == null) {
+                        holder.usernameTextView.setText("ユーザー名取得エラー");
+                    } else if (!profile.exists()) {
+                        holder.usernameTextView.setText("不明なユーザー");
+                    } else if (profile.getNickname() != null) {
+                        holder.usernameTextView.setText(profile.getNickname());
+                    } else {
+                        holder.usernameTextView.setText("名無しユーザー");
+                    }
+                });
+            } else {
+                holder.usernameTextView.setText("ゲストユーザー");
             }
 
-            /**
-             * Firestoreのデータが変更され、アダプターが更新されたときに呼び出されます。
-             * レビューがない場合にNoReviewsActivityへ遷移するロジックを含みます。
-             */
-            @Override
-            public void onDataChanged() {
-                super.onDataChanged();
-                Log.d(TAG, "onDataChanged: adapter has " + getItemCount() + " items.");
-                if (getItemCount() == 0) {
-                    Log.d(TAG, "No reviews found for bookId: " + bookId + ". Navigating to NoReviewsActivity.");
-                    Intent intent = new Intent(UserReviewListActivity.this, NoReviewsActivity.class);
-                    intent.putExtra("bookTitle", bookTitle);
-                    intent.putExtra("bookId", bookId);
-                    startActivity(intent);
-                    finish();
-                }
+            String comment = model.getComment();
+            if (comment != null && comment.length() > 50) {
+                holder.commentTextView.setText(comment.substring(0, 50) + "...");
+            } else {
+                holder.commentTextView.setText(comment);
             }
-        };
 
-        reviewsRecyclerView.setLayoutManager(new LinearLayoutManager(this));
-        reviewsRecyclerView.setAdapter(adapter);
+            holder.itemView.setOnClickListener(v -> {
+                ReviewDetailBottomSheetFragment bottomSheet = ReviewDetailBottomSheetFragment.newInstance(
+                        model.getOverallSummary(),
+                        holder.usernameTextView.getText().toString()
+                );
+                bottomSheet.show(getSupportFragmentManager(), bottomSheet.getTag());
+            });
+        }
     }
 
     /**
@@ -223,6 +399,11 @@ public class UserReviewListActivity extends AppCompatActivity {
          */
         private final TextView commentTextView;
 
+        /**
+         * この行に表示しているレビューの投稿者のユーザーID。ニックネームの取得結果が遅れて届いた場合の照合に使用します。
+         */
+        private String boundUid;
+
         /**
          * ReviewViewHolderのコンストラクタです。
          *
@@ -252,25 +433,28 @@ public class UserReviewListActivity extends AppCompatActivity {
 
     /**
      * Activityが表示され、ユーザーが操作できるようになるときに呼び出されます。
-     * FirestoreRecyclerAdapterのリスニングを開始します。
+     * 先頭ページのみリアルタイムでの監視を開始します。再開時も読み込み済みのページはそのまま表示し続けます。
      */
     @Override
     protected void onStart() {
         super.onStart();
-        if (adapter != null) {
-            adapter.startListening();
+        if (pager != null && firstPageRegistration == null) {
+            firstPageRegistration = reviewsQuery()
+                    .limit(PAGE_SIZE)
+                    .addSnapshotListener(this::onFirstPageChanged);
         }
     }
 
     /**
      * Activityがもはやユーザーに見えなくなるときに呼び出されます。
-     * FirestoreRecyclerAdapterのリスニングを停止します。
+     * 先頭ページの監視を停止します。
      */
     @Override
     protected void onStop() {
         super.onStop();
-        if (adapter != null) {
-            adapter.stopListening();
+        if (firstPageRegistration != null) {
+            firstPageRegistration.remove();
+            firstPageRegistration = null;
         }
     }
 }
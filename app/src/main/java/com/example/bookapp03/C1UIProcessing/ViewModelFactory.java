@@ -5,6 +5,7 @@
  * 概要: ViewModelのインスタンスを生成するためのファクトリークラス。依存性を注入する。
  * 履歴:
  * 2025/06/20 横山葉 新規作成
+ * 2026/10/18 横山葉 ViewModel の生成ごとに Repository を作らず、アプリ共通の Repository（AppServices）を注入するよう変更
  */
 package com.example.bookapp03.C1UIProcessing;
 
@@ -13,7 +14,7 @@ import androidx.annotation.NonNull;
 import androidx.lifecycle.ViewModel;
 import androidx.lifecycle.ViewModelProvider;
 
-import com.example.bookapp03.C6BookInformationManaging.BookRepositoryImpl;
+import com.example.bookapp03.C6BookInformationManaging.AppServices;
 import com.example.bookapp03.C6BookInformationManaging.BookRepository;
 import com.example.bookapp03.C3BookInformationProcessing.BookDetailViewModel;
 import com.example.bookapp03.C3BookInformationProcessing.BookListViewModel;
@@ -21,20 +22,29 @@ import com.example.bookapp03.C3BookInformationProcessing.BookListViewModel;
 /**
  * ViewModelのインスタンスを生成するためのファクトリークラス。
  * ViewModelが依存するRepositoryなどをここで注入する。
- * アプリケーションコンテキストを必要とするRepositoryの生成に使用されます。
+ * Repositoryはプロセス内で1つだけ生成されたもの（AppServices）を使用します。
  */
 public class ViewModelFactory implements ViewModelProvider.Factory {
 
-    /** アプリケーション全体のコンテキスト */
-    private final Context applicationContext;
+    /** ViewModelに注入するRepository（アプリ共通） */
+    private final BookRepository bookRepository;
 
     /**
      * ViewModelFactoryのコンストラクタ。
      *
-     * @param applicationContext ViewModelが依存するRepositoryの初期化に用いられるアプリケーションコンテキスト
+     * @param applicationContext アプリ共通のRepositoryの取得に用いられるアプリケーションコンテキスト
      */
     public ViewModelFactory(Context applicationContext) {
-        this.applicationContext = applicationContext;
+        this(AppServices.from(applicationContext).getBookRepository());
+    }
+
+    /**
+     * 注入するRepositoryを指定するViewModelFactoryのコンストラクタ。
+     *
+     * @param bookRepository ViewModelに注入するRepository
+     */
+    public ViewModelFactory(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
     }
 
     /**
@@ -49,10 +59,6 @@ public class ViewModelFactory implements ViewModelProvider.Factory {
     @NonNull
     @Override
     public <T extends ViewModel> T create(@NonNull Class<T> modelClass) {
-        // BookRepositoryの実装を生成
-        // ここでシングルトンパターンやDagger/HiltのようなDIフレームワークを使用して管理することも推奨される
-        BookRepository bookRepository = new BookRepositoryImpl(applicationContext);
-
         // 要求されたViewModelのクラスに基づいて適切なインスタンスを生成し、依存性を注入
         if (modelClass.isAssignableFrom(BookListViewModel.class)) {
             // BookListViewModelのインスタンスを生成し、BookRepositoryを渡す
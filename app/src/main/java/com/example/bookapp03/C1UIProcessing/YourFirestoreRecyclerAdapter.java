@@ -6,6 +6,7 @@
  * FirestoreRecyclerAdapterを継承しており、リアルタイムなデータ同期が可能です。
  * 履歴:
  * 2025/06/30 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 投稿者のニックネームを UserProfileCache からまとめて取得するよう変更
  */
 package com.example.bookapp03.C1UIProcessing;
 
@@ -21,11 +22,14 @@ import com.firebase.ui.firestore.FirestoreRecyclerAdapter;
 import com.firebase.ui.firestore.FirestoreRecyclerOptions;
 import com.example.bookapp03.R;
 import com.example.bookapp03.C3BookInformationProcessing.Review;
-import com.google.firebase.firestore.FirebaseFirestore;
+import com.example.bookapp03.C5UserInformationManaging.UserProfileCache;
 
 public class YourFirestoreRecyclerAdapter extends FirestoreRecyclerAdapter<Review, YourFirestoreRecyclerAdapter.ReviewViewHolder> {
 
-    private FirebaseFirestore db;
+    /**
+     * 投稿者のプロフィールのキャッシュ。表示中の行のユーザーをまとめて取得します。
+     */
+    private final UserProfileCache userProfileCache;
     /**
      * リスト内のアイテムがクリックされたときに通知されるリスナー。
      */
@@ -49,7 +53,19 @@ public class YourFirestoreRecyclerAdapter extends FirestoreRecyclerAdapter<Revie
      * @param options FirestoreRecyclerAdapterのオプション（クエリやライフサイクルオーナーなど）
      */
     public YourFirestoreRecyclerAdapter(@NonNull FirestoreRecyclerOptions<Review> options) {
+        this(options, UserProfileCache.getInstance());
+    }
+
+    /**
+     * プロフィールのキャッシュを指定するコンストラクタです。
+     *
+     * @param options          FirestoreRecyclerAdapterのオプション（クエリやライフサイクルオーナーなど）
+     * @param userProfileCache 投稿者のプロフィールのキャッシュ
+     */
+    public YourFirestoreRecyclerAdapter(@NonNull FirestoreRecyclerOptions<Review> options,
+                                        @NonNull UserProfileCache userProfileCache) {
         super(options);
+        this.userProfileCache = userProfileCache;
     }
 
     /**
@@ -72,27 +88,28 @@ public class YourFirestoreRecyclerAdapter extends FirestoreRecyclerAdapter<Revie
         }
 
         String uid = model.getUid();
+        holder.boundUid = uid;
         if (uid != null && !uid.isEmpty()) {
-            db.collection("users").document(uid).get()
-                    .addOnSuccessListener(documentSnapshot -> {
-                        if (documentSnapshot.exists()) {
-                            String nickname = documentSnapshot.getString("nickname");
-                            if (nickname != null && !nickname.trim().isEmpty()) {
-                                holder.usernameTextView.setText(nickname);
-                                holder.usernameTextView.setTextColor(holder.itemView.getContext().getResources().getColor(android.R.color.black));
-                            } else {
-                                holder.usernameTextView.setText("匿名ユーザー (ニックネーム未設定)");
-                                holder.usernameTextView.setTextColor(holder.itemView.getContext().getResources().getColor(android.R.color.darker_gray));
-                            }
-                        } else {
-                            holder.usernameTextView.setText("不明なユーザー");
-                            holder.usernameTextView.setTextColor(holder.itemView.getContext().getResources().getColor(android.R.color.darker_gray));
-                        }
-                    })
-                    .addOnFailureListener(e -> {
-                        holder.usernameTextView.setText("ニックネーム取得エラー");
-                        holder.usernameTextView.setTextColor(holder.itemView.getContext().getResources().getColor(android.R.color.holo_red_dark));
-                    });
+            holder.usernameTextView.setText("");
+            userProfileCache.request(uid, (loadedUid, profile) -> {
+                if (!loadedUid.equals(holder.boundUid)) {
+                    // 取得中に別の行として再利用された
+                    return;
+                }
+                if (profile == null) {
+                    holder.usernameTextView.setText("ニックネーム取得エラー");
+                    holder.usernameTextView.setTextColor(holder.itemView.getContext().getResources().getColor(android.R.color.holo_red_dark));
+                } else if (!profile.exists()) {
+                    holder.usernameTextView.setText("不明なユーザー");
+                    holder.usernameTextView.setTextColor(holder.itemView.getContext().getResources().getColor(android.R.color.darker_gray));
+                } else if (profile.getNickname() != null && !profile.getNickname().trim().isEmpty()) {
+                    holder.usernameTextView.setText(profile.getNickname());
+                    holder.usernameTextView.setTextColor(holder.itemView.getContext().getResources().getColor(android.R.color.black));
+                } else {
+                    holder.usernameTextView.setText("匿名ユーザー (ニックネーム未設定)");
+                    holder.usernameTextView.setTextColor(holder.itemView.getContext().getResources().getColor(android.R.color.darker_gray));
+                }
+            });
         } else {
             holder.usernameTextView.setText("不明なユーザー (UIDなし)");
             holder.usernameTextView.setTextColor(holder.itemView.getContext().getResources().getColor(android.R.color.darker_gray));
@@ -132,6 +149,10 @@ public class YourFirestoreRecyclerAdapter extends FirestoreRecyclerAdapter<Revie
          * レビューのコメント本文を表示するTextView。
          */
         private final TextView commentTextView;
+        /**
+         * この行に表示しているレビューの投稿者のユーザーID。ニックネームの取得結果が遅れて届いた場合の照合に使用します。
+         */
+        private String boundUid;
 
         /**
          * ReviewViewHolderのコンストラクタです。
@@ -5,6 +5,8 @@
  * 概要: 書籍詳細データの表示および関連するハイライトメモの管理を行うViewModel。
  * 履歴:
  * 2025/06/09 横山葉 新規作成
+ * 2026/10/18 横山葉 結果待ちの処理をスレッドの都度作成からアプリ共通の通信用プールでの実行に変更
+ * 2026/10/18 横山葉 プールのスレッドで結果を待機せず、リポジトリの処理の完了時に結果を反映するよう変更
  */
 package com.example.bookapp03.C3BookInformationProcessing;
 
@@ -18,8 +20,6 @@ import com.example.bookapp03.C1UIProcessing.HighlightMemoData;
 import com.example.bookapp03.C6BookInformationManaging.BookRepository;
 
 import java.util.List;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
 
 /**
  * 書籍の詳細情報および関連するハイライトメモのデータを保持・管理するViewModel。
@@ -60,21 +60,18 @@ public class BookDetailViewModel extends ViewModel {
      * @param volumeId ロード対象の書籍のボリュームID
      */
     public void loadBookDetail(String uid, String volumeId) {
-        // 非同期でリポジトリから書籍詳細データを取得
-        Future<BookDetailData> future = bookRepository.getBookDetail(uid, volumeId);
-        new Thread(() -> {
-            try {
-                // 非同期処理の完了を待ち、結果を取得
-                BookDetailData detailData = future.get();
-                // UIスレッドでLiveDataを更新し、UIに通知
-                _bookDetail.postValue(detailData);
-            } catch (ExecutionException | InterruptedException e) {
-                // データロード中のエラーをログに出力
-                Log.e(TAG, "Error loading book detail for volumeId: " + volumeId + ", Error: " + e.getMessage());
+        // 非同期でリポジトリから書籍詳細データを取得し、完了時にLiveDataへ反映
+        bookRepository.getBookDetail(uid, volumeId).whenComplete((detailData, error) -> {
+            if (error != null) {
+                // データロード中のエラー（プールが処理を受け付けなかった場合を含む）をログに出力
+                Log.e(TAG, "Error loading book detail for volumeId: " + volumeId + ", Error: " + error.getMessage());
                 // エラー時はLiveDataにnullを設定してUIに通知
                 _bookDetail.postValue(null);
+                return;
             }
-        }).start();
+            // UIスレッドでLiveDataを更新し、UIに通知
+            _bookDetail.postValue(detailData);
+        });
     }
 
     /**
@@ -94,21 +91,18 @@ public class BookDetailViewModel extends ViewModel {
      * @param volumeId ロード対象の書籍のボリュームID
      */
     public void loadHighlightMemos(String uid, String volumeId) {
-        // 非同期でリポジトリからハイライトメモのリストを取得
-        Future<List<HighlightMemoData>> future = bookRepository.getHighlightMemos(uid, volumeId);
-        new Thread(() -> {
-            try {
-                // 非同期処理の完了を待ち、結果を取得
-                List<HighlightMemoData> memos = future.get();
-                // UIスレッドでLiveDataを更新し、UIに通知
-                _highlightMemos.postValue(memos);
-            } catch (ExecutionException | InterruptedException e) {
+        // 非同期でリポジトリからハイライトメモのリストを取得し、完了時にLiveDataへ反映
+        bookRepository.getHighlightMemos(uid, volumeId).whenComplete((memos, error) -> {
+            if (error != null) {
                 // メモロード中のエラーをログに出力
-                Log.e(TAG, "Error loading highlight memos for volumeId: " + volumeId + ", Error: " + e.getMessage());
+                Log.e(TAG, "Error loading highlight memos for volumeId: " + volumeId + ", Error: " + error.getMessage());
                 // エラー時はLiveDataにnullを設定してUIに通知
                 _highlightMemos.postValue(null);
+                return;
             }
-        }).start();
+            // UIスレッドでLiveDataを更新し、UIに通知
+            _highlightMemos.postValue(memos);
+        });
     }
 
     /**
@@ -120,24 +114,19 @@ public class BookDetailViewModel extends ViewModel {
      * @param memoData 登録するHighlightMemoDataオブジェクト
      */
     public void registerHighlightMemo(String uid, String volumeId, HighlightMemoData memoData) {
-        // 非同期でリポジトリにハイライトメモを登録
-        Future<Boolean> future = bookRepository.registerHighlightMemo(uid, volumeId, memoData);
-        new Thread(() -> {
-            try {
-                // 非同期処理の完了を待ち、登録の成否を取得
-                Boolean success = future.get();
-                if (success != null && success) {
-                    // 登録成功をログに出力し、最新のメモリストを再ロード
-                    Log.d(TAG, "Highlight memo registered successfully. Reloading memos.");
-                    loadHighlightMemos(uid, volumeId);
-                } else {
-                    // 登録失敗をログに出力
-                    Log.e(TAG, "Failed to register highlight memo. Received success: " + success);
-                }
-            } catch (ExecutionException | InterruptedException e) {
+        // 非同期でリポジトリにハイライトメモを登録し、完了時に成否を判定
+        bookRepository.registerHighlightMemo(uid, volumeId, memoData).whenComplete((success, error) -> {
+            if (error != null) {
                 // 登録処理中のエラーをログに出力
-                Log.e(TAG, "Error registering highlight memo: " + e.getMessage());
+                Log.e(TAG, "Error registering highlight memo: " + error.getMessage());
+            } else if (success != null && success) {
+                // 登録成功をログに出力し、最新のメモリストを再ロード
+                Log.d(TAG, "Highlight memo registered successfully. Reloading memos.");
+                loadHighlightMemos(uid, volumeId);
+            } else {
+                // 登録失敗をログに出力
+                Log.e(TAG, "Failed to register highlight memo. Received success: " + success);
             }
-        }).start();
+        });
     }
 }
\ No newline at end of file
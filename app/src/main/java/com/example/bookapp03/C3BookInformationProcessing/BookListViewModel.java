@@ -6,6 +6,9 @@
  * 書籍のロードや公開ステータスの更新などのデータ操作を仲介します。
  * 履歴:
  * 2025/06/09 横山葉 新規作成
+ * 2026/10/18 横山葉 一覧をローカルDBの内容で即時表示し、表示範囲と先読み範囲の行のみ書籍情報を補完するよう変更
+ * 2026/10/18 横山葉 結果待ちの処理をスレッドの都度作成からアプリ共通の通信用プールでの実行に変更
+ * 2026/10/18 横山葉 プールのスレッドで結果を待機せず、リポジトリの処理の完了時に結果を反映するよう変更
  */
 package com.example.bookapp03.C3BookInformationProcessing;
 
@@ -17,9 +20,12 @@ import androidx.lifecycle.ViewModel;
 
 import com.example.bookapp03.C6BookInformationManaging.BookRepository;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 書籍一覧のデータを管理し、UIに提供するViewModelクラス。
@@ -29,6 +35,8 @@ public class BookListViewModel extends ViewModel {
 
     /** ログ出力用のタグ */
     private static final String TAG = "BookListViewModel";
+    /** 表示範囲の末尾より先に書籍情報を補完しておく行数の既定値（3列グリッドで3段分） */
+    public static final int DEFAULT_PREFETCH_DISTANCE = 9;
 
     /** データ操作を行うリポジトリのインスタンス */
     private final BookRepository bookRepository;
@@ -36,6 +44,15 @@ public class BookListViewModel extends ViewModel {
     private final MutableLiveData<List<BookSummaryData>> _bookList = new MutableLiveData<>();
     /** UIが書籍リストの変更を監視するためのLiveData（公開用） */
     public LiveData<List<BookSummaryData>> bookList = _bookList;
+    /** 書籍情報を補完した行の位置リストを保持するMutableLiveData（内部用） */
+    private final MutableLiveData<List<Integer>> _hydratedPositions = new MutableLiveData<>();
+    /** UIが補完済みの行を再描画するために監視するLiveData（公開用） */
+    public LiveData<List<Integer>> hydratedPositions = _hydratedPositions;
+
+    /** 表示範囲の末尾より先に補完しておく行数 */
+    private final int prefetchDistance;
+    /** 補完を要求済みのボリュームID（同じ行を重複して要求しないために使用） */
+    private final Set<String> requestedVolumeIds = ConcurrentHashMap.newKeySet();
 
     /**
      * BookListViewModelのコンストラクタ。
@@ -44,31 +61,95 @@ public class BookListViewModel extends ViewModel {
      * @param bookRepository データリポジトリのインスタンス
      */
     public BookListViewModel(BookRepository bookRepository) {
+        this(bookRepository, DEFAULT_PREFETCH_DISTANCE);
+    }
+
+    /**
+     * 先読み行数を指定するBookListViewModelのコンストラクタ。
+     *
+     * @param bookRepository   データリポジトリのインスタンス
+     * @param prefetchDistance 表示範囲の末尾より先に書籍情報を補完しておく行数（0以上）
+     */
+    public BookListViewModel(BookRepository bookRepository, int prefetchDistance) {
         this.bookRepository = bookRepository;
+        this.prefetchDistance = Math.max(0, prefetchDistance);
     }
 
     /**
      * 指定されたユーザーの書籍一覧サマリをリポジトリから非同期でロードする。
-     * ロードが成功した場合、`bookList` LiveDataを更新する。
+     * ローカルDBの内容のみで即時に`bookList` LiveDataを更新し、書籍情報が未保存の行は
+     * プレースホルダとして表示する。補完は onVisibleRangeChanged で表示範囲単位に行う。
      *
      * @param uid データをロードするユーザーのID
      */
     public void loadBooks(String uid) {
-        // 非同期でリポジトリから書籍サマリのリストを取得
-        Future<List<BookSummaryData>> future = bookRepository.getAllBookSummaries(uid);
-        new Thread(() -> {
-            try {
-                // 非同期処理の完了を待ち、結果を取得
-                List<BookSummaryData> books = future.get();
-                // UIスレッドでLiveDataを更新し、UIに通知
-                _bookList.postValue(books);
-            } catch (ExecutionException | InterruptedException e) {
-                // データロード中のエラーをログに出力
-                Log.e(TAG, "Error loading books for UID: " + uid + ", Error: " + e.getMessage());
+        // 再ロード後の一覧では補完状態を改めて判定する
+        requestedVolumeIds.clear();
+        // 非同期でリポジトリから書籍サマリのリストを取得し、完了時にLiveDataへ反映
+        bookRepository.getAllBookSummaries(uid).whenComplete((books, error) -> {
+            if (error != null) {
+                // データロード中のエラー（プールが処理を受け付けなかった場合を含む）をログに出力
+                Log.e(TAG, "Error loading books for UID: " + uid + ", Error: " + error.getMessage());
                 // エラー時はLiveDataにnullを設定してUIに通知
                 _bookList.postValue(null);
+                return;
+            }
+            // UIスレッドでLiveDataを更新し、UIに通知
+            _bookList.postValue(books);
+        });
+    }
+
+    /**
+     * 画面に表示中の行の範囲が変化したときに呼び出され、表示範囲と先読み範囲の行のうち
+     * 書籍情報が未取得の行のみタイトルと画像URLを補完する。
+     * 補完が完了した行の位置は`hydratedPositions` LiveDataで通知する。
+     *
+     * @param uid          ユーザーID
+     * @param firstVisible 表示中の先頭行の位置
+     * @param lastVisible  表示中の末尾行の位置
+     */
+    public void onVisibleRangeChanged(String uid, int firstVisible, int lastVisible) {
+        List<BookSummaryData> currentList = bookList.getValue();
+        if (uid == null || currentList == null || currentList.isEmpty() || firstVisible < 0) {
+            return;
+        }
+        int end = Math.min(currentList.size() - 1, lastVisible + prefetchDistance);
+        List<String> volumeIds = new ArrayList<>();
+        for (int i = firstVisible; i <= end; i++) {
+            BookSummaryData book = currentList.get(i);
+            if (book.needsHydration() && requestedVolumeIds.add(book.getVolumeId())) {
+                volumeIds.add(book.getVolumeId());
+            }
+        }
+        if (volumeIds.isEmpty()) {
+            return;
+        }
+
+        bookRepository.hydrateBookSummaries(uid, volumeIds).whenComplete((result, error) -> {
+            if (error != null) {
+                Log.e(TAG, "Error hydrating books for UID: " + uid + ", Error: " + error.getMessage());
+                // 次回のスクロール時に再度補完を試みる
+                requestedVolumeIds.removeAll(volumeIds);
+                return;
             }
-        }).start();
+            Map<String, BookSummaryData> hydrated = new HashMap<>();
+            for (BookSummaryData book : result) {
+                hydrated.put(book.getVolumeId(), book);
+            }
+            // 補完結果を一覧の該当行に反映し、その位置のみをUIに通知
+            List<Integer> positions = new ArrayList<>();
+            for (int i = 0; i < currentList.size(); i++) {
+                BookSummaryData book = currentList.get(i);
+                BookSummaryData source = hydrated.get(book.getVolumeId());
+                if (source != null) {
+                    book.applyBookInfo(source.getTitle(), source.getImageUrl());
+                    positions.add(i);
+                }
+            }
+            if (!positions.isEmpty() && currentList == bookList.getValue()) {
+                _hydratedPositions.postValue(positions);
+            }
+        });
     }
 
     /**
@@ -90,25 +171,20 @@ public class BookListViewModel extends ViewModel {
      * @param newPublicStatus 新しい公開状態（true: 公開, false: 非公開）
      */
     public void updatePublicStatus(String uid, String volumeId, boolean newPublicStatus) {
-        // 非同期でリポジトリを介して書籍の公開ステータスを更新
-        Future<Boolean> future = bookRepository.updateBookPublicStatus(uid, volumeId, newPublicStatus);
-        new Thread(() -> {
-            try {
-                // 非同期処理の完了を待ち、更新の成否を取得
-                Boolean success = future.get();
-                if (success != null && success) {
-                    // 更新成功をログに出力
-                    Log.d(TAG, "Public status updated successfully for volumeId: " + volumeId);
-                    // UIを最新の状態に保つため、書籍リストを再ロード
-                    loadBooks(uid);
-                } else {
-                    // 更新失敗をログに出力
-                    Log.e(TAG, "Failed to update public status for volumeId: " + volumeId);
-                }
-            } catch (ExecutionException | InterruptedException e) {
+        // 非同期でリポジトリを介して書籍の公開ステータスを更新し、完了時に成否を判定
+        bookRepository.updateBookPublicStatus(uid, volumeId, newPublicStatus).whenComplete((success, error) -> {
+            if (error != null) {
                 // 更新処理中のエラーをログに出力
-                Log.e(TAG, "Error updating public status for volumeId: " + volumeId + ", Error: " + e.getMessage());
+                Log.e(TAG, "Error updating public status for volumeId: " + volumeId + ", Error: " + error.getMessage());
+            } else if (success != null && success) {
+                // 更新成功をログに出力
+                Log.d(TAG, "Public status updated successfully for volumeId: " + volumeId);
+                // UIを最新の状態に保つため、書籍リストを再ロード
+                loadBooks(uid);
+            } else {
+                // 更新失敗をログに出力
+                Log.e(TAG, "Failed to update public status for volumeId: " + volumeId);
             }
-        }).start();
+        });
     }
 }
\ No newline at end of file
@@ -5,6 +5,8 @@
  * 概要: 書籍のサマリ情報を保持するデータクラス。
  * 履歴:
  * 2025/06/09 横山葉 新規作成
+ * 2026/10/18 横山葉 書籍情報未取得（プレースホルダ）状態の判定と補完メソッドを追加
+ * 2026/10/18 横山葉 補完が必要かの判定をタイトルのみで行うよう変更（表紙のない書籍を毎回補完しないため）
  */
 package com.example.bookapp03.C3BookInformationProcessing;
 
@@ -15,10 +17,10 @@ package com.example.bookapp03.C3BookInformationProcessing;
 public class BookSummaryData {
     /** 書籍のGoogle Books APIにおけるボリュームID */
     private String volumeId;
-    /** 書籍のタイトル */
-    private String title;
-    /** 書籍のカバー画像のURL */
-    private String imageUrl;
+    /** 書籍のタイトル（バックグラウンドで補完されるため volatile） */
+    private volatile String title;
+    /** 書籍のカバー画像のURL（バックグラウンドで補完されるため volatile） */
+    private volatile String imageUrl;
     /** 書籍が公開状態であるかどうかのフラグ (true: 公開, false: 非公開) */
     private boolean isPublic;
 
@@ -82,4 +84,30 @@ public class BookSummaryData {
     public void setPublic(boolean aPublic) {
         isPublic = aPublic;
     }
-}
\ No newline at end of file
+
+    /**
+     * タイトルが未取得（プレースホルダ表示）であるかどうかを返します。
+     * 表紙のない書籍もあるため、画像URLが空でもタイトルがあれば補完済みとみなします。
+     *
+     * @return 書籍情報の補完が必要であればtrue
+     */
+    public boolean needsHydration() {
+        return title == null || title.isEmpty();
+    }
+
+    /**
+     * 後から取得した書籍情報でタイトルと画像URLを補完します。
+     * 空の値では既存の値を上書きしません。
+     *
+     * @param title    書籍のタイトル
+     * @param imageUrl 書籍のカバー画像URL
+     */
+    public void applyBookInfo(String title, String imageUrl) {
+        if (title != null && !title.isEmpty()) {
+            this.title = title;
+        }
+        if (imageUrl != null && !imageUrl.isEmpty()) {
+            this.imageUrl = imageUrl;
+        }
+    }
+}
@@ -7,10 +7,20 @@
  * Firebase Firestoreへの保存に適した構造になっています。
  * 履歴:
  * 2025/06/30 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 ドキュメントIDの保持と、内容による同値判定を追加
  */
 package com.example.bookapp03.C3BookInformationProcessing;
 
+import com.google.firebase.firestore.DocumentId;
+
+import java.util.Objects;
+
 public class Review {
+    /**
+     * レビューのドキュメントID。Firestoreから変換する際に自動的に設定され、保存時には書き込まれません。
+     */
+    @DocumentId
+    private String documentId;
     /**
      * レビューのコメント本文または要約。Firestoreの 'overallSummary' フィールドに対応。
      */
@@ -134,4 +144,34 @@ public class Review {
     public String getComment() {
         return overallSummary;
     }
+
+    /**
+     * レビューのドキュメントIDを取得します。
+     *
+     * @return ドキュメントID（Firestoreから取得していない場合は null）
+     */
+    public String getDocumentId() {
+        return documentId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Review)) {
+            return false;
+        }
+        Review other = (Review) o;
+        return isPublic == other.isPublic
+                && Objects.equals(documentId, other.documentId)
+                && Objects.equals(overallSummary, other.overallSummary)
+                && Objects.equals(uid, other.uid)
+                && Objects.equals(volumeId, other.volumeId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(documentId, overallSummary, uid, volumeId, isPublic);
+    }
 }
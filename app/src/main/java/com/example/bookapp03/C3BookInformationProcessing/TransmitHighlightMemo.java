@@ -13,6 +13,7 @@ import com.example.bookapp03.C6BookInformationManaging.RegisterHighlightMemo;
  * 概要: UI層から受け取ったハイライトメモデータを管理層に送信する
  * 履歴:
  * 2025/06/15 鶴田凌 新規作成
+ * 2026/10/18 鶴田凌 登録完了を待たずに戻る送信処理を追加
  */
 public class TransmitHighlightMemo {
 
@@ -22,6 +23,16 @@ public class TransmitHighlightMemo {
     private String uid;
     private String volumeId;
 
+    /**
+     * 送信結果を受け取るコールバック
+     */
+    public interface Callback {
+        /**
+         * @param success 登録成功時 true、失敗時 false
+         */
+        void onTransmitted(boolean success);
+    }
+
     /**
      * コンストラクタ
      *
@@ -36,7 +47,21 @@ public class TransmitHighlightMemo {
     }
 
     /**
-     * ハイライトメモを送信・登録する
+     * ハイライトメモを送信する。登録の完了を待たずに戻り、結果はメインスレッドでコールバックに通知する。
+     *
+     * @param data     ハイライトメモデータ（UI層）
+     * @param callback 送信結果を受け取るコールバック
+     */
+    public void transmitHighlightMemoAsync(HighlightMemoData data, Callback callback) {
+        Log.d(TAG, "ハイライトメモ送信受付 - VolumeID: " + volumeId);
+        new RegisterHighlightMemo(context).registerHighlightMemoAsync(uid, volumeId, data, success -> {
+            Log.d(TAG, "送信結果: " + success);
+            callback.onTransmitted(success);
+        });
+    }
+
+    /**
+     * ハイライトメモを送信・登録する。登録が完了するまで戻らないため、バックグラウンドスレッドから呼び出すこと。
      *
      * @param data ハイライトメモデータ（UI層）
      * @return 登録成功時 true、失敗時 false
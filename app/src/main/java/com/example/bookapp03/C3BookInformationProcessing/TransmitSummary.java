@@ -11,6 +11,7 @@ import com.example.bookapp03.C6BookInformationManaging.RegisterSummary;
  * 概要: 全体まとめのデータを C6BookInformationManaging.RegisterSummaryに送信し、登録処理を行うクラス
  * 履歴:
  * 2025/06/15 鶴田凌 新規作成
+ * 2026/10/18 鶴田凌 書籍情報付きの登録を追加
  */
 public class TransmitSummary {
     /**
@@ -45,4 +46,30 @@ public class TransmitSummary {
         RegisterSummary reg = new RegisterSummary(context);
         return reg.registerSummary(uid, volumeId, overallSummary, isPublic);
     }
+
+    /**
+     * 書籍情報（タイトル・著者・表紙URL）付きで全体まとめデータを登録する。
+     * 一覧表示時に書籍情報をネットワークから再取得しなくて済むよう、選択済みの書籍情報を保存する。
+     *
+     * @param uid            ユーザ ID
+     * @param volumeId       書籍ボリューム ID
+     * @param overallSummary 要約テキスト
+     * @param isPublic       公開フラグ
+     * @param title          書籍タイトル（null可）
+     * @param author         著者名（null可）
+     * @param coverImageUrl  表紙画像URL（null可）
+     * @return true = 登録成功、false = 登録失敗
+     */
+    public boolean transmitSummary(
+            String uid,
+            String volumeId,
+            String overallSummary,
+            boolean isPublic,
+            String title,
+            String author,
+            String coverImageUrl
+    ) {
+        RegisterSummary reg = new RegisterSummary(context);
+        return reg.registerSummary(uid, volumeId, overallSummary, isPublic, title, author, coverImageUrl);
+    }
 }
@@ -7,6 +7,8 @@
  * Intentでオブジェクトを渡すためにSerializableを実装しています。
  * 履歴:
  * 2025/06/30 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 カテゴリをジャンルのビットマスク（GenreRegistry）に変換した結果を保持するよう変更
+ * 2026/10/18 三浦寛生 著者名のリスト（authors）を保持するよう変更
  */
 package com.example.bookapp03.C4SearchProcessing;
 
@@ -33,6 +35,11 @@ public class Book implements Serializable {
      */
     private String author;
 
+    /**
+     * 書籍の著者名のリスト。Google Books APIの authors をそのまま格納します（取得元にない場合は null）。
+     */
+    private List<String> authors;
+
     /**
      * 書籍の出版日。
      */
@@ -76,6 +83,12 @@ public class Book implements Serializable {
      */
     private String isbn; // ★ここが追加されました！
     private String overallSummary;
+
+    /**
+     * カテゴリから求めたジャンルのビットマスク（GenreRegistry）。初回参照時に計算し、保存・シリアライズの対象外とします。
+     */
+    private transient long genreMask;
+    private transient boolean genreMaskComputed;
     /**
      * Firestoreから直接オブジェクトをマッピングするために必要となる、引数なしのデフォルトコンストラクタです。
      */
@@ -137,6 +150,15 @@ public class Book implements Serializable {
         return author;
     }
 
+    /**
+     * 書籍の著者名のリストを取得します。
+     *
+     * @return 著者名のリスト（取得元にない場合は null）
+     */
+    public List<String> getAuthors() {
+        return authors;
+    }
+
     /**
      * 書籍の概要または説明を取得します。
      *
@@ -194,6 +216,15 @@ public class Book implements Serializable {
         this.author = author;
     }
 
+    /**
+     * 書籍の著者名のリストを設定します。
+     *
+     * @param authors 設定する著者名のリスト
+     */
+    public void setAuthors(List<String> authors) {
+        this.authors = authors;
+    }
+
     /**
      * 書籍の出版日を設定します。
      *
@@ -228,6 +259,20 @@ public class Book implements Serializable {
      */
     public void setCategories(List<String> categories) {
         this.categories = categories;
+        this.genreMaskComputed = false;
+    }
+
+    /**
+     * カテゴリに含まれるジャンルのビットマスクを取得します。カテゴリの解析は書籍ごとに一度だけ行います。
+     *
+     * @return ジャンルのビットマスク（GenreRegistry に登録されたジャンルを含まない場合は 0）
+     */
+    public long getGenreMask() {
+        if (!genreMaskComputed) {
+            genreMask = GenreRegistry.maskOf(categories);
+            genreMaskComputed = true;
+        }
+        return genreMask;
     }
 
     /**
@@ -322,6 +367,7 @@ public class Book implements Serializable {
                 "id='" + id + '\'' +
                 ", title='" + title + '\'' +
                 ", author='" + author + '\'' +
+                ", authors=" + authors +
                 ", publishedDate='" + publishedDate + '\'' +
                 ", description='" + description + '\'' +
                 ", thumbnailUrl='" + thumbnailUrl + '\'' +
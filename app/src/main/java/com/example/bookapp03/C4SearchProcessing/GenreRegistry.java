@@ -0,0 +1,186 @@
+/**
+ * モジュール名: GenreRegistry
+ * 作成者: 三浦寛生
+ * 作成日: 2026/10/18
+ * 概要:　ジャンル選択画面で選べる Google Books のカテゴリ（48種類）を一元管理するクラスです。
+ * 各ジャンルに long の1ビットを割り当て、書籍のカテゴリ（例: 「Fiction / Fantasy」）やユーザーの好きなジャンルを
+ * ビットマスクに変換します。ジャンルの一致判定は AND 演算1回で行えます。
+ * 履歴:
+ * 2026/10/18 三浦寛生 新規作成
+ */
+package com.example.bookapp03.C4SearchProcessing;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public final class GenreRegistry {
+
+    /**
+     * 英語のジャンル名（Firestore への保存値）と日本語の表示名。配列の位置がビット番号になるため、追加は末尾に行います。
+     */
+    private static final String[][] GENRES = {
+            {"Architecture", "建築"},
+            {"Art", "美術"},
+            {"Biography & Autobiography", "伝記・自伝"},
+            {"Body, Mind & Spirit", "ボディ・マインド・スピリット"},
+            {"Business & Economics", "ビジネス・経済"},
+            {"Comics & Graphic Novels", "コミックス・グラフィックノベル"},
+            {"Children's stories", "児童書"},
+            {"Computers", "コンピュータ"},
+            {"Cooking", "料理"},
+            {"Crafts & Hobbies", "クラフト・趣味"},
+            {"Design", "デザイン"},
+            {"Drama", "演劇"},
+            {"Education", "教育"},
+            {"Family & Relationships", "家族・人間関係"},
+            {"Fiction", "小説"},
+            {"Foreign Language Study", "外国語学習"},
+            {"Health & Fitness", "健康・フィットネス"},
+            {"History", "歴史"},
+            {"House & Home", "家・住まい"},
+            {"Humor", "ユーモア"},
+            {"Juvenile Fiction", "児童小説"},
+            {"Juvenile Nonfiction", "児童ノンフィクション"},
+            {"Language Arts & Disciplines", "言語学・文学研究"},
+            {"Law", "法律"},
+            {"Literary Collections", "文学評論"},
+            {"Literary Criticism", "文芸評論"},
+            {"Mathematics", "数学"},
+            {"Medical", "医学"},
+            {"Music", "音楽"},
+            {"Nature", "自然"},
+            {"Performing Arts", "舞台芸術"},
+            {"Pets", "ペット"},
+            {"Philosophy", "哲学"},
+            {"Photography", "写真"},
+            {"Poetry", "詩"},
+            {"Political Science", "政治学"},
+            {"Psychology", "心理学"},
+            {"Reference", "リファレンス"},
+            {"Religion", "宗教"},
+            {"Science", "科学"},
+            {"Self-Help", "自己啓発"},
+            {"Social Science", "社会科学"},
+            {"Sports & Recreation", "スポーツ・レクリエーション"},
+            {"Study Aids", "学習補助"},
+            {"Technology & Engineering", "テクノロジー・エンジニアリング"},
+            {"Transportation", "交通"},
+            {"Travel", "旅行"},
+            {"True Crime", "実録・犯罪"},
+    };
+
+    /** 小文字にした英語のジャンル名 → ビット番号 */
+    private static final Map<String, Integer> BIT_BY_NAME = new HashMap<>();
+    /** 英語のジャンル名 → 日本語の表示名 */
+    private static final Map<String, String> JAPANESE_BY_ENGLISH = new HashMap<>();
+    /** 日本語の表示名 → 英語のジャンル名 */
+    private static final Map<String, String> ENGLISH_BY_JAPANESE = new HashMap<>();
+
+    static {
+        if (GENRES.length > Long.SIZE) {
+            throw new IllegalStateException("Too many genres for a long mask: " + GENRES.length);
+        }
+        for (int bit = 0; bit < GENRES.length; bit++) {
+            BIT_BY_NAME.put(GENRES[bit][0].toLowerCase(Locale.ROOT), bit);
+            JAPANESE_BY_ENGLISH.put(GENRES[bit][0], GENRES[bit][1]);
+            ENGLISH_BY_JAPANESE.put(GENRES[bit][1], GENRES[bit][0]);
+        }
+    }
+
+    private GenreRegistry() {
+    }
+
+    /**
+     * 登録されている英語のジャンル名を、ビット番号の順に返します。
+     *
+     * @return 英語のジャンル名のリスト
+     */
+    public static List<String> getEnglishNames() {
+        List<String> names = new ArrayList<>(GENRES.length);
+        for (String[] genre : GENRES) {
+            names.add(genre[0]);
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * 英語のジャンル名を日本語の表示名に変換します。
+     *
+     * @param english 英語のジャンル名
+     * @return 日本語の表示名（登録されていない場合は null）
+     */
+    public static String toJapanese(String english) {
+        return JAPANESE_BY_ENGLISH.get(english);
+    }
+
+    /**
+     * 日本語の表示名を英語のジャンル名に変換します。
+     *
+     * @param japanese 日本語の表示名
+     * @return 英語のジャンル名（登録されていない場合は null）
+     */
+    public static String toEnglish(String japanese) {
+        return ENGLISH_BY_JAPANESE.get(japanese);
+    }
+
+    /**
+     * カテゴリ文字列をビットマスクに変換します。
+     * Google Books の「Fiction / Fantasy / Epic」のような階層表記は最上位のカテゴリ（Fiction）で判定し、
+     * 大文字・小文字は区別しません。
+     *
+     * @param category カテゴリ文字列、またはユーザーの好きなジャンル（英語）
+     * @return ビットマスク（登録されていないカテゴリの場合は 0）
+     */
+    public static long maskOf(String category) {
+        if (category == null) {
+            return 0L;
+        }
+        int separator = category.indexOf('/');
+        String topLevel = separator < 0 ? category : category.substring(0, separator);
+        Integer bit = BIT_BY_NAME.get(topLevel.trim().toLowerCase(Locale.ROOT));
+        return bit == null ? 0L : 1L << bit;
+    }
+
+    /**
+     * 複数のカテゴリ文字列をまとめて1つのビットマスクに変換します。
+     *
+     * @param categories カテゴリ文字列、またはユーザーの好きなジャンル（英語）のリスト
+     * @return ビットマスク（null または空の場合は 0）
+     */
+    public static long maskOf(Collection<String> categories) {
+        long mask = 0L;
+        if (categories != null) {
+            for (String category : categories) {
+                mask |= maskOf(category);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * 2つのビットマスクに共通するジャンルがあるかを判定します。
+     *
+     * @param bookMask 書籍のジャンルのビットマスク
+     * @param userMask ユーザーの好きなジャンルのビットマスク
+     * @return 共通するジャンルがある場合は true
+     */
+    public static boolean matchesAny(long bookMask, long userMask) {
+        return (bookMask & userMask) != 0L;
+    }
+
+    /**
+     * 2つのビットマスクに共通するジャンルの数を返します。おすすめの並び替えなどに使用します。
+     *
+     * @param bookMask 書籍のジャンルのビットマスク
+     * @param userMask ユーザーの好きなジャンルのビットマスク
+     * @return 共通するジャンルの数
+     */
+    public static int countShared(long bookMask, long userMask) {
+        return Long.bitCount(bookMask & userMask);
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * モジュール名: GoogleBooksFields
+ * 作成者: 三浦寛生
+ * 作成日: 2026/10/18
+ * 概要:　Google Books APIの部分レスポンス（fields パラメータ）の指定を用途ごとに一箇所で定義するクラスです。
+ * 各呼び出し元は使用するフィールドのみを要求し、概要・販売情報・閲覧情報などの不要なデータの転送を避けます。
+ * 履歴:
+ * 2026/10/18 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 入力補完（autocompleteBooks）用の指定を追加
+ * 2026/10/18 三浦寛生 書籍検索の指定に、楽天ランキングの補完で使用する infoLink を追加
+ */
+package com.example.bookapp03.C4SearchProcessing;
+
+import okhttp3.HttpUrl;
+
+public final class GoogleBooksFields {
+
+    /** 部分レスポンスを指定するクエリパラメータ名 */
+    public static final String PARAM = "fields";
+
+    /** 検索候補（fetchSuggestions）: タイトルのみ */
+    public static final String SUGGESTIONS = "items(volumeInfo/title)";
+
+    /** 入力補完（autocompleteBooks）: 候補の表示と選択時の書籍特定に使用する項目 */
+    public static final String AUTOCOMPLETE = "items(id,volumeInfo(title,authors,imageLinks/thumbnail))";
+
+    /** 書籍検索（searchBooks）: 検索結果の表示・登録・楽天のスコアリングと補完に使用する項目 */
+    public static final String SEARCH = "items(id,volumeInfo(title,authors,publishedDate,description,categories,"
+            + "infoLink,imageLinks/thumbnail,industryIdentifiers))";
+
+    /** ISBNからボリュームIDへの変換（VolumeIdProvider.fetchVolumeId）: IDのみ */
+    public static final String VOLUME_ID = "items/id";
+
+    /** 書籍メタデータ（VolumeIdProvider）: タイトル・著者・表紙・カテゴリ */
+    public static final String VOLUME_METADATA = "id,volumeInfo(title,authors,categories,imageLinks/thumbnail)";
+
+    /** おすすめ書籍の詳細（FirestoreBookService）: 詳細表示に使用する項目 */
+    public static final String VOLUME_DETAIL = "id,volumeInfo(title,authors,publishedDate,description,infoLink,"
+            + "categories,imageLinks,industryIdentifiers)";
+
+    private GoogleBooksFields() {
+    }
+
+    /**
+     * URLビルダーに fields パラメータを追加します。
+     *
+     * @param urlBuilder 追加先のURLビルダー
+     * @param fields     用途ごとのフィールド指定（本クラスの定数）
+     * @return 引数の urlBuilder
+     */
+    public static HttpUrl.Builder apply(HttpUrl.Builder urlBuilder, String fields) {
+        return urlBuilder.addQueryParameter(PARAM, fields);
+    }
+}
@@ -0,0 +1,386 @@
+/**
+ * モジュール名: GoogleBooksJsonAdapters
+ * 作成者: 三浦寛生
+ * 作成日: 2026/10/18
+ * 概要:　Google Books APIのレスポンスをストリーミングで読み取り、Bookモデルへ直接変換するTypeAdapter群です。
+ * レスポンス全体を文字列やツリーに展開せず、使用しないフィールドは読み飛ばします。
+ * 書き出しでは、読み取りで使用するフィールドのみを Google Books のレスポンスと同じ形式で出力します。
+ * 履歴:
+ * 2026/10/18 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 著者名をすべて保持し、読み取るフィールドと同じ形式での書き出し（write）を実装
+ */
+package com.example.bookapp03.C4SearchProcessing;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import okhttp3.ResponseBody;
+
+public final class GoogleBooksJsonAdapters {
+
+    /** 大きい順の画像サイズ名（thumbnail は最後のフォールバックとして別扱い） */
+    private static final String[] IMAGE_SIZES = {"extraLarge", "large", "medium", "small"};
+
+    /**
+     * 単一のボリューム（検索結果の item、または volumes/{id} のレスポンス）をBookに変換するアダプタです。
+     * 画像URLには thumbnail を使用します。
+     */
+    public static final TypeAdapter<Book> VOLUME = new VolumeAdapter(false);
+
+    /**
+     * 単一のボリュームをBookに変換するアダプタです。
+     * 画像URLには extraLarge, large, medium, small, thumbnail の順で最初に見つかったものを使用します。
+     */
+    public static final TypeAdapter<Book> VOLUME_LARGEST_IMAGE = new VolumeAdapter(true);
+
+    /**
+     * volumes 検索レスポンスの items をBookのリストに変換するアダプタです。
+     * volumeInfo を持たない item は除外します。
+     */
+    public static final TypeAdapter<List<Book>> VOLUME_LIST = new VolumeListAdapter(VOLUME);
+
+    private GoogleBooksJsonAdapters() {
+    }
+
+    /**
+     * volumes 検索レスポンスのボディを読み取り、Bookのリストに変換します。
+     *
+     * @param body レスポンスボディ
+     * @return 書籍のリスト（items がない場合は空のリスト）
+     * @throws IOException 読み取りまたはJSONの解析に失敗した場合
+     */
+    public static List<Book> readVolumeList(ResponseBody body) throws IOException {
+        try (JsonReader reader = new JsonReader(body.charStream())) {
+            return VOLUME_LIST.read(reader);
+        }
+    }
+
+    /**
+     * volumes/{id} レスポンスのボディを読み取り、Bookに変換します。
+     *
+     * @param body                レスポンスボディ
+     * @param preferLargestImage  true の場合、最も大きい画像のURLを使用する
+     * @return 書籍（volumeInfo がない場合は null）
+     * @throws IOException 読み取りまたはJSONの解析に失敗した場合
+     */
+    public static Book readVolume(ResponseBody body, boolean preferLargestImage) throws IOException {
+        try (JsonReader reader = new JsonReader(body.charStream())) {
+            return (preferLargestImage ? VOLUME_LARGEST_IMAGE : VOLUME).read(reader);
+        }
+    }
+
+    /**
+     * 検索レスポンス（BooksApiResponse に相当）を読み取るアダプタです。
+     */
+    private static final class VolumeListAdapter extends TypeAdapter<List<Book>> {
+        private final TypeAdapter<Book> itemAdapter;
+
+        VolumeListAdapter(TypeAdapter<Book> itemAdapter) {
+            this.itemAdapter = itemAdapter;
+        }
+
+        @Override
+        public void write(JsonWriter out, List<Book> value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("items");
+            out.beginArray();
+            for (Book book : value) {
+                itemAdapter.write(out, book);
+            }
+            out.endArray();
+            out.endObject();
+        }
+
+        @Override
+        public List<Book> read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return Collections.emptyList();
+            }
+            List<Book> books = new ArrayList<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                if ("items".equals(in.nextName()) && in.peek() == JsonToken.BEGIN_ARRAY) {
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        Book book = itemAdapter.read(in);
+                        if (book != null) {
+                            books.add(book);
+                        }
+                    }
+                    in.endArray();
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return books;
+        }
+    }
+
+    /**
+     * item（Item に相当）と、その volumeInfo（VolumeInfo に相当）を読み取るアダプタです。
+     */
+    private static final class VolumeAdapter extends TypeAdapter<Book> {
+        private final boolean preferLargestImage;
+
+        VolumeAdapter(boolean preferLargestImage) {
+            this.preferLargestImage = preferLargestImage;
+        }
+
+        @Override
+        public void write(JsonWriter out, Book value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id").value(value.getId());
+            out.name("volumeInfo");
+            out.beginObject();
+            out.name("title").value(value.getTitle());
+            List<String> authors = value.getAuthors();
+            if (authors == null && value.getAuthor() != null) {
+                authors = Collections.singletonList(value.getAuthor());
+            }
+            writeStringList(out, "authors", authors);
+            out.name("publishedDate").value(value.getPublishedDate());
+            out.name("description").value(value.getDescription());
+            out.name("infoLink").value(value.getInfoLink());
+            writeStringList(out, "categories", value.getCategories());
+            if (value.getThumbnailUrl() != null) {
+                out.name("imageLinks");
+                out.beginObject();
+                out.name("thumbnail").value(value.getThumbnailUrl());
+                out.endObject();
+            }
+            if (value.getIsbn() != null) {
+                out.name("industryIdentifiers");
+                out.beginArray();
+                out.beginObject();
+                out.name("type").value(value.getIsbn().length() == 13 ? "ISBN_13" : "ISBN_10");
+                out.name("identifier").value(value.getIsbn());
+                out.endObject();
+                out.endArray();
+            }
+            out.endObject();
+            out.endObject();
+        }
+
+        @Override
+        public Book read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            Book book = new Book();
+            boolean hasVolumeInfo = false;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        book.setId(nextStringOrNull(in));
+                        break;
+                    case "volumeInfo":
+                        if (in.peek() == JsonToken.BEGIN_OBJECT) {
+                            readVolumeInfo(in, book);
+                            hasVolumeInfo = true;
+                        } else {
+                            in.skipValue();
+                        }
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return hasVolumeInfo ? book : null;
+        }
+
+        /**
+         * volumeInfo オブジェクトを読み取り、使用するフィールドのみBookに設定します。
+         *
+         * @param in   JSONリーダー（volumeInfo の開始位置）
+         * @param book 設定先のBook
+         * @throws IOException 読み取りに失敗した場合
+         */
+        private void readVolumeInfo(JsonReader in, Book book) throws IOException {
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "title":
+                        book.setTitle(nextStringOrNull(in));
+                        break;
+                    case "authors":
+                        List<String> authors = nextStringList(in);
+                        if (authors != null && !authors.isEmpty()) {
+                            book.setAuthor(authors.get(0));
+                            book.setAuthors(authors);
+                        }
+                        break;
+                    case "publishedDate":
+                        book.setPublishedDate(nextStringOrNull(in));
+                        break;
+                    case "description":
+                        book.setDescription(nextStringOrNull(in));
+                        break;
+                    case "infoLink":
+                        book.setInfoLink(nextStringOrNull(in));
+                        break;
+                    case "categories":
+                        book.setCategories(nextStringList(in));
+                        break;
+                    case "imageLinks":
+                        book.setThumbnailUrl(readImageUrl(in));
+                        break;
+                    case "industryIdentifiers":
+                        book.setIsbn(readIsbn(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+        }
+
+        /**
+         * imageLinks オブジェクトから使用する画像URLを読み取ります。
+         *
+         * @param in JSONリーダー（imageLinks の開始位置）
+         * @return 画像URL（該当なしの場合は null）
+         * @throws IOException 読み取りに失敗した場合
+         */
+        private String readImageUrl(JsonReader in) throws IOException {
+            if (in.peek() != JsonToken.BEGIN_OBJECT) {
+                in.skipValue();
+                return null;
+            }
+            String[] bySize = new String[IMAGE_SIZES.length];
+            String thumbnail = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if ("thumbnail".equals(name)) {
+                    thumbnail = nextStringOrNull(in);
+                    continue;
+                }
+                int index = preferLargestImage ? indexOfImageSize(name) : -1;
+                if (index >= 0) {
+                    bySize[index] = nextStringOrNull(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            for (String url : bySize) {
+                if (url != null) {
+                    return url;
+                }
+            }
+            return thumbnail;
+        }
+
+        /**
+         * industryIdentifiers 配列からISBNを読み取ります。ISBN_13 を ISBN_10 より優先します。
+         *
+         * @param in JSONリーダー（industryIdentifiers の開始位置）
+         * @return ISBN（該当なしの場合は null）
+         * @throws IOException 読み取りに失敗した場合
+         */
+        private String readIsbn(JsonReader in) throws IOException {
+            if (in.peek() != JsonToken.BEGIN_ARRAY) {
+                in.skipValue();
+                return null;
+            }
+            String isbn13 = null;
+            String isbn10 = null;
+            in.beginArray();
+            while (in.hasNext()) {
+                String type = null;
+                String identifier = null;
+                in.beginObject();
+                while (in.hasNext()) {
+                    String name = in.nextName();
+                    if ("type".equals(name)) {
+                        type = nextStringOrNull(in);
+                    } else if ("identifier".equals(name)) {
+                        identifier = nextStringOrNull(in);
+                    } else {
+                        in.skipValue();
+                    }
+                }
+                in.endObject();
+                if ("ISBN_13".equals(type) && isbn13 == null) {
+                    isbn13 = identifier;
+                } else if ("ISBN_10".equals(type) && isbn10 == null) {
+                    isbn10 = identifier;
+                }
+            }
+            in.endArray();
+            return isbn13 != null ? isbn13 : isbn10;
+        }
+    }
+
+    private static int indexOfImageSize(String name) {
+        for (int i = 0; i < IMAGE_SIZES.length; i++) {
+            if (IMAGE_SIZES[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String nextStringOrNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (in.peek() == JsonToken.BEGIN_OBJECT || in.peek() == JsonToken.BEGIN_ARRAY) {
+            in.skipValue();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    private static void writeStringList(JsonWriter out, String name, List<String> values) throws IOException {
+        if (values == null) {
+            return;
+        }
+        out.name(name);
+        out.beginArray();
+        for (String value : values) {
+            out.value(value);
+        }
+        out.endArray();
+    }
+
+    private static List<String> nextStringList(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_ARRAY) {
+            in.skipValue();
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            String value = nextStringOrNull(in);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        in.endArray();
+        return values;
+    }
+}
@@ -6,13 +6,17 @@
  * UIと管理部の間に位置し、検索に関する特定の振る舞いをカプセル化します。
  * 履歴:
  * 2025/06/30 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 検索候補の取得を取り消し可能に変更
+ * 2026/10/18 三浦寛生 接頭辞キャッシュで絞り込める入力はネットワークに問い合わせず候補を返すよう変更
  */
 package com.example.bookapp03.C4SearchProcessing;
 
 import android.util.Log;
 
 import com.example.bookapp03.C7SearchManaging.BookAppManager;
+import com.example.bookapp03.C7SearchManaging.SingleFlight;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class SearchFeatureProcessor {
@@ -20,6 +24,7 @@ public class SearchFeatureProcessor {
     private static final String TAG = "SearchFeatureProcessor";
 
     private final BookAppManager bookAppManager;
+    private final SuggestionPrefixCache suggestionCache;
 
     public interface SuggestionsCallback {
         void onSuggestionsReceived(List<String> suggestions);
@@ -39,27 +44,48 @@ public class SearchFeatureProcessor {
      * @param bookAppManager 初期化済みのBookAppManagerインスタンス
      */
     public SearchFeatureProcessor(BookAppManager bookAppManager) {
+        this(bookAppManager, SuggestionPrefixCache.getInstance());
+    }
+
+    /**
+     * コンストラクタ。BookAppManagerと検索候補のキャッシュを注入します。
+     *
+     * @param bookAppManager  初期化済みのBookAppManagerインスタンス
+     * @param suggestionCache 検索候補の接頭辞キャッシュ
+     */
+    public SearchFeatureProcessor(BookAppManager bookAppManager, SuggestionPrefixCache suggestionCache) {
         this.bookAppManager = bookAppManager;
+        this.suggestionCache = suggestionCache;
         Log.d(TAG, "SearchFeatureProcessor initialized.");
     }
 
     /**
      * 検索候補の取得を管理部へ委譲します。
-     * ここで検索候補に関する追加の処理ロジック（例: キャッシュの利用、頻繁なリクエストの抑制など）を実装できます。
+     * 取得済みの接頭辞から絞り込める場合は、管理部に問い合わせずキャッシュから返します。
      *
      * @param query    検索クエリ
      * @param callback 結果を返すコールバック
+     * @return リクエストを取り消すためのハンドル
      */
-    public void fetchSuggestions(String query, final SuggestionsCallback callback) {
+    public SingleFlight.Cancellable fetchSuggestions(String query, final SuggestionsCallback callback) {
         if (query == null || query.trim().isEmpty()) {
             callback.onSuggestionsReceived(List.of());
-            return;
+            return () -> {
+            };
+        }
+
+        List<String> local = suggestionCache.lookup(query);
+        if (local != null) {
+            Log.d(TAG, "Suggestions served from prefix cache. hitRate=" + suggestionCache.getLocalHitRate());
+            callback.onSuggestionsReceived(local);
+            return () -> {
+            };
         }
 
-        bookAppManager.fetchSuggestions(query, new BookAppManager.SuggestionsCallback() {
+        return bookAppManager.fetchSuggestions(query, new BookAppManager.SuggestionsCallback() {
             @Override
             public void onSuggestionsReceived(List<String> suggestions) {
-                callback.onSuggestionsReceived(suggestions);
+                callback.onSuggestionsReceived(suggestionCache.put(query, suggestions));
             }
 
             @Override
@@ -72,7 +98,7 @@ public class SearchFeatureProcessor {
 
     /**
      * 書籍検索を管理部へ委譲します。
-     * ここで検索実行に関する追加の処理ロジック（例: 検索履歴の記録、複雑な検索条件の構築など）を実装できます。
+     * 検索結果の書籍タイトルは、最近の検索として検索候補に加えます。
      *
      * @param query    検索クエリ
      * @param callback 結果を返すコールバック
@@ -87,6 +113,11 @@ public class SearchFeatureProcessor {
         bookAppManager.searchBooks(query, new BookAppManager.SearchCallback() {
             @Override
             public void onSearchResultsReceived(List<Book> books) {
+                List<String> titles = new ArrayList<>();
+                for (Book book : books) {
+                    titles.add(book.getTitle());
+                }
+                suggestionCache.recordSearch(titles);
                 callback.onSearchResultsReceived(books);
             }
 
@@ -0,0 +1,241 @@
+/**
+ * モジュール名: SuggestionPrefixCache
+ * 作成者: 三浦寛生
+ * 作成日: 2026/10/18
+ * 概要:　検索候補を正規化した入力文字列（接頭辞）ごとに保持するメモリ上のキャッシュです。
+ * 入力が既に取得した接頭辞を延長したもの（例: 「ハリー」→「ハリーポ」）であれば、取得済みの候補を絞り込んで
+ * ネットワークに問い合わせずに返します。最近の検索で表示した書籍タイトルも候補に加えます。
+ * 履歴:
+ * 2026/10/18 三浦寛生 新規作成
+ */
+package com.example.bookapp03.C4SearchProcessing;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public class SuggestionPrefixCache {
+
+    /** 保持する接頭辞の最大数 */
+    public static final int DEFAULT_MAX_PREFIXES = 64;
+    /** 保持する最近の検索タイトルの最大数 */
+    public static final int DEFAULT_MAX_RECENT_TITLES = 50;
+    /** 返す候補の最大数 */
+    public static final int DEFAULT_MAX_SUGGESTIONS = 5;
+
+    /** 比較時に無視する空白と記号（「・」なども含む） */
+    private static final Pattern IGNORED_CHARACTERS = Pattern.compile("[\\s\\p{P}\\p{S}]+");
+
+    private static volatile SuggestionPrefixCache INSTANCE;
+
+    private final int maxSuggestions;
+    private final int maxRecentTitles;
+    /** 正規化した接頭辞 → その接頭辞で取得した候補（アクセス順、最も古いものから破棄） */
+    private final LinkedHashMap<String, List<String>> prefixes;
+    /** 最近の検索で表示した書籍タイトル（新しいものが末尾） */
+    private final LinkedHashSet<String> recentTitles = new LinkedHashSet<>();
+
+    /** 候補の問い合わせ回数 */
+    private long lookupCount;
+    /** ネットワークに問い合わせずに返した回数 */
+    private long localHitCount;
+
+    /**
+     * アプリ全体で共有するキャッシュを取得します。
+     *
+     * @return SuggestionPrefixCacheのインスタンス
+     */
+    public static SuggestionPrefixCache getInstance() {
+        if (INSTANCE == null) {
+            synchronized (SuggestionPrefixCache.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new SuggestionPrefixCache(
+                            DEFAULT_MAX_PREFIXES, DEFAULT_MAX_RECENT_TITLES, DEFAULT_MAX_SUGGESTIONS);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @param maxPrefixes     保持する接頭辞の最大数
+     * @param maxRecentTitles 保持する最近の検索タイトルの最大数
+     * @param maxSuggestions  返す候補の最大数
+     */
+    public SuggestionPrefixCache(int maxPrefixes, int maxRecentTitles, int maxSuggestions) {
+        this.maxSuggestions = maxSuggestions;
+        this.maxRecentTitles = maxRecentTitles;
+        this.prefixes = new LinkedHashMap<String, List<String>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+                return size() > maxPrefixes;
+            }
+        };
+    }
+
+    /**
+     * ネットワークに問い合わせずに返せる候補を探します。
+     * 同じ接頭辞の候補があればそれを、より短い接頭辞の候補があれば入力に一致するものに絞り込んで返します。
+     *
+     * @param query 入力中の文字列
+     * @return 候補のリスト（ネットワークへの問い合わせが必要な場合は null）
+     */
+    public synchronized List<String> lookup(String query) {
+        lookupCount++;
+        String key = normalize(query);
+        if (key.isEmpty()) {
+            return null;
+        }
+
+        List<String> exact = prefixes.get(key);
+        if (exact != null) {
+            localHitCount++;
+            return merge(key, exact);
+        }
+        for (int length = key.length() - 1; length > 0; length--) {
+            List<String> cached = prefixes.get(key.substring(0, length));
+            if (cached == null) {
+                continue;
+            }
+            List<String> refined = filter(key, cached);
+            if (refined.isEmpty()) {
+                // 取得済みの候補では足りないため、ネットワークに問い合わせる
+                return null;
+            }
+            prefixes.put(key, refined);
+            localHitCount++;
+            return merge(key, refined);
+        }
+        return null;
+    }
+
+    /**
+     * ネットワークから取得した候補を保存し、最近の検索タイトルと合わせた表示用の候補を返します。
+     *
+     * @param query       入力中の文字列
+     * @param suggestions 取得した候補
+     * @return 表示用の候補
+     */
+    public synchronized List<String> put(String query, List<String> suggestions) {
+        String key = normalize(query);
+        List<String> copy = suggestions == null ? Collections.emptyList() : new ArrayList<>(suggestions);
+        if (!key.isEmpty()) {
+            prefixes.put(key, copy);
+        }
+        return merge(key, copy);
+    }
+
+    /**
+     * 明示的な検索で表示した書籍タイトルを、最近の検索として記録します。
+     *
+     * @param titles 検索結果の書籍タイトル
+     */
+    public synchronized void recordSearch(List<String> titles) {
+        for (String title : titles) {
+            if (title == null || title.trim().isEmpty()) {
+                continue;
+            }
+            // 既にある場合も最新として末尾に移動する
+            recentTitles.remove(title);
+            recentTitles.add(title);
+        }
+        Iterator<String> oldest = recentTitles.iterator();
+        while (recentTitles.size() > maxRecentTitles && oldest.hasNext()) {
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    /**
+     * キャッシュした候補と最近の検索タイトルをすべて破棄します。計測値は保持します。
+     */
+    public synchronized void clear() {
+        prefixes.clear();
+        recentTitles.clear();
+    }
+
+    /**
+     * 最近の検索タイトルのうち入力に一致するものを先頭に、候補を重複なく最大件数まで並べます。
+     *
+     * @param key         正規化した入力
+     * @param suggestions 候補
+     * @return 表示用の候補
+     */
+    private List<String> merge(String key, List<String> suggestions) {
+        Set<String> merged = new LinkedHashSet<>();
+        if (!key.isEmpty()) {
+            List<String> recent = new ArrayList<>(recentTitles);
+            for (int i = recent.size() - 1; i >= 0 && merged.size() < maxSuggestions; i--) {
+                if (normalize(recent.get(i)).contains(key)) {
+                    merged.add(recent.get(i));
+                }
+            }
+        }
+        for (String suggestion : suggestions) {
+            if (merged.size() >= maxSuggestions) {
+                break;
+            }
+            merged.add(suggestion);
+        }
+        return new ArrayList<>(merged);
+    }
+
+    private static List<String> filter(String key, List<String> candidates) {
+        List<String> result = new ArrayList<>();
+        for (String candidate : candidates) {
+            if (normalize(candidate).contains(key)) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 比較用に文字列を正規化します。全角・半角を揃え（NFKC）、小文字にし、空白と記号を除きます。
+     *
+     * @param text 文字列
+     * @return 正規化した文字列
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return IGNORED_CHARACTERS.matcher(normalized).replaceAll("");
+    }
+
+    /**
+     * 候補の問い合わせ回数を返します。
+     *
+     * @return 問い合わせ回数
+     */
+    public synchronized long getLookupCount() {
+        return lookupCount;
+    }
+
+    /**
+     * ネットワークに問い合わせずに返した回数を返します。
+     *
+     * @return ローカルで応答した回数
+     */
+    public synchronized long getLocalHitCount() {
+        return localHitCount;
+    }
+
+    /**
+     * ネットワークに問い合わせずに返した割合を返します。
+     *
+     * @return ローカルヒット率（問い合わせがない場合は 0）
+     */
+    public synchronized double getLocalHitRate() {
+        return lookupCount == 0 ? 0 : (double) localHitCount / lookupCount;
+    }
+}
@@ -0,0 +1,174 @@
+/**
+ * モジュール名: TitleMatcher
+ * 作成者: 三浦寛生
+ * 作成日: 2026/10/18
+ * 概要:　異なる取得元（楽天・Google Books）の書籍タイトルを照合するためのクラスです。
+ * タイトルごとに一度だけ正規化（NFKC による全角・半角の統一、ひらがなのカタカナへの統一、記号の除去）と
+ * 文字バイグラムの計算を行い、候補ごとの比較では再計算や正規表現の評価を行いません。
+ * 履歴:
+ * 2026/10/18 三浦寛生 新規作成
+ */
+package com.example.bookapp03.C4SearchProcessing;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public final class TitleMatcher {
+
+    /** 括弧で囲まれた補足（巻数の注記・特典・レーベル名など）。全角・半角の丸括弧、隅付き括弧、角括弧 */
+    private static final Pattern BRACKETED = Pattern.compile("（.*?）|\\(.*?\\)|【.*?】|\\[.*?\\]");
+    /** 連続する空白（全角空白を含む） */
+    private static final Pattern WHITESPACE = Pattern.compile("[\\s　]+");
+    /** 比較時に無視する空白と記号（「・」なども含む） */
+    private static final Pattern IGNORED_CHARACTERS = Pattern.compile("[\\s\\p{P}\\p{S}]+");
+
+    private static final char HIRAGANA_FIRST = 'ぁ';
+    private static final char HIRAGANA_LAST = 'ゖ';
+    private static final int HIRAGANA_TO_KATAKANA = 0x60;
+
+    private TitleMatcher() {
+    }
+
+    /**
+     * 照合用に前処理済みのタイトルです。同じタイトルを複数の候補と比較する場合は一度だけ生成して使い回します。
+     */
+    public static final class Title {
+        private final String cleaned;
+        private final String normalized;
+        /** 正規化したタイトルの文字バイグラム（2文字を1つの int に詰めたもの、昇順） */
+        private final int[] bigrams;
+
+        private Title(String cleaned, String normalized, int[] bigrams) {
+            this.cleaned = cleaned;
+            this.normalized = normalized;
+            this.bigrams = bigrams;
+        }
+
+        /**
+         * @return 括弧の補足を除き、空白を整えたタイトル（検索クエリ用）
+         */
+        public String getCleaned() {
+            return cleaned;
+        }
+
+        /**
+         * @return 比較用に正規化したタイトル
+         */
+        public String getNormalized() {
+            return normalized;
+        }
+
+        /**
+         * 正規化したタイトルが完全に一致するかを判定します。
+         *
+         * @param other 比較するタイトル
+         * @return 一致する場合は true（どちらかが空の場合は false）
+         */
+        public boolean matchesExactly(Title other) {
+            return !normalized.isEmpty() && normalized.equals(other.normalized);
+        }
+
+        /**
+         * 文字バイグラムの Dice 係数で類似度を計算します。
+         *
+         * @param other 比較するタイトル
+         * @return 0.0（共通部分なし）～ 1.0（一致）の類似度
+         */
+        public double similarity(Title other) {
+            int total = bigrams.length + other.bigrams.length;
+            if (total == 0) {
+                return 0.0;
+            }
+            if (matchesExactly(other)) {
+                return 1.0;
+            }
+            return 2.0 * countCommon(bigrams, other.bigrams) / total;
+        }
+    }
+
+    /**
+     * タイトルを照合用に前処理します。
+     *
+     * @param rawTitle 取得元のタイトル（null の場合は空のタイトルとして扱います）
+     * @return 前処理済みのタイトル
+     */
+    public static Title compile(String rawTitle) {
+        String cleaned = cleanTitle(rawTitle);
+        String normalized = normalize(cleaned);
+        return new Title(cleaned, normalized, toBigrams(normalized));
+    }
+
+    /**
+     * タイトルから括弧で囲まれた補足を除き、空白を1つに整えます。
+     *
+     * @param rawTitle 取得元のタイトル
+     * @return 整えたタイトル（null の場合は空文字）
+     */
+    public static String cleanTitle(String rawTitle) {
+        if (rawTitle == null) {
+            return "";
+        }
+        String withoutNotes = BRACKETED.matcher(rawTitle).replaceAll("");
+        return WHITESPACE.matcher(withoutNotes).replaceAll(" ").trim();
+    }
+
+    /**
+     * 比較用にタイトルを正規化します。全角・半角を揃え（NFKC）、小文字にし、ひらがなをカタカナに揃え、空白と記号を除きます。
+     *
+     * @param title タイトル
+     * @return 正規化したタイトル
+     */
+    static String normalize(String title) {
+        String normalized = Normalizer.normalize(title, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        normalized = IGNORED_CHARACTERS.matcher(normalized).replaceAll("");
+        char[] chars = normalized.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] >= HIRAGANA_FIRST && chars[i] <= HIRAGANA_LAST) {
+                chars[i] = (char) (chars[i] + HIRAGANA_TO_KATAKANA);
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 文字バイグラムを昇順の int 配列として求めます。1文字のタイトルはその1文字を1つのバイグラムとして扱います。
+     */
+    private static int[] toBigrams(String normalized) {
+        int length = normalized.length();
+        if (length == 0) {
+            return new int[0];
+        }
+        if (length == 1) {
+            return new int[]{normalized.charAt(0) << 16};
+        }
+        int[] bigrams = new int[length - 1];
+        for (int i = 0; i < length - 1; i++) {
+            bigrams[i] = (normalized.charAt(i) << 16) | normalized.charAt(i + 1);
+        }
+        Arrays.sort(bigrams);
+        return bigrams;
+    }
+
+    /**
+     * 昇順に並んだ2つのバイグラム列に共通する個数（重複を考慮）を数えます。
+     */
+    private static int countCommon(int[] a, int[] b) {
+        int common = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return common;
+    }
+}
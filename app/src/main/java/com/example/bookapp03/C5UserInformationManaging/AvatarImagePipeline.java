@@ -0,0 +1,261 @@
+/**
+ * モジュール名: AvatarImagePipeline
+ * 作成者: 増田学斗
+ * 作成日: 2026/10/18
+ * 概要: アイコン画像の変換と表示用のキャッシュをまとめたクラスです。
+ * 選択された画像は縮小して読み込み、決まった大きさの正方形に切り抜いて圧縮してから Base64 にします。
+ * 保存済みの Base64 は表示サイズに縮小してデコードし、ユーザーIDと内容のハッシュをキーにメモリ上に保持します。
+ * 変換・デコードはバックグラウンドで行い、結果はメインスレッドで通知します。
+ * 履歴:
+ * 2026/10/18 増田学斗 新規作成
+ * 2026/10/18 増田学斗 変換用のスレッドを AppExecutors の名前付き直列プールに変更
+ */
+package com.example.bookapp03.C5UserInformationManaging;
+
+import android.content.ContentResolver;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Base64;
+import android.util.Log;
+import android.util.LruCache;
+
+import com.example.bookapp03.C6BookInformationManaging.AppExecutors;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ExecutorService;
+
+public class AvatarImagePipeline {
+
+    private static final String TAG = "AvatarImagePipeline";
+
+    /** アイコンの一辺の大きさ（ピクセル）。120dp の表示枠を高密度の端末でも粗くならない大きさ */
+    public static final int AVATAR_SIZE_PX = 320;
+    /** 圧縮の品質（0〜100） */
+    public static final int COMPRESS_QUALITY = 80;
+    /** デコード済みのアイコンを保持するメモリの上限（バイト） */
+    public static final int DEFAULT_CACHE_BYTES = 4 * 1024 * 1024;
+    /** 画像の読み込み・変換を行う直列プールの名前 */
+    static final String EXECUTOR_NAME = "avatar";
+
+    private static volatile AvatarImagePipeline INSTANCE;
+
+    /** 画像の読み込み・変換を行うスレッド（AppExecutors の直列プール） */
+    private final ExecutorService executor = AppExecutors.getInstance().serial(EXECUTOR_NAME);
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    /** ユーザーIDと内容のハッシュ → デコード済みのアイコン */
+    private final LruCache<String, Bitmap> bitmaps;
+
+    /**
+     * 選択された画像の変換結果を受け取るコールバックです。メインスレッドで呼び出されます。
+     */
+    public interface EncodeCallback {
+        /**
+         * @param base64 保存用の Base64 文字列（変換に失敗した場合は null）
+         * @param bitmap 表示用のアイコン（変換に失敗した場合は null）
+         */
+        void onEncoded(String base64, Bitmap bitmap);
+    }
+
+    /**
+     * 保存済みのアイコンのデコード結果を受け取るコールバックです。メインスレッドで呼び出されます。
+     */
+    public interface DecodeCallback {
+        /**
+         * @param bitmap 表示用のアイコン（デコードに失敗した場合は null）
+         */
+        void onDecoded(Bitmap bitmap);
+    }
+
+    /**
+     * アプリ全体で共有するインスタンスを取得します。
+     *
+     * @return AvatarImagePipelineのインスタンス
+     */
+    public static AvatarImagePipeline getInstance() {
+        if (INSTANCE == null) {
+            synchronized (AvatarImagePipeline.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new AvatarImagePipeline(DEFAULT_CACHE_BYTES);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @param cacheBytes デコード済みのアイコンを保持するメモリの上限（バイト）
+     */
+    AvatarImagePipeline(int cacheBytes) {
+        this.bitmaps = new LruCache<String, Bitmap>(cacheBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap value) {
+                return value.getByteCount();
+            }
+        };
+    }
+
+    /**
+     * 選択された画像をアイコンの大きさに縮小・圧縮し、Base64 に変換します。
+     *
+     * @param resolver ContentResolver
+     * @param imageUri 選択された画像のURI
+     * @param callback 結果を受け取るコールバック
+     */
+    public void encodeAsync(ContentResolver resolver, Uri imageUri, EncodeCallback callback) {
+        executor.execute(() -> {
+            String base64 = null;
+            Bitmap avatar = null;
+            try {
+                BitmapFactory.Options bounds = new BitmapFactory.Options();
+                bounds.inJustDecodeBounds = true;
+                try (InputStream in = resolver.openInputStream(imageUri)) {
+                    BitmapFactory.decodeStream(in, null, bounds);
+                }
+                BitmapFactory.Options options = new BitmapFactory.Options();
+                options.inSampleSize = calculateInSampleSize(bounds.outWidth, bounds.outHeight, AVATAR_SIZE_PX);
+                Bitmap sampled;
+                try (InputStream in = resolver.openInputStream(imageUri)) {
+                    sampled = BitmapFactory.decodeStream(in, null, options);
+                }
+                if (sampled != null) {
+                    avatar = cropToAvatar(sampled);
+                    base64 = Base64.encodeToString(compress(avatar), Base64.NO_WRAP);
+                }
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "アイコン画像の変換に失敗しました", e);
+                base64 = null;
+                avatar = null;
+            }
+            String encoded = base64;
+            Bitmap result = avatar;
+            mainHandler.post(() -> callback.onEncoded(encoded, result));
+        });
+    }
+
+    /**
+     * 保存済みの Base64 のアイコンを表示用にデコードします。同じユーザー・同じ内容のアイコンはデコードし直しません。
+     *
+     * @param uid      ユーザーID（ログアウト中などで分からない場合は null）
+     * @param base64   保存済みの Base64 文字列
+     * @param callback 結果を受け取るコールバック
+     */
+    public void decodeAsync(String uid, String base64, DecodeCallback callback) {
+        executor.execute(() -> {
+            String key = cacheKey(uid, base64);
+            Bitmap bitmap = bitmaps.get(key);
+            if (bitmap == null) {
+                bitmap = decode(base64);
+                if (bitmap != null) {
+                    bitmaps.put(key, bitmap);
+                }
+            }
+            Bitmap result = bitmap;
+            mainHandler.post(() -> callback.onDecoded(result));
+        });
+    }
+
+    /**
+     * Base64 をアイコンの大きさに縮小してデコードします。変換前に保存された大きな画像も表示サイズで読み込みます。
+     *
+     * @param base64 Base64 文字列
+     * @return デコードしたアイコン（失敗した場合は null）
+     */
+    private static Bitmap decode(String base64) {
+        try {
+            byte[] bytes = Base64.decode(base64, Base64.DEFAULT);
+            BitmapFactory.Options bounds = new BitmapFactory.Options();
+            bounds.inJustDecodeBounds = true;
+            BitmapFactory.decodeByteArray(bytes, 0, bytes.length, bounds);
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inSampleSize = calculateInSampleSize(bounds.outWidth, bounds.outHeight, AVATAR_SIZE_PX);
+            return BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+        } catch (IllegalArgumentException e) {
+            Log.e(TAG, "アイコン画像のデコードに失敗しました", e);
+            return null;
+        }
+    }
+
+    /**
+     * 中央を正方形に切り抜き、アイコンの大きさに縮小します。
+     *
+     * @param source 縮小して読み込んだ画像
+     * @return アイコンの大きさの画像
+     */
+    private static Bitmap cropToAvatar(Bitmap source) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        Bitmap square = Bitmap.createBitmap(source,
+                (source.getWidth() - side) / 2, (source.getHeight() - side) / 2, side, side);
+        int size = Math.min(side, AVATAR_SIZE_PX);
+        Bitmap avatar = Bitmap.createScaledBitmap(square, size, size, true);
+        if (square != source) {
+            source.recycle();
+        }
+        if (avatar != square) {
+            square.recycle();
+        }
+        return avatar;
+    }
+
+    /**
+     * アイコンを圧縮します。Android 11 以降は WebP（非可逆）、それより前は JPEG を使用します。
+     *
+     * @param avatar アイコンの画像
+     * @return 圧縮したバイト列
+     */
+    private static byte[] compress(Bitmap avatar) {
+        Bitmap.CompressFormat format = Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+                ? Bitmap.CompressFormat.WEBP_LOSSY
+                : Bitmap.CompressFormat.JPEG;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        avatar.compress(format, COMPRESS_QUALITY, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * 短い辺が目標の大きさを下回らない範囲で、最大の2の累乗の縮小率を求めます。
+     *
+     * @param width      元の画像の幅
+     * @param height     元の画像の高さ
+     * @param targetSize 目標の大きさ（ピクセル）
+     * @return BitmapFactory.Options#inSampleSize に指定する値（1以上）
+     */
+    static int calculateInSampleSize(int width, int height, int targetSize) {
+        int shortSide = Math.min(width, height);
+        int sampleSize = 1;
+        while (shortSide / (sampleSize * 2) >= targetSize) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    /**
+     * キャッシュのキーを作成します。アイコンが変更されると内容のハッシュが変わるため、古いアイコンは使われません。
+     *
+     * @param uid    ユーザーID（null可）
+     * @param base64 Base64 文字列
+     * @return キャッシュのキー
+     */
+    static String cacheKey(String uid, String base64) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(base64.getBytes(StandardCharsets.US_ASCII));
+            StringBuilder key = new StringBuilder(uid != null ? uid : "").append(':');
+            for (byte b : hash) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 はすべての端末で利用できる
+            throw new IllegalStateException(e);
+        }
+    }
+}
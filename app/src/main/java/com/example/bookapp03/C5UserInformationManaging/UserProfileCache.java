@@ -0,0 +1,282 @@
+/**
+ * モジュール名: UserProfileCache
+ * 作成者: 三浦寛生
+ * 作成日: 2026/10/18
+ * 概要:　レビュー一覧などで表示するユーザーのプロフィール（ニックネーム）をメモリ上に保持するキャッシュです。
+ * 表示中の行から要求されたユーザーIDを短い間隔でまとめ、Firestore の whereIn(FieldPath.documentId(), …) で
+ * 一括取得します。取得済みのユーザーはスクロールによる再バインドでも問い合わせずに応答します。
+ * 履歴:
+ * 2026/10/18 三浦寛生 新規作成
+ */
+package com.example.bookapp03.C5UserInformationManaging;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class UserProfileCache {
+
+    private static final String TAG = "UserProfileCache";
+
+    /** 保持するプロフィールの最大数 */
+    public static final int DEFAULT_MAX_PROFILES = 256;
+    /** 1回の whereIn で問い合わせるユーザーIDの最大数（Firestore の in 演算子の上限） */
+    public static final int MAX_IDS_PER_QUERY = 30;
+    /** 要求をまとめるために待つ時間（ミリ秒）。スクロール中に続けてバインドされた行を1回の問い合わせにまとめる */
+    public static final long DEFAULT_BATCH_DELAY_MILLIS = 50;
+
+    private static volatile UserProfileCache INSTANCE;
+
+    private final ProfileSource source;
+    private final Handler handler;
+    private final int maxIdsPerQuery;
+    private final long batchDelayMillis;
+    /** ユーザーID → プロフィール（アクセス順、最も古いものから破棄） */
+    private final LinkedHashMap<String, Profile> profiles;
+    /** 取得待ちのユーザーID → 結果を待っているコールバック */
+    private final Map<String, List<Callback>> waiters = new HashMap<>();
+    /** 次の一括取得に含めるユーザーID */
+    private final Set<String> queued = new LinkedHashSet<>();
+    private boolean flushScheduled;
+
+    /** Firestore への問い合わせ回数 */
+    private long queryCount;
+
+    private final Runnable flush = this::flush;
+
+    /**
+     * ユーザーのプロフィールです。
+     */
+    public static final class Profile {
+        /** Firestore にユーザーのドキュメントが存在しない場合のプロフィール */
+        static final Profile MISSING = new Profile(false, null);
+
+        private final boolean exists;
+        private final String nickname;
+
+        Profile(boolean exists, String nickname) {
+            this.exists = exists;
+            this.nickname = nickname;
+        }
+
+        /**
+         * @return ユーザーのドキュメントが存在する場合は true
+         */
+        public boolean exists() {
+            return exists;
+        }
+
+        /**
+         * @return ニックネーム（未設定の場合は null）
+         */
+        public String getNickname() {
+            return nickname;
+        }
+    }
+
+    /**
+     * プロフィールの取得結果を受け取るコールバックです。メインスレッドで呼び出されます。
+     */
+    public interface Callback {
+        /**
+         * @param uid     ユーザーID
+         * @param profile プロフィール（取得に失敗した場合は null）
+         */
+        void onProfileLoaded(String uid, Profile profile);
+    }
+
+    /**
+     * 複数のユーザーのプロフィールをまとめて取得する取得元です。
+     */
+    interface ProfileSource {
+        /**
+         * @param uids     ユーザーID（MAX_IDS_PER_QUERY 件以内）
+         * @param listener 結果を受け取るリスナー
+         */
+        void fetch(List<String> uids, BatchListener listener);
+    }
+
+    /**
+     * 一括取得の結果を受け取るリスナーです。
+     */
+    interface BatchListener {
+        /**
+         * @param found 存在したユーザーのID → プロフィール
+         */
+        void onSuccess(Map<String, Profile> found);
+
+        void onFailure(Exception e);
+    }
+
+    /**
+     * アプリ全体で共有するキャッシュを取得します。
+     *
+     * @return UserProfileCacheのインスタンス
+     */
+    public static UserProfileCache getInstance() {
+        if (INSTANCE == null) {
+            synchronized (UserProfileCache.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new UserProfileCache(new FirestoreProfileSource(FirebaseFirestore.getInstance()),
+                            new Handler(Looper.getMainLooper()), DEFAULT_MAX_PROFILES, MAX_IDS_PER_QUERY,
+                            DEFAULT_BATCH_DELAY_MILLIS);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @param source           プロフィールの取得元
+     * @param handler          要求をまとめて取得するスレッド（メインスレッド）のHandler
+     * @param maxProfiles      保持するプロフィールの最大数
+     * @param maxIdsPerQuery   1回の問い合わせに含めるユーザーIDの最大数
+     * @param batchDelayMillis 要求をまとめるために待つ時間（ミリ秒）
+     */
+    UserProfileCache(ProfileSource source, Handler handler, int maxProfiles, int maxIdsPerQuery, long batchDelayMillis) {
+        this.source = source;
+        this.handler = handler;
+        this.maxIdsPerQuery = maxIdsPerQuery;
+        this.batchDelayMillis = batchDelayMillis;
+        this.profiles = new LinkedHashMap<String, Profile>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Profile> eldest) {
+                return size() > maxProfiles;
+            }
+        };
+    }
+
+    /**
+     * 取得済みのプロフィールを返します。
+     *
+     * @param uid ユーザーID
+     * @return プロフィール（未取得の場合は null）
+     */
+    public Profile getCached(String uid) {
+        return profiles.get(uid);
+    }
+
+    /**
+     * プロフィールを要求します。取得済みであればその場でコールバックを呼び出し、
+     * 未取得であれば他の行の要求とまとめて取得した後に呼び出します。メインスレッドから呼び出してください。
+     *
+     * @param uid      ユーザーID
+     * @param callback 結果を受け取るコールバック
+     */
+    public void request(String uid, Callback callback) {
+        Profile cached = profiles.get(uid);
+        if (cached != null) {
+            callback.onProfileLoaded(uid, cached);
+            return;
+        }
+        List<Callback> waiting = waiters.get(uid);
+        if (waiting != null) {
+            // 取得待ち（キューにある、または問い合わせ中）のため、結果を待つだけにする
+            waiting.add(callback);
+            return;
+        }
+        waiting = new ArrayList<>();
+        waiting.add(callback);
+        waiters.put(uid, waiting);
+        queued.add(uid);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            handler.postDelayed(flush, batchDelayMillis);
+        }
+    }
+
+    /**
+     * キューにあるユーザーIDを上限数ごとに分けて問い合わせます。
+     */
+    private void flush() {
+        flushScheduled = false;
+        List<String> uids = new ArrayList<>(queued);
+        queued.clear();
+        for (int start = 0; start < uids.size(); start += maxIdsPerQuery) {
+            List<String> chunk = new ArrayList<>(uids.subList(start, Math.min(start + maxIdsPerQuery, uids.size())));
+            queryCount++;
+            source.fetch(chunk, new BatchListener() {
+                @Override
+                public void onSuccess(Map<String, Profile> found) {
+                    handler.post(() -> complete(chunk, found));
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    Log.e(TAG, "Failed to fetch user profiles: " + e.getMessage(), e);
+                    handler.post(() -> complete(chunk, null));
+                }
+            });
+        }
+    }
+
+    /**
+     * 一括取得の結果を保存し、待っているコールバックに通知します。失敗した場合は保存せず、次の要求で再取得します。
+     *
+     * @param uids  問い合わせたユーザーID
+     * @param found 存在したユーザーのプロフィール（失敗した場合は null）
+     */
+    private void complete(List<String> uids, Map<String, Profile> found) {
+        for (String uid : uids) {
+            Profile profile = null;
+            if (found != null) {
+                profile = found.containsKey(uid) ? found.get(uid) : Profile.MISSING;
+                profiles.put(uid, profile);
+            }
+            List<Callback> waiting = waiters.remove(uid);
+            if (waiting == null) {
+                continue;
+            }
+            for (Callback callback : waiting) {
+                callback.onProfileLoaded(uid, profile);
+            }
+        }
+    }
+
+    /**
+     * Firestore への問い合わせ回数を返します。
+     *
+     * @return 問い合わせ回数
+     */
+    public long getQueryCount() {
+        return queryCount;
+    }
+
+    /**
+     * Firestore の users コレクションから、ドキュメントIDの whereIn でまとめて取得する取得元です。
+     */
+    static final class FirestoreProfileSource implements ProfileSource {
+        private final FirebaseFirestore db;
+
+        FirestoreProfileSource(FirebaseFirestore db) {
+            this.db = db;
+        }
+
+        @Override
+        public void fetch(List<String> uids, BatchListener listener) {
+            db.collection("users")
+                    .whereIn(FieldPath.documentId(), uids)
+                    .get()
+                    .addOnSuccessListener(snapshots -> {
+                        Map<String, Profile> found = new HashMap<>();
+                        for (DocumentSnapshot document : snapshots.getDocuments()) {
+                            found.put(document.getId(), new Profile(true, document.getString("nickname")));
+                        }
+                        listener.onSuccess(found);
+                    })
+                    .addOnFailureListener(listener::onFailure);
+        }
+    }
+}
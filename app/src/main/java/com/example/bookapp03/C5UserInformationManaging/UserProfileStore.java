@@ -0,0 +1,157 @@
+/**
+ * モジュール名: UserProfileStore
+ * 作成者: 増田学斗
+ * 作成日: 2026/10/18
+ * 概要: Firestore 上のユーザー情報の読み書きをまとめたクラスです。
+ * ニックネームやジャンルなど頻繁に読まれる項目は users/{uid} に、サイズの大きいアイコン画像（Base64）は
+ * user_avatars/{uid} に分けて保存し、一覧表示などでアイコンを読み込まないようにします。
+ * users/{uid} にアイコンが残っている以前の形式のドキュメントは、本人のログイン時に user_avatars へ移します。
+ * 履歴:
+ * 2026/10/18 増田学斗 新規作成
+ */
+package com.example.bookapp03.C5UserInformationManaging;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class UserProfileStore {
+
+    private static final String TAG = "UserProfileStore";
+
+    /** ニックネーム・ジャンルなどを保存するコレクション */
+    public static final String USERS = "users";
+    /** アイコン画像を保存するコレクション（ドキュメントIDはユーザーID） */
+    public static final String AVATARS = "user_avatars";
+    /** ニックネームのフィールド名 */
+    public static final String FIELD_NICKNAME = "nickname";
+    /** ジャンル（英語名のリスト）のフィールド名 */
+    public static final String FIELD_GENRE = "genre";
+    /** アイコン画像（Base64）のフィールド名 */
+    public static final String FIELD_ICON_BASE64 = "iconBase64";
+
+    private final FirebaseFirestore db;
+
+    /**
+     * アイコン画像の取得結果を受け取るコールバックです。
+     */
+    public interface AvatarCallback {
+        /**
+         * @param iconBase64 アイコン画像（Base64）。設定されていない場合は null
+         */
+        void onAvatarLoaded(String iconBase64);
+
+        /**
+         * @param e 発生した例外
+         */
+        void onFailure(Exception e);
+    }
+
+    /**
+     * FirebaseFirestoreの既定のインスタンスを使用して作成します。
+     */
+    public UserProfileStore() {
+        this(FirebaseFirestore.getInstance());
+    }
+
+    /**
+     * @param db FirebaseFirestoreのインスタンス
+     */
+    UserProfileStore(FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    /**
+     * アイコン画像を取得します。user_avatars にない場合は以前の形式として users/{uid} から読み取ります。
+     *
+     * @param uid      ユーザーID
+     * @param callback 結果を受け取るコールバック
+     */
+    public void loadAvatar(String uid, AvatarCallback callback) {
+        db.collection(AVATARS).document(uid).get()
+                .addOnSuccessListener(avatar -> {
+                    String iconBase64 = avatar.exists() ? avatar.getString(FIELD_ICON_BASE64) : null;
+                    if (iconBase64 != null) {
+                        callback.onAvatarLoaded(iconBase64);
+                        return;
+                    }
+                    db.collection(USERS).document(uid).get()
+                            .addOnSuccessListener(user -> {
+                                callback.onAvatarLoaded(user.exists() ? user.getString(FIELD_ICON_BASE64) : null);
+                                migrateLegacyAvatar(user);
+                            })
+                            .addOnFailureListener(callback::onFailure);
+                })
+                .addOnFailureListener(callback::onFailure);
+    }
+
+    /**
+     * ニックネームとアイコン画像を保存します。アイコン画像は user_avatars に保存し、users/{uid} からは削除します。
+     *
+     * @param uid        ユーザーID
+     * @param nickname   ニックネーム
+     * @param iconBase64 新しいアイコン画像（Base64）。変更しない場合は null
+     * @return 保存の完了を表すTask
+     */
+    public Task<Void> saveProfile(String uid, String nickname, String iconBase64) {
+        DocumentReference userRef = db.collection(USERS).document(uid);
+        if (iconBase64 == null) {
+            return userRef.update(Collections.<String, Object>singletonMap(FIELD_NICKNAME, nickname));
+        }
+        Map<String, Object> userFields = new HashMap<>();
+        userFields.put(FIELD_NICKNAME, nickname);
+        userFields.put(FIELD_ICON_BASE64, FieldValue.delete());
+
+        WriteBatch batch = db.batch();
+        batch.update(userRef, userFields);
+        batch.set(db.collection(AVATARS).document(uid), Collections.singletonMap(FIELD_ICON_BASE64, iconBase64));
+        return batch.commit();
+    }
+
+    /**
+     * ジャンルのみを保存します。ニックネームやアイコン画像は書き換えません。
+     *
+     * @param uid    ユーザーID
+     * @param genres ジャンル（英語名）のリスト
+     * @return 保存の完了を表すTask
+     */
+    public Task<Void> saveGenres(String uid, List<String> genres) {
+        return db.collection(USERS).document(uid)
+                .set(Collections.singletonMap(FIELD_GENRE, genres), SetOptions.merge());
+    }
+
+    /**
+     * users/{uid} にアイコン画像が残っている場合、user_avatars へ移して users/{uid} から削除します。
+     * ログイン時など、既に読み取ったユーザーのドキュメントを渡して呼び出します。
+     *
+     * @param userDocument users/{uid} のドキュメント
+     */
+    public void migrateLegacyAvatar(DocumentSnapshot userDocument) {
+        if (userDocument == null || !userDocument.exists()) {
+            return;
+        }
+        String legacy = userDocument.getString(FIELD_ICON_BASE64);
+        if (legacy == null) {
+            return;
+        }
+        WriteBatch batch = db.batch();
+        batch.set(db.collection(AVATARS).document(userDocument.getId()),
+                Collections.singletonMap(FIELD_ICON_BASE64, legacy));
+        batch.update(userDocument.getReference(),
+                Collections.<String, Object>singletonMap(FIELD_ICON_BASE64, FieldValue.delete()));
+        batch.commit()
+                .addOnSuccessListener(unused -> Log.d(TAG, "アイコン画像を user_avatars に移しました: " + userDocument.getId()))
+                .addOnFailureListener(e -> Log.w(TAG, "アイコン画像の移行に失敗しました: " + e.getMessage()));
+    }
+}
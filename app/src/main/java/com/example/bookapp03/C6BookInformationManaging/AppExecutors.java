@@ -0,0 +1,468 @@
+/**
+ * モジュール名: AppExecutors
+ * 作成者: 三浦寛生
+ * 作成日: 2026/10/18
+ * 概要: アプリケーション全体で共有するバックグラウンド処理用のスレッドプールをまとめたクラスです。
+ * 通信（io）・データベース（db）・計算（cpu）の用途ごとに名前付きのプールを1つずつ持ち、
+ * 待ち行列の上限と溢れた場合の扱いを決めています。各プールの待ち行列の長さ・実行中の数・
+ * 待ち時間と実行時間を集計し、Room のクエリとトランザクションもこのプールで実行します。
+ * ファイルの読み書きなど順番を守る必要がある処理には名前付きの直列プールを、
+ * タイムアウトや遅延実行には名前付きの予約実行用プールを用意し、同じように集計します。
+ * 履歴:
+ * 2026/10/18 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 名前付きの直列プール（serial）と予約実行用プール（scheduled）を追加し、集計対象に登録
+ */
+package com.example.bookapp03.C6BookInformationManaging;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class AppExecutors {
+
+    private static final String TAG = "AppExecutors";
+
+    /** 通信（API 呼び出しなど）用のプール名 */
+    public static final String IO = "io";
+    /** データベース（Room）用のプール名 */
+    public static final String DB = "db";
+    /** 計算（画像の変換など）用のプール名 */
+    public static final String CPU = "cpu";
+
+    /** 通信用のスレッド数 */
+    static final int IO_THREADS = 4;
+    /** 通信用の待ち行列の上限 */
+    static final int IO_QUEUE_CAPACITY = 128;
+    /** データベース用のスレッド数。WAL により読み取りは並行して実行できる */
+    static final int DB_THREADS = 4;
+    /** データベース用の待ち行列の上限。LiveData の再検索がまとめて届いても溢れない件数 */
+    static final int DB_QUEUE_CAPACITY = 256;
+    /** 計算用の待ち行列の上限 */
+    static final int CPU_QUEUE_CAPACITY = 64;
+    /** 直列プールの待ち行列の上限 */
+    static final int SERIAL_QUEUE_CAPACITY = 128;
+    /** 処理がない状態が続いた場合にスレッドを終了するまでの時間（秒） */
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static volatile AppExecutors INSTANCE;
+
+    /** プール名 → プール（登録順）。直列プールは最初に要求された時点で追加する */
+    private final Map<String, MeteredExecutor> executors = new LinkedHashMap<>();
+    /** プール名 → 予約実行用プール（登録順） */
+    private final Map<String, MeteredScheduledExecutor> schedulers = new LinkedHashMap<>();
+
+    /**
+     * アプリ全体で共有するインスタンスを取得します。
+     *
+     * @return AppExecutorsのインスタンス
+     */
+    public static AppExecutors getInstance() {
+        if (INSTANCE == null) {
+            synchronized (AppExecutors.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new AppExecutors();
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * 用途ごとのプールを作成します。
+     * 通信・データベースは溢れた場合に例外で呼び出し元へ知らせ、計算は呼び出し元のスレッドで実行して流量を抑えます。
+     */
+    AppExecutors() {
+        register(new MeteredExecutor(IO, IO_THREADS, IO_QUEUE_CAPACITY, new ThreadPoolExecutor.AbortPolicy()));
+        register(new MeteredExecutor(DB, DB_THREADS, DB_QUEUE_CAPACITY, new ThreadPoolExecutor.AbortPolicy()));
+        int cpuThreads = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+        register(new MeteredExecutor(CPU, cpuThreads, CPU_QUEUE_CAPACITY, new ThreadPoolExecutor.CallerRunsPolicy()));
+    }
+
+    private synchronized void register(MeteredExecutor executor) {
+        executors.put(executor.getName(), executor);
+    }
+
+    /**
+     * @return 通信用のプール
+     */
+    public ExecutorService io() {
+        return get(IO);
+    }
+
+    /**
+     * @return データベース用のプール
+     */
+    public ExecutorService db() {
+        return get(DB);
+    }
+
+    /**
+     * @return 計算用のプール
+     */
+    public ExecutorService cpu() {
+        return get(CPU);
+    }
+
+    /**
+     * 受け付けた順に1件ずつ実行する名前付きのプールを取得します。
+     * 同じ名前で要求した場合は同じプールを返します。待ち行列が溢れた場合は呼び出し元のスレッドで実行します。
+     *
+     * @param name プール名（IO・DB・CPU 以外）
+     * @return 直列プール
+     * @throws IllegalArgumentException 用途ごとのプールや予約実行用プールと同じ名前の場合
+     */
+    public synchronized ExecutorService serial(String name) {
+        MeteredExecutor executor = executors.get(name);
+        if (executor == null) {
+            checkUnused(name);
+            executor = new MeteredExecutor(name, 1, SERIAL_QUEUE_CAPACITY, new ThreadPoolExecutor.CallerRunsPolicy());
+            register(executor);
+        } else if (executor.getMaximumPoolSize() != 1) {
+            throw new IllegalArgumentException("Not a serial executor: " + name);
+        }
+        return executor;
+    }
+
+    /**
+     * タイムアウトや遅延実行に使用する名前付きの予約実行用プール（スレッド1つ）を取得します。
+     * 同じ名前で要求した場合は同じプールを返します。取り消した予約は待ち行列からすぐに取り除きます。
+     *
+     * @param name プール名
+     * @return 予約実行用プール
+     * @throws IllegalArgumentException 他のプールと同じ名前の場合
+     */
+    public synchronized ScheduledExecutorService scheduled(String name) {
+        MeteredScheduledExecutor scheduler = schedulers.get(name);
+        if (scheduler == null) {
+            checkUnused(name);
+            scheduler = new MeteredScheduledExecutor(name);
+            schedulers.put(name, scheduler);
+        }
+        return scheduler;
+    }
+
+    private void checkUnused(String name) {
+        if (executors.containsKey(name) || schedulers.containsKey(name)) {
+            throw new IllegalArgumentException("Executor name already used: " + name);
+        }
+    }
+
+    /**
+     * 名前を指定してプールを取得します。
+     *
+     * @param name プール名（IO・DB・CPU、または作成済みの直列プールの名前）
+     * @return プール
+     * @throws IllegalArgumentException 登録されていない名前の場合
+     */
+    public synchronized MeteredExecutor get(String name) {
+        MeteredExecutor executor = executors.get(name);
+        if (executor == null) {
+            throw new IllegalArgumentException("Unknown executor: " + name);
+        }
+        return executor;
+    }
+
+    /**
+     * すべてのプールの現在の集計値を取得します。
+     *
+     * @return プールごとの集計値（登録順。予約実行用プールは最後）
+     */
+    public synchronized List<Stats> snapshot() {
+        List<Stats> stats = new ArrayList<>(executors.size() + schedulers.size());
+        for (MeteredExecutor executor : executors.values()) {
+            stats.add(executor.stats());
+        }
+        for (MeteredScheduledExecutor scheduler : schedulers.values()) {
+            stats.add(scheduler.stats());
+        }
+        return Collections.unmodifiableList(stats);
+    }
+
+    /**
+     * すべてのプールの現在の集計値をログに出力します。
+     */
+    public void logStats() {
+        for (Stats stats : snapshot()) {
+            Log.d(TAG, stats.toString());
+        }
+    }
+
+    /**
+     * 待ち行列の上限を持ち、待ち時間・実行時間・溢れた件数を集計するスレッドプールです。
+     * スレッド名は「bookapp-プール名-番号」です。
+     */
+    public static final class MeteredExecutor extends ThreadPoolExecutor {
+        private final String name;
+        private final Meter meter;
+
+        /**
+         * @param name          プール名
+         * @param threads       スレッド数
+         * @param queueCapacity 待ち行列の上限
+         * @param policy        待ち行列が溢れた場合の扱い
+         */
+        MeteredExecutor(String name, int threads, int queueCapacity, RejectedExecutionHandler policy) {
+            this(name, threads, queueCapacity, policy, new Meter());
+        }
+
+        private MeteredExecutor(String name, int threads, int queueCapacity,
+                                RejectedExecutionHandler policy, Meter meter) {
+            super(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    new NamedThreadFactory(name),
+                    (task, executor) -> {
+                        meter.rejectedCount.incrementAndGet();
+                        policy.rejectedExecution(task, executor);
+                    });
+            this.name = name;
+            this.meter = meter;
+            allowCoreThreadTimeOut(true);
+        }
+
+        /**
+         * @return プール名
+         */
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            super.execute(meter.wrap(command, System.nanoTime()));
+        }
+
+        /**
+         * @return 現在の集計値
+         */
+        public Stats stats() {
+            return meter.stats(name, getQueue().size(), getActiveCount());
+        }
+    }
+
+    /**
+     * スレッド1つで予約された処理を実行し、待ち時間・実行時間を集計するプールです。
+     * 待ち時間は予約した実行時刻から実際に実行が始まるまでの時間です。スレッド名は「bookapp-プール名-番号」です。
+     */
+    public static final class MeteredScheduledExecutor extends ScheduledThreadPoolExecutor {
+        private final String name;
+        private final Meter meter;
+
+        /**
+         * @param name プール名
+         */
+        MeteredScheduledExecutor(String name) {
+            this(name, new Meter());
+        }
+
+        private MeteredScheduledExecutor(String name, Meter meter) {
+            super(1, new NamedThreadFactory(name), (task, executor) -> {
+                meter.rejectedCount.incrementAndGet();
+                throw new RejectedExecutionException("Executor " + name + " is shut down");
+            });
+            this.name = name;
+            this.meter = meter;
+            setRemoveOnCancelPolicy(true);
+        }
+
+        /**
+         * @return プール名
+         */
+        public String getName() {
+            return name;
+        }
+
+        // execute と submit はいずれも遅延0の schedule として呼び出される
+        @NonNull
+        @Override
+        public ScheduledFuture<?> schedule(@NonNull Runnable command, long delay, @NonNull TimeUnit unit) {
+            long dueAt = System.nanoTime() + unit.toNanos(Math.max(0, delay));
+            return super.schedule(meter.wrap(command, dueAt), delay, unit);
+        }
+
+        @NonNull
+        @Override
+        public <V> ScheduledFuture<V> schedule(@NonNull Callable<V> callable, long delay, @NonNull TimeUnit unit) {
+            long dueAt = System.nanoTime() + unit.toNanos(Math.max(0, delay));
+            return super.schedule(meter.wrap(callable, dueAt), delay, unit);
+        }
+
+        /**
+         * @return 現在の集計値
+         */
+        public Stats stats() {
+            return meter.stats(name, getQueue().size(), getActiveCount());
+        }
+    }
+
+    /**
+     * プールごとの待ち時間・実行時間・溢れた件数の集計です。
+     */
+    private static final class Meter {
+        final AtomicLong rejectedCount = new AtomicLong();
+        private final AtomicLong completedCount = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private final AtomicLong totalRunNanos = new AtomicLong();
+
+        /**
+         * 実行の開始と終了の時刻を集計する処理で包みます。
+         *
+         * @param command 実行する処理
+         * @param dueAt   実行を開始できるようになった時刻（System.nanoTime）
+         */
+        Runnable wrap(Runnable command, long dueAt) {
+            return () -> {
+                long startedAt = System.nanoTime();
+                try {
+                    command.run();
+                } finally {
+                    record(startedAt - dueAt, System.nanoTime() - startedAt);
+                }
+            };
+        }
+
+        <V> Callable<V> wrap(Callable<V> callable, long dueAt) {
+            return () -> {
+                long startedAt = System.nanoTime();
+                try {
+                    return callable.call();
+                } finally {
+                    record(startedAt - dueAt, System.nanoTime() - startedAt);
+                }
+            };
+        }
+
+        private void record(long waitNanos, long runNanos) {
+            long wait = Math.max(0, waitNanos);
+            completedCount.incrementAndGet();
+            totalWaitNanos.addAndGet(wait);
+            totalRunNanos.addAndGet(runNanos);
+            maxWaitNanos.accumulateAndGet(wait, Math::max);
+        }
+
+        Stats stats(String name, int queueDepth, int activeCount) {
+            long completed = completedCount.get();
+            return new Stats(
+                    name,
+                    queueDepth,
+                    activeCount,
+                    completed,
+                    rejectedCount.get(),
+                    completed == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get() / completed),
+                    TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()),
+                    completed == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalRunNanos.get() / completed));
+        }
+    }
+
+    /**
+     * プールの集計値です。
+     */
+    public static final class Stats {
+        private final String name;
+        private final int queueDepth;
+        private final int activeCount;
+        private final long completedCount;
+        private final long rejectedCount;
+        private final long averageWaitMillis;
+        private final long maxWaitMillis;
+        private final long averageRunMillis;
+
+        Stats(String name, int queueDepth, int activeCount, long completedCount, long rejectedCount,
+              long averageWaitMillis, long maxWaitMillis, long averageRunMillis) {
+            this.name = name;
+            this.queueDepth = queueDepth;
+            this.activeCount = activeCount;
+            this.completedCount = completedCount;
+            this.rejectedCount = rejectedCount;
+            this.averageWaitMillis = averageWaitMillis;
+            this.maxWaitMillis = maxWaitMillis;
+            this.averageRunMillis = averageRunMillis;
+        }
+
+        /** @return プール名 */
+        public String getName() {
+            return name;
+        }
+
+        /** @return 待ち行列にある処理の数 */
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        /** @return 実行中の処理の数 */
+        public int getActiveCount() {
+            return activeCount;
+        }
+
+        /** @return 完了した処理の数 */
+        public long getCompletedCount() {
+            return completedCount;
+        }
+
+        /** @return 待ち行列が溢れた処理の数 */
+        public long getRejectedCount() {
+            return rejectedCount;
+        }
+
+        /** @return 受け付けてから実行が始まるまでの平均時間（ミリ秒） */
+        public long getAverageWaitMillis() {
+            return averageWaitMillis;
+        }
+
+        /** @return 受け付けてから実行が始まるまでの最大時間（ミリ秒） */
+        public long getMaxWaitMillis() {
+            return maxWaitMillis;
+        }
+
+        /** @return 実行にかかった平均時間（ミリ秒） */
+        public long getAverageRunMillis() {
+            return averageRunMillis;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%s: queue=%d active=%d completed=%d rejected=%d wait(avg/max)=%d/%dms run(avg)=%dms",
+                    name, queueDepth, activeCount, completedCount, rejectedCount,
+                    averageWaitMillis, maxWaitMillis, averageRunMillis);
+        }
+    }
+
+    /**
+     * 「bookapp-プール名-番号」の名前でスレッドを作成します。
+     */
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        NamedThreadFactory(String name) {
+            this.prefix = "bookapp-" + name + "-";
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            return new Thread(runnable, prefix + count.incrementAndGet());
+        }
+    }
+}
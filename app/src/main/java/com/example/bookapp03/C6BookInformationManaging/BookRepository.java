@@ -5,6 +5,8 @@
  * 概要: アプリケーションの書籍データ操作を抽象化するインターフェース
  * 履歴:
  * 2025/06/20 横山葉 新規作成
+ * 2026/10/18 横山葉 表示範囲の書籍サマリのみ書籍情報を補完するメソッドを追加
+ * 2026/10/18 横山葉 結果を待機するスレッドを不要にするため、戻り値を完了時に処理を連結できる CompletableFuture に変更
  */
 package com.example.bookapp03.C6BookInformationManaging;
 
@@ -13,16 +15,30 @@ import com.example.bookapp03.C3BookInformationProcessing.BookSummaryData;
 import com.example.bookapp03.C1UIProcessing.HighlightMemoData;
 
 import java.util.List;
-import java.util.concurrent.Future;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * 各メソッドは処理の完了時に結果を受け取れる CompletableFuture を返す。
+ * 呼び出し側は get() で待機せず、whenComplete などで結果に対する処理を連結する。
+ * 処理を実行できなかった場合（プールの待ち行列が溢れた場合など）は例外で完了したものを返す。
+ */
 public interface BookRepository {
 
     /**
      * 指定されたユーザーIDの全ての書籍サマリを取得する。
+     * ローカルDBの内容のみで構築し、書籍情報が未保存の行はプレースホルダとして返す。
      * @param uid ユーザーID
      * @return 書籍サマリのリスト
      */
-    Future<List<BookSummaryData>> getAllBookSummaries(String uid);
+    CompletableFuture<List<BookSummaryData>> getAllBookSummaries(String uid);
+
+    /**
+     * 指定された書籍のうち書籍情報が未保存のものについて、タイトルと画像URLを補完する。
+     * @param uid ユーザーID
+     * @param volumeIds 補完対象のボリュームIDのリスト
+     * @return 補完できた書籍サマリのリスト
+     */
+    CompletableFuture<List<BookSummaryData>> hydrateBookSummaries(String uid, List<String> volumeIds);
 
     /**
      * 指定されたユーザーIDとボリュームIDの書籍詳細情報を取得する。
@@ -30,7 +46,7 @@ public interface BookRepository {
      * @param volumeId ボリュームID
      * @return 書籍詳細データ。見つからない場合はnull
      */
-    Future<BookDetailData> getBookDetail(String uid, String volumeId);
+    CompletableFuture<BookDetailData> getBookDetail(String uid, String volumeId);
 
     /**
      * 指定された書籍の公開ステータスを更新する。
@@ -39,7 +55,7 @@ public interface BookRepository {
      * @param isPublic 新しい公開ステータス
      * @return 更新が成功した場合はtrue、それ以外はfalse
      */
-    Future<Boolean> updateBookPublicStatus(String uid, String volumeId, boolean isPublic);
+    CompletableFuture<Boolean> updateBookPublicStatus(String uid, String volumeId, boolean isPublic);
 
     /**
      * 指定されたユーザーIDとボリュームIDのハイライトメモを取得する。
@@ -47,7 +63,7 @@ public interface BookRepository {
      * @param volumeId ボリュームID
      * @return ハイライトメモのリスト
      */
-    Future<List<HighlightMemoData>> getHighlightMemos(String uid, String volumeId);
+    CompletableFuture<List<HighlightMemoData>> getHighlightMemos(String uid, String volumeId);
 
     /**
      * ハイライトメモを登録する。
@@ -56,5 +72,5 @@ public interface BookRepository {
      * @param memoData ハイライトメモデータ
      * @return 登録が成功した場合はtrue、それ以外はfalse
      */
-    Future<Boolean> registerHighlightMemo(String uid, String volumeId, HighlightMemoData memoData);
+    CompletableFuture<Boolean> registerHighlightMemo(String uid, String volumeId, HighlightMemoData memoData);
 }
\ No newline at end of file
@@ -6,6 +6,11 @@
  * 書籍データおよびハイライトメモを取得・更新する責任を持つ。
  * 履歴:
  * 2025/06/20 横山葉 新規作成
+ * 2026/10/18 横山葉 書籍名・画像URLの取得を VolumeMetadataStore 経由に変更
+ * 2026/10/18 横山葉 SummaryEntity に保存済みの書籍情報を優先し、未保存の行のみ補完するよう変更
+ * 2026/10/18 横山葉 一覧取得をローカルDBのみで完結させ、補完処理を表示範囲単位の hydrateBookSummaries に分離
+ * 2026/10/18 横山葉 インスタンスごとのスレッドプールをやめ、アプリ共通の通信用プールを使用するよう変更
+ * 2026/10/18 横山葉 戻り値を CompletableFuture に変更し、プールが処理を受け付けない場合は例外で完了させるよう変更
  */
 package com.example.bookapp03.C6BookInformationManaging;
 
@@ -17,15 +22,18 @@ import com.example.bookapp03.C6BookInformationManaging.database.HighlightMemoDao
 import com.example.bookapp03.C6BookInformationManaging.database.HighlightMemoEntity;
 import com.example.bookapp03.C6BookInformationManaging.database.SummaryDao;
 import com.example.bookapp03.C6BookInformationManaging.database.SummaryEntity;
+import com.example.bookapp03.C6BookInformationManaging.database.VolumeMetadataEntity;
 import com.example.bookapp03.C3BookInformationProcessing.BookDetailData;
 import com.example.bookapp03.C3BookInformationProcessing.BookSummaryData;
 import com.example.bookapp03.C1UIProcessing.HighlightMemoData;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 /**
  * 書籍データとハイライトメモの取得および更新を行うリポジトリの実装クラス。
@@ -43,7 +51,9 @@ public class BookRepositoryImpl implements BookRepository {
     private final RegisterSummary registerSummary;
     /** ハイライトメモ登録のビジネスロジックを扱うクラス */
     private final RegisterHighlightMemo registerHighlightMemo;
-    /** 非同期処理を実行するためのスレッドプール */
+    /** 書籍メタデータ（書籍名・画像URL）をローカル優先で解決するストア */
+    private final VolumeMetadataStore volumeMetadataStore;
+    /** 非同期処理を実行するアプリ共通のプール（書籍情報の補完で通信を行うため通信用） */
     private final ExecutorService executor;
 
     /**
@@ -53,42 +63,44 @@ public class BookRepositoryImpl implements BookRepository {
      * @param context アプリケーションコンテキスト
      */
     public BookRepositoryImpl(Context context) {
+        this(context, VolumeMetadataStore.getInstance(context));
+    }
+
+    /**
+     * 書籍メタデータストアを指定するBookRepositoryImplのコンストラクタ。
+     *
+     * @param context             アプリケーションコンテキスト
+     * @param volumeMetadataStore 書籍メタデータストア
+     */
+    public BookRepositoryImpl(Context context, VolumeMetadataStore volumeMetadataStore) {
         // Roomデータベースのインスタンスを取得
         BookInformationDatabase db = BookInformationDatabase.getDatabase(context);
         this.summaryDao = db.summaryDao();
         this.highlightMemoDao = db.highlightMemoDao();
         this.registerSummary = new RegisterSummary(context);
         this.registerHighlightMemo = new RegisterHighlightMemo(context);
-        // 固定数のスレッドを持つExecutorServiceを初期化
-        this.executor = Executors.newFixedThreadPool(4);
+        this.volumeMetadataStore = volumeMetadataStore;
+        this.executor = AppExecutors.getInstance().io();
     }
 
     /**
      * 指定されたユーザーの全ての書籍サマリを非同期で取得します。
-     * ローカルDBからサマリエンティティを取得し、必要に応じてネットワークから書籍名と画像URLをフェッチします。
+     * ローカルDBへの1回のSQLクエリのみで構築し、ネットワークアクセスは行いません。
+     * 書籍情報が未保存の行（旧バージョンで登録された行）はタイトル・画像URLが空のプレースホルダとして返し、
+     * 表示範囲に入った時点で hydrateBookSummaries により補完します。
      *
      * @param uid ユーザーID
-     * @return 書籍サマリのリストを含むFutureオブジェクト
+     * @return 書籍サマリのリストを含むCompletableFuture
      */
     @Override
-    public Future<List<BookSummaryData>> getAllBookSummaries(String uid) {
-        return executor.submit(() -> {
+    public CompletableFuture<List<BookSummaryData>> getAllBookSummaries(String uid) {
+        return supplyAsync(() -> {
             List<BookSummaryData> bookSummaries = new ArrayList<>();
             try {
                 // Roomから指定ユーザーのSummaryEntityを全て取得
                 List<SummaryEntity> summaryEntities = summaryDao.getAllSummariesByUser(uid);
-
-                // 各SummaryEntityからBookSummaryDataを構築
                 for (SummaryEntity entity : summaryEntities) {
-                    // VolumeIdProviderを使って書籍名と画像URLを取得（ネットワークアクセス）
-                    // この部分は同期的に完了を待つが、このメソッド自体がFutureでラップされているため呼び出し元は非同期で処理可能
-                    String title = VolumeIdProvider.fetchBookName(entity.volumeId);
-                    String imageUrl = VolumeIdProvider.fetchCoverImageUrl(entity.volumeId);
-
-                    // BookSummaryDataインスタンスを作成し、公開ステータスを設定
-                    BookSummaryData summaryData = new BookSummaryData(entity.volumeId, title, imageUrl);
-                    summaryData.setPublic(entity.isPublic);
-                    bookSummaries.add(summaryData);
+                    bookSummaries.add(toBookSummaryData(entity));
                 }
             } catch (Exception e) {
                 // エラー発生時はログに出力
@@ -99,26 +111,114 @@ public class BookRepositoryImpl implements BookRepository {
         });
     }
 
+    /**
+     * 指定された書籍のうち書籍情報が未保存のものについて、VolumeMetadataStoreからタイトルと画像URLを補完します。
+     * 補完した書籍情報はSummaryEntityに書き戻すため、次回以降の一覧表示ではネットワークアクセスが不要になります。
+     *
+     * @param uid       ユーザーID
+     * @param volumeIds 補完対象のボリュームIDのリスト（通常は画面に表示中の行と先読み範囲の行）
+     * @return 補完できた書籍サマリのリストを含むCompletableFuture
+     */
+    @Override
+    public CompletableFuture<List<BookSummaryData>> hydrateBookSummaries(String uid, List<String> volumeIds) {
+        return supplyAsync(() -> {
+            List<BookSummaryData> hydrated = new ArrayList<>();
+            if (volumeIds == null || volumeIds.isEmpty()) {
+                return hydrated;
+            }
+            try {
+                // 対象の行のみをまとめて取得し、書籍情報が未保存のものを抽出
+                List<SummaryEntity> targets = new ArrayList<>();
+                List<String> missingVolumeIds = new ArrayList<>();
+                for (SummaryEntity entity : summaryDao.getSummariesByVolumeIds(uid, volumeIds)) {
+                    if (entity.hasBookInfo()) {
+                        // 別経路で補完済みの行はそのまま返す
+                        hydrated.add(toBookSummaryData(entity));
+                    } else {
+                        targets.add(entity);
+                        missingVolumeIds.add(entity.volumeId);
+                    }
+                }
+                if (missingVolumeIds.isEmpty()) {
+                    return hydrated;
+                }
+
+                Map<String, VolumeMetadataEntity> metadata = volumeMetadataStore.getAll(missingVolumeIds);
+                for (SummaryEntity entity : targets) {
+                    VolumeMetadataEntity meta = metadata.get(entity.volumeId);
+                    if (meta != null) {
+                        backfillBookInfo(entity, meta);
+                        hydrated.add(toBookSummaryData(entity));
+                    }
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error hydrating book summaries for UID: " + uid + ", Error: " + e.getMessage());
+            }
+            return hydrated;
+        });
+    }
+
+    /**
+     * 処理を通信用プールで非同期に実行します。
+     * プールの待ち行列が溢れて処理を受け付けない場合は、呼び出し元（UIスレッドの場合もある）に例外を投げず、
+     * RejectedExecutionExceptionで完了したCompletableFutureを返します。
+     *
+     * @param task 実行する処理
+     * @param <T>  処理結果の型
+     * @return 処理結果を含むCompletableFuture
+     */
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            Log.w(TAG, "Task rejected by executor: " + e.getMessage());
+            CompletableFuture<T> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+    }
+
+    /**
+     * SummaryEntityから一覧表示用のBookSummaryDataを構築します。
+     *
+     * @param entity 変換元のSummaryEntity
+     * @return 書籍サマリデータ
+     */
+    private BookSummaryData toBookSummaryData(SummaryEntity entity) {
+        String title = entity.title != null ? entity.title : "";
+        String imageUrl = entity.coverImageUrl != null ? entity.coverImageUrl : "";
+        // BookSummaryDataインスタンスを作成し、公開ステータスを設定
+        BookSummaryData summaryData = new BookSummaryData(entity.volumeId, title, imageUrl);
+        summaryData.setPublic(entity.isPublic);
+        return summaryData;
+    }
+
     /**
      * 指定されたユーザーとボリュームIDの書籍詳細データを非同期で取得します。
-     * ローカルDBから要約エンティティを取得し、必要に応じてネットワークから書籍名と画像URLをフェッチします。
+     * ローカルDBから要約エンティティを取得し、書籍名と画像URLが未保存の場合のみVolumeMetadataStoreから補完します。
      *
      * @param uid      ユーザーID
      * @param volumeId 書籍のボリュームID
-     * @return 書籍詳細データを含むFutureオブジェクト。データが見つからない場合やエラーの場合はnullを含むFutureを返す。
+     * @return 書籍詳細データを含むCompletableFuture。データが見つからない場合やエラーの場合はnullを含むCompletableFutureを返す。
      */
     @Override
-    public Future<BookDetailData> getBookDetail(String uid, String volumeId) {
-        return executor.submit(() -> {
+    public CompletableFuture<BookDetailData> getBookDetail(String uid, String volumeId) {
+        return supplyAsync(() -> {
             try {
                 // Roomから指定ユーザーとボリュームIDのSummaryEntityを取得
                 SummaryEntity summaryEntity = summaryDao.getSummary(uid, volumeId);
 
                 // SummaryEntityが存在する場合、BookDetailDataを構築
                 if (summaryEntity != null) {
-                    // VolumeIdProviderを使って書籍名と画像URLを取得（ネットワークアクセス）
-                    String name = VolumeIdProvider.fetchBookName(volumeId);
-                    String coverImageUrl = VolumeIdProvider.fetchCoverImageUrl(volumeId);
+                    // 書籍名と画像URLが未保存の場合のみメタデータから補完
+                    if (!summaryEntity.hasBookInfo()) {
+                        VolumeMetadataEntity meta = volumeMetadataStore.get(volumeId);
+                        if (meta != null) {
+                            backfillBookInfo(summaryEntity, meta);
+                        }
+                    }
+                    String name = summaryEntity.title != null ? summaryEntity.title : "";
+                    String coverImageUrl = summaryEntity.coverImageUrl != null ? summaryEntity.coverImageUrl : "";
 
                     // BookDetailDataインスタンスを作成して返す
                     return new BookDetailData(
@@ -137,6 +237,26 @@ public class BookRepositoryImpl implements BookRepository {
         });
     }
 
+    /**
+     * メタデータで補完した書籍情報をSummaryEntityに反映し、ローカルDBに書き戻します。
+     * 次回以降の一覧表示ではネットワークアクセスが不要になります。
+     *
+     * @param entity 補完対象のSummaryEntity
+     * @param meta   書籍メタデータ
+     */
+    private void backfillBookInfo(SummaryEntity entity, VolumeMetadataEntity meta) {
+        if (entity.title == null || entity.title.isEmpty()) {
+            entity.title = meta.title;
+        }
+        if (entity.author == null && meta.authors != null && !meta.authors.isEmpty()) {
+            entity.author = meta.authors.get(0);
+        }
+        if (entity.coverImageUrl == null || entity.coverImageUrl.isEmpty()) {
+            entity.coverImageUrl = meta.coverImageUrl;
+        }
+        summaryDao.updateBookInfo(entity.uid, entity.volumeId, entity.title, entity.author, entity.coverImageUrl);
+    }
+
     /**
      * 指定された書籍の公開ステータスを非同期で更新します。
      * ローカルDBから既存の要約情報を取得し、その全体要約を維持したまま公開ステータスを更新します。
@@ -144,11 +264,11 @@ public class BookRepositoryImpl implements BookRepository {
      * @param uid          ユーザーID
      * @param volumeId     対象の書籍のボリュームID
      * @param newPublicStatus 新しい公開状態（true: 公開, false: 非公開）
-     * @return 更新が成功した場合はtrue、失敗した場合はfalseを含むFutureオブジェクト
+     * @return 更新が成功した場合はtrue、失敗した場合はfalseを含むCompletableFuture
      */
     @Override
-    public Future<Boolean> updateBookPublicStatus(String uid, String volumeId, boolean newPublicStatus) {
-        return executor.submit(() -> {
+    public CompletableFuture<Boolean> updateBookPublicStatus(String uid, String volumeId, boolean newPublicStatus) {
+        return supplyAsync(() -> {
             try {
                 // 公開ステータスを更新するために、現在の要約テキストを取得する必要がある
                 SummaryEntity existingSummary = summaryDao.getSummary(uid, volumeId);
@@ -172,11 +292,11 @@ public class BookRepositoryImpl implements BookRepository {
      *
      * @param uid      ユーザーID
      * @param volumeId 書籍のボリュームID
-     * @return ハイライトメモのリストを含むFutureオブジェクト。エラーの場合は空のリストを返す。
+     * @return ハイライトメモのリストを含むCompletableFuture。エラーの場合は空のリストを返す。
      */
     @Override
-    public Future<List<HighlightMemoData>> getHighlightMemos(String uid, String volumeId) {
-        return executor.submit(() -> {
+    public CompletableFuture<List<HighlightMemoData>> getHighlightMemos(String uid, String volumeId) {
+        return supplyAsync(() -> {
             List<HighlightMemoData> memoList = new ArrayList<>();
             try {
                 // Roomから指定ユーザーとボリュームIDのHighlightMemoEntityを取得
@@ -203,11 +323,11 @@ public class BookRepositoryImpl implements BookRepository {
      * @param uid      メモを登録するユーザーID
      * @param volumeId メモを登録する書籍のボリュームID
      * @param memoData 登録するHighlightMemoDataオブジェクト
-     * @return 登録が成功した場合はtrue、失敗した場合はfalseを含むFutureオブジェクト
+     * @return 登録が成功した場合はtrue、失敗した場合はfalseを含むCompletableFuture
      */
     @Override
-    public Future<Boolean> registerHighlightMemo(String uid, String volumeId, HighlightMemoData memoData) {
-        return executor.submit(() -> {
+    public CompletableFuture<Boolean> registerHighlightMemo(String uid, String volumeId, HighlightMemoData memoData) {
+        return supplyAsync(() -> {
             try {
                 // RegisterHighlightMemoクラスを介してメモを登録
                 return registerHighlightMemo.registerHighlightMemo(uid, volumeId, memoData);
@@ -6,26 +6,31 @@
  * おすすめ書籍の取得ロジックを担当します。
  * 履歴:
  * 2025/06/30 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 Google Books APIのレスポンスを GoogleBooksJsonAdapters でストリーミング解析するよう変更
+ * 2026/10/18 三浦寛生 書籍詳細の取得で fields パラメータにより必要な項目のみ要求するよう変更
+ * 2026/10/18 三浦寛生 おすすめ候補を RecommendationFeedCache に保存し、保存済みの書籍は Google Books に問い合わせないよう変更
+ * 2026/10/18 三浦寛生 ジャンルの一致判定を GenreRegistry のビットマスクで行い、共通するジャンルが多い順に並べるよう変更
  */
 package com.example.bookapp03.C6BookInformationManaging;
 
 import android.util.Log;
 
 import com.example.bookapp03.C4SearchProcessing.Book;
+import com.example.bookapp03.C4SearchProcessing.GenreRegistry;
+import com.example.bookapp03.C4SearchProcessing.GoogleBooksFields;
+import com.example.bookapp03.C4SearchProcessing.GoogleBooksJsonAdapters;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -48,12 +53,28 @@ public class FirestoreBookService {
     private final OkHttpClient httpClient;
     private final Gson gson;
     private final String googleBooksApiKey;
+    /** おすすめ候補のキャッシュ（null の場合は毎回 Firestore と Google Books から取得する） */
+    private final RecommendationFeedCache feedCache;
 
     public FirestoreBookService(OkHttpClient httpClient, Gson gson, String googleBooksApiKey) {
+        this(httpClient, gson, googleBooksApiKey, null);
+    }
+
+    /**
+     * おすすめ候補のキャッシュを使用するFirestoreBookServiceのコンストラクタ。
+     *
+     * @param httpClient        共有のOkHttpClientインスタンス
+     * @param gson              共有のGsonインスタンス
+     * @param googleBooksApiKey Google Books APIのキー
+     * @param feedCache         おすすめ候補のキャッシュ（null の場合は使用しない）
+     */
+    public FirestoreBookService(OkHttpClient httpClient, Gson gson, String googleBooksApiKey,
+                                RecommendationFeedCache feedCache) {
         this.db = FirebaseFirestore.getInstance();
         this.httpClient = httpClient;
         this.gson = gson;
         this.googleBooksApiKey = googleBooksApiKey;
+        this.feedCache = feedCache;
     }
 
     public interface BookRecommendationCallback {
@@ -66,17 +87,42 @@ public class FirestoreBookService {
         void onFailure(String errorMessage);
     }
 
+    /**
+     * おすすめの書籍を取得し、ユーザーの好きなジャンルに合うもの・合わないものに分けて通知します。
+     * 保存済みの候補が有効期限内であればそれを使用し、期限切れの場合は Firestore から候補一覧を取り直して、
+     * 詳細が保存されていない（または期限切れの）書籍のみ Google Books から取得します。
+     *
+     * @param userFavoriteGenres ユーザーが好きなジャンルのリスト
+     * @param callback           結果を通知するコールバック
+     */
     public void getRecommendedBooksFromFirestore(List<String> userFavoriteGenres, BookRecommendationCallback callback) {
-        Log.d(TAG, "Fetching books from Firestore for recommendation.");
-        Set<String> lowerCaseFavoriteGenres = new HashSet<>();
-        if (userFavoriteGenres != null) {
-            for (String genre : userFavoriteGenres) {
-                lowerCaseFavoriteGenres.add(genre.toLowerCase(Locale.getDefault()));
-            }
-        }
-        Log.d(TAG, "User Favorite Genres (lowercase): " + lowerCaseFavoriteGenres);
+        long userGenreMask = GenreRegistry.maskOf(userFavoriteGenres);
+        Log.d(TAG, "User Favorite Genres: " + userFavoriteGenres + " (mask: " + Long.toBinaryString(userGenreMask) + ")");
 
+        if (feedCache == null) {
+            fetchRecommendationCandidates(null, userGenreMask, callback);
+            return;
+        }
+        feedCache.readAsync(feed -> {
+            if (feed != null && !feedCache.isExpired(feed)) {
+                Log.d(TAG, "Serving recommendations from the feed cache (" + feed.getBooks().size() + " books).");
+                processAndReturnBooks(feed.getBooks(), userGenreMask, callback);
+                return;
+            }
+            fetchRecommendationCandidates(feed, userGenreMask, callback);
+        });
+    }
 
+    /**
+     * Firestore から候補一覧を取得し、各書籍の詳細を補完しておすすめを通知します。
+     *
+     * @param cachedFeed    保存済みの候補（期限切れを含む。ない場合は null）
+     * @param userGenreMask ユーザーの好きなジャンルのビットマスク
+     * @param callback      結果を通知するコールバック
+     */
+    private void fetchRecommendationCandidates(RecommendationFeedCache.Feed cachedFeed, long userGenreMask,
+                                               BookRecommendationCallback callback) {
+        Log.d(TAG, "Fetching books from Firestore for recommendation.");
         db.collection("summaries")
                 .limit(FETCH_LIMIT_FOR_RANDOM)
                 .get()
@@ -90,63 +136,106 @@ public class FirestoreBookService {
                     final int totalDocuments = queryDocumentSnapshots.size();
                     final AtomicInteger processedDocumentCount = new AtomicInteger(0);
 
-                    final Set<Book> uniqueBooksFromGoogle = Collections.synchronizedSet(new HashSet<>());
-                    final Set<String> fetchingOrFetchedVolumeIds = Collections.synchronizedSet(new HashSet<>());
-
+                    // 候補の書籍と詳細の取得時刻（Firestore の取得順）
+                    final Map<String, RecommendationFeedCache.Entry> resolvedEntries =
+                            Collections.synchronizedMap(new LinkedHashMap<>());
+                    final Runnable onDocumentProcessed = () -> {
+                        if (processedDocumentCount.incrementAndGet() == totalDocuments) {
+                            List<RecommendationFeedCache.Entry> entries = new ArrayList<>();
+                            synchronized (resolvedEntries) {
+                                for (RecommendationFeedCache.Entry entry : resolvedEntries.values()) {
+                                    if (entry != null) {
+                                        entries.add(entry);
+                                    }
+                                }
+                            }
+                            if (feedCache != null) {
+                                feedCache.writeAsync(entries);
+                            }
+                            List<Book> books = new ArrayList<>();
+                            for (RecommendationFeedCache.Entry entry : entries) {
+                                books.add(entry.getBook());
+                            }
+                            processAndReturnBooks(books, userGenreMask, callback);
+                        }
+                    };
+                    final Set<String> fetchingOrFetchedVolumeIds = new HashSet<>();
+                    int reusedCount = 0;
 
                     for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
                         String volumeId = document.getString("volumeId");
                         String overallSummary = document.getString("overallSummary");
 
-                        if (volumeId != null && !volumeId.isEmpty()) {
-                            if (fetchingOrFetchedVolumeIds.contains(volumeId)) {
-                                Log.d(TAG, "Skipping duplicate volumeId: " + volumeId + " from Firestore document: " + document.getId() + " (already processing/processed).");
-                                if (processedDocumentCount.incrementAndGet() == totalDocuments) {
-                                    processAndReturnBooks(new ArrayList<>(uniqueBooksFromGoogle), lowerCaseFavoriteGenres, callback);
+                        if (volumeId == null || volumeId.isEmpty()) {
+                            Log.w(TAG, "Firestore document " + document.getId() + " has no valid volumeId. Skipping this document.");
+                            onDocumentProcessed.run();
+                            continue;
+                        }
+                        if (!fetchingOrFetchedVolumeIds.add(volumeId)) {
+                            Log.d(TAG, "Skipping duplicate volumeId: " + volumeId + " from Firestore document: " + document.getId() + " (already processing/processed).");
+                            onDocumentProcessed.run();
+                            continue;
+                        }
+                        // 順序を Firestore の取得順に保つため、先に枠を確保する
+                        resolvedEntries.put(volumeId, null);
+
+                        RecommendationFeedCache.Entry cached = cachedFeed != null ? cachedFeed.find(volumeId) : null;
+                        if (cached != null && !feedCache.isExpired(cached)) {
+                            cached.getBook().setOverallSummary(overallSummary);
+                            resolvedEntries.put(volumeId, cached);
+                            reusedCount++;
+                            onDocumentProcessed.run();
+                            continue;
+                        }
+
+                        fetchBookDetailsFromGoogleBooksAsync(volumeId, overallSummary, new GoogleBooksApiCallback() {
+                            @Override
+                            public void onSuccess(Book book) {
+                                if (book != null) {
+                                    long fetchedAt = feedCache != null ? feedCache.now() : System.currentTimeMillis();
+                                    resolvedEntries.put(volumeId, new RecommendationFeedCache.Entry(book, fetchedAt));
+                                } else {
+                                    Log.w(TAG, "Could not fetch Google Books API details for volumeId: " + volumeId + ". Book is null.");
+                                    useStaleOrDrop(resolvedEntries, volumeId, cached, overallSummary);
                                 }
-                                continue;
+                                onDocumentProcessed.run();
                             }
-                            fetchingOrFetchedVolumeIds.add(volumeId);
-
-                            fetchBookDetailsFromGoogleBooksAsync(volumeId, overallSummary, new GoogleBooksApiCallback() {
-                                @Override
-                                public void onSuccess(Book book) {
-                                    if (book != null) {
-                                        if (uniqueBooksFromGoogle.add(book)) {
-                                            Log.d(TAG, "Successfully fetched and enriched unique book: " + book.getTitle() + ", Book ID: " + book.getId());
-                                        } else {
-                                            Log.d(TAG, "Attempted to add duplicate book to uniqueBooksFromGoogle Set: " + book.getTitle() + ", Book ID: " + book.getId());
-                                        }
-                                    } else {
-                                        Log.w(TAG, "Could not fetch Google Books API details for volumeId: " + volumeId + ". Book is null.");
-                                    }
-                                    if (processedDocumentCount.incrementAndGet() == totalDocuments) {
-                                        processAndReturnBooks(new ArrayList<>(uniqueBooksFromGoogle), lowerCaseFavoriteGenres, callback);
-                                    }
-                                }
 
-                                @Override
-                                public void onFailure(String errorMessage) {
-                                    Log.e(TAG, "Error fetching book details for volumeId " + volumeId + ": " + errorMessage);
-                                    if (processedDocumentCount.incrementAndGet() == totalDocuments) {
-                                        processAndReturnBooks(new ArrayList<>(uniqueBooksFromGoogle), lowerCaseFavoriteGenres, callback);
-                                    }
-                                }
-                            });
-                        } else {
-                            Log.w(TAG, "Firestore document " + document.getId() + " has no valid volumeId. Skipping this document.");
-                            if (processedDocumentCount.incrementAndGet() == totalDocuments) {
-                                processAndReturnBooks(new ArrayList<>(uniqueBooksFromGoogle), lowerCaseFavoriteGenres, callback);
+                            @Override
+                            public void onFailure(String errorMessage) {
+                                Log.e(TAG, "Error fetching book details for volumeId " + volumeId + ": " + errorMessage);
+                                useStaleOrDrop(resolvedEntries, volumeId, cached, overallSummary);
+                                onDocumentProcessed.run();
                             }
-                        }
+                        });
                     }
+                    Log.d(TAG, "Recommendation candidates reused from the feed cache: " + reusedCount + "/" + totalDocuments);
                 })
                 .addOnFailureListener(e -> {
                     Log.e(TAG, "Error fetching documents from 'summaries' collection in Firestore: " + e.getMessage(), e);
+                    if (cachedFeed != null) {
+                        Log.w(TAG, "Serving expired recommendation feed after Firestore failure.");
+                        processAndReturnBooks(cachedFeed.getBooks(), userGenreMask, callback);
+                        return;
+                    }
                     callback.onFailure("Firestoreからの書籍概要取得中にエラーが発生しました: " + e.getMessage());
                 });
     }
 
+    /**
+     * 書籍詳細の取得に失敗した場合、期限切れでも保存済みの詳細があればそれを候補とし、なければ候補から除きます。
+     * （除いた場合、次回の候補一覧の保存にも含まれないため再度取得を試みます）
+     */
+    private void useStaleOrDrop(Map<String, RecommendationFeedCache.Entry> resolvedEntries, String volumeId,
+                                RecommendationFeedCache.Entry stale, String overallSummary) {
+        if (stale != null) {
+            stale.getBook().setOverallSummary(overallSummary);
+            resolvedEntries.put(volumeId, stale);
+        } else {
+            resolvedEntries.remove(volumeId);
+        }
+    }
+
     private void fetchBookDetailsFromGoogleBooksAsync(String volumeId, String overallSummaryFromFirestore, GoogleBooksApiCallback callback) {
         if (volumeId == null || volumeId.isEmpty()) {
             Log.w(TAG, "fetchBookDetailsFromGoogleBooksAsync called with empty or null volumeId. Cannot fetch book details.");
@@ -156,6 +245,7 @@ public class FirestoreBookService {
 
         HttpUrl.Builder googleUrlBuilder = HttpUrl.parse(GOOGLE_BOOKS_API_BASE_URL).newBuilder();
         googleUrlBuilder.addPathSegment(volumeId);
+        GoogleBooksFields.apply(googleUrlBuilder, GoogleBooksFields.VOLUME_DETAIL);
         googleUrlBuilder.addQueryParameter("key", googleBooksApiKey);
 
         String googleBooksApiUrl = googleUrlBuilder.build().toString();
@@ -173,68 +263,10 @@ public class FirestoreBookService {
             public void onResponse(@NonNull Call call, @NonNull Response googleResponse) throws IOException {
                 try {
                     if (googleResponse.isSuccessful() && googleResponse.body() != null) {
-                        String googleResponseBody = googleResponse.body().string();
-                        Log.d(TAG, "Google Books API Raw Response for volumeId " + volumeId + ": " + googleResponseBody);
-
-                        JsonObject googleJson = JsonParser.parseString(googleResponseBody).getAsJsonObject();
-                        JsonObject volumeInfo = googleJson.getAsJsonObject("volumeInfo");
+                        Book book = GoogleBooksJsonAdapters.readVolume(googleResponse.body(), true);
 
-                        if (volumeInfo != null) {
-                            Book book = new Book();
+                        if (book != null) {
                             book.setId(volumeId);
-
-                            book.setTitle(volumeInfo.has("title") ? volumeInfo.get("title").getAsString() : null);
-
-                            if (volumeInfo.has("authors")) {
-                                JsonArray authorsArray = volumeInfo.getAsJsonArray("authors");
-                                if (authorsArray != null && authorsArray.size() > 0) {
-                                    book.setAuthor(authorsArray.get(0).getAsString());
-                                }
-                            }
-                            book.setPublishedDate(volumeInfo.has("publishedDate") ? volumeInfo.get("publishedDate").getAsString() : null);
-                            book.setDescription(volumeInfo.has("description") ? volumeInfo.get("description").getAsString() : null);
-                            book.setInfoLink(volumeInfo.has("infoLink") ? volumeInfo.get("infoLink").getAsString() : null);
-
-                            if (volumeInfo.has("categories")) {
-                                JsonArray categoriesArray = volumeInfo.getAsJsonArray("categories");
-                                List<String> categories = new ArrayList<>();
-                                if (categoriesArray != null) {
-                                    for (int i = 0; i < categoriesArray.size(); i++) {
-                                        categories.add(categoriesArray.get(i).getAsString());
-                                    }
-                                }
-                                book.setCategories(categories);
-                            }
-
-                            if (volumeInfo.has("imageLinks")) {
-                                JsonObject imageLinks = volumeInfo.getAsJsonObject("imageLinks");
-                                String thumbnailUrl = null;
-                                if (imageLinks.has("extraLarge")) {
-                                    thumbnailUrl = imageLinks.get("extraLarge").getAsString();
-                                } else if (imageLinks.has("large")) {
-                                    thumbnailUrl = imageLinks.get("large").getAsString();
-                                } else if (imageLinks.has("medium")) {
-                                    thumbnailUrl = imageLinks.get("medium").getAsString();
-                                } else if (imageLinks.has("small")) {
-                                    thumbnailUrl = imageLinks.get("small").getAsString();
-                                } else if (imageLinks.has("thumbnail")) {
-                                    thumbnailUrl = imageLinks.get("thumbnail").getAsString();
-                                }
-                                book.setThumbnailUrl(thumbnailUrl);
-                            }
-
-                            if (volumeInfo.has("industryIdentifiers")) {
-                                JsonArray identifiers = volumeInfo.getAsJsonArray("industryIdentifiers");
-                                for (int i = 0; i < identifiers.size(); i++) {
-                                    JsonObject identifier = identifiers.get(i).getAsJsonObject();
-                                    String type = identifier.has("type") ? identifier.get("type").getAsString() : null;
-                                    String value = identifier.has("identifier") ? identifier.get("identifier").getAsString() : null;
-                                    if (type != null && value != null && (type.equals("ISBN_13") || type.equals("ISBN_10"))) {
-                                        book.setIsbn(value);
-                                        break;
-                                    }
-                                }
-                            }
                             book.setOverallSummary(overallSummaryFromFirestore);
 
                             Log.d(TAG, "Fetched Book Categories from Google API for '" + book.getTitle() + "' (ID: " + book.getId() + "): " + book.getCategories());
@@ -257,22 +289,31 @@ public class FirestoreBookService {
         });
     }
 
-    private void processAndReturnBooks(List<Book> uniqueFetchedBooks, Set<String> lowerCaseFavoriteGenres, BookRecommendationCallback callback) {
+    /**
+     * 候補をユーザーの好きなジャンルに合うもの・合わないものに分け、それぞれ最大件数まで通知します。
+     * 候補はシャッフルした上で、ジャンルに合うものは共通するジャンルが多い順に並べます。
+     *
+     * @param uniqueFetchedBooks 候補の書籍
+     * @param userGenreMask      ユーザーの好きなジャンルのビットマスク
+     * @param callback           結果を通知するコールバック
+     */
+    private void processAndReturnBooks(List<Book> uniqueFetchedBooks, long userGenreMask, BookRecommendationCallback callback) {
         Collections.shuffle(uniqueFetchedBooks);
 
         List<Book> matchingBooksFull = new ArrayList<>();
         List<Book> nonMatchingBooksFull = new ArrayList<>();
 
         for (Book book : uniqueFetchedBooks) {
-            Log.d(TAG, "Comparing Book Categories: " + book.getCategories() + " with User Favorite Genres: " + lowerCaseFavoriteGenres + " for book: " + book.getTitle());
-
-            if (book.getCategories() != null && !book.getCategories().isEmpty() &&
-                    isBookMatchingAnyGenre(book, lowerCaseFavoriteGenres)) {
+            if (GenreRegistry.matchesAny(book.getGenreMask(), userGenreMask)) {
                 matchingBooksFull.add(book);
             } else {
                 nonMatchingBooksFull.add(book);
             }
         }
+        // 安定ソートのため、共通するジャンルの数が同じ書籍の間ではシャッフルした順序が保たれる
+        matchingBooksFull.sort((a, b) -> Integer.compare(
+                GenreRegistry.countShared(b.getGenreMask(), userGenreMask),
+                GenreRegistry.countShared(a.getGenreMask(), userGenreMask)));
 
         List<Book> finalMatchingBooks = new ArrayList<>();
         for (int i = 0; i < MAX_RECOMMENDATION_COUNT && i < matchingBooksFull.size(); i++) {
@@ -289,24 +330,4 @@ public class FirestoreBookService {
 
         callback.onRecommendationsReceived(finalMatchingBooks, finalNonMatchingBooks);
     }
-
-    private boolean isBookMatchingAnyGenre(Book book, Set<String> lowerCaseFavoriteGenres) {
-        if (book.getCategories() == null || book.getCategories().isEmpty()) {
-            Log.d(TAG, "Book '" + book.getTitle() + "' has no categories. Not matching.");
-            return false;
-        }
-        for (String bookCategory : book.getCategories()) {
-            String lowerCaseBookCategory = bookCategory.toLowerCase(Locale.getDefault());
-            Log.d(TAG, "  - Checking book category: '" + bookCategory + "' (lower: '" + lowerCaseBookCategory + "') against user genres.");
-
-            for (String favoriteGenre : lowerCaseFavoriteGenres) {
-                if (lowerCaseBookCategory.contains(favoriteGenre)) {
-                    Log.d(TAG, "  - MATCH FOUND! Book category '" + bookCategory + "' contains user favorite genre '" + favoriteGenre + "'.");
-                    return true;
-                }
-            }
-        }
-        Log.d(TAG, "No matching genres found for book '" + book.getTitle() + "'.");
-        return false;
-    }
-}
\ No newline at end of file
+}
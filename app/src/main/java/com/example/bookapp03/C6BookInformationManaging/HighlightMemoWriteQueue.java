@@ -0,0 +1,193 @@
+package com.example.bookapp03.C6BookInformationManaging;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.bookapp03.C1UIProcessing.HighlightMemoData;
+import com.example.bookapp03.C6BookInformationManaging.database.BookInformationDatabase;
+import com.example.bookapp03.C6BookInformationManaging.database.HighlightMemoDao;
+import com.example.bookapp03.C6BookInformationManaging.database.HighlightMemoEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * モジュール名: ハイライトメモ書き込みキュー
+ * 作成者: 鶴田凌
+ * 作成日: 2026/10/18
+ * 概要: ハイライトメモの登録を受け付けて待たずに戻り、短時間に続けて登録されたメモを
+ * まとめて1回のトランザクションでデータベースに挿入するキュー。
+ * 登録結果はメモごとにメインスレッドでコールバックに通知する。
+ * 履歴:
+ * 2026/10/18 鶴田凌 新規作成
+ * 2026/10/18 鶴田凌 書き込みスレッドを AppExecutors の名前付き予約実行用プールに変更
+ */
+public class HighlightMemoWriteQueue {
+
+    private static final String TAG = "HighlightMemoWriteQueue";
+
+    /** 最初のメモを受け付けてから挿入するまでの待ち時間（ミリ秒） */
+    static final long DEFAULT_FLUSH_DELAY_MS = 300;
+    /** 1回のトランザクションで挿入する最大件数。溜まった時点で待ち時間を待たずに挿入する */
+    static final int DEFAULT_MAX_BATCH_SIZE = 50;
+    /** 挿入の予約と書き込みを行う予約実行用プールの名前 */
+    static final String WRITER_NAME = "memo-writer";
+
+    private static volatile HighlightMemoWriteQueue INSTANCE;
+
+    /**
+     * 登録結果を受け取るコールバック
+     */
+    public interface Callback {
+        /**
+         * @param success 登録成功時 true、失敗時 false
+         */
+        void onComplete(boolean success);
+    }
+
+    /**
+     * メモをまとめて挿入する処理
+     */
+    interface BatchInserter {
+        /**
+         * @param entities 挿入するエンティティ
+         * @return 挿入した行 ID のリスト（entities と同じ順序）
+         */
+        List<Long> insertAll(List<HighlightMemoEntity> entities);
+    }
+
+    /**
+     * 挿入待ちのメモ
+     */
+    private static final class PendingMemo {
+        final HighlightMemoEntity entity;
+        final Callback callback;
+
+        PendingMemo(HighlightMemoEntity entity, Callback callback) {
+            this.entity = entity;
+            this.callback = callback;
+        }
+    }
+
+    private final BatchInserter inserter;
+    /** 挿入の予約とデータベースへの書き込みを行うスレッド */
+    private final ScheduledExecutorService writer;
+    /** コールバックを呼び出すスレッド */
+    private final Executor callbackExecutor;
+    private final long flushDelayMs;
+    private final int maxBatchSize;
+
+    private final Object lock = new Object();
+    private List<PendingMemo> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    /**
+     * シングルトンでキューを取得する。
+     *
+     * @param context Android コンテキスト
+     * @return HighlightMemoWriteQueue のインスタンス
+     */
+    public static HighlightMemoWriteQueue getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (HighlightMemoWriteQueue.class) {
+                if (INSTANCE == null) {
+                    HighlightMemoDao dao = BookInformationDatabase.getDatabase(context).highlightMemoDao();
+                    Handler mainHandler = new Handler(Looper.getMainLooper());
+                    INSTANCE = new HighlightMemoWriteQueue(
+                            dao::insertAll,
+                            AppExecutors.getInstance().scheduled(WRITER_NAME),
+                            mainHandler::post,
+                            DEFAULT_FLUSH_DELAY_MS,
+                            DEFAULT_MAX_BATCH_SIZE);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @param inserter         メモをまとめて挿入する処理
+     * @param writer           挿入の予約と書き込みを行うスレッド
+     * @param callbackExecutor コールバックを呼び出すスレッド
+     * @param flushDelayMs     最初のメモを受け付けてから挿入するまでの待ち時間（ミリ秒）
+     * @param maxBatchSize     1回のトランザクションで挿入する最大件数
+     */
+    HighlightMemoWriteQueue(BatchInserter inserter,
+                            ScheduledExecutorService writer,
+                            Executor callbackExecutor,
+                            long flushDelayMs,
+                            int maxBatchSize) {
+        this.inserter = inserter;
+        this.writer = writer;
+        this.callbackExecutor = callbackExecutor;
+        this.flushDelayMs = flushDelayMs;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * ハイライトメモの登録を受け付ける。データベースへの書き込みを待たずに戻る。
+     *
+     * @param uid      ユーザID
+     * @param volumeId 書籍ボリュームID
+     * @param data     ハイライトメモデータ
+     * @param callback 登録結果を受け取るコールバック
+     */
+    public void enqueue(String uid, String volumeId, HighlightMemoData data, Callback callback) {
+        HighlightMemoEntity entity = new HighlightMemoEntity(
+                uid,
+                volumeId,
+                data.getPage(),
+                data.getLine(),
+                data.getMemo()
+        );
+        synchronized (lock) {
+            pending.add(new PendingMemo(entity, callback));
+            if (pending.size() >= maxBatchSize) {
+                writer.execute(this::flush);
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                writer.schedule(this::flush, flushDelayMs, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * 挿入待ちのメモを1回のトランザクションで挿入し、結果を通知する。書き込みスレッドで呼び出される。
+     */
+    void flush() {
+        List<PendingMemo> batch;
+        synchronized (lock) {
+            flushScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+
+        List<HighlightMemoEntity> entities = new ArrayList<>(batch.size());
+        for (PendingMemo memo : batch) {
+            entities.add(memo.entity);
+        }
+        List<Long> ids = null;
+        try {
+            ids = inserter.insertAll(entities);
+            Log.d(TAG, "ハイライトメモ " + entities.size() + " 件を登録");
+        } catch (Exception e) {
+            Log.e(TAG, "ハイライトメモの一括登録エラー", e);
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            boolean success = ids != null && i < ids.size() && ids.get(i) != null && ids.get(i) > 0;
+            Callback callback = batch.get(i).callback;
+            if (callback != null) {
+                callbackExecutor.execute(() -> callback.onComplete(success));
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * モジュール名: HotBooksSnapshotStore
+ * 作成者: 三浦寛生
+ * 作成日: 2026/10/18
+ * 概要: Google Books で補完済みの楽天ランキング（話題の本）を端末内のファイルに保存するクラスです。
+ * 検索画面の起動時は保存済みのスナップショットを即座に表示し、有効期限を過ぎた場合のみ再取得に使用します。
+ * 履歴:
+ * 2026/10/18 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 ファイルの読み書きを AppExecutors の名前付き直列プールで行うよう変更
+ * 2026/10/18 三浦寛生 ファイルの保存・読み取りと有効期限の判定を VersionedJsonFileStore に移動
+ */
+package com.example.bookapp03.C6BookInformationManaging;
+
+import android.content.Context;
+
+import com.example.bookapp03.C4SearchProcessing.Book;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.File;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class HotBooksSnapshotStore {
+
+    /** スナップショットの有効期限（ランキングの更新は多くても1日1回のため） */
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.HOURS.toMillis(12);
+    /** 保存先のファイル名（filesDir 配下） */
+    private static final String FILE_NAME = "hot_books_snapshot.json";
+    /** 保存形式のバージョン。形式を変更した場合は上げ、古いファイルは読み捨てる */
+    private static final int FORMAT_VERSION = 1;
+    /** ファイルの読み書きを行う直列プールの名前 */
+    static final String EXECUTOR_NAME = "hot-books-file";
+
+    private static volatile HotBooksSnapshotStore INSTANCE;
+
+    private final VersionedJsonFileStore<List<Book>> store;
+    private final long ttlMillis;
+
+    /**
+     * 保存済みのスナップショットを受け取るコールバックです。
+     */
+    public interface ReadCallback {
+        /**
+         * @param snapshot 保存済みのスナップショット（ない場合・読み取れない場合は null）
+         */
+        void onSnapshotRead(Snapshot snapshot);
+    }
+
+    /**
+     * 保存済みのランキングです。
+     */
+    public static final class Snapshot {
+        private final List<Book> books;
+        private final long savedAtMillis;
+
+        Snapshot(List<Book> books, long savedAtMillis) {
+            this.books = books;
+            this.savedAtMillis = savedAtMillis;
+        }
+
+        public List<Book> getBooks() {
+            return books;
+        }
+
+        public long getSavedAtMillis() {
+            return savedAtMillis;
+        }
+    }
+
+    /**
+     * アプリ全体で共有するストアを取得します。
+     *
+     * @param context コンテキスト
+     * @return HotBooksSnapshotStoreのインスタンス
+     */
+    public static HotBooksSnapshotStore getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (HotBooksSnapshotStore.class) {
+                if (INSTANCE == null) {
+                    File file = new File(context.getApplicationContext().getFilesDir(), FILE_NAME);
+                    INSTANCE = new HotBooksSnapshotStore(file, new Gson(), DEFAULT_TTL_MILLIS, Clock.systemUTC());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @param file      保存先のファイル
+     * @param gson      Gsonインスタンス
+     * @param ttlMillis スナップショットの有効期限（ミリ秒）
+     * @param clock     現在時刻の取得に使用する時計
+     */
+    public HotBooksSnapshotStore(File file, Gson gson, long ttlMillis, Clock clock) {
+        this.store = new VersionedJsonFileStore<>(file, gson, new TypeToken<List<Book>>() { }.getType(),
+                "books", FORMAT_VERSION, clock, EXECUTOR_NAME);
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * 保存済みのスナップショットをバックグラウンドで読み取り、コールバックに通知します。
+     *
+     * @param callback 結果を受け取るコールバック（バックグラウンドスレッドで呼び出されます）
+     */
+    public void readAsync(ReadCallback callback) {
+        store.readAsync(stored -> callback.onSnapshotRead(toSnapshot(stored)));
+    }
+
+    /**
+     * ランキングをバックグラウンドで保存します。
+     *
+     * @param books 補完済みの書籍リスト
+     */
+    public void writeAsync(List<Book> books) {
+        store.writeAsync(new ArrayList<>(books));
+    }
+
+    /**
+     * 保存済みのスナップショットを読み取ります。
+     *
+     * @return スナップショット（ない場合・読み取れない場合は null）
+     */
+    public Snapshot read() {
+        return toSnapshot(store.read());
+    }
+
+    /**
+     * ランキングを現在時刻で保存します。
+     *
+     * @param books 補完済みの書籍リスト
+     */
+    public void write(List<Book> books) {
+        store.write(books);
+    }
+
+    /**
+     * スナップショットが有効期限を過ぎているかを判定します。
+     *
+     * @param snapshot スナップショット
+     * @return 有効期限を過ぎている場合は true
+     */
+    public boolean isExpired(Snapshot snapshot) {
+        return store.isExpired(snapshot.getSavedAtMillis(), ttlMillis);
+    }
+
+    private static Snapshot toSnapshot(VersionedJsonFileStore.Stored<List<Book>> stored) {
+        if (stored == null) {
+            return null;
+        }
+        return new Snapshot(Collections.unmodifiableList(stored.getPayload()), stored.getSavedAtMillis());
+    }
+}
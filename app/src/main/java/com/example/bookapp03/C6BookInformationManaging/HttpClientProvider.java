@@ -0,0 +1,143 @@
+/**
+ * モジュール名: HttpClientProvider
+ * 作成者: 三浦寛生
+ * 作成日: 2026/10/18
+ * 概要: アプリケーション全体で共有する OkHttpClient を提供するクラスです。
+ * コネクションプール・ディスパッチャ・ディスクキャッシュを1つにまとめ、
+ * キャッシュ指定のない Google Books API のレスポンスにキャッシュ期間を付与します。
+ * 履歴:
+ * 2026/10/18 三浦寛生 新規作成
+ */
+package com.example.bookapp03.C6BookInformationManaging;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+public final class HttpClientProvider {
+
+    private static final String TAG = "HttpClientProvider";
+
+    /** HTTP ディスクキャッシュのディレクトリ名（cacheDir 配下） */
+    private static final String CACHE_DIR_NAME = "http_cache";
+    /** HTTP ディスクキャッシュの最大サイズ（10MB） */
+    private static final long CACHE_MAX_BYTES = 10L * 1024 * 1024;
+    /** Google Books API のホスト名 */
+    static final String GOOGLE_BOOKS_HOST = "www.googleapis.com";
+    /** キャッシュ指定のない Google Books API レスポンスに付与するキャッシュ期間（秒） */
+    static final int GOOGLE_BOOKS_MAX_AGE_SECONDS = (int) TimeUnit.HOURS.toSeconds(1);
+    /** 事前接続に使用する URL */
+    private static final String PREWARM_URL = "https://" + GOOGLE_BOOKS_HOST + "/books/v1/";
+
+    private static volatile OkHttpClient client;
+
+    private HttpClientProvider() {
+    }
+
+    /**
+     * 共有クライアントをディスクキャッシュ付きで初期化します。
+     * Application#onCreate から一度だけ呼び出してください。
+     *
+     * @param context アプリケーションコンテキスト
+     * @param prewarm true の場合、googleapis.com への接続をバックグラウンドで事前に確立する
+     */
+    public static void init(Context context, boolean prewarm) {
+        synchronized (HttpClientProvider.class) {
+            if (client == null) {
+                File cacheDir = new File(context.getApplicationContext().getCacheDir(), CACHE_DIR_NAME);
+                client = newBuilder()
+                        .cache(new Cache(cacheDir, CACHE_MAX_BYTES))
+                        .build();
+            }
+        }
+        if (prewarm) {
+            prewarm();
+        }
+    }
+
+    /**
+     * 共有の OkHttpClient を取得します。
+     * init が呼ばれていない場合（単体テストなど）は、ディスクキャッシュなしの共有クライアントを返します。
+     *
+     * @return 共有の OkHttpClient
+     */
+    public static OkHttpClient get() {
+        if (client == null) {
+            synchronized (HttpClientProvider.class) {
+                if (client == null) {
+                    client = newBuilder().build();
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * googleapis.com への HEAD リクエストを非同期で送り、TLS 接続をコネクションプールに確立しておきます。
+     * 初回検索時のハンドシェイク待ちを短縮するためのもので、失敗しても動作には影響しません。
+     */
+    public static void prewarm() {
+        Request request = new Request.Builder().url(PREWARM_URL).head().build();
+        get().newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                Log.d(TAG, "Prewarm failed: " + e.getMessage());
+            }
+
+            @Override
+            public void onResponse(@NonNull Call call, @NonNull Response response) {
+                response.close();
+                Log.d(TAG, "Prewarmed connection to " + GOOGLE_BOOKS_HOST);
+            }
+        });
+    }
+
+    /**
+     * 共通のタイムアウトとインターセプタを設定したビルダーを生成します。
+     *
+     * @return OkHttpClient.Builder
+     */
+    private static OkHttpClient.Builder newBuilder() {
+        return new OkHttpClient.Builder()
+                .connectTimeout(10, TimeUnit.SECONDS)
+                .writeTimeout(10, TimeUnit.SECONDS)
+                .readTimeout(30, TimeUnit.SECONDS)
+                .addNetworkInterceptor(new GoogleBooksCacheInterceptor());
+    }
+
+    /**
+     * Google Books API のレスポンスにキャッシュ指定がない場合、一定期間キャッシュ可能とするインターセプタです。
+     * ネットワークインターセプタとして登録し、ディスクキャッシュに保存される前のレスポンスヘッダを書き換えます。
+     */
+    static final class GoogleBooksCacheInterceptor implements Interceptor {
+        @NonNull
+        @Override
+        public Response intercept(@NonNull Chain chain) throws IOException {
+            Request request = chain.request();
+            Response response = chain.proceed(request);
+            if (!GOOGLE_BOOKS_HOST.equals(request.url().host())
+                    || !"GET".equals(request.method())
+                    || !response.isSuccessful()
+                    || response.header("Cache-Control") != null) {
+                return response;
+            }
+            return response.newBuilder()
+                    .removeHeader("Pragma")
+                    .header("Cache-Control", "public, max-age=" + GOOGLE_BOOKS_MAX_AGE_SECONDS)
+                    .build();
+        }
+    }
+}
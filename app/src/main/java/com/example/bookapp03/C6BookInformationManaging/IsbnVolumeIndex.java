@@ -0,0 +1,243 @@
+package com.example.bookapp03.C6BookInformationManaging;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.bookapp03.C6BookInformationManaging.database.BookInformationDatabase;
+import com.example.bookapp03.C6BookInformationManaging.database.IsbnVolumeDao;
+import com.example.bookapp03.C6BookInformationManaging.database.IsbnVolumeEntity;
+
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * モジュール名: ISBN解決インデックス
+ * 作成者: 鶴田凌
+ * 作成日: 2026/10/18
+ * 概要: ISBN から Google Books のボリュームIDへの解決結果を、メモリ上の LRU → Room(isbn_volume_index)
+ *       → Google Books API の順に解決するインデックス。ISBN-10 と ISBN-13 は ISBN-13 に正規化して同一視し、
+ *       該当なしの結果も短い TTL で保持して同じ ISBN の問い合わせを繰り返さない。
+ * 履歴:
+ * 2026/10/18 鶴田凌 新規作成
+ */
+public class IsbnVolumeIndex {
+
+    private static final String TAG = "IsbnVolumeIndex";
+
+    /** メモリキャッシュに保持する最大件数 */
+    private static final int DEFAULT_MEMORY_CAPACITY = 512;
+
+    /** ボリュームIDが見つかった結果の有効期間（ISBN とボリュームの対応はほとんど変わらないため長くする） */
+    private static final long DEFAULT_FOUND_TTL_MS = TimeUnit.DAYS.toMillis(180);
+
+    /** 該当なしの結果の有効期間（後から Google Books に登録される場合があるため短くする） */
+    private static final long DEFAULT_NOT_FOUND_TTL_MS = TimeUnit.DAYS.toMillis(1);
+
+    private static volatile IsbnVolumeIndex instance;
+
+    private final IsbnVolumeDao dao;
+    private final long foundTtlMs;
+    private final long notFoundTtlMs;
+    private final Map<String, IsbnVolumeEntity> memory;
+    /** 同一 ISBN の同時解決を1回にまとめるためのロック */
+    private final ConcurrentHashMap<String, Object> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * コンストラクタ
+     *
+     * @param dao            ISBN解決結果 DAO
+     * @param memoryCapacity メモリキャッシュの最大件数
+     * @param foundTtlMs     ボリュームIDが見つかった結果の有効期間（ミリ秒）
+     * @param notFoundTtlMs  該当なしの結果の有効期間（ミリ秒）
+     */
+    IsbnVolumeIndex(IsbnVolumeDao dao, int memoryCapacity, long foundTtlMs, long notFoundTtlMs) {
+        this.dao = dao;
+        this.foundTtlMs = foundTtlMs;
+        this.notFoundTtlMs = notFoundTtlMs;
+        this.memory = new LinkedHashMap<String, IsbnVolumeEntity>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IsbnVolumeEntity> eldest) {
+                return size() > memoryCapacity;
+            }
+        };
+    }
+
+    /**
+     * シングルトンでインデックスを取得する。
+     *
+     * @param context アプリケーションコンテキスト
+     * @return インデックスのシングルトンインスタンス
+     */
+    public static IsbnVolumeIndex getInstance(Context context) {
+        if (instance == null) {
+            synchronized (IsbnVolumeIndex.class) {
+                if (instance == null) {
+                    IsbnVolumeDao dao = BookInformationDatabase.getDatabase(context).isbnVolumeDao();
+                    instance = new IsbnVolumeIndex(
+                            dao, DEFAULT_MEMORY_CAPACITY, DEFAULT_FOUND_TTL_MS, DEFAULT_NOT_FOUND_TTL_MS);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Context を持たない呼び出し元（VolumeIdProvider など）向けに、初期化済みのインデックスを取得する。
+     *
+     * @return MyApplication で初期化済みのインスタンス。未初期化の場合は null
+     */
+    static IsbnVolumeIndex getInitializedInstance() {
+        return instance;
+    }
+
+    /**
+     * ローカル（メモリ・ローカルDB）にある有効な解決結果を取得する。ネットワークにはアクセスしない。
+     * ローカルDBにアクセスするため、バックグラウンドスレッドから呼び出すこと。
+     *
+     * @param isbn ISBN-10 または ISBN-13（ハイフン・空白を含んでもよい）
+     * @return 有効な解決結果。ISBN として不正な場合・未解決・期限切れの場合は null
+     */
+    public IsbnVolumeEntity find(String isbn) {
+        String key = toIsbn13(isbn);
+        if (key == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        IsbnVolumeEntity cached = memoryGet(key);
+        if (cached != null && cached.isFresh(now, foundTtlMs, notFoundTtlMs)) {
+            return cached;
+        }
+        IsbnVolumeEntity stored = dao.get(key);
+        if (stored != null) {
+            memoryPut(stored);
+            if (stored.isFresh(now, foundTtlMs, notFoundTtlMs)) {
+                return stored;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * ISBN に対応するボリュームIDを取得する。
+     * ローカルに有効な結果がなければ API に問い合わせて保存する（該当なしも保存する）。
+     * ネットワークアクセスを伴うため、バックグラウンドスレッドから呼び出すこと。
+     *
+     * @param isbn ISBN-10 または ISBN-13（ハイフン・空白を含んでもよい）
+     * @return ボリュームID。ISBN として不正な場合・該当なし・エラー時は空文字
+     */
+    public String resolve(String isbn) {
+        String key = toIsbn13(isbn);
+        if (key == null) {
+            return "";
+        }
+        IsbnVolumeEntity known = find(key);
+        if (known != null) {
+            return known.isFound() ? known.volumeId : "";
+        }
+        return fetchOnce(key);
+    }
+
+    /**
+     * 他の経路（楽天ランキングの補完など）で判明した解決結果を登録する。
+     * ローカルDBにアクセスするため、バックグラウンドスレッドから呼び出すこと。
+     *
+     * @param isbn     ISBN-10 または ISBN-13
+     * @param volumeId ボリュームID（該当なしの場合は null または空文字）
+     */
+    public void record(String isbn, String volumeId) {
+        String key = toIsbn13(isbn);
+        if (key == null) {
+            return;
+        }
+        String id = volumeId == null || volumeId.isEmpty() ? null : volumeId;
+        IsbnVolumeEntity entity = new IsbnVolumeEntity(key, id, System.currentTimeMillis());
+        dao.upsert(entity);
+        memoryPut(entity);
+    }
+
+    /**
+     * API からボリュームIDを取得して保存する。同一 ISBN の同時呼び出しは1回の取得にまとめる。
+     * 通信に失敗した場合は該当なしとして保存せず、空文字を返す。
+     *
+     * @param isbn13 ISBN-13 に正規化した ISBN
+     * @return ボリュームID。該当なし・エラー時は空文字
+     */
+    private String fetchOnce(String isbn13) {
+        Object lock = inFlight.computeIfAbsent(isbn13, k -> new Object());
+        try {
+            synchronized (lock) {
+                // 先行した同一 ISBN の取得が完了していればその結果を使う
+                IsbnVolumeEntity cached = memoryGet(isbn13);
+                if (cached != null && cached.isFresh(System.currentTimeMillis(), foundTtlMs, notFoundTtlMs)) {
+                    return cached.isFound() ? cached.volumeId : "";
+                }
+                String volumeId;
+                try {
+                    volumeId = VolumeIdProvider.requestVolumeId(isbn13);
+                } catch (IOException | JSONException e) {
+                    Log.w(TAG, "Volume ID lookup failed for ISBN " + isbn13 + ": " + e.getMessage());
+                    return "";
+                }
+                record(isbn13, volumeId);
+                return volumeId;
+            }
+        } finally {
+            inFlight.remove(isbn13, lock);
+        }
+    }
+
+    /**
+     * ISBN を ISBN-13 に正規化する。ハイフン・空白を除去し、ISBN-10 は 978 を付けてチェックディジットを再計算する。
+     *
+     * @param isbn ISBN-10 または ISBN-13
+     * @return ISBN-13。チェックディジットが一致しない場合など、ISBN として不正な場合は null
+     */
+    public static String toIsbn13(String isbn) {
+        if (isbn == null) {
+            return null;
+        }
+        String digits = isbn.replaceAll("[\\s-]", "").toUpperCase(Locale.ROOT);
+        if (digits.length() == 10 && digits.matches("\\d{9}[\\dX]") && isValidIsbn10(digits)) {
+            String body = "978" + digits.substring(0, 9);
+            return body + isbn13CheckDigit(body);
+        }
+        if (digits.length() == 13 && digits.matches("97[89]\\d{10}")
+                && isbn13CheckDigit(digits.substring(0, 12)) == digits.charAt(12)) {
+            return digits;
+        }
+        return null;
+    }
+
+    private static boolean isValidIsbn10(String digits) {
+        int sum = 0;
+        for (int i = 0; i < 10; i++) {
+            char c = digits.charAt(i);
+            int value = c == 'X' ? 10 : c - '0';
+            sum += value * (10 - i);
+        }
+        return sum % 11 == 0;
+    }
+
+    private static char isbn13CheckDigit(String first12) {
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            int value = first12.charAt(i) - '0';
+            sum += i % 2 == 0 ? value : value * 3;
+        }
+        return (char) ('0' + (10 - sum % 10) % 10);
+    }
+
+    private synchronized IsbnVolumeEntity memoryGet(String isbn13) {
+        return memory.get(isbn13);
+    }
+
+    private synchronized void memoryPut(IsbnVolumeEntity entity) {
+        memory.put(entity.isbn13, entity);
+    }
+}
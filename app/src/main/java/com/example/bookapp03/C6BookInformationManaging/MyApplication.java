@@ -6,9 +6,18 @@ import com.google.firebase.FirebaseApp;
 
 /**
  * アプリケーション全体の状態を管理するためのカスタムApplicationクラスです。
- * アプリケーションの起動時に一度だけ実行される初期化処理（Firebaseの初期化）を行います。
+ * アプリケーションの起動時に一度だけ実行される初期化処理（Firebase・共有HTTPクライアント・ISBN解決インデックスの初期化）を行います。
+ * プロセス内で共有するサービス（AppServices）を保持し、最初に要求された時点で生成します。
  */
 public class MyApplication extends Application {
+    /**
+     * 起動時に Google Books API への接続を事前に確立するかどうか。
+     */
+    private static final boolean PREWARM_HTTP_CONNECTION = true;
+
+    /** プロセス内で共有するサービス（初回の getServices() で生成） */
+    private volatile AppServices services;
+
     /**
      * アプリケーションが作成される際に呼び出されるライフサイクルメソッドです。
      * アプリケーションのグローバルな初期化処理をここで行います。
@@ -17,5 +26,24 @@ public class MyApplication extends Application {
     public void onCreate() {
         super.onCreate();
         FirebaseApp.initializeApp(this);
+        HttpClientProvider.init(this, PREWARM_HTTP_CONNECTION);
+        // VolumeIdProvider など Context を持たない呼び出し元からも参照できるよう初期化しておく（DBは初回アクセス時に開かれる）
+        IsbnVolumeIndex.getInstance(this);
+    }
+
+    /**
+     * プロセス内で共有するサービスを取得します。起動を遅らせないよう、初回の呼び出し時に生成します。
+     *
+     * @return AppServicesのインスタンス
+     */
+    public AppServices getServices() {
+        if (services == null) {
+            synchronized (this) {
+                if (services == null) {
+                    services = new AppServices(this);
+                }
+            }
+        }
+        return services;
     }
 }
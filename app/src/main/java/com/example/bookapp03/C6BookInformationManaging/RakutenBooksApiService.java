@@ -6,13 +6,24 @@
  * 書籍ランキングの取得と、その結果をGoogle Books APIで補完するロジックを担当します。
  * 履歴:
  * 2025/06/30 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 Google Books での補完を非同期化し、同時実行数の上限・1件ごとのタイムアウト・途中結果の通知を追加
+ * 2026/10/18 三浦寛生 ISBN の検索結果を IsbnVolumeIndex に記録し、該当なしが判明している ISBN は検索しないよう変更
+ * 2026/10/18 三浦寛生 タイトルの照合を TitleMatcher（1冊につき1回の前処理と文字バイグラムの類似度）に変更
+ * 2026/10/18 三浦寛生 インスタンスごとのスレッドプールをやめ、アプリ共通の通信用プール（AppExecutors）を使用するよう変更
+ * 2026/10/18 三浦寛生 補完に使用する GoogleBooksApiService を外部から渡せるコンストラクタを追加
+ * 2026/10/18 三浦寛生 タイムアウト管理のスレッドを AppExecutors の名前付き予約実行用プールに変更
+ * 2026/10/18 三浦寛生 途中結果が最終結果より後に通知されないよう、通知に連番を付けて古い通知を破棄するよう変更
+ * 2026/10/18 三浦寛生 通信用プールが処理を受け付けない場合も onFailure で通知するよう変更
  */
 package com.example.bookapp03.C6BookInformationManaging;
 
 import android.util.Log;
 
 import com.example.bookapp03.C7SearchManaging.GoogleBooksApiService;
+import com.example.bookapp03.C7SearchManaging.SingleFlight;
 import com.example.bookapp03.C4SearchProcessing.Book;
+import com.example.bookapp03.C4SearchProcessing.TitleMatcher;
+import com.example.bookapp03.C6BookInformationManaging.database.IsbnVolumeEntity;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -21,12 +32,12 @@ import com.google.gson.JsonParser;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import okhttp3.HttpUrl;
@@ -38,248 +49,467 @@ public class RakutenBooksApiService {
 
     private static final String TAG = "RakutenBooksApiService";
     private static final String RAKUTEN_ICHIBA_RANKING_API_URL = "https://app.rakuten.co.jp/services/api/IchibaItem/Ranking/20170628";
+    /** 同時に実行する Google Books での補完の最大数 */
+    private static final int MAX_CONCURRENT_LOOKUPS = 4;
+    /** 1件の補完を待つ最大時間（秒）。超えた場合は楽天のデータのまま扱う */
+    private static final long LOOKUP_TIMEOUT_SECONDS = 5;
+    /** タイトルが完全に一致する場合の得点。一致しない場合は類似度に応じてこれ未満の得点を与える */
+    private static final int TITLE_MATCH_SCORE = 300;
+    /** 得点を与えるタイトルの類似度の下限（これ未満は一致しないものとして扱う） */
+    private static final double MIN_TITLE_SIMILARITY = 0.3;
+    /** 補完のタイムアウトを管理する予約実行用プールの名前 */
+    static final String TIMEOUT_SCHEDULER_NAME = "rakuten-timeout";
 
     private final String rakutenApplicationId;
     private final OkHttpClient httpClient;
     private final Gson gson;
     private final ExecutorService executorService;
+    /** 補完のタイムアウトを管理するスケジューラ（AppExecutors の予約実行用プール） */
+    private final ScheduledExecutorService timeoutScheduler;
     private final GoogleBooksApiService googleBooksApiService;
 
 
     public RakutenBooksApiService(OkHttpClient httpClient, Gson gson, String rakutenApplicationId, String googleBooksApiKey) {
+        this(httpClient, gson, rakutenApplicationId, new GoogleBooksApiService(httpClient));
+    }
+
+    /**
+     * Google Books での補完に使用するサービスを指定するコンストラクタです。
+     *
+     * @param httpClient            共有のOkHttpClientインスタンス
+     * @param gson                  共有のGsonインスタンス
+     * @param rakutenApplicationId  楽天APIのアプリケーションID
+     * @param googleBooksApiService Google Books での補完に使用するサービス（他の呼び出し元と共有してよい）
+     */
+    public RakutenBooksApiService(OkHttpClient httpClient, Gson gson, String rakutenApplicationId,
+                                  GoogleBooksApiService googleBooksApiService) {
         this.httpClient = httpClient;
         this.gson = gson;
         this.rakutenApplicationId = rakutenApplicationId;
-        this.executorService = Executors.newFixedThreadPool(2);
-        this.googleBooksApiService = new GoogleBooksApiService();
+        this.executorService = AppExecutors.getInstance().io();
+        this.timeoutScheduler = AppExecutors.getInstance().scheduled(TIMEOUT_SCHEDULER_NAME);
+        this.googleBooksApiService = googleBooksApiService;
     }
 
     public interface RakutenBooksApiCallback {
+        /**
+         * すべての書籍の補完が完了（またはタイムアウト）したときに呼び出されます。
+         *
+         * @param hotBooks ランキング順の書籍リスト
+         */
         void onSuccess(List<Book> hotBooks);
+
+        /**
+         * 書籍の補完が1件完了するごとに、その時点までに補完が完了した書籍をランキング順で通知します。
+         * 最後の1件の完了時は呼び出されず、onSuccess が呼び出されます。onSuccess の後に呼び出されることはなく、
+         * 前回より古い途中結果が通知されることもありません。
+         *
+         * @param hotBooks 補完が完了した書籍のリスト（ランキング順）
+         */
+        void onPartialResult(List<Book> hotBooks);
+
         void onFailure(String errorMessage);
     }
 
+    /**
+     * 楽天のランキングを取得し、Google Books で補完した結果をコールバックに通知します。
+     * 通信用プールの待ち行列が溢れて処理を受け付けない場合は、呼び出し元のスレッドで onFailure を呼び出します。
+     *
+     * @param callback 結果を受け取るコールバック
+     */
     public void fetchRankingBooks(RakutenBooksApiCallback callback) {
-        executorService.execute(() -> {
-            try {
-                HttpUrl.Builder urlBuilder = HttpUrl.parse(RAKUTEN_ICHIBA_RANKING_API_URL).newBuilder();
-                urlBuilder.addQueryParameter("applicationId", rakutenApplicationId);
-                urlBuilder.addQueryParameter("genreId", "200162");
-                urlBuilder.addQueryParameter("hits", "10");
-                urlBuilder.addQueryParameter("elements", "itemName,artistName,itemUrl,mediumImageUrl,isbn,salesDate");
-
-                String url = urlBuilder.build().toString();
-                Log.d(TAG, "Rakuten Ranking API URL: " + url);
-                Request request = new Request.Builder().url(url).build();
-
-                try (Response response = httpClient.newCall(request).execute()) {
-                    if (!response.isSuccessful()) {
-                        throw new IOException("楽天市場ランキングAPI呼び出し失敗: " + response.code() + " " + response.message());
-                    }
-
-                    String responseBody = response.body().string();
-                    Log.d(TAG, "Rakuten Ichiba Ranking API Response: " + responseBody);
-
-                    JsonObject jsonObject = JsonParser.parseString(responseBody).getAsJsonObject();
-                    JsonArray itemsArray = jsonObject.getAsJsonArray("Items");
-
-                    List<Book> hotBooks = new ArrayList<>();
-                    if (itemsArray != null) {
-                        for (JsonElement itemElement : itemsArray) {
-                            JsonObject itemObject = itemElement.getAsJsonObject().getAsJsonObject("Item");
-                            if (itemObject != null) {
-                                String rakutenTitle = itemObject.has("itemName") ? itemObject.get("itemName").getAsString() : "タイトル不明";
-                                String rakutenAuthor = itemObject.has("artistName") ? itemObject.get("artistName").getAsString() : "著者不明";
-                                String rakutenItemUrl = itemObject.has("itemUrl") ? itemObject.get("itemUrl").getAsString() : null;
-                                String rakutenMediumImageUrl = itemObject.has("mediumImageUrl") ? itemObject.get("mediumImageUrl").getAsString() : null;
-                                String rakutenIsbn = itemObject.has("isbn") ? itemObject.get("isbn").getAsString() : null;
-                                String rakutenSalesDate = itemObject.has("salesDate") ? itemObject.get("salesDate").getAsString() : null;
-
-                                String[] exclusionKeywords = {"【楽天ブックス限定特典】", "（限定版）", "（特装版）"};
-                                boolean shouldExclude = false;
-                                for (String keyword : exclusionKeywords) {
-                                    if (rakutenTitle.contains(keyword)) {
-                                        shouldExclude = true;
-                                        Log.d(TAG, "Excluding book due to keyword: '" + keyword + "' in title: " + rakutenTitle);
-                                        break;
-                                    }
-                                }
+        try {
+            executorService.execute(() -> loadRankingBooks(callback));
+        } catch (RejectedExecutionException e) {
+            Log.w(TAG, "Ranking fetch rejected by executor: " + e.getMessage());
+            callback.onFailure("話題の本の取得に失敗しました: " + e.getMessage());
+        }
+    }
 
-                                if (shouldExclude) {
-                                    continue;
-                                }
+    /**
+     * 楽天のランキングを取得し、補完を開始します。通信用プールのスレッドで実行します。
+     *
+     * @param callback 結果を受け取るコールバック
+     */
+    private void loadRankingBooks(RakutenBooksApiCallback callback) {
+        try {
+            HttpUrl.Builder urlBuilder = HttpUrl.parse(RAKUTEN_ICHIBA_RANKING_API_URL).newBuilder();
+            urlBuilder.addQueryParameter("applicationId", rakutenApplicationId);
+            urlBuilder.addQueryParameter("genreId", "200162");
+            urlBuilder.addQueryParameter("hits", "10");
+            urlBuilder.addQueryParameter("elements", "itemName,artistName,itemUrl,mediumImageUrl,isbn,salesDate");
+
+            String url = urlBuilder.build().toString();
+            Log.d(TAG, "Rakuten Ranking API URL: " + url);
+            Request request = new Request.Builder().url(url).build();
+
+            try (Response response = httpClient.newCall(request).execute()) {
+                if (!response.isSuccessful()) {
+                    throw new IOException("楽天市場ランキングAPI呼び出し失敗: " + response.code() + " " + response.message());
+                }
 
-                                Book book = new Book();
-                                book.setTitle(rakutenTitle);
-                                book.setAuthor(rakutenAuthor);
-                                book.setRakutenItemUrl(rakutenItemUrl);
-                                book.setRakutenLargeImageUrl(rakutenMediumImageUrl);
-                                book.setThumbnailUrl(rakutenMediumImageUrl);
-                                book.setIsbn(rakutenIsbn);
-                                book.setPublishedDate(rakutenSalesDate);
-
-                                Log.d(TAG, "Processing Rakuten Book (Before Google Search): Title=" + rakutenTitle + ", ISBN=" + rakutenIsbn + ", SalesDate=" + rakutenSalesDate);
-
-                                Future<Void> googleSearchFuture = executorService.submit(new Callable<Void>() {
-                                    @Override
-                                    public Void call() throws Exception {
-                                        fetchGoogleBooksDataForRakuenBookSync(book, rakutenTitle, rakutenAuthor, rakutenIsbn, rakutenSalesDate);
-                                        return null;
-                                    }
-                                });
-                                try {
-                                    googleSearchFuture.get();
-                                } catch (InterruptedException | ExecutionException e) {
-                                    Log.e(TAG, "Google Books API sync error for '" + rakutenTitle + "': " + e.getMessage(), e);
+                String responseBody = response.body().string();
+                Log.d(TAG, "Rakuten Ichiba Ranking API Response: " + responseBody);
+
+                JsonObject jsonObject = JsonParser.parseString(responseBody).getAsJsonObject();
+                JsonArray itemsArray = jsonObject.getAsJsonArray("Items");
+
+                List<RankingItem> rankingItems = new ArrayList<>();
+                if (itemsArray != null) {
+                    for (JsonElement itemElement : itemsArray) {
+                        JsonObject itemObject = itemElement.getAsJsonObject().getAsJsonObject("Item");
+                        if (itemObject != null) {
+                            String rakutenTitle = itemObject.has("itemName") ? itemObject.get("itemName").getAsString() : "タイトル不明";
+                            String rakutenAuthor = itemObject.has("artistName") ? itemObject.get("artistName").getAsString() : "著者不明";
+                            String rakutenItemUrl = itemObject.has("itemUrl") ? itemObject.get("itemUrl").getAsString() : null;
+                            String rakutenMediumImageUrl = itemObject.has("mediumImageUrl") ? itemObject.get("mediumImageUrl").getAsString() : null;
+                            String rakutenIsbn = itemObject.has("isbn") ? itemObject.get("isbn").getAsString() : null;
+                            String rakutenSalesDate = itemObject.has("salesDate") ? itemObject.get("salesDate").getAsString() : null;
+
+                            String[] exclusionKeywords = {"【楽天ブックス限定特典】", "（限定版）", "（特装版）"};
+                            boolean shouldExclude = false;
+                            for (String keyword : exclusionKeywords) {
+                                if (rakutenTitle.contains(keyword)) {
+                                    shouldExclude = true;
+                                    Log.d(TAG, "Excluding book due to keyword: '" + keyword + "' in title: " + rakutenTitle);
+                                    break;
                                 }
+                            }
 
-
-                                if (book.getId() != null && !book.getId().isEmpty()) {
-                                    hotBooks.add(book);
-                                    Log.d(TAG, "Added Hot Book with Google ID: " + book.getId() + ", Title: " + book.getTitle());
-                                } else {
-                                    if (book.getThumbnailUrl() != null && !book.getThumbnailUrl().isEmpty()) {
-                                        hotBooks.add(book);
-                                        Log.w(TAG, "Added Hot Book without Google ID (using Rakuten image): " + book.getTitle() + " (ISBN: " + rakutenIsbn + ")");
-                                    } else {
-                                        Log.w(TAG, "Skipping book with no Google ID and no Rakuten image: " + book.getTitle() + " (ISBN: " + rakutenIsbn + ")");
-                                    }
-                                }
+                            if (shouldExclude) {
+                                continue;
                             }
+
+                            Book book = new Book();
+                            book.setTitle(rakutenTitle);
+                            book.setAuthor(rakutenAuthor);
+                            book.setRakutenItemUrl(rakutenItemUrl);
+                            book.setRakutenLargeImageUrl(rakutenMediumImageUrl);
+                            book.setThumbnailUrl(rakutenMediumImageUrl);
+                            book.setIsbn(rakutenIsbn);
+                            book.setPublishedDate(rakutenSalesDate);
+
+                            Log.d(TAG, "Processing Rakuten Book (Before Google Search): Title=" + rakutenTitle + ", ISBN=" + rakutenIsbn + ", SalesDate=" + rakutenSalesDate);
+                            rankingItems.add(new RankingItem(book, rakutenTitle, rakutenIsbn, rakutenSalesDate));
                         }
                     }
-                    callback.onSuccess(hotBooks);
                 }
-            } catch (IOException e) {
-                Log.e(TAG, "楽天市場ランキングAPI呼び出しエラー: " + e.getMessage(), e);
-                callback.onFailure("話題の本の取得に失敗しました: " + e.getMessage());
-            } catch (Exception e) {
-                Log.e(TAG, "楽天市場ランキングデータ処理エラー: " + e.getMessage(), e);
-                callback.onFailure("話題の本の処理に失敗しました: " + e.getMessage());
+                if (rankingItems.isEmpty()) {
+                    callback.onSuccess(Collections.emptyList());
+                } else {
+                    // 補完は Google Books 側のスレッドで並行に進み、このスレッドは待機しない
+                    new RankingEnrichment(rankingItems, callback).start();
+                }
             }
-        });
+        } catch (IOException e) {
+            Log.e(TAG, "楽天市場ランキングAPI呼び出しエラー: " + e.getMessage(), e);
+            callback.onFailure("話題の本の取得に失敗しました: " + e.getMessage());
+        } catch (Exception e) {
+            Log.e(TAG, "楽天市場ランキングデータ処理エラー: " + e.getMessage(), e);
+            callback.onFailure("話題の本の処理に失敗しました: " + e.getMessage());
+        }
     }
 
     /**
-     * 楽天から取得した本に対して、Google Books APIで追加情報を検索し、Bookオブジェクトを更新します。
-     * このメソッドは、GoogleBooksApiServiceを利用して検索し、結果をスコアリングします。
-     *
-     * @param book   更新対象のBookオブジェクト
-     * @param title  楽天から取得した本のタイトル（Google Books APIの検索クエリ用）
-     * @param author 楽天から取得した本の著者名（Google Books APIの検索クエリ用）
-     * @param isbn   楽天から取得した本のISBN（Google Books APIの検索クエリ用、優先）
-     * @param rakutenSalesDate 楽天から取得した本の発売日（出版年比較用）
+     * 補完対象の楽天ランキングの1件です。
      */
-    private void fetchGoogleBooksDataForRakuenBookSync(Book book, String title, String author, String isbn, String rakutenSalesDate) {
-        String googleQuery;
-        String cleanedRakutenTitle = cleanRakutenTitle(title);
+    private static final class RankingItem {
+        final Book book;
+        /** 楽天のタイトルを照合用に前処理したもの */
+        final TitleMatcher.Title title;
+        final String isbn;
+        final String salesDate;
+        /** 検索結果またはタイムアウトのどちらかで処理済みかどうか。RankingEnrichment のロックで保護する */
+        boolean finished;
+        /** Bookへの反映まで完了し、通知に含めてよいかどうか。RankingEnrichment のロックで保護する */
+        boolean resolved;
+        volatile SingleFlight.Cancellable lookup;
+        volatile ScheduledFuture<?> timeout;
+
+        RankingItem(Book book, String title, String isbn, String salesDate) {
+            this.book = book;
+            this.title = TitleMatcher.compile(title);
+            this.isbn = isbn;
+            this.salesDate = salesDate;
+        }
+    }
 
+    /**
+     * ランキングの各書籍を Google Books で補完する処理です。
+     * 同時に実行する検索は MAX_CONCURRENT_LOOKUPS 件までとし、1件完了するごとに次の書籍の検索を開始します。
+     * どのスレッドも検索結果を待機しないため、スレッドプールの枯渇やデッドロックは起きません。
+     * 通知は通信用プールとタイムアウト用プールの両方から行われるため、集計時に連番を付け、
+     * すでに新しい結果を通知した後に届いた古い途中結果は破棄します。
+     */
+    private final class RankingEnrichment {
+        private final List<RankingItem> items;
+        private final RakutenBooksApiCallback callback;
+        /** 通知の順序を保つためのロック。集計用のロック（this）とは分け、通知中も集計を止めない */
+        private final Object deliveryLock = new Object();
+        private int nextIndex;
+        private int finishedCount;
+        /** 集計した結果の連番。this のロックで保護する */
+        private int resultSequence;
+        /** 最後に通知した結果の連番。deliveryLock で保護する */
+        private int deliveredSequence;
+
+        RankingEnrichment(List<RankingItem> items, RakutenBooksApiCallback callback) {
+            this.items = items;
+            this.callback = callback;
+        }
 
-        try {
-            if (isbn != null && !isbn.isEmpty() && !isbn.equals("null")) {
-                googleQuery = "isbn:" + isbn;
-                Log.d(TAG, "Google Books API: Searching by ISBN: " + isbn + " for title: " + cleanedRakutenTitle);
-            } else {
-                googleQuery = cleanedRakutenTitle;
-                Log.d(TAG, "Google Books API: Searching by CLEANED TITLE ONLY: '" + cleanedRakutenTitle + "' -> Query: " + googleQuery);
+        /**
+         * 上限数まで検索を開始します。
+         */
+        void start() {
+            int initial = Math.min(MAX_CONCURRENT_LOOKUPS, items.size());
+            for (int i = 0; i < initial; i++) {
+                launchNext();
             }
+        }
 
-            List<Book> googleCandidateBooks = new ArrayList<>();
-            final Object lock = new Object();
-            Log.d(TAG, "googleQuery =" + googleQuery);
+        /**
+         * 未着手の次の書籍について、タイムアウトを設定して検索を開始します。
+         */
+        private void launchNext() {
+            RankingItem item;
+            synchronized (this) {
+                if (nextIndex >= items.size()) {
+                    return;
+                }
+                item = items.get(nextIndex++);
+            }
 
-            googleBooksApiService.searchBooks(googleQuery, new GoogleBooksApiService.SearchCallback() {
+            String googleQuery = buildGoogleQuery(item.title, item.isbn);
+            IsbnVolumeIndex isbnIndex = IsbnVolumeIndex.getInitializedInstance();
+            String isbn13 = isbnIndex != null ? IsbnVolumeIndex.toIsbn13(item.isbn) : null;
+            if (isbn13 != null) {
+                IsbnVolumeEntity known = isbnIndex.find(isbn13);
+                if (known != null && !known.isFound()) {
+                    Log.d(TAG, "ISBN index: No Google volume for ISBN " + item.isbn + ". Keeping Rakuten data.");
+                    finish(item, googleQuery, Collections.emptyList());
+                    return;
+                }
+            }
+
+            item.timeout = timeoutScheduler.schedule(() -> {
+                Log.w(TAG, "Google Books API: Lookup timed out for '" + item.title.getCleaned() + "'. Keeping Rakuten data.");
+                finish(item, googleQuery, null);
+            }, LOOKUP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            item.lookup = googleBooksApiService.searchBooks(googleQuery, new GoogleBooksApiService.SearchCallback() {
                 @Override
                 public void onSearchResultsReceived(List<Book> results) {
-                    synchronized (lock) {
-                        googleCandidateBooks.addAll(results);
-                        lock.notify();
+                    if (isbn13 != null) {
+                        recordIsbnResult(isbnIndex, isbn13, results);
                     }
+                    finish(item, googleQuery, results);
                 }
 
                 @Override
                 public void onFailure(String errorMessage) {
                     Log.e(TAG, "GoogleBooksApiService search failed: " + errorMessage);
-                    synchronized (lock) {
-                        lock.notify();
-                    }
+                    finish(item, googleQuery, Collections.emptyList());
                 }
             });
+            if (isFinished(item)) {
+                // 検索の開始中にタイムアウトした場合
+                item.lookup.cancel();
+            }
+        }
+
+        private synchronized boolean isFinished(RankingItem item) {
+            return item.finished;
+        }
+
+        /**
+         * 1件の補完を完了し、途中結果（または最終結果）を通知して次の検索を開始します。
+         *
+         * @param item        完了した書籍
+         * @param googleQuery 検索に使用したクエリ
+         * @param candidates  Google Books の検索結果（タイムアウトの場合は null）
+         */
+        private void finish(RankingItem item, String googleQuery, List<Book> candidates) {
+            synchronized (this) {
+                if (item.finished) {
+                    return;
+                }
+                item.finished = true;
+            }
+
+            if (candidates == null) {
+                SingleFlight.Cancellable lookup = item.lookup;
+                if (lookup != null) {
+                    lookup.cancel();
+                }
+            } else {
+                ScheduledFuture<?> timeout = item.timeout;
+                if (timeout != null) {
+                    timeout.cancel(false);
+                }
+                applyGoogleCandidates(item.book, item.title, item.isbn, item.salesDate, googleQuery, candidates);
+            }
+
+            List<Book> hotBooks;
+            boolean completed;
+            int sequence;
+            synchronized (this) {
+                item.resolved = true;
+                finishedCount++;
+                completed = finishedCount == items.size();
+                hotBooks = collectFinishedBooks();
+                sequence = ++resultSequence;
+            }
+            if (!completed) {
+                launchNext();
+            }
+            deliver(sequence, completed, hotBooks);
+        }
 
-            synchronized (lock) {
-                try {
-                    lock.wait(TimeUnit.SECONDS.toMillis(10));
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    Log.e(TAG, "Google Books API search wait interrupted: " + e.getMessage());
+        /**
+         * 集計した結果を通知します。最終結果は最後に集計されるため最大の連番を持ち、
+         * それより前に集計された途中結果が後から届いた場合は通知しません。
+         *
+         * @param sequence  集計時に付けた連番
+         * @param completed 最終結果かどうか
+         * @param hotBooks  通知する書籍のリスト
+         */
+        private void deliver(int sequence, boolean completed, List<Book> hotBooks) {
+            synchronized (deliveryLock) {
+                if (sequence <= deliveredSequence) {
+                    Log.d(TAG, "Dropping stale partial result #" + sequence + " (already delivered #" + deliveredSequence + ")");
+                    return;
+                }
+                deliveredSequence = sequence;
+                if (completed) {
+                    callback.onSuccess(hotBooks);
+                } else {
+                    callback.onPartialResult(hotBooks);
                 }
             }
+        }
+
+        /**
+         * 補完が完了した書籍のうち、表示できるものをランキング順に集めます。
+         *
+         * @return 書籍のリスト
+         */
+        private List<Book> collectFinishedBooks() {
+            List<Book> hotBooks = new ArrayList<>();
+            for (RankingItem item : items) {
+                if (!item.resolved) {
+                    continue;
+                }
+                Book book = item.book;
+                if (book.getId() != null && !book.getId().isEmpty()) {
+                    hotBooks.add(book);
+                } else if (book.getThumbnailUrl() != null && !book.getThumbnailUrl().isEmpty()) {
+                    hotBooks.add(book);
+                } else {
+                    Log.w(TAG, "Skipping book with no Google ID and no Rakuten image: " + book.getTitle() + " (ISBN: " + item.isbn + ")");
+                }
+            }
+            return hotBooks;
+        }
+    }
+
+    /**
+     * ISBN での検索結果を IsbnVolumeIndex に記録します。
+     * 結果が空の場合は該当なしとして記録し、同じ ISBN の候補があればそのボリュームIDを記録します。
+     *
+     * @param isbnIndex ISBN解決インデックス
+     * @param isbn13    ISBN-13 に正規化した検索対象の ISBN
+     * @param results   Google Books の検索結果
+     */
+    private void recordIsbnResult(IsbnVolumeIndex isbnIndex, String isbn13, List<Book> results) {
+        if (results.isEmpty()) {
+            isbnIndex.record(isbn13, null);
+            return;
+        }
+        for (Book candidate : results) {
+            if (isbn13.equals(IsbnVolumeIndex.toIsbn13(candidate.getIsbn()))) {
+                isbnIndex.record(isbn13, candidate.getId());
+                return;
+            }
+        }
+    }
+
+    /**
+     * 2つの ISBN が同じ書籍を指すかを判定します。ISBN-10 と ISBN-13 の違いやハイフンの有無は同一視します。
+     */
+    private static boolean isSameIsbn(String isbn, String other) {
+        String isbn13 = IsbnVolumeIndex.toIsbn13(isbn);
+        if (isbn13 != null) {
+            return isbn13.equals(IsbnVolumeIndex.toIsbn13(other));
+        }
+        return isbn.equals(other);
+    }
+
+    /**
+     * 楽天から取得した本を Google Books APIで検索するためのクエリを生成します。ISBNがあればISBNで検索します。
+     *
+     * @param title 楽天から取得した本のタイトル（前処理済み）
+     * @param isbn  楽天から取得した本のISBN
+     * @return 検索クエリ
+     */
+    private String buildGoogleQuery(TitleMatcher.Title title, String isbn) {
+        String cleanedRakutenTitle = title.getCleaned();
+        if (isbn != null && !isbn.isEmpty() && !isbn.equals("null")) {
+            Log.d(TAG, "Google Books API: Searching by ISBN: " + isbn + " for title: " + cleanedRakutenTitle);
+            return "isbn:" + isbn;
+        }
+        Log.d(TAG, "Google Books API: Searching by CLEANED TITLE ONLY: '" + cleanedRakutenTitle + "' -> Query: " + cleanedRakutenTitle);
+        return cleanedRakutenTitle;
+    }
 
+    /**
+     * 楽天から取得した本に対して、Google Books APIの検索結果をスコアリングし、最も一致する書籍の情報でBookオブジェクトを更新します。
+     *
+     * @param book   更新対象のBookオブジェクト
+     * @param title  楽天から取得した本のタイトル（前処理済み）
+     * @param isbn   楽天から取得した本のISBN
+     * @param rakutenSalesDate 楽天から取得した本の発売日（出版年比較用）
+     * @param googleQuery 検索に使用したクエリ（ログ用）
+     * @param googleCandidateBooks Google Books APIの検索結果
+     */
+    private void applyGoogleCandidates(Book book, TitleMatcher.Title title, String isbn, String rakutenSalesDate,
+                                       String googleQuery, List<Book> googleCandidateBooks) {
+        String cleanedRakutenTitle = title.getCleaned();
+
+        try {
             if (!googleCandidateBooks.isEmpty()) {
                 Book bestMatchBook = null;
                 int highestScore = -1;
                 final int MIN_ACCEPTABLE_SCORE = 60;
-
-
+                boolean hasIsbn = isbn != null && !isbn.isEmpty() && !isbn.equals("null");
+                int rakutenYear = parseRakutenYear(rakutenSalesDate);
 
                 Log.d(TAG, "Evaluating Google Candidates for '" + cleanedRakutenTitle + "': " + googleCandidateBooks.size() + " books found.");
 
                 for (Book googleBookCandidate : googleCandidateBooks) {
                     int currentScore = 0;
 
-                    if (isbn != null && !isbn.isEmpty() && !isbn.equals("null") &&
-                            googleBookCandidate.getIsbn() != null && !googleBookCandidate.getIsbn().isEmpty() &&
-                            googleBookCandidate.getIsbn().equals(isbn)) {
+                    if (hasIsbn && googleBookCandidate.getIsbn() != null && !googleBookCandidate.getIsbn().isEmpty() &&
+                            isSameIsbn(isbn, googleBookCandidate.getIsbn())) {
                         currentScore += 1000;
-                        Log.d(TAG, "Score: ISBN match for " + cleanedRakutenTitle + ". Score: " + currentScore);
                     }
 
-                    String googleTitle = googleBookCandidate.getTitle();
-                    String normalizedGoogleTitle = normalizeTitle(googleTitle);
-                    String normalizedRakutenTitle = normalizeTitle(cleanedRakutenTitle);
-
-                    Log.d(TAG, "Comparing Titles: Rakuten Cleaned='" + cleanedRakutenTitle + "', Google Candidate='" + googleTitle + "'");
-                    Log.d(TAG, "Normalized Titles: Rakuten='" + normalizedRakutenTitle + "', Google Candidate='" + normalizedGoogleTitle + "'");
-
-                    if (normalizedGoogleTitle.equals(normalizedRakutenTitle)) {
-                        currentScore += 300;
-                        Log.d(TAG, "Score: Exact (normalized) title match for " + cleanedRakutenTitle + ". Score: " + currentScore);
-                    } else {
-                        boolean googleContainsRakuten = normalizedGoogleTitle.contains(normalizedRakutenTitle);
-                        boolean rakutenContainsGoogle = normalizedRakutenTitle.contains(normalizedGoogleTitle);
-
-                        if (googleContainsRakuten) {
-                            currentScore += 150;
-                            Log.d(TAG, "Score: Google title CONTAINS Rakuten title for " + cleanedRakutenTitle + ". Score: " + currentScore);
-                        } else if (rakutenContainsGoogle) {
-                            currentScore += 100;
-                            Log.d(TAG, "Score: Rakuten title CONTAINED BY Google title for " + cleanedRakutenTitle + ". Score: " + currentScore);
-                        } else {
-                            Log.d(TAG, "Score: No significant title match for " + cleanedRakutenTitle + ". Score: " + currentScore);
-                        }
+                    TitleMatcher.Title googleTitle = TitleMatcher.compile(googleBookCandidate.getTitle());
+                    double similarity = title.similarity(googleTitle);
+                    if (title.matchesExactly(googleTitle)) {
+                        currentScore += TITLE_MATCH_SCORE;
+                    } else if (similarity >= MIN_TITLE_SIMILARITY) {
+                        currentScore += Math.min(TITLE_MATCH_SCORE - 1, (int) Math.round(similarity * TITLE_MATCH_SCORE));
                     }
 
-                    if (rakutenSalesDate != null && !rakutenSalesDate.isEmpty() &&
-                            googleBookCandidate.getPublishedDate() != null && !googleBookCandidate.getPublishedDate().isEmpty()) {
-                        try {
-                            String rakutenYearStr = rakutenSalesDate.split("年")[0];
-                            int rakutenYear = Integer.parseInt(rakutenYearStr);
-                            int googleYear = Integer.parseInt(googleBookCandidate.getPublishedDate().substring(0, Math.min(googleBookCandidate.getPublishedDate().length(), 4)));
-
-                            if (rakutenYear == googleYear) {
-                                currentScore += 100;
-                                Log.d(TAG, "Score: Publishing year match for " + cleanedRakutenTitle + ". Score: " + currentScore);
-                            } else {
-                            }
-                        } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
-                            Log.w(TAG, "Could not parse publishing year for " + cleanedRakutenTitle + ": " + e.getMessage());
-                        }
+                    if (rakutenYear > 0 && rakutenYear == parseGoogleYear(googleBookCandidate.getPublishedDate())) {
+                        currentScore += 100;
                     }
-                    Log.d(TAG, "Candidate Book: '" + googleBookCandidate.getTitle() + "' (Google ID: " + googleBookCandidate.getId() + "), Total Score: " + currentScore);
+                    Log.d(TAG, "Candidate Book: '" + googleBookCandidate.getTitle() + "' (Google ID: " + googleBookCandidate.getId()
+                            + "), Title similarity: " + String.format(java.util.Locale.ROOT, "%.2f", similarity) + ", Total Score: " + currentScore);
                     if (currentScore > highestScore) {
                         highestScore = currentScore;
                         bestMatchBook = googleBookCandidate;
-                        Log.d(TAG, "New Best Match Candidate: '" + googleBookCandidate.getTitle() + "' with Score: " + highestScore);
                     }
                 }
                 if (bestMatchBook != null && highestScore >= MIN_ACCEPTABLE_SCORE) {
@@ -318,28 +548,32 @@ public class RakutenBooksApiService {
     }
 
     /**
-     * 楽天から取得したタイトル文字列から、検索に不要な情報を除去し正規化します。
+     * 楽天の発売日（例: 「2024年06月04日頃」）から出版年を取り出します。
+     *
+     * @return 出版年（取り出せない場合は 0）
      */
-    private String cleanRakutenTitle(String title) {
-        if (title == null) return "";
-        String cleaned = title;
-        cleaned = cleaned.replaceAll("\\（.*?\\）|\\(.*?\\)", "");
-        cleaned = cleaned.replaceAll("【.*?】", "");
-        cleaned = cleaned.replaceAll("\\[.*?\\]", "");
-        cleaned = cleaned.replaceAll("　", " ");
-        cleaned = cleaned.replaceAll("\\s+", " ").trim();
-        Log.d(TAG, "Cleaned Rakuten Title: Original='" + title + "', Cleaned='" + cleaned + "'");
-        return cleaned;
+    private int parseRakutenYear(String salesDate) {
+        if (salesDate == null || salesDate.isEmpty()) return 0;
+        int end = salesDate.indexOf('年');
+        return parseYear(end < 0 ? salesDate : salesDate.substring(0, end));
     }
 
     /**
-     * タイトル文字列を正規化します。
-     * 今回の設計ではGoogle APIに投げるクエリに使う`normalizeTitle`はシンプルにし、
-     * スコアリングでの比較は柔軟に行う。
+     * Google Books の出版日（例: 「2024-06-04」「2024」）から出版年を取り出します。
+     *
+     * @return 出版年（取り出せない場合は 0）
      */
-    private String normalizeTitle(String title) {
-        if (title == null) return "";
-        return title.toLowerCase(java.util.Locale.ROOT).trim();
+    private int parseGoogleYear(String publishedDate) {
+        if (publishedDate == null || publishedDate.length() < 4) return 0;
+        return parseYear(publishedDate.substring(0, 4));
+    }
+
+    private int parseYear(String text) {
+        try {
+            return Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 
     /**
@@ -353,21 +587,12 @@ public class RakutenBooksApiService {
     }
 
     /**
-     * このサービスで使用されているExecutorServiceをシャットダウンします。
-     * アプリケーションが終了する際に呼び出す必要があります。
-     * これにより、バックグラウンドスレッドが適切に終了し、リソースリークを防ぎます。
+     * このサービスの利用を終了します。
+     * 通信用のプール・タイムアウト管理のプールと補完に使用する Google Books APIサービスは
+     * 他の呼び出し元と共有しているため終了しません。予約済みのタイムアウトは補完の完了時に取り消されます。
      */
     public void shutdown() {
-        executorService.shutdown();
-        googleBooksApiService.shutdown();
-        try {
-            if (!executorService.awaitTermination(60, TimeUnit.SECONDS)) {
-                executorService.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            executorService.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
-        Log.d(TAG, "RakutenBooksApiService ExecutorService shut down.");
+        // 通信用・タイムアウト管理のプールはアプリ共通のため終了しない
+        Log.d(TAG, "RakutenBooksApiService shut down.");
     }
 }
\ No newline at end of file
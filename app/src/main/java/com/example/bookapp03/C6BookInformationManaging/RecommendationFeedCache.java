@@ -0,0 +1,239 @@
+/**
+ * モジュール名: RecommendationFeedCache
+ * 作成者: 三浦寛生
+ * 作成日: 2026/10/18
+ * 概要: おすすめ書籍の候補（Firestore の summaries から取得し Google Books で詳細を補完した書籍）を
+ * 端末内のファイルに保存するクラスです。有効期限内は保存済みの候補からおすすめを表示し、
+ * 再取得時も詳細が保存済みの書籍は Google Books に問い合わせず、新しく現れた書籍のみ補完します。
+ * 履歴:
+ * 2026/10/18 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 ファイルの読み書きを AppExecutors の名前付き直列プールで行うよう変更
+ * 2026/10/18 三浦寛生 ファイルの保存・読み取りと有効期限の判定を VersionedJsonFileStore に移動
+ */
+package com.example.bookapp03.C6BookInformationManaging;
+
+import android.content.Context;
+
+import com.example.bookapp03.C4SearchProcessing.Book;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.File;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class RecommendationFeedCache {
+
+    /** 候補一覧の有効期限。過ぎた場合は Firestore から候補一覧を取り直す */
+    public static final long DEFAULT_FEED_TTL_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    /** 書籍詳細の有効期限。過ぎた書籍のみ Google Books から取り直す */
+    public static final long DEFAULT_VOLUME_TTL_MILLIS = TimeUnit.DAYS.toMillis(7);
+    /** 保存先のファイル名（filesDir 配下） */
+    private static final String FILE_NAME = "recommendation_feed.json";
+    /** 保存形式のバージョン。形式を変更した場合は上げ、古いファイルは読み捨てる */
+    private static final int FORMAT_VERSION = 1;
+    /** ファイルの読み書きを行う直列プールの名前 */
+    static final String EXECUTOR_NAME = "recommendation-file";
+
+    private static volatile RecommendationFeedCache INSTANCE;
+
+    private final VersionedJsonFileStore<List<Entry>> store;
+    private final long feedTtlMillis;
+    private final long volumeTtlMillis;
+
+    /**
+     * 保存済みの候補を受け取るコールバックです。
+     */
+    public interface ReadCallback {
+        /**
+         * @param feed 保存済みの候補（ない場合・読み取れない場合は null）
+         */
+        void onFeedRead(Feed feed);
+    }
+
+    /**
+     * 保存済みの候補一覧です。
+     */
+    public static final class Feed {
+        private final List<Entry> entries;
+        private final Map<String, Entry> entriesById = new HashMap<>();
+        private final long savedAtMillis;
+
+        Feed(List<Entry> entries, long savedAtMillis) {
+            this.entries = entries;
+            this.savedAtMillis = savedAtMillis;
+            for (Entry entry : entries) {
+                entriesById.put(entry.book.getId(), entry);
+            }
+        }
+
+        /**
+         * @return 候補の書籍（Firestore から取得した順）
+         */
+        public List<Book> getBooks() {
+            List<Book> books = new ArrayList<>(entries.size());
+            for (Entry entry : entries) {
+                books.add(entry.book);
+            }
+            return books;
+        }
+
+        /**
+         * @return 候補一覧を保存した時刻（エポックミリ秒）
+         */
+        public long getSavedAtMillis() {
+            return savedAtMillis;
+        }
+
+        /**
+         * 指定の書籍の保存済みの詳細を探します。
+         *
+         * @param volumeId ボリュームID
+         * @return 保存済みの詳細（ない場合は null）
+         */
+        public Entry find(String volumeId) {
+            return entriesById.get(volumeId);
+        }
+    }
+
+    /**
+     * 候補の書籍1冊と、その詳細を Google Books から取得した時刻です。
+     */
+    public static final class Entry {
+        Book book;
+        long fetchedAtMillis;
+
+        public Entry(Book book, long fetchedAtMillis) {
+            this.book = book;
+            this.fetchedAtMillis = fetchedAtMillis;
+        }
+
+        public Book getBook() {
+            return book;
+        }
+
+        public long getFetchedAtMillis() {
+            return fetchedAtMillis;
+        }
+    }
+
+    /**
+     * アプリ全体で共有するキャッシュを取得します。
+     *
+     * @param context コンテキスト
+     * @return RecommendationFeedCacheのインスタンス
+     */
+    public static RecommendationFeedCache getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (RecommendationFeedCache.class) {
+                if (INSTANCE == null) {
+                    File file = new File(context.getApplicationContext().getFilesDir(), FILE_NAME);
+                    INSTANCE = new RecommendationFeedCache(file, new Gson(),
+                            DEFAULT_FEED_TTL_MILLIS, DEFAULT_VOLUME_TTL_MILLIS, Clock.systemUTC());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @param file            保存先のファイル
+     * @param gson            Gsonインスタンス
+     * @param feedTtlMillis   候補一覧の有効期限（ミリ秒）
+     * @param volumeTtlMillis 書籍詳細の有効期限（ミリ秒）
+     * @param clock           現在時刻の取得に使用する時計
+     */
+    public RecommendationFeedCache(File file, Gson gson, long feedTtlMillis, long volumeTtlMillis, Clock clock) {
+        this.store = new VersionedJsonFileStore<>(file, gson, new TypeToken<List<Entry>>() { }.getType(),
+                "entries", FORMAT_VERSION, clock, EXECUTOR_NAME);
+        this.feedTtlMillis = feedTtlMillis;
+        this.volumeTtlMillis = volumeTtlMillis;
+    }
+
+    /**
+     * 保存済みの候補をバックグラウンドで読み取り、コールバックに通知します。
+     *
+     * @param callback 結果を受け取るコールバック（バックグラウンドスレッドで呼び出されます）
+     */
+    public void readAsync(ReadCallback callback) {
+        store.readAsync(stored -> callback.onFeedRead(toFeed(stored)));
+    }
+
+    /**
+     * 候補一覧をバックグラウンドで保存します。
+     *
+     * @param entries 候補の書籍と詳細の取得時刻
+     */
+    public void writeAsync(List<Entry> entries) {
+        store.writeAsync(new ArrayList<>(entries));
+    }
+
+    /**
+     * 保存済みの候補を読み取ります。
+     *
+     * @return 候補一覧（ない場合・読み取れない場合は null）
+     */
+    public Feed read() {
+        return toFeed(store.read());
+    }
+
+    /**
+     * 候補一覧を現在時刻で保存します。候補から外れた書籍の詳細は保存しません。
+     *
+     * @param entries 候補の書籍と詳細の取得時刻
+     */
+    public void write(List<Entry> entries) {
+        store.write(entries);
+    }
+
+    /**
+     * 候補一覧が有効期限を過ぎているかを判定します。
+     *
+     * @param feed 候補一覧
+     * @return 有効期限を過ぎている場合は true
+     */
+    public boolean isExpired(Feed feed) {
+        return store.isExpired(feed.getSavedAtMillis(), feedTtlMillis);
+    }
+
+    /**
+     * 書籍の詳細が有効期限を過ぎているかを判定します。
+     *
+     * @param entry 保存済みの書籍
+     * @return 有効期限を過ぎている場合は true
+     */
+    public boolean isExpired(Entry entry) {
+        return store.isExpired(entry.getFetchedAtMillis(), volumeTtlMillis);
+    }
+
+    /**
+     * @return 現在時刻（エポックミリ秒）
+     */
+    public long now() {
+        return store.now();
+    }
+
+    /**
+     * 読み取った候補から、ボリュームIDのない書籍を除いて候補一覧を作成します。
+     *
+     * @param stored 読み取った候補（ない場合は null）
+     * @return 候補一覧（ない場合は null）
+     */
+    private static Feed toFeed(VersionedJsonFileStore.Stored<List<Entry>> stored) {
+        if (stored == null) {
+            return null;
+        }
+        List<Entry> entries = new ArrayList<>();
+        for (Entry entry : stored.getPayload()) {
+            if (entry != null && entry.book != null && entry.book.getId() != null) {
+                entries.add(entry);
+            }
+        }
+        return new Feed(Collections.unmodifiableList(entries), stored.getSavedAtMillis());
+    }
+}
@@ -7,10 +7,6 @@ import com.example.bookapp03.C6BookInformationManaging.database.HighlightMemoDao
 import com.example.bookapp03.C6BookInformationManaging.database.HighlightMemoEntity;
 import com.example.bookapp03.C1UIProcessing.HighlightMemoData;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-
 /**
  * モジュール名: ハイライトメモ登録処理
  * 作成者: 鶴田凌
@@ -18,6 +14,7 @@ import java.util.concurrent.Future;
  * 概要: ハイライトメモをデータベースに登録する処理
  * 履歴:
  * 2025/06/15 鶴田凌 新規作成
+ * 2026/10/18 鶴田凌 待たずに戻る登録（書き込みキュー経由）を追加し、同期登録は呼び出し元のスレッドで挿入するよう変更
  */
 public class RegisterHighlightMemo {
 
@@ -38,7 +35,22 @@ public class RegisterHighlightMemo {
     }
 
     /**
-     * ハイライトメモを登録する
+     * ハイライトメモの登録を受け付ける。データベースへの書き込みを待たずに戻り、
+     * 短時間に続けて登録されたメモとまとめて挿入した後、結果をメインスレッドで通知する。
+     *
+     * @param uid      ユーザID
+     * @param volumeId 書籍ボリュームID
+     * @param data     ハイライトメモデータ
+     * @param callback 登録結果を受け取るコールバック
+     */
+    public void registerHighlightMemoAsync(String uid, String volumeId, HighlightMemoData data,
+                                           HighlightMemoWriteQueue.Callback callback) {
+        Log.d(TAG, "登録受付 - VolumeID: " + volumeId + ", Page: " + data.getPage() + ", Line: " + data.getLine());
+        HighlightMemoWriteQueue.getInstance(context).enqueue(uid, volumeId, data, callback);
+    }
+
+    /**
+     * ハイライトメモを登録する。呼び出し元のスレッドで挿入するため、バックグラウンドスレッドから呼び出すこと。
      *
      * @param uid ユーザID
      * @param volumeId 書籍ボリュームID
@@ -46,7 +58,6 @@ public class RegisterHighlightMemo {
      * @return 登録成功時 true、失敗時 false
      */
     public boolean registerHighlightMemo(String uid, String volumeId, HighlightMemoData data) {
-        ExecutorService executor = null;
         try {
             Log.d(TAG, "=== データベース登録開始 ===");
             Log.d(TAG, "UID: " + uid);
@@ -54,52 +65,31 @@ public class RegisterHighlightMemo {
             Log.d(TAG, "Page: " + data.getPage());
             Log.d(TAG, "Line: " + data.getLine());
             Log.d(TAG, "Memo: " + data.getMemo());
-            
-            executor = Executors.newSingleThreadExecutor();
-            
-            Future<Boolean> future = executor.submit(() -> {
-                try {
-                    Log.d(TAG, "データベース取得中...");
-                    HighlightMemoDao dao = BookInformationDatabase
-                            .getDatabase(context)
-                            .highlightMemoDao();
-                    Log.d(TAG, "DAO取得完了");
 
-                    HighlightMemoEntity entity = new HighlightMemoEntity(
-                            uid,
-                            volumeId,
-                            data.getPage(),
-                            data.getLine(),
-                            data.getMemo()
-                    );
-                    Log.d(TAG, "エンティティ作成完了");
+            HighlightMemoDao dao = BookInformationDatabase
+                    .getDatabase(context)
+                    .highlightMemoDao();
+
+            HighlightMemoEntity entity = new HighlightMemoEntity(
+                    uid,
+                    volumeId,
+                    data.getPage(),
+                    data.getLine(),
+                    data.getMemo()
+            );
 
-                    // データベースにハイライトメモを挿入
-                    long result = dao.insert(entity);
-                    Log.d(TAG, "データベース挿入結果: " + result);
-                    
-                    boolean success = result > 0;
-                    Log.d(TAG, "登録成功: " + success);
-                    return success;
-                    
-                } catch (Exception e) {
-                    Log.e(TAG, "データベース操作エラー", e);
-                    return false;
-                }
-            });
+            // データベースにハイライトメモを挿入
+            long result = dao.insert(entity);
+            Log.d(TAG, "データベース挿入結果: " + result);
 
-            boolean result = future.get();
-            Log.d(TAG, "最終登録結果: " + result);
-            return result;
+            boolean success = result > 0;
+            Log.d(TAG, "最終登録結果: " + success);
+            return success;
 
         } catch (Exception e) {
             Log.e(TAG, "ハイライトメモ登録エラー", e);
             e.printStackTrace();
             return false;
-        } finally {
-            if (executor != null) {
-                executor.shutdown();
-            }
         }
     }
 }
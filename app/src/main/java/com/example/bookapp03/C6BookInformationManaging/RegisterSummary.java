@@ -1,13 +1,13 @@
 package com.example.bookapp03.C6BookInformationManaging;
 
 import android.content.Context;
+import android.util.Log;
 
 import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import com.example.bookapp03.C6BookInformationManaging.database.BookInformationDatabase;
@@ -21,9 +21,15 @@ import com.example.bookapp03.C6BookInformationManaging.database.SummaryEntity;
  * 概要: ユーザ／書籍ごとの全体まとめ情報をローカルDBとFirestoreに保存するクラス
  * 履歴:
  * 2025/06/15 鶴田凌 新規作成
+ * 2026/10/18 鶴田凌 書籍タイトル・著者・表紙URLを登録時に保存するよう変更
+ * 2026/10/18 鶴田凌 公開時に書籍ごとのレビュー件数（ReviewCountIndex）を加算するよう変更
+ * 2026/10/18 鶴田凌 ローカルDBへの保存をアプリ共通のデータベース用プールで実行するよう変更
+ * 2026/10/18 鶴田凌 レビュー件数の加算失敗をログに警告として出力するよう変更
  */
 public class RegisterSummary {
 
+    private static final String TAG = "RegisterSummary";
+
     private final SummaryDao dao;
     private final ExecutorService executor;
     private final FirebaseFirestore firestore;
@@ -36,7 +42,7 @@ public class RegisterSummary {
     public RegisterSummary(Context context) {
         BookInformationDatabase db = BookInformationDatabase.getDatabase(context);
         this.dao = db.summaryDao();
-        this.executor = Executors.newSingleThreadExecutor();
+        this.executor = AppExecutors.getInstance().db();
         this.firestore = FirebaseFirestore.getInstance();
     }
 
@@ -55,10 +61,48 @@ public class RegisterSummary {
             String volumeId,
             String overallSummary,
             boolean isPublic
+    ) {
+        return registerSummary(uid, volumeId, overallSummary, isPublic, null, null, null);
+    }
+
+    /**
+     * 書籍情報付きで全体まとめ情報を登録または更新する。
+     * 書籍情報が null の場合は、登録済みの値を引き継ぐ。
+     * isPublicがtrueの場合はFirestoreにも保存する。
+     *
+     * @param uid            ユーザUID
+     * @param volumeId       書籍ボリュームID
+     * @param overallSummary 要約テキスト
+     * @param isPublic       公開フラグ
+     * @param title          書籍タイトル（null可）
+     * @param author         著者名（null可）
+     * @param coverImageUrl  表紙画像URL（null可）
+     * @return true=ローカルDBへの登録・更新成功、false=失敗
+     */
+    public boolean registerSummary(
+            String uid,
+            String volumeId,
+            String overallSummary,
+            boolean isPublic,
+            String title,
+            String author,
+            String coverImageUrl
     ) {
         try {
-            SummaryEntity entity = new SummaryEntity(uid, volumeId, overallSummary, isPublic);
-            Future<Long> f = executor.submit(() -> dao.insert(entity));
+            Future<Long> f = executor.submit(() -> {
+                SummaryEntity entity = new SummaryEntity(
+                        uid, volumeId, overallSummary, isPublic, title, author, coverImageUrl);
+                if (title == null || author == null || coverImageUrl == null) {
+                    // 書籍情報が渡されなかった項目は登録済みの値を維持する
+                    SummaryEntity existing = dao.getSummary(uid, volumeId);
+                    if (existing != null) {
+                        if (entity.title == null) entity.title = existing.title;
+                        if (entity.author == null) entity.author = existing.author;
+                        if (entity.coverImageUrl == null) entity.coverImageUrl = existing.coverImageUrl;
+                    }
+                }
+                return dao.insert(entity);
+            });
             boolean localOk = f.get() > 0;
 
             if (isPublic && localOk) {
@@ -70,6 +114,12 @@ public class RegisterSummary {
                 firestore.collection("summaries")
                         .document(uid + "_" + volumeId)
                         .set(data);
+                try {
+                    ReviewCountIndex.getInstance().recordPublished(uid, volumeId);
+                } catch (Exception e) {
+                    // 件数の加算に失敗しても全体まとめの登録は成功として扱う
+                    Log.w(TAG, "レビュー件数の加算に失敗しました: " + e.getMessage());
+                }
             }
             return localOk;
         } catch (Exception e) {
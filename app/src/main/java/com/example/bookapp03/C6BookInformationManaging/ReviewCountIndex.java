@@ -0,0 +1,448 @@
+/**
+ * モジュール名: ReviewCountIndex
+ * 作成者: 三浦寛生
+ * 作成日: 2026/10/18
+ * 概要: 書籍ごとの公開レビュー（全体まとめ）の件数を Firestore の review_counts コレクションで管理するクラスです。
+ * 全体まとめを公開したときに件数を加算し、検索結果の画面では表示中の書籍の件数を whereIn でまとめて取得します。
+ * 取得した件数はメモリ上に短時間保持し、画面を戻った場合などは問い合わせずに応答します。
+ * 履歴:
+ * 2026/10/18 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 件数の記録がない書籍は既存の公開まとめから件数と投稿者を初期化してから加算するよう変更
+ * 2026/10/18 三浦寛生 投稿者が初期化の上限を超える書籍は件数のみを保存せず、件数の記録がないままとするよう変更
+ */
+package com.example.bookapp03.C6BookInformationManaging;
+
+import android.util.Log;
+
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Transaction;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+public class ReviewCountIndex {
+
+    private static final String TAG = "ReviewCountIndex";
+
+    /** 件数を保存するコレクション（ドキュメントIDは書籍のボリュームID） */
+    static final String COLLECTION = "review_counts";
+    /** 件数のフィールド名 */
+    static final String FIELD_COUNT = "count";
+    /** 加算済みの投稿者を記録するサブコレクション（ドキュメントIDはユーザーID） */
+    static final String REVIEWERS = "reviewers";
+    /** 全体まとめのコレクション */
+    static final String SUMMARIES = "summaries";
+    /**
+     * 件数の初期化で投稿者を記録する最大数。1回のトランザクションの書き込み上限（500件）に収まるよう制限します。
+     * 超える場合は投稿者を記録できず、後の公開で二重に数えてしまうため、件数も保存せず記録がないままとします
+     */
+    static final int MAX_BACKFILL_REVIEWERS = 400;
+
+    /** 保持する件数の最大数 */
+    public static final int DEFAULT_MAX_COUNTS = 512;
+    /** 1回の whereIn で問い合わせるボリュームIDの最大数（Firestore の in 演算子の上限） */
+    public static final int MAX_IDS_PER_QUERY = 30;
+    /** 取得した件数をメモリ上で有効とする時間 */
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static volatile ReviewCountIndex INSTANCE;
+
+    private final CountSource source;
+    private final Clock clock;
+    private final int maxIdsPerQuery;
+    private final long ttlMillis;
+    /** ボリュームID → 取得した件数（アクセス順、最も古いものから破棄） */
+    private final LinkedHashMap<String, CachedCount> counts;
+
+    /** Firestore への問い合わせ回数 */
+    private long queryCount;
+
+    /**
+     * 件数の取得結果を受け取るコールバックです。
+     */
+    public interface Callback {
+        /**
+         * @param counts ボリュームID → 公開レビューの件数。件数が分からなかった書籍（件数の記録がない・取得に失敗した）は含みません
+         */
+        void onCountsLoaded(Map<String, Long> counts);
+    }
+
+    /**
+     * 件数の取得元・保存先です。
+     */
+    interface CountSource {
+        /**
+         * @param volumeIds ボリュームID（MAX_IDS_PER_QUERY 件以内）
+         * @param listener  結果を受け取るリスナー
+         */
+        void fetch(List<String> volumeIds, BatchListener listener);
+
+        /**
+         * 投稿者がまだ数えられていなければ件数を1加算します。
+         *
+         * @param uid      投稿者のユーザーID
+         * @param volumeId ボリュームID
+         * @param onAdded  加算した場合に呼び出す処理
+         */
+        void addReviewer(String uid, String volumeId, Runnable onAdded);
+
+        /**
+         * 件数の記録がない場合のみ、投稿者の数を件数として保存し、投稿者を加算済みとして記録します。
+         *
+         * @param volumeId     ボリュームID
+         * @param reviewerUids 公開レビューの投稿者のユーザーID
+         */
+        void initialize(String volumeId, Collection<String> reviewerUids);
+    }
+
+    /**
+     * 一括取得の結果を受け取るリスナーです。
+     */
+    interface BatchListener {
+        /**
+         * @param found 件数の記録があった書籍のボリュームID → 件数
+         */
+        void onSuccess(Map<String, Long> found);
+
+        void onFailure(Exception e);
+    }
+
+    /**
+     * メモリ上に保持する件数です。
+     */
+    private static final class CachedCount {
+        final long count;
+        final long fetchedAtMillis;
+
+        CachedCount(long count, long fetchedAtMillis) {
+            this.count = count;
+            this.fetchedAtMillis = fetchedAtMillis;
+        }
+    }
+
+    /**
+     * アプリ全体で共有するインデックスを取得します。
+     *
+     * @return ReviewCountIndexのインスタンス
+     */
+    public static ReviewCountIndex getInstance() {
+        if (INSTANCE == null) {
+            synchronized (ReviewCountIndex.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new ReviewCountIndex(new FirestoreCountSource(FirebaseFirestore.getInstance()),
+                            Clock.systemUTC(), DEFAULT_MAX_COUNTS, MAX_IDS_PER_QUERY, DEFAULT_TTL_MILLIS);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @param source         件数の取得元・保存先
+     * @param clock          現在時刻の取得に使用する時計
+     * @param maxCounts      保持する件数の最大数
+     * @param maxIdsPerQuery 1回の問い合わせに含めるボリュームIDの最大数
+     * @param ttlMillis      取得した件数をメモリ上で有効とする時間（ミリ秒）
+     */
+    ReviewCountIndex(CountSource source, Clock clock, int maxCounts, int maxIdsPerQuery, long ttlMillis) {
+        this.source = source;
+        this.clock = clock;
+        this.maxIdsPerQuery = maxIdsPerQuery;
+        this.ttlMillis = ttlMillis;
+        this.counts = new LinkedHashMap<String, CachedCount>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedCount> eldest) {
+                return size() > maxCounts;
+            }
+        };
+    }
+
+    /**
+     * 複数の書籍の公開レビュー件数を取得します。有効な件数を保持している書籍は問い合わせず、
+     * 残りを上限数ごとにまとめて問い合わせ、すべての結果がそろった時点でコールバックを1回呼び出します。
+     *
+     * @param volumeIds ボリュームID
+     * @param callback  結果を受け取るコールバック（メインスレッドで呼び出されます）
+     */
+    public void fetchCounts(Collection<String> volumeIds, Callback callback) {
+        Map<String, Long> result = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        synchronized (this) {
+            for (String volumeId : new LinkedHashSet<>(volumeIds)) {
+                if (volumeId == null || volumeId.isEmpty()) {
+                    continue;
+                }
+                Long cached = getCached(volumeId);
+                if (cached != null) {
+                    result.put(volumeId, cached);
+                } else {
+                    missing.add(volumeId);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            callback.onCountsLoaded(Collections.unmodifiableMap(result));
+            return;
+        }
+
+        int[] remaining = {(missing.size() + maxIdsPerQuery - 1) / maxIdsPerQuery};
+        for (int start = 0; start < missing.size(); start += maxIdsPerQuery) {
+            List<String> chunk = new ArrayList<>(missing.subList(start, Math.min(start + maxIdsPerQuery, missing.size())));
+            synchronized (this) {
+                queryCount++;
+            }
+            source.fetch(chunk, new BatchListener() {
+                @Override
+                public void onSuccess(Map<String, Long> found) {
+                    boolean done;
+                    synchronized (ReviewCountIndex.this) {
+                        long now = clock.millis();
+                        for (Map.Entry<String, Long> entry : found.entrySet()) {
+                            counts.put(entry.getKey(), new CachedCount(entry.getValue(), now));
+                        }
+                        result.putAll(found);
+                        done = --remaining[0] == 0;
+                    }
+                    if (done) {
+                        callback.onCountsLoaded(Collections.unmodifiableMap(result));
+                    }
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    Log.w(TAG, "レビュー件数の取得に失敗しました: " + e.getMessage());
+                    boolean done;
+                    synchronized (ReviewCountIndex.this) {
+                        done = --remaining[0] == 0;
+                    }
+                    if (done) {
+                        callback.onCountsLoaded(Collections.unmodifiableMap(result));
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * 有効期限内の件数を返します。
+     *
+     * @param volumeId ボリュームID
+     * @return 公開レビューの件数（保持していない・期限切れの場合は null）
+     */
+    public synchronized Long getCached(String volumeId) {
+        CachedCount cached = counts.get(volumeId);
+        if (cached == null) {
+            return null;
+        }
+        long age = clock.millis() - cached.fetchedAtMillis;
+        if (age < 0 || age >= ttlMillis) {
+            counts.remove(volumeId);
+            return null;
+        }
+        return cached.count;
+    }
+
+    /**
+     * 全体まとめが公開されたことを記録します。同じ投稿者の更新は一度しか数えません。
+     *
+     * @param uid      投稿者のユーザーID
+     * @param volumeId ボリュームID
+     */
+    public void recordPublished(String uid, String volumeId) {
+        source.addReviewer(uid, volumeId, () -> {
+            synchronized (this) {
+                CachedCount cached = counts.get(volumeId);
+                if (cached != null) {
+                    counts.put(volumeId, new CachedCount(cached.count + 1, cached.fetchedAtMillis));
+                }
+            }
+        });
+    }
+
+    /**
+     * レビュー一覧で全件を読み込んだ投稿者を記録します。件数の記録がない書籍（インデックス導入前のレビューのみの書籍など）を
+     * 次回以降は問い合わせだけで判定できるようにするためのもので、既に記録がある場合は何もしません。
+     *
+     * @param volumeId     ボリュームID
+     * @param reviewerUids 読み込んだ公開レビューの投稿者のユーザーID
+     */
+    public void recordObservedReviewers(String volumeId, Collection<String> reviewerUids) {
+        if (getCached(volumeId) != null) {
+            return;
+        }
+        source.initialize(volumeId, new LinkedHashSet<>(reviewerUids));
+    }
+
+    /**
+     * Firestore への問い合わせ回数を返します。
+     *
+     * @return 問い合わせ回数
+     */
+    public synchronized long getQueryCount() {
+        return queryCount;
+    }
+
+    /**
+     * Firestore の review_counts コレクションを使用する取得元・保存先です。
+     */
+    static final class FirestoreCountSource implements CountSource {
+        private final FirebaseFirestore db;
+
+        FirestoreCountSource(FirebaseFirestore db) {
+            this.db = db;
+        }
+
+        @Override
+        public void fetch(List<String> volumeIds, BatchListener listener) {
+            db.collection(COLLECTION)
+                    .whereIn(FieldPath.documentId(), volumeIds)
+                    .get()
+                    .addOnSuccessListener(snapshots -> {
+                        Map<String, Long> found = new HashMap<>();
+                        for (DocumentSnapshot document : snapshots.getDocuments()) {
+                            Long count = document.getLong(FIELD_COUNT);
+                            if (count != null) {
+                                found.put(document.getId(), count);
+                            }
+                        }
+                        listener.onSuccess(found);
+                    })
+                    .addOnFailureListener(listener::onFailure);
+        }
+
+        @Override
+        public void addReviewer(String uid, String volumeId, Runnable onAdded) {
+            DocumentReference counter = db.collection(COLLECTION).document(volumeId);
+            DocumentReference reviewer = counter.collection(REVIEWERS).document(uid);
+            db.runTransaction(transaction -> {
+                        if (!transaction.get(counter).exists()) {
+                            // 件数の記録がないため、既存の公開まとめから初期化してから加算する
+                            return null;
+                        }
+                        return increment(transaction, counter, reviewer);
+                    })
+                    .addOnSuccessListener(added -> {
+                        if (added == null) {
+                            seedAndAddReviewer(uid, volumeId, onAdded);
+                        } else if (added) {
+                            onAdded.run();
+                        }
+                    })
+                    .addOnFailureListener(e -> Log.w(TAG, "レビュー件数の加算に失敗しました: " + e.getMessage()));
+        }
+
+        /**
+         * 書籍の公開まとめの投稿者を取得し、件数の記録がなければ投稿者と件数を初期化したうえで投稿者を加算します。
+         * 既に公開していた投稿者は初期化で記録されるため、二重に数えません。
+         *
+         * @param uid      投稿者のユーザーID
+         * @param volumeId ボリュームID
+         * @param onAdded  加算した場合に呼び出す処理
+         */
+        private void seedAndAddReviewer(String uid, String volumeId, Runnable onAdded) {
+            DocumentReference counter = db.collection(COLLECTION).document(volumeId);
+            DocumentReference reviewer = counter.collection(REVIEWERS).document(uid);
+            db.collection(SUMMARIES)
+                    .whereEqualTo("volumeId", volumeId)
+                    .whereEqualTo("isPublic", true)
+                    .get()
+                    .addOnSuccessListener(snapshots -> {
+                        Set<String> existing = reviewerUidsOf(snapshots);
+                        db.runTransaction(transaction -> {
+                                    boolean counted = transaction.get(counter).exists();
+                                    if (counted) {
+                                        // 問い合わせの間に他の端末が初期化した
+                                        return increment(transaction, counter, reviewer);
+                                    }
+                                    Set<String> reviewers = new LinkedHashSet<>(existing);
+                                    boolean added = reviewers.add(uid);
+                                    return seed(transaction, counter, reviewers) && added;
+                                })
+                                .addOnSuccessListener(added -> {
+                                    if (Boolean.TRUE.equals(added)) {
+                                        onAdded.run();
+                                    }
+                                })
+                                .addOnFailureListener(e -> Log.w(TAG, "レビュー件数の初期化に失敗しました: " + e.getMessage()));
+                    })
+                    .addOnFailureListener(e -> Log.w(TAG, "公開まとめの取得に失敗しました: " + e.getMessage()));
+        }
+
+        @Override
+        public void initialize(String volumeId, Collection<String> reviewerUids) {
+            DocumentReference counter = db.collection(COLLECTION).document(volumeId);
+            db.runTransaction(transaction -> {
+                        if (!transaction.get(counter).exists()) {
+                            seed(transaction, counter, reviewerUids);
+                        }
+                        return null;
+                    })
+                    .addOnFailureListener(e -> Log.w(TAG, "レビュー件数の初期化に失敗しました: " + e.getMessage()));
+        }
+
+        /**
+         * 投稿者がまだ数えられていなければ、投稿者を記録して件数を1加算します。
+         *
+         * @return 加算した場合 true
+         */
+        private static boolean increment(Transaction transaction, DocumentReference counter, DocumentReference reviewer)
+                throws FirebaseFirestoreException {
+            if (transaction.get(reviewer).exists()) {
+                return false;
+            }
+            transaction.set(reviewer, Collections.singletonMap("countedAt", FieldValue.serverTimestamp()));
+            transaction.set(counter, Collections.singletonMap(FIELD_COUNT, FieldValue.increment(1)),
+                    SetOptions.merge());
+            return true;
+        }
+
+        /**
+         * 投稿者を加算済みとして記録し、投稿者の数を件数として保存します。
+         * 投稿者が MAX_BACKFILL_REVIEWERS を超える場合は何も保存しません。
+         *
+         * @return 件数を保存した場合 true
+         */
+        private static boolean seed(Transaction transaction, DocumentReference counter,
+                                    Collection<String> reviewerUids) {
+            if (reviewerUids.size() > MAX_BACKFILL_REVIEWERS) {
+                return false;
+            }
+            for (String reviewerUid : reviewerUids) {
+                transaction.set(counter.collection(REVIEWERS).document(reviewerUid),
+                        Collections.singletonMap("countedAt", FieldValue.serverTimestamp()));
+            }
+            transaction.set(counter, Collections.singletonMap(FIELD_COUNT, (long) reviewerUids.size()));
+            return true;
+        }
+
+        /**
+         * @return 公開まとめの投稿者のユーザーID
+         */
+        private static Set<String> reviewerUidsOf(QuerySnapshot snapshots) {
+            Set<String> uids = new LinkedHashSet<>();
+            for (DocumentSnapshot document : snapshots.getDocuments()) {
+                String uid = document.getString("uid");
+                if (uid != null) {
+                    uids.add(uid);
+                }
+            }
+            return uids;
+        }
+    }
+}
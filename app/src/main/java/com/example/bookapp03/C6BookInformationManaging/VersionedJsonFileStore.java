@@ -0,0 +1,192 @@
+/**
+ * モジュール名: VersionedJsonFileStore
+ * 作成者: 三浦寛生
+ * 作成日: 2026/10/18
+ * 概要: 端末内のファイルに、保存形式のバージョンと保存時刻を付けて JSON で保存するクラスです。
+ * HotBooksSnapshotStore・RecommendationFeedCache が保存内容の型とファイル名を指定して使用します。
+ * 読み書きは用途ごとの直列プールで行い、書き込み途中のファイルが読まれないよう一時ファイルに書いてから置き換えます。
+ * 有効期限は時計（Clock）による保存時刻からの経過時間で判定します。
+ * 履歴:
+ * 2026/10/18 三浦寛生 新規作成（HotBooksSnapshotStore・RecommendationFeedCache の共通部分を切り出し）
+ */
+package com.example.bookapp03.C6BookInformationManaging;
+
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * @param <T> 保存内容の型
+ */
+final class VersionedJsonFileStore<T> {
+
+    private static final String TAG = "VersionedJsonFileStore";
+
+    /** 保存形式のバージョンを保存する項目名 */
+    static final String VERSION_KEY = "version";
+    /** 保存時刻（エポックミリ秒）を保存する項目名 */
+    static final String SAVED_AT_KEY = "savedAtMillis";
+
+    private final File file;
+    private final Gson gson;
+    private final Type payloadType;
+    private final String payloadKey;
+    private final int formatVersion;
+    private final Clock clock;
+    /** ファイルの読み書きを直列に行うスレッド（AppExecutors の直列プール） */
+    private final ExecutorService ioExecutor;
+
+    /**
+     * 読み取った保存内容と保存時刻です。
+     *
+     * @param <T> 保存内容の型
+     */
+    static final class Stored<T> {
+        private final T payload;
+        private final long savedAtMillis;
+
+        Stored(T payload, long savedAtMillis) {
+            this.payload = payload;
+            this.savedAtMillis = savedAtMillis;
+        }
+
+        T getPayload() {
+            return payload;
+        }
+
+        long getSavedAtMillis() {
+            return savedAtMillis;
+        }
+    }
+
+    /**
+     * @param file          保存先のファイル
+     * @param gson          Gsonインスタンス
+     * @param payloadType   保存内容の型
+     * @param payloadKey    保存内容を保存する項目名
+     * @param formatVersion 保存形式のバージョン。形式を変更した場合は上げ、古いファイルは読み捨てる
+     * @param clock         現在時刻の取得に使用する時計
+     * @param executorName  読み書きを行う AppExecutors の直列プールの名前
+     */
+    VersionedJsonFileStore(File file, Gson gson, Type payloadType, String payloadKey, int formatVersion,
+                           Clock clock, String executorName) {
+        this.file = file;
+        this.gson = gson;
+        this.payloadType = payloadType;
+        this.payloadKey = payloadKey;
+        this.formatVersion = formatVersion;
+        this.clock = clock;
+        this.ioExecutor = AppExecutors.getInstance().serial(executorName);
+    }
+
+    /**
+     * 保存内容をバックグラウンドで読み取り、コールバックに通知します。
+     *
+     * @param callback 結果を受け取るコールバック（バックグラウンドスレッドで呼び出されます）
+     */
+    void readAsync(Consumer<Stored<T>> callback) {
+        ioExecutor.execute(() -> callback.accept(read()));
+    }
+
+    /**
+     * 保存内容をバックグラウンドで保存します。呼び出し後に payload を変更しないでください。
+     *
+     * @param payload 保存内容
+     */
+    void writeAsync(T payload) {
+        ioExecutor.execute(() -> write(payload));
+    }
+
+    /**
+     * 保存内容を読み取ります。
+     *
+     * @return 保存内容（ファイルがない・読み取れない・バージョンが異なる場合は null）
+     */
+    Stored<T> read() {
+        if (!file.exists()) {
+            return null;
+        }
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            JsonElement root = JsonParser.parseReader(reader);
+            if (!root.isJsonObject()) {
+                return null;
+            }
+            JsonObject stored = root.getAsJsonObject();
+            JsonElement version = stored.get(VERSION_KEY);
+            if (version == null || !version.isJsonPrimitive() || version.getAsInt() != formatVersion) {
+                return null;
+            }
+            T payload = gson.fromJson(stored.get(payloadKey), payloadType);
+            if (payload == null) {
+                return null;
+            }
+            JsonElement savedAt = stored.get(SAVED_AT_KEY);
+            return new Stored<>(payload, savedAt != null && savedAt.isJsonPrimitive() ? savedAt.getAsLong() : 0L);
+        } catch (IOException | JsonParseException | IllegalStateException | NumberFormatException e) {
+            Log.w(TAG, file.getName() + " の読み取りに失敗しました: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 保存内容を現在時刻で保存します。
+     *
+     * @param payload 保存内容
+     */
+    void write(T payload) {
+        JsonObject stored = new JsonObject();
+        stored.addProperty(VERSION_KEY, formatVersion);
+        stored.addProperty(SAVED_AT_KEY, clock.millis());
+        stored.add(payloadKey, gson.toJsonTree(payload, payloadType));
+
+        File temp = new File(file.getPath() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)) {
+            gson.toJson(stored, writer);
+        } catch (IOException e) {
+            Log.w(TAG, file.getName() + " の保存に失敗しました: " + e.getMessage());
+            temp.delete();
+            return;
+        }
+        if (!temp.renameTo(file)) {
+            Log.w(TAG, file.getName() + " の置き換えに失敗しました: " + file);
+            temp.delete();
+        }
+    }
+
+    /**
+     * 保存時刻から有効期限が過ぎているかを判定します。端末の時刻が戻された場合も期限切れとして扱います。
+     *
+     * @param savedAtMillis 保存時刻（エポックミリ秒）
+     * @param ttlMillis     有効期限（ミリ秒）
+     * @return 有効期限を過ぎている場合は true
+     */
+    boolean isExpired(long savedAtMillis, long ttlMillis) {
+        long age = clock.millis() - savedAtMillis;
+        return age < 0 || age >= ttlMillis;
+    }
+
+    /**
+     * @return 現在時刻（エポックミリ秒）
+     */
+    long now() {
+        return clock.millis();
+    }
+}
@@ -1,13 +1,23 @@
 package com.example.bookapp03.C6BookInformationManaging;
 
-import okhttp3.OkHttpClient;
+import okhttp3.HttpUrl;
 import okhttp3.Request;
 import okhttp3.Response;
 
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
 import android.util.Log;
 
+import com.example.bookapp03.C4SearchProcessing.Book;
+import com.example.bookapp03.C4SearchProcessing.GoogleBooksFields;
+import com.example.bookapp03.C4SearchProcessing.GoogleBooksJsonAdapters;
+import com.example.bookapp03.C6BookInformationManaging.database.VolumeMetadataEntity;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * モジュール名: VolumeIDプロバイダ
  * 作成者: 鶴田凌
@@ -15,82 +25,114 @@ import android.util.Log;
  * 概要: Google Books API を使用し、ISBNまたは検索キーワードから最初のボリュームIDを取得するユーティリティクラス
  * 履歴:
  * 2025/06/15 鶴田凌 新規作成
+ * 2026/10/18 鶴田凌 1回のリクエストでメタデータ一式を取得する fetchVolumeMetadata を追加
+ * 2026/10/18 鶴田凌 HTTP クライアントをアプリ共通の HttpClientProvider に変更
+ * 2026/10/18 鶴田凌 ボリューム単体のレスポンスを GoogleBooksJsonAdapters でストリーミング解析するよう変更
+ * 2026/10/18 鶴田凌 fields パラメータで必要な項目のみ要求するよう変更
+ * 2026/10/18 鶴田凌 ISBN の解決を IsbnVolumeIndex 経由とし、解決済みの ISBN は API を呼び出さないよう変更
+ * 2026/10/18 鶴田凌 メタデータの著者を先頭の1名のみでなく、すべて保存するよう変更
+ * 2026/10/18 鶴田凌 ボリュームごとに個別のリクエストを行う fetchBookName・fetchCoverImageUrl を削除（VolumeMetadataStore を使用）
  */
 public class VolumeIdProvider {
     private static final String BASE_URL = "https://www.googleapis.com/books/v1/volumes?q=isbn:";
-    private static final OkHttpClient client = new OkHttpClient();
 
     /**
      * 指定されたISBNまたは検索キーワードに基づき、Google Books APIから最初にヒットしたvolumeIdを取得する。
+     * 有効な ISBN の場合は IsbnVolumeIndex（初期化済みの場合）で解決し、解決済みであれば API を呼び出さない。
      *
      * @param isbn ISBNコードまたは検索キーワード
      * @return 見つかった最初の volumeId。該当なしまたはエラー時は空文字を返す。
      */
     public static String fetchVolumeId(String isbn) {
+        IsbnVolumeIndex index = IsbnVolumeIndex.getInitializedInstance();
+        if (index != null && IsbnVolumeIndex.toIsbn13(isbn) != null) {
+            return index.resolve(isbn);
+        }
         try {
-            Request req = new Request.Builder()
-                    .url(BASE_URL + isbn)
-                    .build();
-            Response res = client.newCall(req).execute();
-            if (!res.isSuccessful()) return "";
+            return requestVolumeId(isbn);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return "";
+    }
+
+    /**
+     * Google Books APIに問い合わせ、最初にヒットしたvolumeIdを取得する。
+     * 該当なしと通信エラーを区別するため、エラー時は例外を送出する。
+     *
+     * @param isbn ISBNコードまたは検索キーワード
+     * @return 見つかった最初の volumeId。該当なしの場合は空文字。
+     * @throws IOException   通信エラー、または成功以外のレスポンスの場合
+     * @throws JSONException レスポンスを解析できない場合
+     */
+    static String requestVolumeId(String isbn) throws IOException, JSONException {
+        HttpUrl url = GoogleBooksFields.apply(HttpUrl.parse(BASE_URL + isbn).newBuilder(),
+                GoogleBooksFields.VOLUME_ID).build();
+        Request req = new Request.Builder()
+                .url(url)
+                .build();
+        try (Response res = HttpClientProvider.get().newCall(req).execute()) {
+            if (!res.isSuccessful() || res.body() == null) {
+                throw new IOException("Unexpected response " + res.code());
+            }
             JSONObject root = new JSONObject(res.body().string());
             JSONArray items = root.optJSONArray("items");
             if (items != null && items.length() > 0) {
                 return items.getJSONObject(0).optString("id", "");
             }
-        } catch (Exception e) {
-            e.printStackTrace();
+            return "";
         }
-        return "";
     }
 
     /**
-     * 指定されたvolumeIdに基づき、Google Books APIから書籍名を取得する。
+     * 指定されたvolumeIdに基づき、Google Books APIから書籍のメタデータ一式
+     * （タイトル・著者・カバー画像URL・カテゴリ）を1回のリクエストで取得する。
      * @param volumeId 書籍のボリュームID
-     * @return 書籍名。取得できない場合は空文字。
+     * @return 取得したメタデータ。取得できない場合は null。
      */
-    public static String fetchBookName(String volumeId) {
-        String url = "https://www.googleapis.com/books/v1/volumes/" + volumeId;
-        try {
-            Request req = new Request.Builder().url(url).build();
-            Response res = client.newCall(req).execute();
-            if (!res.isSuccessful()) return "";
+    public static VolumeMetadataEntity fetchVolumeMetadata(String volumeId) {
+        Book book = fetchVolume(volumeId);
+        if (book == null) return null;
+        return new VolumeMetadataEntity(
+                volumeId,
+                book.getTitle() != null ? book.getTitle() : "",
+                authorsOf(book),
+                book.getThumbnailUrl() != null ? book.getThumbnailUrl() : "",
+                book.getCategories() != null ? book.getCategories() : Collections.emptyList(),
+                System.currentTimeMillis()
+        );
+    }
 
-            JSONObject root = new JSONObject(res.body().string());
-            JSONObject volumeInfo = root.optJSONObject("volumeInfo");
-            if (volumeInfo != null) {
-                return volumeInfo.optString("title", "");
-            }
-        } catch (Exception e) {
-            Log.e("VolumeIdProvider", "Error fetching book name for " + volumeId + ": " + e.getMessage());
+    /**
+     * 書籍の著者名のリストを取得する。authors がない場合は代表の著者名のみのリストとする。
+     * @param book 書籍情報
+     * @return 著者名のリスト（著者情報がない場合は空のリスト）
+     */
+    static List<String> authorsOf(Book book) {
+        if (book.getAuthors() != null) {
+            return book.getAuthors();
         }
-        return "";
+        return book.getAuthor() != null ? Collections.singletonList(book.getAuthor()) : Collections.emptyList();
     }
 
     /**
-     * 指定されたvolumeIdに基づき、Google Books APIから書籍のカバー画像URLを取得する。
+     * 指定されたvolumeIdの書籍情報をGoogle Books APIから取得し、レスポンスをストリーミングで解析する。
      * @param volumeId 書籍のボリュームID
-     * @return カバー画像のURL。取得できない場合は空文字。
+     * @return 書籍情報。取得できない場合は null。
      */
-    public static String fetchCoverImageUrl(String volumeId) {
-        String url = "https://www.googleapis.com/books/v1/volumes/" + volumeId;
+    private static Book fetchVolume(String volumeId) {
         try {
+            HttpUrl url = GoogleBooksFields.apply(
+                    HttpUrl.parse("https://www.googleapis.com/books/v1/volumes/" + volumeId).newBuilder(),
+                    GoogleBooksFields.VOLUME_METADATA).build();
             Request req = new Request.Builder().url(url).build();
-            Response res = client.newCall(req).execute();
-            if (!res.isSuccessful()) return "";
-
-            JSONObject root = new JSONObject(res.body().string());
-            JSONObject volumeInfo = root.optJSONObject("volumeInfo");
-            if (volumeInfo != null) {
-                JSONObject imageLinks = volumeInfo.optJSONObject("imageLinks");
-                if (imageLinks != null) {
-                    // thumbnail, smallThumbnail, medium, large, extraLargeなどがある
-                    return imageLinks.optString("thumbnail", "");
-                }
+            try (Response res = HttpClientProvider.get().newCall(req).execute()) {
+                if (!res.isSuccessful() || res.body() == null) return null;
+                return GoogleBooksJsonAdapters.readVolume(res.body(), false);
             }
         } catch (Exception e) {
-            Log.e("VolumeIdProvider", "Error fetching cover image URL for " + volumeId + ": " + e.getMessage());
+            Log.e("VolumeIdProvider", "Error fetching volume " + volumeId + ": " + e.getMessage());
         }
-        return "";
+        return null;
     }
 }
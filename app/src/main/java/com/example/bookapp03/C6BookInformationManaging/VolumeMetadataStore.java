@@ -0,0 +1,201 @@
+package com.example.bookapp03.C6BookInformationManaging;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.bookapp03.C6BookInformationManaging.database.BookInformationDatabase;
+import com.example.bookapp03.C6BookInformationManaging.database.VolumeMetadataDao;
+import com.example.bookapp03.C6BookInformationManaging.database.VolumeMetadataEntity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * モジュール名: 書籍メタデータストア
+ * 作成者: 鶴田凌
+ * 作成日: 2026/10/18
+ * 概要: 書籍メタデータをメモリ上の LRU → Room(volume_metadata) → Google Books API の順に解決するストア。
+ *       1冊につき TTL 内は1回だけ API を呼び出し、以降はローカルから応答する。
+ * 履歴:
+ * 2026/10/18 鶴田凌 新規作成
+ */
+public class VolumeMetadataStore {
+
+    private static final String TAG = "VolumeMetadataStore";
+
+    /** メモリキャッシュに保持する最大件数 */
+    private static final int DEFAULT_MEMORY_CAPACITY = 256;
+
+    /** メタデータの有効期間 */
+    private static final long DEFAULT_TTL_MS = TimeUnit.DAYS.toMillis(7);
+
+    private static volatile VolumeMetadataStore instance;
+
+    private final VolumeMetadataDao dao;
+    private final long ttlMs;
+    private final Map<String, VolumeMetadataEntity> memory;
+    /** 同一ボリュームの同時取得を1回にまとめるためのロック */
+    private final ConcurrentHashMap<String, Object> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * コンストラクタ
+     *
+     * @param dao            書籍メタデータ DAO
+     * @param memoryCapacity メモリキャッシュの最大件数
+     * @param ttlMs          メタデータの有効期間（ミリ秒）
+     */
+    VolumeMetadataStore(VolumeMetadataDao dao, int memoryCapacity, long ttlMs) {
+        this.dao = dao;
+        this.ttlMs = ttlMs;
+        this.memory = new LinkedHashMap<String, VolumeMetadataEntity>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VolumeMetadataEntity> eldest) {
+                return size() > memoryCapacity;
+            }
+        };
+    }
+
+    /**
+     * シングルトンでストアを取得する。
+     *
+     * @param context アプリケーションコンテキスト
+     * @return ストアのシングルトンインスタンス
+     */
+    public static VolumeMetadataStore getInstance(Context context) {
+        if (instance == null) {
+            synchronized (VolumeMetadataStore.class) {
+                if (instance == null) {
+                    VolumeMetadataDao dao = BookInformationDatabase.getDatabase(context).volumeMetadataDao();
+                    instance = new VolumeMetadataStore(dao, DEFAULT_MEMORY_CAPACITY, DEFAULT_TTL_MS);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 指定の書籍のメタデータを取得する。
+     * メモリ・ローカルDBに有効なデータがなければ API から取得して保存する。
+     * ネットワークアクセスを伴うため、バックグラウンドスレッドから呼び出すこと。
+     *
+     * @param volumeId 書籍ボリュームID
+     * @return メタデータ。取得できない場合は null
+     */
+    public VolumeMetadataEntity get(String volumeId) {
+        if (volumeId == null || volumeId.isEmpty()) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        VolumeMetadataEntity cached = memoryGet(volumeId);
+        if (cached != null && cached.isFresh(now, ttlMs)) {
+            return cached;
+        }
+        VolumeMetadataEntity stored = dao.get(volumeId);
+        if (stored != null) {
+            memoryPut(stored);
+            if (stored.isFresh(now, ttlMs)) {
+                return stored;
+            }
+        }
+        return fetchOnce(volumeId, stored != null ? stored : cached);
+    }
+
+    /**
+     * 複数の書籍のメタデータをまとめて取得する。
+     * ローカルDBへは1回のクエリで問い合わせ、不足分のみ API から取得する。
+     *
+     * @param volumeIds 書籍ボリュームIDのリスト
+     * @return ボリュームIDをキーとするメタデータのマップ（取得できなかったIDは含まない）
+     */
+    public Map<String, VolumeMetadataEntity> getAll(List<String> volumeIds) {
+        Map<String, VolumeMetadataEntity> result = new HashMap<>();
+        long now = System.currentTimeMillis();
+        List<String> misses = new ArrayList<>();
+        for (String volumeId : volumeIds) {
+            VolumeMetadataEntity cached = memoryGet(volumeId);
+            if (cached != null && cached.isFresh(now, ttlMs)) {
+                result.put(volumeId, cached);
+            } else if (!misses.contains(volumeId)) {
+                misses.add(volumeId);
+            }
+        }
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        Map<String, VolumeMetadataEntity> stale = new HashMap<>();
+        for (VolumeMetadataEntity stored : dao.getAll(misses)) {
+            memoryPut(stored);
+            if (stored.isFresh(now, ttlMs)) {
+                result.put(stored.volumeId, stored);
+            } else {
+                stale.put(stored.volumeId, stored);
+            }
+        }
+        for (String volumeId : misses) {
+            if (!result.containsKey(volumeId)) {
+                VolumeMetadataEntity fetched = fetchOnce(volumeId, stale.get(volumeId));
+                if (fetched != null) {
+                    result.put(volumeId, fetched);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 取得済みのメタデータをストアに登録する。
+     *
+     * @param entity 登録するメタデータ
+     */
+    public void put(VolumeMetadataEntity entity) {
+        if (entity == null) {
+            return;
+        }
+        dao.upsert(entity);
+        memoryPut(entity);
+    }
+
+    /**
+     * API からメタデータを取得して保存する。同一IDの同時呼び出しは1回の取得にまとめる。
+     * 取得に失敗した場合は期限切れのデータ（あれば）を返す。
+     *
+     * @param volumeId 書籍ボリュームID
+     * @param fallback 取得失敗時に返す期限切れデータ（null可）
+     * @return 取得したメタデータ、または fallback
+     */
+    private VolumeMetadataEntity fetchOnce(String volumeId, VolumeMetadataEntity fallback) {
+        Object lock = inFlight.computeIfAbsent(volumeId, k -> new Object());
+        try {
+            synchronized (lock) {
+                // 先行した同一IDの取得が完了していればその結果を使う
+                VolumeMetadataEntity cached = memoryGet(volumeId);
+                if (cached != null && cached.isFresh(System.currentTimeMillis(), ttlMs)) {
+                    return cached;
+                }
+                VolumeMetadataEntity fetched = VolumeIdProvider.fetchVolumeMetadata(volumeId);
+                if (fetched == null) {
+                    Log.w(TAG, "Metadata fetch failed for " + volumeId + ", using stale entry: " + (fallback != null));
+                    return fallback;
+                }
+                put(fetched);
+                return fetched;
+            }
+        } finally {
+            inFlight.remove(volumeId, lock);
+        }
+    }
+
+    private synchronized VolumeMetadataEntity memoryGet(String volumeId) {
+        return memory.get(volumeId);
+    }
+
+    private synchronized void memoryPut(VolumeMetadataEntity entity) {
+        memory.put(entity.volumeId, entity);
+    }
+}
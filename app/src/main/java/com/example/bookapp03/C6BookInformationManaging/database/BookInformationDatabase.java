@@ -2,9 +2,15 @@ package com.example.bookapp03.C6BookInformationManaging.database;
 
 import android.content.Context;
 
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.room.TypeConverters;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.example.bookapp03.C6BookInformationManaging.AppExecutors;
 
 /**
  * モジュール名: 書籍情報データベース
@@ -13,19 +19,88 @@ import androidx.room.RoomDatabase;
  * 概要: Room を用いてハイライトメモ(HighlightMemoEntity)と全体まとめ(SummaryEntity)のテーブルを管理するデータベース
  * 履歴:
  * 2025/06/15 鶴田凌 新規作成
+ * 2026/10/18 鶴田凌 書籍メタデータ(VolumeMetadataEntity)テーブルを追加 (version 2)
+ * 2026/10/18 鶴田凌 summary に書籍タイトル・著者・表紙URLを追加しスキーマを出力 (version 3)
+ * 2026/10/18 鶴田凌 ISBN→ボリュームIDの解決結果(IsbnVolumeEntity)テーブルを追加 (version 4)
+ * 2026/10/18 鶴田凌 highlight_memo に複合インデックスと登録日時を追加 (version 5)
+ * 2026/10/18 鶴田凌 クエリとトランザクションをアプリ共通のデータベース用プールで実行するよう変更
  */
 @Database(
         entities = {
                 HighlightMemoEntity.class,
-                SummaryEntity.class
+                SummaryEntity.class,
+                VolumeMetadataEntity.class,
+                IsbnVolumeEntity.class
         },
-        version = 1,
-        exportSchema = false
+        version = 5,
+        exportSchema = true
 )
+@TypeConverters(StringListConverter.class)
 public abstract class BookInformationDatabase extends RoomDatabase {
     private static final String DB_NAME = "bookapp03.db";
     private static volatile BookInformationDatabase instance;
 
+    /**
+     * version 1 → 2: 書籍メタデータのキャッシュテーブルを追加する。
+     */
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `volume_metadata` ("
+                    + "`volumeId` TEXT NOT NULL, "
+                    + "`title` TEXT, "
+                    + "`authors` TEXT, "
+                    + "`coverImageUrl` TEXT, "
+                    + "`categories` TEXT, "
+                    + "`fetchedAt` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`volumeId`))");
+        }
+    };
+
+    /**
+     * version 2 → 3: summary に書籍情報カラムを追加し、
+     * 取得済みの書籍メタデータからタイトル・表紙URLを引き継ぐ。
+     */
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `summary` ADD COLUMN `title` TEXT");
+            db.execSQL("ALTER TABLE `summary` ADD COLUMN `author` TEXT");
+            db.execSQL("ALTER TABLE `summary` ADD COLUMN `coverImageUrl` TEXT");
+            db.execSQL("UPDATE `summary` SET "
+                    + "`title` = (SELECT m.`title` FROM `volume_metadata` m WHERE m.`volumeId` = `summary`.`volumeId`), "
+                    + "`coverImageUrl` = (SELECT m.`coverImageUrl` FROM `volume_metadata` m WHERE m.`volumeId` = `summary`.`volumeId`)");
+        }
+    };
+
+    /**
+     * version 3 → 4: ISBN からボリュームIDへの解決結果のテーブルを追加する。
+     */
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `isbn_volume_index` ("
+                    + "`isbn13` TEXT NOT NULL, "
+                    + "`volumeId` TEXT, "
+                    + "`resolvedAt` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`isbn13`))");
+        }
+    };
+
+    /**
+     * version 4 → 5: highlight_memo に登録日時を追加し、ユーザ／書籍ごとにページ・行の順で
+     * 読み込めるよう (uid, volumeId, page, line) の複合インデックスを作成する。
+     * 既存のメモの登録日時は不明のため 0 とする。
+     */
+    static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `highlight_memo` ADD COLUMN `createdAt` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_highlight_memo_uid_volumeId_page_line` "
+                    + "ON `highlight_memo` (`uid`, `volumeId`, `page`, `line`)");
+        }
+    };
+
     /**
      * ハイライトメモ用 DAO を取得する。
      *
@@ -40,6 +115,20 @@ public abstract class BookInformationDatabase extends RoomDatabase {
      */
     public abstract SummaryDao summaryDao();
 
+    /**
+     * 書籍メタデータ用 DAO を取得する。
+     *
+     * @return VolumeMetadataDao の実装
+     */
+    public abstract VolumeMetadataDao volumeMetadataDao();
+
+    /**
+     * ISBN解決結果用 DAO を取得する。
+     *
+     * @return IsbnVolumeDao の実装
+     */
+    public abstract IsbnVolumeDao isbnVolumeDao();
+
     /**
      * シングルトンでデータベースインスタンスを取得する。
      *
@@ -54,7 +143,11 @@ public abstract class BookInformationDatabase extends RoomDatabase {
                             ctx.getApplicationContext(),
                             BookInformationDatabase.class,
                             DB_NAME
-                    ).build();
+                    ).addMigrations(MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5)
+                            // LiveData の再検索などを Room 独自のプールではなく共通のプールで実行する
+                            .setQueryExecutor(AppExecutors.getInstance().db())
+                            .setTransactionExecutor(AppExecutors.getInstance().db())
+                            .build();
                 }
             }
         }
@@ -1,10 +1,13 @@
 package com.example.bookapp03.C6BookInformationManaging.database;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.Query;
 
+import com.example.bookapp03.C1UIProcessing.HighlightMemoData;
+
 import java.util.List;
 
 /**
@@ -14,20 +17,100 @@ import java.util.List;
  * 概要: ハイライトメモ（HighlightMemoEntity）の取得・挿入・削除を行う DAO
  * 履歴:
  * 2025/06/15 鶴田凌 新規作成
+ * 2026/10/18 鶴田凌 ページ・行の順での取得と、HighlightMemoData へのページ単位の取得を追加
+ * 2026/10/18 鶴田凌 変更を監視できる LiveData の取得クエリを追加
+ * 2026/10/18 鶴田凌 複数のハイライトメモを1回のトランザクションで挿入するメソッドを追加
  */
 @Dao
 public interface HighlightMemoDao {
 
     /**
-     * 指定のユーザ／書籍のハイライトメモをリストで取得する。
+     * 指定のユーザ／書籍のハイライトメモをページ・行・登録順にリストで取得する。
      *
      * @param uid      ユーザ UID
      * @param volumeId 書籍ボリュームID
      * @return HighlightMemoEntity のリスト
      */
-    @Query("SELECT * FROM highlight_memo WHERE uid=:uid AND volumeId=:volumeId")
+    @Query("SELECT * FROM highlight_memo WHERE uid=:uid AND volumeId=:volumeId "
+            + "ORDER BY page, line, id")
     List<HighlightMemoEntity> getByUserAndVolume(String uid, String volumeId);
 
+    /**
+     * 指定のユーザ／書籍のハイライトメモを、ページ・行・登録順に先頭から最大 limit 件取得する。
+     * (uid, volumeId, page, line) のインデックスは末尾に id を含むため、並べ替えなしで読み込まれる。
+     *
+     * @param uid      ユーザ UID
+     * @param volumeId 書籍ボリュームID
+     * @param limit    取得する最大件数
+     * @return HighlightMemoData のリスト
+     */
+    @Query("SELECT id, page, line, memo FROM highlight_memo "
+            + "WHERE uid=:uid AND volumeId=:volumeId "
+            + "ORDER BY page, line, id LIMIT :limit")
+    List<HighlightMemoData> getFirstPage(String uid, String volumeId, int limit);
+
+    /**
+     * 指定のユーザ／書籍のハイライトメモを、ページ・行・登録順に監視する。
+     * highlight_memo の登録・削除のたびに Room が再検索し、最新のリストを通知する。
+     *
+     * @param uid      ユーザ UID
+     * @param volumeId 書籍ボリュームID
+     * @return HighlightMemoData のリストの LiveData
+     */
+    @Query("SELECT id, page, line, memo FROM highlight_memo "
+            + "WHERE uid=:uid AND volumeId=:volumeId "
+            + "ORDER BY page, line, id")
+    LiveData<List<HighlightMemoData>> observeByUserAndVolume(String uid, String volumeId);
+
+    /**
+     * 指定のユーザ／書籍のハイライトメモの先頭 limit 件を、ページ・行・登録順に監視する。
+     * 2ページ目以降は getPage で前のページの最後のメモに続けて取得する。
+     *
+     * @param uid      ユーザ UID
+     * @param volumeId 書籍ボリュームID
+     * @param limit    取得する最大件数
+     * @return HighlightMemoData のリストの LiveData
+     */
+    @Query("SELECT id, page, line, memo FROM highlight_memo "
+            + "WHERE uid=:uid AND volumeId=:volumeId "
+            + "ORDER BY page, line, id LIMIT :limit")
+    LiveData<List<HighlightMemoData>> observeFirstPage(String uid, String volumeId, int limit);
+
+    /**
+     * 指定のメモ (afterPage, afterLine, afterId) より後のハイライトメモを、ページ・行・登録順に最大 limit 件取得する。
+     * OFFSET を使わず前のページの最後のメモを開始位置とするため、後ろのページでも読み飛ばしが発生しない。
+     *
+     * @param uid       ユーザ UID
+     * @param volumeId  書籍ボリュームID
+     * @param afterPage 前のページの最後のメモのページ番号
+     * @param afterLine 前のページの最後のメモの行番号
+     * @param afterId   前のページの最後のメモのレコードID
+     * @param limit     取得する最大件数
+     * @return HighlightMemoData のリスト
+     */
+    @Query("SELECT id, page, line, memo FROM highlight_memo "
+            + "WHERE uid=:uid AND volumeId=:volumeId AND page >= :afterPage "
+            + "AND (page > :afterPage OR line > :afterLine OR (line = :afterLine AND id > :afterId)) "
+            + "ORDER BY page, line, id LIMIT :limit")
+    List<HighlightMemoData> getPageAfter(String uid, String volumeId,
+                                         int afterPage, int afterLine, long afterId, int limit);
+
+    /**
+     * 前のページの最後のメモに続くハイライトメモを最大 limit 件取得する。
+     *
+     * @param uid      ユーザ UID
+     * @param volumeId 書籍ボリュームID
+     * @param last     前のページの最後のメモ（先頭ページを取得する場合は null）
+     * @param limit    取得する最大件数
+     * @return HighlightMemoData のリスト
+     */
+    default List<HighlightMemoData> getPage(String uid, String volumeId, HighlightMemoData last, int limit) {
+        if (last == null) {
+            return getFirstPage(uid, volumeId, limit);
+        }
+        return getPageAfter(uid, volumeId, last.getPage(), last.getLine(), last.getId(), limit);
+    }
+
     /**
      * ハイライトメモを挿入する。
      *
@@ -37,6 +120,15 @@ public interface HighlightMemoDao {
     @Insert
     long insert(HighlightMemoEntity entity);
 
+    /**
+     * 複数のハイライトメモを1回のトランザクションで挿入する。
+     *
+     * @param entities 挿入対象の HighlightMemoEntity のリスト
+     * @return 挿入した行 ID のリスト（entities と同じ順序）
+     */
+    @Insert
+    List<Long> insertAll(List<HighlightMemoEntity> entities);
+
     /**
      * ハイライトメモを削除する。
      *
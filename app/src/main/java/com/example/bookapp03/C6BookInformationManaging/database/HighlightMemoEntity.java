@@ -1,7 +1,9 @@
 package com.example.bookapp03.C6BookInformationManaging.database;
 
 import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 /**
@@ -11,8 +13,12 @@ import androidx.room.PrimaryKey;
  * 概要: ユーザ／書籍ごとのハイライトメモ（ページ・行・メモ）を表す Room のエンティティ
  * 履歴:
  * 2025/06/15 鶴田凌 新規作成
+ * 2026/10/18 鶴田凌 (uid, volumeId, page, line) の複合インデックスと登録日時を追加
  */
-@Entity(tableName = "highlight_memo")
+@Entity(
+        tableName = "highlight_memo",
+        indices = {@Index(value = {"uid", "volumeId", "page", "line"})}
+)
 public class HighlightMemoEntity {
 
     /** レコード識別用の自動採番 ID */
@@ -36,6 +42,10 @@ public class HighlightMemoEntity {
     /** ハイライトメモの文字列 */
     public String memo;
 
+    /** 登録日時（エポックミリ秒）。version 5 より前に登録されたメモは 0 */
+    @ColumnInfo(defaultValue = "0")
+    public long createdAt;
+
     /**
      * Room 用引数付きコンストラクタ
      *
@@ -55,5 +65,6 @@ public class HighlightMemoEntity {
         this.page = page;
         this.line = line;
         this.memo = memo;
+        this.createdAt = System.currentTimeMillis();
     }
 }
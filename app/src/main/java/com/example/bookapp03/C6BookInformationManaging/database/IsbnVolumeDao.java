@@ -0,0 +1,36 @@
+package com.example.bookapp03.C6BookInformationManaging.database;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+/**
+ * モジュール名: ISBN解決結果 DAO
+ * 作成者: 鶴田凌
+ * 作成日: 2026/10/18
+ * 概要: ISBN からボリュームIDへの解決結果（IsbnVolumeEntity）の取得・登録・削除を行う DAO
+ * 履歴:
+ * 2026/10/18 鶴田凌 新規作成
+ */
+@Dao
+public interface IsbnVolumeDao {
+
+    /**
+     * 指定の ISBN の解決結果を取得する。
+     *
+     * @param isbn13 ISBN-13 に正規化した ISBN
+     * @return IsbnVolumeEntity（未登録なら null）
+     */
+    @Query("SELECT * FROM isbn_volume_index WHERE isbn13 = :isbn13")
+    IsbnVolumeEntity get(String isbn13);
+
+    /**
+     * 解決結果を挿入または置き換える（onConflict = REPLACE）。
+     *
+     * @param entity 挿入対象の IsbnVolumeEntity
+     * @return 挿入後の行 ID
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    long upsert(IsbnVolumeEntity entity);
+}
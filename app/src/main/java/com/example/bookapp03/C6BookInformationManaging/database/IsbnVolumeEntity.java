@@ -0,0 +1,74 @@
+package com.example.bookapp03.C6BookInformationManaging.database;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.PrimaryKey;
+
+/**
+ * モジュール名: ISBN解決結果エンティティ
+ * 作成者: 鶴田凌
+ * 作成日: 2026/10/18
+ * 概要: ISBN（ISBN-13 に正規化）から Google Books のボリュームIDへの解決結果を保持する Room のエンティティ。
+ *       該当する書籍がなかった結果（否定結果）も volumeId = null として保持する
+ * 履歴:
+ * 2026/10/18 鶴田凌 新規作成
+ */
+@Entity(tableName = "isbn_volume_index")
+public class IsbnVolumeEntity {
+
+    /** ISBN-13 に正規化した ISBN */
+    @PrimaryKey
+    @NonNull
+    public String isbn13;
+
+    /** 解決したボリュームID（該当なしの場合は null） */
+    @Nullable
+    public String volumeId;
+
+    /** 解決した時刻（エポックミリ秒）。TTL 判定に使用する */
+    public long resolvedAt;
+
+    /**
+     * Room 用デフォルトコンストラクタ
+     */
+    public IsbnVolumeEntity() {
+        // Room が使用
+    }
+
+    /**
+     * アプリケーション用コンストラクタ
+     *
+     * @param isbn13     ISBN-13 に正規化した ISBN
+     * @param volumeId   ボリュームID（該当なしの場合は null）
+     * @param resolvedAt 解決時刻（エポックミリ秒）
+     */
+    @Ignore
+    public IsbnVolumeEntity(@NonNull String isbn13, @Nullable String volumeId, long resolvedAt) {
+        this.isbn13 = isbn13;
+        this.volumeId = volumeId;
+        this.resolvedAt = resolvedAt;
+    }
+
+    /**
+     * 該当する書籍が見つかった結果かどうかを判定する。
+     *
+     * @return ボリュームIDがあれば true
+     */
+    public boolean isFound() {
+        return volumeId != null && !volumeId.isEmpty();
+    }
+
+    /**
+     * 指定時刻において TTL 内（有効）かどうかを判定する。否定結果には短い TTL を適用する。
+     *
+     * @param now           現在時刻（エポックミリ秒）
+     * @param foundTtlMs    見つかった結果の有効期間（ミリ秒）
+     * @param notFoundTtlMs 該当なしの結果の有効期間（ミリ秒）
+     * @return 有効期間内なら true
+     */
+    public boolean isFresh(long now, long foundTtlMs, long notFoundTtlMs) {
+        return now - resolvedAt < (isFound() ? foundTtlMs : notFoundTtlMs);
+    }
+}
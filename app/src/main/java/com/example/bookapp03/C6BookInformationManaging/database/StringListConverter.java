@@ -0,0 +1,45 @@
+package com.example.bookapp03.C6BookInformationManaging.database;
+
+import androidx.room.TypeConverter;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * モジュール名: 文字列リスト変換
+ * 作成者: 鶴田凌
+ * 作成日: 2026/10/18
+ * 概要: List&lt;String&gt; を JSON 配列文字列として Room のカラムに保存するための TypeConverter
+ * 履歴:
+ * 2026/10/18 鶴田凌 新規作成
+ */
+public class StringListConverter {
+
+    private static final Gson GSON = new Gson();
+    private static final Type LIST_TYPE = new TypeToken<List<String>>() {}.getType();
+
+    /**
+     * JSON 配列文字列をリストに変換する。
+     *
+     * @param json カラムに保存された JSON 文字列
+     * @return 文字列リスト（null の場合は null）
+     */
+    @TypeConverter
+    public static List<String> fromJson(String json) {
+        return json == null ? null : GSON.fromJson(json, LIST_TYPE);
+    }
+
+    /**
+     * リストを JSON 配列文字列に変換する。
+     *
+     * @param list 文字列リスト
+     * @return JSON 文字列（null の場合は null）
+     */
+    @TypeConverter
+    public static String toJson(List<String> list) {
+        return list == null ? null : GSON.toJson(list, LIST_TYPE);
+    }
+}
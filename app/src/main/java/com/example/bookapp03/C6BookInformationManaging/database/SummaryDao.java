@@ -1,5 +1,6 @@
 package com.example.bookapp03.C6BookInformationManaging.database;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.Query;
@@ -13,6 +14,9 @@ import java.util.List; // この行が抜けている可能性があるので確
  * 概要: 全体まとめ（SummaryEntity）の取得・登録・更新・削除を行う DAO
  * 履歴:
  * 2025/06/15 鶴田凌 新規作成
+ * 2026/10/18 鶴田凌 書籍情報（タイトル・著者・表紙URL）の更新クエリを追加
+ * 2026/10/18 鶴田凌 ボリュームIDの一覧を指定した取得クエリを追加
+ * 2026/10/18 鶴田凌 変更を監視できる LiveData の取得クエリを追加
  */
 @Dao
 public interface SummaryDao {
@@ -27,6 +31,17 @@ public interface SummaryDao {
     @Query("SELECT * FROM summary WHERE uid=:uid AND volumeId=:volumeId")
     SummaryEntity getSummary(String uid, String volumeId);
 
+    /**
+     * 指定のユーザ／書籍の全体まとめ情報を監視する。
+     * summary の登録・更新・削除のたびに Room が再検索し、最新の内容を通知する。
+     *
+     * @param uid      ユーザ UID
+     * @param volumeId 書籍ボリュームID
+     * @return SummaryEntity の LiveData（未登録なら null が通知される）
+     */
+    @Query("SELECT * FROM summary WHERE uid=:uid AND volumeId=:volumeId")
+    LiveData<SummaryEntity> observeSummary(String uid, String volumeId);
+
     /**
      * 全体まとめ情報を挿入または置き換える（onConflict = REPLACE）。
      *
@@ -54,6 +69,31 @@ public interface SummaryDao {
     @Query("SELECT * FROM summary WHERE uid = :uid")
     List<SummaryEntity> getAllSummariesByUser(String uid); // ★この行を追加/確認★
 
+    /**
+     * 指定のユーザーの、指定した書籍群の全体まとめ情報を取得する。
+     *
+     * @param uid       ユーザー UID
+     * @param volumeIds 書籍ボリュームIDのリスト
+     * @return SummaryEntity のリスト
+     */
+    @Query("SELECT * FROM summary WHERE uid = :uid AND volumeId IN (:volumeIds)")
+    List<SummaryEntity> getSummariesByVolumeIds(String uid, List<String> volumeIds);
+
+    /**
+     * 指定のユーザ／書籍の書籍情報（タイトル・著者・表紙URL）のみを更新する。
+     * 要約テキストと公開フラグは変更しない。
+     *
+     * @param uid           ユーザ UID
+     * @param volumeId      書籍ボリュームID
+     * @param title         書籍タイトル
+     * @param author        著者名
+     * @param coverImageUrl 表紙画像 URL
+     * @return 更新した行数
+     */
+    @Query("UPDATE summary SET title = :title, author = :author, coverImageUrl = :coverImageUrl "
+            + "WHERE uid = :uid AND volumeId = :volumeId")
+    int updateBookInfo(String uid, String volumeId, String title, String author, String coverImageUrl);
+
     /**
      * 指定のユーザ／書籍の全体まとめ情報を削除する。
      *
@@ -12,6 +12,8 @@ import androidx.room.Ignore;
  * 概要: ユーザ／書籍ごとの全体まとめ（要約）を表す Room のエンティティ
  * 履歴:
  * 2025/06/15 鶴田凌 新規作成
+ * 2026/10/18 鶴田凌 一覧表示用に書籍タイトル・著者・表紙URLを保持するカラムを追加
+ * 2026/10/18 鶴田凌 書籍情報の保存済み判定をタイトルのみで行うよう変更（表紙のない書籍を毎回補完しないため）
  */
 @Entity(tableName = "summary", primaryKeys = {"uid", "volumeId"})
 public class SummaryEntity {
@@ -31,6 +33,18 @@ public class SummaryEntity {
     /** 要約の公開フラグ */
     public boolean isPublic;
 
+    /** 登録時点の書籍タイトル。未取得時は null */
+    @Nullable
+    public String title;
+
+    /** 登録時点の著者名。未取得時は null */
+    @Nullable
+    public String author;
+
+    /** 登録時点の表紙画像 URL。未取得時は null */
+    @Nullable
+    public String coverImageUrl;
+
     /**
      * Room 用デフォルトコンストラクタ
      */
@@ -55,4 +69,38 @@ public class SummaryEntity {
         this.overallSummary = overallSummary;
         this.isPublic = isPublic;
     }
+
+    /**
+     * 書籍情報付きのアプリケーション用コンストラクタ
+     *
+     * @param uid            ユーザ UID
+     * @param volumeId       書籍ボリュームID
+     * @param overallSummary 要約テキスト
+     * @param isPublic       公開フラグ
+     * @param title          書籍タイトル
+     * @param author         著者名
+     * @param coverImageUrl  表紙画像 URL
+     */
+    @Ignore
+    public SummaryEntity(@NonNull String uid, @NonNull String volumeId,
+                         @Nullable String overallSummary,
+                         boolean isPublic,
+                         @Nullable String title,
+                         @Nullable String author,
+                         @Nullable String coverImageUrl) {
+        this(uid, volumeId, overallSummary, isPublic);
+        this.title = title;
+        this.author = author;
+        this.coverImageUrl = coverImageUrl;
+    }
+
+    /**
+     * 一覧表示に必要な書籍情報を保持しているかを判定する。
+     * 表紙のない書籍もあるため、タイトルが設定済みであれば補完済みとみなす。
+     *
+     * @return タイトルが設定済みなら true
+     */
+    public boolean hasBookInfo() {
+        return title != null && !title.isEmpty();
+    }
 }
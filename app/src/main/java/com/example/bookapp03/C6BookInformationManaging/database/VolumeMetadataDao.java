@@ -0,0 +1,56 @@
+package com.example.bookapp03.C6BookInformationManaging.database;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+/**
+ * モジュール名: 書籍メタデータ DAO
+ * 作成者: 鶴田凌
+ * 作成日: 2026/10/18
+ * 概要: 書籍メタデータ（VolumeMetadataEntity）の取得・登録・削除を行う DAO
+ * 履歴:
+ * 2026/10/18 鶴田凌 新規作成
+ */
+@Dao
+public interface VolumeMetadataDao {
+
+    /**
+     * 指定の書籍のメタデータを取得する。
+     *
+     * @param volumeId 書籍ボリュームID
+     * @return VolumeMetadataEntity（未登録なら null）
+     */
+    @Query("SELECT * FROM volume_metadata WHERE volumeId = :volumeId")
+    VolumeMetadataEntity get(String volumeId);
+
+    /**
+     * 複数の書籍のメタデータを一括で取得する。
+     *
+     * @param volumeIds 書籍ボリュームIDのリスト
+     * @return 登録済みの VolumeMetadataEntity のリスト
+     */
+    @Query("SELECT * FROM volume_metadata WHERE volumeId IN (:volumeIds)")
+    List<VolumeMetadataEntity> getAll(List<String> volumeIds);
+
+    /**
+     * メタデータを挿入または置き換える（onConflict = REPLACE）。
+     *
+     * @param entity 挿入対象の VolumeMetadataEntity
+     * @return 挿入後の行 ID
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    long upsert(VolumeMetadataEntity entity);
+
+    /**
+     * 指定時刻より前に取得したメタデータを削除する。
+     *
+     * @param threshold 基準時刻（エポックミリ秒）
+     * @return 削除した行数
+     */
+    @Query("DELETE FROM volume_metadata WHERE fetchedAt < :threshold")
+    int deleteOlderThan(long threshold);
+}
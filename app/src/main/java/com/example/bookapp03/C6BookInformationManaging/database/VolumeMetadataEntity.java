@@ -0,0 +1,89 @@
+package com.example.bookapp03.C6BookInformationManaging.database;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.PrimaryKey;
+
+import java.util.List;
+
+/**
+ * モジュール名: 書籍メタデータエンティティ
+ * 作成者: 鶴田凌
+ * 作成日: 2026/10/18
+ * 概要: Google Books API から取得した書籍のメタデータ（タイトル・著者・表紙・カテゴリ）を
+ *       ボリュームID単位でキャッシュする Room のエンティティ
+ * 履歴:
+ * 2026/10/18 鶴田凌 新規作成
+ */
+@Entity(tableName = "volume_metadata")
+public class VolumeMetadataEntity {
+
+    /** Google Books API で取得した書籍のボリュームID */
+    @PrimaryKey
+    @NonNull
+    public String volumeId;
+
+    /** 書籍タイトル */
+    @Nullable
+    public String title;
+
+    /** 著者名のリスト */
+    @Nullable
+    public List<String> authors;
+
+    /** 表紙画像（thumbnail）の URL */
+    @Nullable
+    public String coverImageUrl;
+
+    /** カテゴリ（ジャンル）のリスト */
+    @Nullable
+    public List<String> categories;
+
+    /** API から取得した時刻（エポックミリ秒）。TTL 判定に使用する */
+    public long fetchedAt;
+
+    /**
+     * Room 用デフォルトコンストラクタ
+     */
+    public VolumeMetadataEntity() {
+        // Room が使用
+    }
+
+    /**
+     * アプリケーション用コンストラクタ
+     *
+     * @param volumeId      書籍ボリュームID
+     * @param title         書籍タイトル
+     * @param authors       著者名のリスト
+     * @param coverImageUrl 表紙画像 URL
+     * @param categories    カテゴリのリスト
+     * @param fetchedAt     取得時刻（エポックミリ秒）
+     */
+    @Ignore
+    public VolumeMetadataEntity(@NonNull String volumeId,
+                                @Nullable String title,
+                                @Nullable List<String> authors,
+                                @Nullable String coverImageUrl,
+                                @Nullable List<String> categories,
+                                long fetchedAt) {
+        this.volumeId = volumeId;
+        this.title = title;
+        this.authors = authors;
+        this.coverImageUrl = coverImageUrl;
+        this.categories = categories;
+        this.fetchedAt = fetchedAt;
+    }
+
+    /**
+     * 指定時刻において TTL 内（有効）かどうかを判定する。
+     *
+     * @param now   現在時刻（エポックミリ秒）
+     * @param ttlMs 有効期間（ミリ秒）
+     * @return 有効期間内なら true
+     */
+    public boolean isFresh(long now, long ttlMs) {
+        return now - fetchedAt < ttlMs;
+    }
+}
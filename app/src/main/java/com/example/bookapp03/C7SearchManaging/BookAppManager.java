@@ -6,6 +6,11 @@
  * 。
  * 履歴:
  * 2025/06/15 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 検索候補の取得を取り消し可能に変更
+ * 2026/10/18 三浦寛生 話題の本の途中結果を通知するよう変更
+ * 2026/10/18 三浦寛生 話題の本を端末内のスナップショットから表示し、期限切れの場合のみ再取得するよう変更
+ * 2026/10/18 三浦寛生 おすすめ候補のキャッシュを FirestoreBookService に渡すコンストラクタを追加
+ * 2026/10/18 三浦寛生 生成済みのサービスを受け取るコンストラクタを追加（AppServices からプロセス共通で生成するため）
  */
 package com.example.bookapp03.C7SearchManaging;
 
@@ -13,7 +18,9 @@ import android.util.Log;
 
 import com.example.bookapp03.C4SearchProcessing.Book;
 import com.example.bookapp03.C6BookInformationManaging.FirestoreBookService;
+import com.example.bookapp03.C6BookInformationManaging.HotBooksSnapshotStore;
 import com.example.bookapp03.C6BookInformationManaging.RakutenBooksApiService;
+import com.example.bookapp03.C6BookInformationManaging.RecommendationFeedCache;
 import com.example.bookapp03.C5UserInformationManaging.UserGenreService;
 import com.google.gson.Gson;
 
@@ -28,6 +35,8 @@ public class BookAppManager {
     private final RakutenBooksApiService rakutenBooksApiService;
     private final FirestoreBookService firestoreBookService;
     private final UserGenreService userGenreService;
+    /** 話題の本のスナップショット（null の場合は毎回取得する） */
+    private final HotBooksSnapshotStore hotBooksSnapshotStore;
 
     public interface SuggestionsCallback {
         void onSuggestionsReceived(List<String> suggestions);
@@ -44,6 +53,13 @@ public class BookAppManager {
     public interface HotBooksCallback {
         void onHotBooksReceived(List<Book> hotBooks);
 
+        /**
+         * 補完が完了した書籍から順に、ランキング順の途中結果を受け取ります。
+         *
+         * @param hotBooks 補完が完了した書籍のリスト
+         */
+        void onHotBooksPartiallyReceived(List<Book> hotBooks);
+
         void onFailure(String errorMessage);
     }
 
@@ -71,10 +87,62 @@ public class BookAppManager {
      */
     public BookAppManager(OkHttpClient httpClient, Gson gson,
                           String rakutenApplicationId, String googleBooksApiKeyForRakutenSecondarySearch) {
-        this.googleBooksApiService = new GoogleBooksApiService();
-        this.rakutenBooksApiService = new RakutenBooksApiService(httpClient, gson, rakutenApplicationId, googleBooksApiKeyForRakutenSecondarySearch);
-        this.firestoreBookService = new FirestoreBookService(httpClient, gson, googleBooksApiKeyForRakutenSecondarySearch);
-        this.userGenreService = new UserGenreService();
+        this(httpClient, gson, rakutenApplicationId, googleBooksApiKeyForRakutenSecondarySearch, null);
+    }
+
+    /**
+     * 話題の本のスナップショットを使用するBookAppManagerのコンストラクタ。
+     *
+     * @param httpClient                                 共有のOkHttpClientインスタンス
+     * @param gson                                       共有のGsonインスタンス
+     * @param rakutenApplicationId                       楽天APIのアプリケーションID
+     * @param googleBooksApiKeyForRakutenSecondarySearch 楽天サービス内のGoogle Books API二次検索用キー
+     * @param hotBooksSnapshotStore                      話題の本のスナップショット（null の場合は使用しない）
+     */
+    public BookAppManager(OkHttpClient httpClient, Gson gson,
+                          String rakutenApplicationId, String googleBooksApiKeyForRakutenSecondarySearch,
+                          HotBooksSnapshotStore hotBooksSnapshotStore) {
+        this(httpClient, gson, rakutenApplicationId, googleBooksApiKeyForRakutenSecondarySearch, hotBooksSnapshotStore, null);
+    }
+
+    /**
+     * 話題の本のスナップショットとおすすめ候補のキャッシュを使用するBookAppManagerのコンストラクタ。
+     *
+     * @param httpClient                                 共有のOkHttpClientインスタンス
+     * @param gson                                       共有のGsonインスタンス
+     * @param rakutenApplicationId                       楽天APIのアプリケーションID
+     * @param googleBooksApiKeyForRakutenSecondarySearch 楽天サービス内のGoogle Books API二次検索用キー
+     * @param hotBooksSnapshotStore                      話題の本のスナップショット（null の場合は使用しない）
+     * @param recommendationFeedCache                    おすすめ候補のキャッシュ（null の場合は使用しない）
+     */
+    public BookAppManager(OkHttpClient httpClient, Gson gson,
+                          String rakutenApplicationId, String googleBooksApiKeyForRakutenSecondarySearch,
+                          HotBooksSnapshotStore hotBooksSnapshotStore, RecommendationFeedCache recommendationFeedCache) {
+        this(new GoogleBooksApiService(httpClient),
+                new RakutenBooksApiService(httpClient, gson, rakutenApplicationId, googleBooksApiKeyForRakutenSecondarySearch),
+                new FirestoreBookService(httpClient, gson, googleBooksApiKeyForRakutenSecondarySearch, recommendationFeedCache),
+                new UserGenreService(),
+                hotBooksSnapshotStore);
+    }
+
+    /**
+     * 生成済みのサービスを使用するBookAppManagerのコンストラクタ。
+     * アプリ共通のサービス（AppServices）から1つだけ生成する場合に使用します。
+     *
+     * @param googleBooksApiService  Google Books APIサービス
+     * @param rakutenBooksApiService 楽天ランキングAPIサービス
+     * @param firestoreBookService   Firestoreの書籍サービス
+     * @param userGenreService       ユーザーの好きなジャンルのサービス
+     * @param hotBooksSnapshotStore  話題の本のスナップショット（null の場合は使用しない）
+     */
+    public BookAppManager(GoogleBooksApiService googleBooksApiService, RakutenBooksApiService rakutenBooksApiService,
+                          FirestoreBookService firestoreBookService, UserGenreService userGenreService,
+                          HotBooksSnapshotStore hotBooksSnapshotStore) {
+        this.hotBooksSnapshotStore = hotBooksSnapshotStore;
+        this.googleBooksApiService = googleBooksApiService;
+        this.rakutenBooksApiService = rakutenBooksApiService;
+        this.firestoreBookService = firestoreBookService;
+        this.userGenreService = userGenreService;
         Log.d(TAG, "BookAppManager initialized.");
     }
 
@@ -83,9 +151,10 @@ public class BookAppManager {
      *
      * @param query    検索クエリ
      * @param callback 結果を返すコールバック
+     * @return リクエストを取り消すためのハンドル
      */
-    public void fetchSuggestions(String query, final SuggestionsCallback callback) {
-        googleBooksApiService.fetchSuggestions(query, new GoogleBooksApiService.SuggestionCallback() {
+    public SingleFlight.Cancellable fetchSuggestions(String query, final SuggestionsCallback callback) {
+        return googleBooksApiService.fetchSuggestions(query, new GoogleBooksApiService.SuggestionCallback() {
             @Override
             public void onSuggestionsReceived(List<String> suggestions) {
                 callback.onSuggestionsReceived(suggestions);
@@ -120,18 +189,61 @@ public class BookAppManager {
 
     /**
      * 楽天市場 APIから話題の書籍（ランキング）を取得します。
+     * 保存済みのスナップショットがあれば先に通知し、有効期限内であれば再取得しません。
+     * 期限切れの場合は再取得し、すべての補完が完了した時点でスナップショットと表示を置き換えます。
      *
      * @param callback 結果を返すコールバック
      */
     public void fetchHotBooks(final HotBooksCallback callback) {
+        if (hotBooksSnapshotStore == null) {
+            fetchHotBooksFromNetwork(callback, false);
+            return;
+        }
+        hotBooksSnapshotStore.readAsync(snapshot -> {
+            boolean snapshotShown = snapshot != null && !snapshot.getBooks().isEmpty();
+            if (snapshotShown) {
+                callback.onHotBooksReceived(snapshot.getBooks());
+                if (!hotBooksSnapshotStore.isExpired(snapshot)) {
+                    Log.d(TAG, "Hot books served from snapshot.");
+                    return;
+                }
+            }
+            fetchHotBooksFromNetwork(callback, snapshotShown);
+        });
+    }
+
+    /**
+     * 楽天市場 APIから話題の書籍を取得し、スナップショットを更新します。
+     *
+     * @param callback      結果を返すコールバック
+     * @param snapshotShown スナップショットを表示済みの場合は true（途中結果・失敗では表示を置き換えない）
+     */
+    private void fetchHotBooksFromNetwork(final HotBooksCallback callback, boolean snapshotShown) {
         rakutenBooksApiService.fetchRankingBooks(new RakutenBooksApiService.RakutenBooksApiCallback() {
             @Override
             public void onSuccess(List<Book> hotBooks) {
+                if (hotBooksSnapshotStore != null && !hotBooks.isEmpty()) {
+                    hotBooksSnapshotStore.writeAsync(hotBooks);
+                }
+                if (snapshotShown && hotBooks.isEmpty()) {
+                    return;
+                }
                 callback.onHotBooksReceived(hotBooks);
             }
 
+            @Override
+            public void onPartialResult(List<Book> hotBooks) {
+                if (!snapshotShown) {
+                    callback.onHotBooksPartiallyReceived(hotBooks);
+                }
+            }
+
             @Override
             public void onFailure(String errorMessage) {
+                if (snapshotShown) {
+                    Log.w(TAG, "Hot books refresh failed, keeping snapshot: " + errorMessage);
+                    return;
+                }
                 callback.onFailure(errorMessage);
             }
         });
@@ -179,7 +291,7 @@ public class BookAppManager {
 
     /**
      * BookAppManagerが管理するサービスのリソースをシャットダウンします。
-     * アプリケーションが終了する際に呼び出す必要があります。
+     * AppServices から取得したインスタンスはプロセス全体で共有しているため、画面の終了時には呼び出しません。
      */
     public void shutdown() {
         if (googleBooksApiService != null) {
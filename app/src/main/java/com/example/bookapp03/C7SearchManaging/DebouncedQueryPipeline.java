@@ -0,0 +1,218 @@
+/**
+ * モジュール名: DebouncedQueryPipeline
+ * 作成者: 三浦寛生
+ * 作成日: 2026/10/18
+ * 概要: 入力欄の文字列から検索を行う際の共通処理（デバウンス・古いリクエストの取り消し・最新結果のみの通知）を
+ * まとめたクラスです。ホーム画面・全体まとめ登録画面・検索入力欄の自動補完で共有します。
+ * 履歴:
+ * 2026/10/18 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 検索が失敗した文字列は、同じ文字列の再入力で検索し直すよう変更
+ */
+package com.example.bookapp03.C7SearchManaging;
+
+import android.os.Handler;
+
+/**
+ * submit と cancel はすべて handler のスレッド（通常はメインスレッド）から呼び出してください。
+ * リスナーへの通知も handler のスレッドで行います。
+ *
+ * @param <T> 検索結果の型
+ */
+public final class DebouncedQueryPipeline<T> {
+
+    /** 入力が止まってから検索を開始するまでの標準の待ち時間（ミリ秒） */
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 300;
+    /** 検索を開始する標準の最小文字数 */
+    public static final int DEFAULT_MIN_QUERY_LENGTH = 2;
+
+    /**
+     * 検索を開始する処理です。
+     *
+     * @param <T> 検索結果の型
+     */
+    public interface Fetcher<T> {
+        /**
+         * 検索を開始します。結果は任意のスレッドから callback に通知して構いません。
+         *
+         * @param query    前後の空白を除いた検索文字列
+         * @param callback 結果を返すコールバック
+         * @return 検索を取り消すためのハンドル
+         */
+        SingleFlight.Cancellable fetch(String query, ResultCallback<T> callback);
+    }
+
+    /**
+     * Fetcher が結果を返すためのコールバックです。
+     *
+     * @param <T> 検索結果の型
+     */
+    public interface ResultCallback<T> {
+        void onResult(T result);
+
+        void onFailure(String errorMessage);
+    }
+
+    /**
+     * 最新の入力に対する結果を受け取るリスナーです。
+     *
+     * @param <T> 検索結果の型
+     */
+    public interface Listener<T> {
+        /**
+         * 最新の入力に対する検索結果を受け取ります。
+         *
+         * @param query  検索文字列
+         * @param result 検索結果
+         */
+        void onResult(String query, T result);
+
+        /**
+         * 最新の入力に対する検索が失敗したときに呼び出されます。
+         *
+         * @param query        検索文字列
+         * @param errorMessage エラーメッセージ
+         */
+        void onFailure(String query, String errorMessage);
+
+        /**
+         * 入力が最小文字数未満になり、表示中の結果を消すべきときに呼び出されます。
+         */
+        void onCleared();
+    }
+
+    private final Handler handler;
+    private final long debounceMillis;
+    private final int minQueryLength;
+    private final Fetcher<T> fetcher;
+    private final Listener<T> listener;
+
+    /** 入力ごとに増える世代番号。世代が一致する結果のみ通知する */
+    private int generation;
+    /** 最後に受け付けた検索文字列（同じ文字列の再入力では検索し直さない） */
+    private String currentQuery;
+    /** currentQuery の検索が失敗したかどうか（失敗した場合は同じ文字列の再入力で検索し直す） */
+    private boolean currentQueryFailed;
+    /** デバウンス中の検索開始処理 */
+    private Runnable pendingStart;
+    /** 送信中の検索 */
+    private SingleFlight.Cancellable outstanding;
+
+    /**
+     * 標準の待ち時間と最小文字数でパイプラインを生成します。
+     *
+     * @param handler  デバウンスと結果通知に使用するHandler
+     * @param fetcher  検索を開始する処理
+     * @param listener 結果を受け取るリスナー
+     */
+    public DebouncedQueryPipeline(Handler handler, Fetcher<T> fetcher, Listener<T> listener) {
+        this(handler, DEFAULT_DEBOUNCE_MILLIS, DEFAULT_MIN_QUERY_LENGTH, fetcher, listener);
+    }
+
+    /**
+     * @param handler        デバウンスと結果通知に使用するHandler
+     * @param debounceMillis 入力が止まってから検索を開始するまでの待ち時間（ミリ秒）
+     * @param minQueryLength 検索を開始する最小文字数
+     * @param fetcher        検索を開始する処理
+     * @param listener       結果を受け取るリスナー
+     */
+    public DebouncedQueryPipeline(Handler handler, long debounceMillis, int minQueryLength,
+                                  Fetcher<T> fetcher, Listener<T> listener) {
+        this.handler = handler;
+        this.debounceMillis = debounceMillis;
+        this.minQueryLength = minQueryLength;
+        this.fetcher = fetcher;
+        this.listener = listener;
+    }
+
+    /**
+     * 入力された文字列を受け付けます。
+     * 待機中・送信中の古い検索は取り消し、待ち時間の経過後に最新の文字列で検索を開始します。
+     *
+     * @param rawQuery 入力欄の文字列
+     */
+    public void submit(String rawQuery) {
+        String query = rawQuery == null ? "" : rawQuery.trim();
+        if (query.length() < minQueryLength) {
+            boolean hadQuery = currentQuery != null;
+            cancel();
+            if (hadQuery) {
+                listener.onCleared();
+            }
+            return;
+        }
+        if (query.equals(currentQuery) && !currentQueryFailed) {
+            // 候補の選択で入力欄を書き換えた場合など、同じ文字列では検索し直さない
+            return;
+        }
+
+        cancel();
+        currentQuery = query;
+        int startGeneration = generation;
+        pendingStart = () -> start(query, startGeneration);
+        handler.postDelayed(pendingStart, debounceMillis);
+    }
+
+    /**
+     * 待機中・送信中の検索を取り消します。以降、取り消した検索の結果は通知されません。
+     * 画面の破棄時にも呼び出してください。
+     */
+    public void cancel() {
+        generation++;
+        currentQuery = null;
+        currentQueryFailed = false;
+        if (pendingStart != null) {
+            handler.removeCallbacks(pendingStart);
+            pendingStart = null;
+        }
+        if (outstanding != null) {
+            outstanding.cancel();
+            outstanding = null;
+        }
+    }
+
+    /**
+     * デバウンスの待ち時間が経過した検索を開始します。
+     *
+     * @param query           検索文字列
+     * @param startGeneration 検索を受け付けた時点の世代番号
+     */
+    private void start(String query, int startGeneration) {
+        pendingStart = null;
+        if (startGeneration != generation) {
+            return;
+        }
+        SingleFlight.Cancellable call = fetcher.fetch(query, new ResultCallback<T>() {
+            @Override
+            public void onResult(T result) {
+                deliver(startGeneration, () -> listener.onResult(query, result));
+            }
+
+            @Override
+            public void onFailure(String errorMessage) {
+                deliver(startGeneration, () -> {
+                    currentQueryFailed = true;
+                    listener.onFailure(query, errorMessage);
+                });
+            }
+        });
+        if (startGeneration == generation) {
+            outstanding = call;
+        }
+    }
+
+    /**
+     * handler のスレッドで、世代が最新の場合のみ通知を行います。
+     *
+     * @param resultGeneration 結果に対応する世代番号
+     * @param notification     リスナーへの通知処理
+     */
+    private void deliver(int resultGeneration, Runnable notification) {
+        handler.post(() -> {
+            if (resultGeneration != generation) {
+                return;
+            }
+            outstanding = null;
+            notification.run();
+        });
+    }
+}
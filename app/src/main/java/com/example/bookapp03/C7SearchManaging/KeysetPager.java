@@ -0,0 +1,240 @@
+/**
+ * モジュール名: KeysetPager
+ * 作成者: 三浦寛生
+ * 作成日: 2026/10/18
+ * 概要: 一覧を一定件数ずつ読み込むページングの状態を管理するクラスです。
+ * 前のページの最後の要素を次のページの開始位置（カーソル）として渡し、表示位置が末尾から指定件数以内に
+ * 近づいた時点で次のページを先読みします。先頭ページはリアルタイムの監視結果で置き換えられるようにしています。
+ * 履歴:
+ * 2026/10/18 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 読み込み済みのページを残したまま先頭ページの変更を反映する mergeFirstPage を追加
+ */
+package com.example.bookapp03.C7SearchManaging;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * すべてのメソッドはメインスレッドから呼び出してください。PageFetcher の結果もメインスレッドで通知してください。
+ *
+ * @param <T> 要素の型
+ * @param <K> カーソルの型
+ */
+public final class KeysetPager<T, K> {
+
+    /** 1ページの標準の件数 */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    /** 末尾から何件以内まで表示されたら次のページを読み込むかの標準値 */
+    public static final int DEFAULT_PREFETCH_DISTANCE = 5;
+
+    /**
+     * 2ページ目以降を取得する処理です。
+     *
+     * @param <T> 要素の型
+     * @param <K> カーソルの型
+     */
+    public interface PageFetcher<T, K> {
+        /**
+         * cursor の直後から最大 limit 件を取得します。
+         *
+         * @param cursor   前のページの最後の要素のカーソル
+         * @param limit    取得する最大件数
+         * @param callback 結果を返すコールバック
+         */
+        void fetchAfter(K cursor, int limit, PageCallback<T, K> callback);
+    }
+
+    /**
+     * ページの取得結果を受け取るコールバックです。
+     *
+     * @param <T> 要素の型
+     * @param <K> カーソルの型
+     */
+    public interface PageCallback<T, K> {
+        /**
+         * @param items     取得した要素
+         * @param lastCursor 最後の要素のカーソル（要素がない場合は null）
+         */
+        void onPage(List<T> items, K lastCursor);
+
+        /**
+         * @param e 発生した例外
+         */
+        void onFailure(Exception e);
+    }
+
+    /**
+     * 表示中の要素の変化を受け取るリスナーです。
+     *
+     * @param <T> 要素の型
+     */
+    public interface Listener<T> {
+        /**
+         * @param items 表示する要素（先頭ページから読み込み済みのページまで）
+         */
+        void onItemsChanged(List<T> items);
+
+        /**
+         * @param e 次のページの読み込みで発生した例外
+         */
+        void onLoadFailed(Exception e);
+    }
+
+    private final PageFetcher<T, K> fetcher;
+    private final Listener<T> listener;
+    private final int pageSize;
+    private final int prefetchDistance;
+
+    private final List<T> items = new ArrayList<>();
+    /** 読み込み済みの最後の要素のカーソル */
+    private K cursor;
+    private boolean loading;
+    private boolean endReached;
+    /** 先頭ページの置き換えごとに増やし、置き換え前に始めた読み込みの結果を破棄するために使用する */
+    private int generation;
+
+    /**
+     * @param fetcher          2ページ目以降を取得する処理
+     * @param listener         表示中の要素の変化を受け取るリスナー
+     * @param pageSize         1ページの件数
+     * @param prefetchDistance 末尾から何件以内まで表示されたら次のページを読み込むか
+     */
+    public KeysetPager(PageFetcher<T, K> fetcher, Listener<T> listener, int pageSize, int prefetchDistance) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+        }
+        this.fetcher = fetcher;
+        this.listener = listener;
+        this.pageSize = pageSize;
+        this.prefetchDistance = Math.max(0, prefetchDistance);
+    }
+
+    /**
+     * 先頭ページを置き換えます。先頭ページの内容が変わると以降のページの開始位置もずれるため、
+     * 読み込み済みの2ページ目以降は破棄し、必要になった時点で読み込み直します。
+     *
+     * @param firstPage  先頭ページの要素
+     * @param lastCursor 先頭ページの最後の要素のカーソル（要素がない場合は null）
+     */
+    public void setFirstPage(List<T> firstPage, K lastCursor) {
+        generation++;
+        loading = false;
+        items.clear();
+        items.addAll(firstPage);
+        cursor = lastCursor;
+        endReached = firstPage.size() < pageSize || lastCursor == null;
+        listener.onItemsChanged(getItems());
+    }
+
+    /**
+     * 先頭ページの変更を、読み込み済みの2ページ目以降を残したまま反映します。
+     * 新しい先頭ページの最後の要素までは新しい先頭ページで置き換え（削除された要素はここで取り除かれます）、
+     * それより後ろの読み込み済みの要素は残します。先頭ページに追加された要素に押し出された要素も後ろに残ります。
+     * 後ろに要素が残る場合は次のページの開始位置も読み込み中の処理も変わらないため、そのまま続けます。
+     * 表示中の要素が変わらない場合はリスナーに通知しません。
+     *
+     * @param firstPage  先頭ページの要素
+     * @param lastCursor 先頭ページの最後の要素のカーソル（要素がない場合は null）
+     * @param order      一覧の並び順（同じ要素は 0 を返すこと）
+     */
+    public void mergeFirstPage(List<T> firstPage, K lastCursor, Comparator<? super T> order) {
+        if (items.isEmpty() || firstPage.isEmpty() || firstPage.size() < pageSize) {
+            // 初回、または先頭ページに全件が収まっている場合は後ろに残す要素がない
+            if (!items.equals(firstPage)) {
+                setFirstPage(firstPage, lastCursor);
+            }
+            return;
+        }
+        T last = firstPage.get(firstPage.size() - 1);
+        List<T> merged = new ArrayList<>(firstPage);
+        for (T item : items) {
+            if (order.compare(item, last) > 0) {
+                merged.add(item);
+            }
+        }
+        if (merged.size() == firstPage.size()) {
+            // 読み込み済みの要素がすべて先頭ページに含まれる
+            if (!items.equals(firstPage)) {
+                setFirstPage(firstPage, lastCursor);
+            }
+            return;
+        }
+        if (items.equals(merged)) {
+            return;
+        }
+        items.clear();
+        items.addAll(merged);
+        listener.onItemsChanged(getItems());
+    }
+
+    /**
+     * 表示位置が変わったときに呼び出します。末尾に近づいていれば次のページを読み込みます。
+     *
+     * @param lastVisiblePosition 画面に表示されている最後の要素の位置
+     */
+    public void onScrolled(int lastVisiblePosition) {
+        if (loading || endReached || cursor == null) {
+            return;
+        }
+        if (lastVisiblePosition < items.size() - 1 - prefetchDistance) {
+            return;
+        }
+        loadNextPage();
+    }
+
+    private void loadNextPage() {
+        loading = true;
+        int requestedGeneration = generation;
+        fetcher.fetchAfter(cursor, pageSize, new PageCallback<T, K>() {
+            @Override
+            public void onPage(List<T> page, K lastCursor) {
+                if (requestedGeneration != generation) {
+                    // 読み込み中に先頭ページが置き換えられた
+                    return;
+                }
+                loading = false;
+                items.addAll(page);
+                if (lastCursor != null) {
+                    cursor = lastCursor;
+                }
+                endReached = page.size() < pageSize || lastCursor == null;
+                listener.onItemsChanged(getItems());
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                if (requestedGeneration != generation) {
+                    return;
+                }
+                // 次のスクロールで再試行できるよう、読み込み中の状態だけを戻す
+                loading = false;
+                listener.onLoadFailed(e);
+            }
+        });
+    }
+
+    /**
+     * 読み込み済みの要素を返します。
+     *
+     * @return 読み込み済みの要素（変更不可）
+     */
+    public List<T> getItems() {
+        return Collections.unmodifiableList(new ArrayList<>(items));
+    }
+
+    /**
+     * @return 次のページを読み込み中の場合は true
+     */
+    public boolean isLoading() {
+        return loading;
+    }
+
+    /**
+     * @return 最後のページまで読み込んだ場合は true
+     */
+    public boolean isEndReached() {
+        return endReached;
+    }
+}
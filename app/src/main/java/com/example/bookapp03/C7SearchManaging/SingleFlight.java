@@ -0,0 +1,254 @@
+/**
+ * モジュール名: SingleFlight
+ * 作成者: 三浦寛生
+ * 作成日: 2026/10/18
+ * 概要: 同一キーの処理が実行中の場合に、後続の呼び出しを新たに実行せず
+ * 実行中の処理の結果を共有する（single-flight）ためのクラスです。
+ * 履歴:
+ * 2026/10/18 三浦寛生 新規作成
+ * 2026/10/18 三浦寛生 呼び出しの取り消しを追加（待機者がいなくなった処理は中断する）
+ */
+package com.example.bookapp03.C7SearchManaging;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @param <T> 処理結果の型
+ */
+public final class SingleFlight<T> {
+
+    /**
+     * 結果を取得する処理です。
+     *
+     * @param <T> 処理結果の型
+     */
+    public interface Loader<T> {
+        /**
+         * 結果を取得します。
+         *
+         * @param cancellation 処理の中断を受け取るためのハンドル
+         * @return 処理結果
+         * @throws Exception 取得に失敗した場合
+         */
+        T load(Cancellation cancellation) throws Exception;
+    }
+
+    /**
+     * execute の呼び出しを取り消すためのハンドルです。
+     */
+    public interface Cancellable {
+        /**
+         * 呼び出しを取り消します。取り消し後はリスナーに結果が通知されません。
+         * 同一の処理を待つ呼び出しがすべて取り消された場合は、処理自体を中断します。
+         */
+        void cancel();
+    }
+
+    /**
+     * 実行中の処理に中断を伝えるためのハンドルです。
+     * Loader は中断時の処理（HTTP呼び出しの cancel など）を登録します。
+     */
+    public static final class Cancellation {
+        private volatile boolean cancelled;
+        private volatile Runnable onCancel;
+
+        /**
+         * 中断時に実行する処理を登録します。既に中断されている場合は直ちに実行します。
+         *
+         * @param action 中断時に実行する処理
+         */
+        public void setOnCancel(Runnable action) {
+            onCancel = action;
+            if (cancelled) {
+                action.run();
+            }
+        }
+
+        /**
+         * 処理が中断されたかどうかを返します。
+         *
+         * @return 中断された場合は true
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void cancel() {
+            cancelled = true;
+            Runnable action = onCancel;
+            if (action != null) {
+                action.run();
+            }
+        }
+    }
+
+    /**
+     * 実行中の処理1件分の状態です。
+     */
+    private final class Flight {
+        final List<Listener<T>> waiters = new ArrayList<>();
+        final Cancellation cancellation = new Cancellation();
+    }
+
+    /**
+     * 処理結果を受け取るリスナーです。
+     *
+     * @param <T> 処理結果の型
+     */
+    public interface Listener<T> {
+        /**
+         * 処理が成功したときに呼び出されます。
+         *
+         * @param result 処理結果
+         */
+        void onSuccess(T result);
+
+        /**
+         * 処理が失敗したときに呼び出されます。
+         *
+         * @param error 発生した例外
+         */
+        void onFailure(Exception error);
+    }
+
+    /** 実行中のキーと、その処理の状態 */
+    private final Map<String, Flight> inFlight = new HashMap<>();
+    /** 実際に実行した処理の回数 */
+    private final AtomicLong executedCount = new AtomicLong();
+    /** 実行中の処理にまとめた呼び出しの回数 */
+    private final AtomicLong coalescedCount = new AtomicLong();
+    /** 待機者がいなくなり中断した処理の回数 */
+    private final AtomicLong cancelledCount = new AtomicLong();
+
+    /**
+     * 指定キーの処理を実行します。同一キーの処理が実行中の場合は新たに実行せず、その結果を listener に通知します。
+     *
+     * @param key      処理を識別するキー
+     * @param executor 処理を実行するExecutor
+     * @param loader   結果を取得する処理
+     * @param listener 結果を受け取るリスナー
+     * @return この呼び出しを取り消すためのハンドル
+     */
+    public Cancellable execute(String key, Executor executor, Loader<T> loader, Listener<T> listener) {
+        Flight flight;
+        synchronized (inFlight) {
+            flight = inFlight.get(key);
+            if (flight != null) {
+                flight.waiters.add(listener);
+                coalescedCount.incrementAndGet();
+                Flight joined = flight;
+                return () -> cancel(key, joined, listener);
+            }
+            flight = new Flight();
+            flight.waiters.add(listener);
+            inFlight.put(key, flight);
+        }
+        executedCount.incrementAndGet();
+
+        Flight started = flight;
+        try {
+            executor.execute(() -> run(key, started, loader));
+        } catch (RuntimeException e) {
+            // Executor が停止済みの場合などは、待機中の呼び出しすべてに失敗を通知する
+            complete(key, started, null, e);
+        }
+        return () -> cancel(key, started, listener);
+    }
+
+    /**
+     * 1件の呼び出しを取り消します。待機者がいなくなった場合は処理を中断し、実行中の一覧から取り除きます。
+     *
+     * @param key      処理を識別するキー
+     * @param flight   取り消し対象の処理
+     * @param listener 取り消すリスナー
+     */
+    private void cancel(String key, Flight flight, Listener<T> listener) {
+        synchronized (inFlight) {
+            if (!flight.waiters.remove(listener) || !flight.waiters.isEmpty()) {
+                return;
+            }
+            // 以降の同一キーの呼び出しは、中断した処理に合流させず新たに実行する
+            inFlight.remove(key, flight);
+        }
+        cancelledCount.incrementAndGet();
+        flight.cancellation.cancel();
+    }
+
+    /**
+     * 処理を実行し、結果を待機中のリスナーすべてに通知します。
+     *
+     * @param key    処理を識別するキー
+     * @param flight 実行する処理の状態
+     * @param loader 結果を取得する処理
+     */
+    private void run(String key, Flight flight, Loader<T> loader) {
+        if (flight.cancellation.isCancelled()) {
+            return;
+        }
+        T result = null;
+        Exception error = null;
+        try {
+            result = loader.load(flight.cancellation);
+        } catch (Exception e) {
+            error = e;
+        }
+        complete(key, flight, result, error);
+    }
+
+    /**
+     * 実行中の一覧からキーを取り除き、待機していたリスナーに結果を通知します。
+     *
+     * @param key    処理を識別するキー
+     * @param flight 完了した処理の状態
+     * @param result 処理結果
+     * @param error  発生した例外（成功時は null）
+     */
+    private void complete(String key, Flight flight, T result, Exception error) {
+        List<Listener<T>> waiters;
+        synchronized (inFlight) {
+            inFlight.remove(key, flight);
+            // 取り消されたリスナーには通知しない
+            waiters = new ArrayList<>(flight.waiters);
+            flight.waiters.clear();
+        }
+        for (Listener<T> waiter : waiters) {
+            if (error == null) {
+                waiter.onSuccess(result);
+            } else {
+                waiter.onFailure(error);
+            }
+        }
+    }
+
+    /**
+     * 実際に実行した処理の回数を返します。
+     *
+     * @return 実行回数
+     */
+    public long getExecutedCount() {
+        return executedCount.get();
+    }
+
+    /**
+     * 実行中の処理にまとめた呼び出しの回数を返します。
+     *
+     * @return まとめた呼び出しの回数
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * 待機者がいなくなり中断した処理の回数を返します。
+     *
+     * @return 中断した処理の回数
+     */
+    public long getCancelledCount() {
+        return cancelledCount.get();
+    }
+}
@@ -1,55 +1,123 @@
 package com.example.bookapp03.C1UIProcessing;
 
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import android.app.Activity;
 import android.widget.Switch;
 
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+
 import com.example.bookapp03.C6BookInformationManaging.database.SummaryDao;
 import com.example.bookapp03.C6BookInformationManaging.database.SummaryEntity;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import java.util.concurrent.ExecutorService;
-
 /**
  * ControlPublicPrivateSwitch の単体テスト
- * - ブラックボックス: bind() で executor.execute() が呼ばれる
- * - ホワイトボックス: スイッチに true/falseがセットされる
+ * - ブラックボックス: bind() で全体まとめの LiveData が監視される
+ * - ホワイトボックス: 通知された内容でスイッチに true/false がセットされ、unbind() で監視が終了する
+ * - ホワイトボックス: isPublic が変化しない通知ではスイッチを更新しない（未保存の切り替えを戻さない）
  */
 @RunWith(MockitoJUnitRunner.class)
 public class ControlPublicPrivateSwitchTest {
 
-    @Mock private Activity mockActivity;
+    @Mock private LifecycleOwner mockOwner;
     @Mock private SummaryDao mockDao;
     @Mock private Switch mockSwitch;
+    @Mock private LiveData<SummaryEntity> mockLiveData;
 
     private ControlPublicPrivateSwitch controller;
-    private final ExecutorService instantExec = Runnable::run;
 
     @Before
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(mockDao.observeSummary("uid123", "vol456")).thenReturn(mockLiveData);
         controller = new ControlPublicPrivateSwitch(
-            mockActivity, mockDao, "uid123", "vol456", instantExec
+            mockOwner, mockDao, "uid123", "vol456"
         );
     }
 
     @Test
-    public void testBind_setsCheckedTrue() {
-        SummaryEntity ent = new SummaryEntity("uid123","vol456","sum", true);
-        when(mockDao.getSummary("uid123","vol456")).thenReturn(ent);
+    @SuppressWarnings("unchecked")
+    public void testBind_setsCheckedOnEachUpdate() {
         controller.bind(mockSwitch);
-        // ホワイトボックス: runOnUiThread で setChecked(true) が呼ばれる
+
+        ArgumentCaptor<Observer<SummaryEntity>> observer = ArgumentCaptor.forClass(Observer.class);
+        verify(mockLiveData).observe(eq(mockOwner), observer.capture());
+
+        // ホワイトボックス: 通知のたびに setChecked が呼ばれる
+        observer.getValue().onChanged(new SummaryEntity("uid123", "vol456", "sum", true));
         verify(mockSwitch).setChecked(true);
+        observer.getValue().onChanged(new SummaryEntity("uid123", "vol456", "sum", false));
+        verify(mockSwitch).setChecked(false);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBind_sameIsPublicDoesNotResetSwitch() {
+        controller.bind(mockSwitch);
+
+        ArgumentCaptor<Observer<SummaryEntity>> observer = ArgumentCaptor.forClass(Observer.class);
+        verify(mockLiveData).observe(eq(mockOwner), observer.capture());
+        observer.getValue().onChanged(new SummaryEntity("uid123", "vol456", "sum", true));
+
+        // 他の列（まとめ本文や書籍情報）の更新による通知では、ユーザーの切り替えを上書きしない
+        observer.getValue().onChanged(new SummaryEntity("uid123", "vol456", "edited", true));
+        observer.getValue().onChanged(new SummaryEntity("uid123", "vol456", "edited", true,
+                "title", "author", "url"));
+
+        verify(mockSwitch, times(1)).setChecked(true);
+        verify(mockSwitch, never()).setChecked(false);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBind_rebindAppliesCurrentValueAgain() {
+        controller.bind(mockSwitch);
+        ArgumentCaptor<Observer<SummaryEntity>> observer = ArgumentCaptor.forClass(Observer.class);
+        verify(mockLiveData).observe(eq(mockOwner), observer.capture());
+        observer.getValue().onChanged(new SummaryEntity("uid123", "vol456", "sum", true));
+
+        controller.bind(mockSwitch);
+        verify(mockLiveData, times(2)).observe(eq(mockOwner), observer.capture());
+        observer.getValue().onChanged(new SummaryEntity("uid123", "vol456", "sum", true));
+
+        verify(mockSwitch, times(2)).setChecked(true);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBind_noSummaryLeavesSwitch() {
+        controller.bind(mockSwitch);
+
+        ArgumentCaptor<Observer<SummaryEntity>> observer = ArgumentCaptor.forClass(Observer.class);
+        verify(mockLiveData).observe(eq(mockOwner), observer.capture());
+        observer.getValue().onChanged(null);
+
+        verify(mockSwitch, never()).setChecked(anyBoolean());
     }
 
-    public void testBind() {
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUnbind_removesObserver() {
+        controller.bind(mockSwitch);
+        ArgumentCaptor<Observer<SummaryEntity>> observer = ArgumentCaptor.forClass(Observer.class);
+        verify(mockLiveData).observe(eq(mockOwner), observer.capture());
+
+        controller.unbind();
+
+        verify(mockLiveData).removeObserver(observer.getValue());
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,14 @@
 package com.example.bookapp03.C1UIProcessing;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 import org.junit.Test;
 
 /**
  * HighlightMemoDataの単体テスト
  * - ブラックボックス: コンストラクタ／ゲッターの入出力
- * - ホワイトボックス: フィールド不変性の検証
+ * - ホワイトボックス: フィールド不変性、同値判定の検証
  */
 public class HighlightMemoDataTest {
 
@@ -29,4 +30,20 @@ public class HighlightMemoDataTest {
         assertEquals(1, data.getLine());
         assertEquals("初期", data.getMemo());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testId_defaultsToZeroForUnsavedMemo() {
+        assertEquals(0L, new HighlightMemoData(2, 4, "未登録").getId());
+        assertEquals(9L, new HighlightMemoData(9L, 2, 4, "登録済み").getId());
+    }
+
+    @Test
+    public void testEquals_sameRecordAndContents() {
+        HighlightMemoData data = new HighlightMemoData(9L, 2, 4, "メモ");
+
+        assertEquals(data, new HighlightMemoData(9L, 2, 4, "メモ"));
+        assertEquals(data.hashCode(), new HighlightMemoData(9L, 2, 4, "メモ").hashCode());
+        assertNotEquals(data, new HighlightMemoData(9L, 2, 4, "編集後"));
+        assertNotEquals(data, new HighlightMemoData(10L, 2, 4, "メモ"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.bookapp03.C4SearchProcessing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * GenreRegistryの単体テスト
+ * - ブラックボックス: Google Books のカテゴリとユーザーの好きなジャンルがビットマスクで照合できることを確認
+ * - ホワイトボックス: 階層表記・大文字小文字・未登録カテゴリの扱いと、書籍ごとのマスクの再計算を検証
+ */
+public class GenreRegistryTest {
+
+    @Test
+    public void testRegistry_hasAllGenresWithinOneLong() {
+        assertEquals(48, GenreRegistry.getEnglishNames().size());
+        assertEquals("小説", GenreRegistry.toJapanese("Fiction"));
+        assertEquals("True Crime", GenreRegistry.toEnglish("実録・犯罪"));
+        assertNull(GenreRegistry.toEnglish("未登録"));
+    }
+
+    @Test
+    public void testMaskOf_usesTopLevelCategoryCaseInsensitively() {
+        long fiction = GenreRegistry.maskOf("Fiction");
+
+        assertEquals(fiction, GenreRegistry.maskOf("Fiction / Fantasy / Epic"));
+        assertEquals(fiction, GenreRegistry.maskOf("FICTION"));
+        assertEquals(1, Long.bitCount(fiction));
+        assertFalse(GenreRegistry.matchesAny(GenreRegistry.maskOf("Juvenile Fiction / General"), fiction));
+        assertEquals(0L, GenreRegistry.maskOf("Unknown Category"));
+        assertEquals(0L, GenreRegistry.maskOf((String) null));
+    }
+
+    @Test
+    public void testMatching_andCountShared() {
+        long userMask = GenreRegistry.maskOf(Arrays.asList("Fiction", "History", "Travel"));
+        long bookMask = GenreRegistry.maskOf(Arrays.asList("History / Japan", "Travel / Asia / Japan"));
+
+        assertTrue(GenreRegistry.matchesAny(bookMask, userMask));
+        assertEquals(2, GenreRegistry.countShared(bookMask, userMask));
+        assertFalse(GenreRegistry.matchesAny(GenreRegistry.maskOf("Cooking"), userMask));
+        assertFalse(GenreRegistry.matchesAny(0L, userMask));
+    }
+
+    @Test
+    public void testBookGenreMask_recomputedWhenCategoriesChange() {
+        Book book = new Book("vol1", "t", "a", null, null, Collections.singletonList("Fiction / Fantasy"));
+        assertEquals(GenreRegistry.maskOf("Fiction"), book.getGenreMask());
+
+        book.setCategories(Collections.singletonList("Science / Physics"));
+        assertEquals(GenreRegistry.maskOf("Science"), book.getGenreMask());
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.bookapp03.C4SearchProcessing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GoogleBooksFieldsの単体テスト
+ * - ブラックボックス: 各用途のフィールド指定で、レスポンスサイズが削減され、使用しない項目が含まれないことを確認
+ * - ホワイトボックス: 部分レスポンスを解析した結果が、完全なレスポンスを解析した結果と（使用する項目について）一致することを検証
+ *
+ * API側の部分レスポンスはテスト内の project() で fields 構文どおりに再現する。
+ */
+public class GoogleBooksFieldsTest {
+
+    private static final int SEARCH_ITEM_COUNT = 40;
+
+    @Test
+    public void testSearchProjection_reducesPayloadAndKeepsConsumedFields() throws Exception {
+        JsonObject full = searchResponse(SEARCH_ITEM_COUNT);
+        JsonElement projected = project(full, GoogleBooksFields.SEARCH);
+
+        assertTrue("projection should drop at least half of the payload", size(projected) * 2 < size(full));
+        JsonObject item = projected.getAsJsonObject().getAsJsonArray("items").get(0).getAsJsonObject();
+        assertFalse(item.has("saleInfo"));
+        assertFalse(item.has("accessInfo"));
+        assertFalse(item.has("searchInfo"));
+        assertFalse(item.getAsJsonObject("volumeInfo").has("panelizationSummary"));
+        List<Book> fromFull = GoogleBooksJsonAdapters.VOLUME_LIST.fromJson(full.toString());
+        List<Book> fromProjected = GoogleBooksJsonAdapters.VOLUME_LIST.fromJson(projected.toString());
+        assertEquals(fromFull.size(), fromProjected.size());
+        for (int i = 0; i < fromFull.size(); i++) {
+            assertSameConsumedFields(fromFull.get(i), fromProjected.get(i));
+            // 楽天ランキングの補完で書籍に引き継ぐ
+            assertEquals(fromFull.get(i).getInfoLink(), fromProjected.get(i).getInfoLink());
+        }
+    }
+
+    @Test
+    public void testSuggestionProjection_keepsTitlesOnly() throws Exception {
+        JsonObject full = searchResponse(5);
+        JsonElement projected = project(full, GoogleBooksFields.SUGGESTIONS);
+
+        assertTrue(size(projected) * 10 < size(full));
+        JsonObject item = projected.getAsJsonObject().getAsJsonArray("items").get(0).getAsJsonObject();
+        assertEquals(1, item.size());
+        assertEquals(1, item.getAsJsonObject("volumeInfo").size());
+        List<Book> books = GoogleBooksJsonAdapters.VOLUME_LIST.fromJson(projected.toString());
+        assertEquals(5, books.size());
+        assertEquals("Title 0", books.get(0).getTitle());
+    }
+
+    @Test
+    public void testVolumeProjections_reducePayload() throws Exception {
+        JsonObject full = volume(0);
+        JsonElement metadata = project(full, GoogleBooksFields.VOLUME_METADATA);
+        JsonElement detail = project(full, GoogleBooksFields.VOLUME_DETAIL);
+        assertTrue(size(metadata) * 4 < size(full));
+        assertTrue(size(detail) < size(full));
+        assertFalse(metadata.getAsJsonObject().getAsJsonObject("volumeInfo").has("description"));
+        assertFalse(detail.getAsJsonObject().has("saleInfo"));
+        assertFalse(detail.getAsJsonObject().has("accessInfo"));
+        Book fromFull = GoogleBooksJsonAdapters.VOLUME_LARGEST_IMAGE.fromJson(full.toString());
+        Book fromDetail = GoogleBooksJsonAdapters.VOLUME_LARGEST_IMAGE.fromJson(detail.toString());
+        assertSameConsumedFields(fromFull, fromDetail);
+        assertEquals(fromFull.getInfoLink(), fromDetail.getInfoLink());
+        assertEquals(fromFull.getThumbnailUrl(), fromDetail.getThumbnailUrl());
+    }
+
+    private static void assertSameConsumedFields(Book expected, Book actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getAuthor(), actual.getAuthor());
+        assertEquals(expected.getPublishedDate(), actual.getPublishedDate());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getCategories(), actual.getCategories());
+        assertEquals(expected.getIsbn(), actual.getIsbn());
+    }
+
+    private static int size(JsonElement json) {
+        return json.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    // ---- 実際の volume リソースに近い形のテストデータ ----
+
+    private static JsonObject searchResponse(int count) {
+        JsonObject root = new JsonObject();
+        root.addProperty("kind", "books#volumes");
+        root.addProperty("totalItems", 1234);
+        JsonArray items = new JsonArray();
+        for (int i = 0; i < count; i++) {
+            items.add(volume(i));
+        }
+        root.add("items", items);
+        return root;
+    }
+
+    private static JsonObject volume(int i) {
+        String id = "vol" + i;
+        String base = "http://books.google.com/books/content?id=" + id + "&printsec=frontcover&img=1&source=gbs_api";
+        StringBuilder description = new StringBuilder();
+        for (int n = 0; n < 6; n++) {
+            description.append("この本は長い紹介文を持つテスト用の書籍です。");
+        }
+        String json = "{"
+                + "\"kind\":\"books#volume\",\"id\":\"" + id + "\",\"etag\":\"etag" + i + "\","
+                + "\"selfLink\":\"https://www.googleapis.com/books/v1/volumes/" + id + "\","
+                + "\"volumeInfo\":{"
+                + "\"title\":\"Title " + i + "\",\"subtitle\":\"Subtitle\",\"authors\":[\"Author " + i + "\"],"
+                + "\"publisher\":\"Publisher\",\"publishedDate\":\"2020-01-0" + (i % 9 + 1) + "\","
+                + "\"description\":\"" + description + "\","
+                + "\"industryIdentifiers\":[{\"type\":\"ISBN_10\",\"identifier\":\"40000000" + (10 + i % 90) + "\"},"
+                + "{\"type\":\"ISBN_13\",\"identifier\":\"97840000000" + (10 + i % 90) + "\"}],"
+                + "\"readingModes\":{\"text\":false,\"image\":true},\"pageCount\":320,\"printType\":\"BOOK\","
+                + "\"categories\":[\"Fiction\"],\"maturityRating\":\"NOT_MATURE\",\"allowAnonLogging\":false,"
+                + "\"contentVersion\":\"1.1.1.0.preview.1\","
+                + "\"panelizationSummary\":{\"containsEpubBubbles\":false,\"containsImageBubbles\":false},"
+                + "\"imageLinks\":{\"smallThumbnail\":\"" + base + "&zoom=5\",\"thumbnail\":\"" + base + "&zoom=1\","
+                + "\"small\":\"" + base + "&zoom=2\",\"medium\":\"" + base + "&zoom=3\"},"
+                + "\"language\":\"ja\",\"previewLink\":\"" + base + "&preview\",\"infoLink\":\"" + base + "&info\","
+                + "\"canonicalVolumeLink\":\"https://books.google.com/books/about/" + id + "\"},"
+                + "\"saleInfo\":{\"country\":\"JP\",\"saleability\":\"FOR_SALE\",\"isEbook\":true,"
+                + "\"listPrice\":{\"amount\":1500,\"currencyCode\":\"JPY\"},"
+                + "\"retailPrice\":{\"amount\":1350,\"currencyCode\":\"JPY\"},"
+                + "\"buyLink\":\"https://play.google.com/store/books/details?id=" + id + "&rdid=book-" + id + "\","
+                + "\"offers\":[{\"finskyOfferType\":1,\"listPrice\":{\"amountInMicros\":1.5E9,\"currencyCode\":\"JPY\"},"
+                + "\"retailPrice\":{\"amountInMicros\":1.35E9,\"currencyCode\":\"JPY\"}}]},"
+                + "\"accessInfo\":{\"country\":\"JP\",\"viewability\":\"PARTIAL\",\"embeddable\":true,"
+                + "\"publicDomain\":false,\"textToSpeechPermission\":\"ALLOWED\","
+                + "\"epub\":{\"isAvailable\":true,\"acsTokenLink\":\"http://books.google.com/books/download/" + id + "-sample-epub.acsm\"},"
+                + "\"pdf\":{\"isAvailable\":false},"
+                + "\"webReaderLink\":\"http://play.google.com/books/reader?id=" + id + "&hl=&source=gbs_api\","
+                + "\"accessViewStatus\":\"SAMPLE\",\"quoteSharingAllowed\":false},"
+                + "\"searchInfo\":{\"textSnippet\":\"" + description.substring(0, 40) + "\"}"
+                + "}";
+        return JsonParser.parseString(json).getAsJsonObject();
+    }
+
+    // ---- fields 構文（a,b/c,d(e,f)）による部分レスポンスの再現 ----
+
+    private static JsonElement project(JsonElement source, String fields) {
+        return apply(source, parse(fields, new int[]{0}));
+    }
+
+    private static Map<String, Map<String, ?>> parse(String fields, int[] pos) {
+        Map<String, Map<String, ?>> tree = new LinkedHashMap<>();
+        while (pos[0] < fields.length() && fields.charAt(pos[0]) != ')') {
+            int start = pos[0];
+            while (pos[0] < fields.length() && ",/()".indexOf(fields.charAt(pos[0])) < 0) {
+                pos[0]++;
+            }
+            String name = fields.substring(start, pos[0]);
+            Map<String, Map<String, ?>> child = null;
+            if (pos[0] < fields.length() && fields.charAt(pos[0]) == '/') {
+                pos[0]++;
+                child = parseSingle(fields, pos);
+            } else if (pos[0] < fields.length() && fields.charAt(pos[0]) == '(') {
+                pos[0]++;
+                child = parse(fields, pos);
+                pos[0]++; // ')'
+            }
+            tree.put(name, child);
+            if (pos[0] < fields.length() && fields.charAt(pos[0]) == ',') {
+                pos[0]++;
+            }
+        }
+        return tree;
+    }
+
+    private static Map<String, Map<String, ?>> parseSingle(String fields, int[] pos) {
+        int end = pos[0];
+        while (end < fields.length() && ",)".indexOf(fields.charAt(end)) < 0 && fields.charAt(end) != '(') {
+            end++;
+        }
+        if (end < fields.length() && fields.charAt(end) == '(') {
+            // a/b(c,d) の形式
+            int open = end;
+            String path = fields.substring(pos[0], open);
+            pos[0] = open + 1;
+            Map<String, Map<String, ?>> inner = parse(fields, pos);
+            pos[0]++; // ')'
+            return nest(path, inner);
+        }
+        String path = fields.substring(pos[0], end);
+        pos[0] = end;
+        return nest(path, null);
+    }
+
+    private static Map<String, Map<String, ?>> nest(String path, Map<String, Map<String, ?>> leaf) {
+        String[] names = path.split("/");
+        Map<String, Map<String, ?>> current = leaf;
+        for (int i = names.length - 1; i >= 0; i--) {
+            Map<String, Map<String, ?>> wrapper = new LinkedHashMap<>();
+            wrapper.put(names[i], current);
+            current = wrapper;
+        }
+        return current;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JsonElement apply(JsonElement source, Map<String, Map<String, ?>> tree) {
+        if (tree == null) {
+            return source;
+        }
+        if (source.isJsonArray()) {
+            JsonArray result = new JsonArray();
+            for (JsonElement element : source.getAsJsonArray()) {
+                result.add(apply(element, tree));
+            }
+            return result;
+        }
+        JsonObject result = new JsonObject();
+        JsonObject object = source.getAsJsonObject();
+        for (Map.Entry<String, Map<String, ?>> entry : tree.entrySet()) {
+            if (object.has(entry.getKey())) {
+                result.add(entry.getKey(),
+                        apply(object.get(entry.getKey()), (Map<String, Map<String, ?>>) entry.getValue()));
+            }
+        }
+        return result;
+    }
+}
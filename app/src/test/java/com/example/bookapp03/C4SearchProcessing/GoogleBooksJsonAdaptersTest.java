@@ -0,0 +1,97 @@
+package com.example.bookapp03.C4SearchProcessing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * GoogleBooksJsonAdaptersの単体テスト
+ * - ブラックボックス: 検索レスポンス・単一ボリュームのレスポンスがBookに変換されることを確認
+ * - ホワイトボックス: 未使用フィールドの読み飛ばし、volumeInfo なしの除外、画像サイズ・ISBNの優先順位を検証
+ */
+public class GoogleBooksJsonAdaptersTest {
+
+    private static final String SEARCH_JSON = "{"
+            + "\"kind\":\"books#volumes\",\"totalItems\":2,"
+            + "\"items\":["
+            + "{\"kind\":\"books#volume\",\"id\":\"v1\",\"etag\":\"x\","
+            + "\"volumeInfo\":{\"title\":\"Title 1\",\"authors\":[\"Author A\",\"Author B\"],"
+            + "\"publishedDate\":\"2020-01-01\",\"description\":\"desc\","
+            + "\"industryIdentifiers\":[{\"type\":\"ISBN_10\",\"identifier\":\"4000000000\"},"
+            + "{\"type\":\"ISBN_13\",\"identifier\":\"9784000000000\"}],"
+            + "\"readingModes\":{\"text\":false,\"image\":true},"
+            + "\"categories\":[\"Fiction\"],"
+            + "\"imageLinks\":{\"smallThumbnail\":\"s\",\"thumbnail\":\"t\"}},"
+            + "\"saleInfo\":{\"country\":\"JP\"}},"
+            + "{\"id\":\"noInfo\"}"
+            + "]}";
+
+    @Test
+    public void testVolumeList_mapsItemsAndSkipsUnknownFields() throws Exception {
+        List<Book> books = GoogleBooksJsonAdapters.VOLUME_LIST.fromJson(SEARCH_JSON);
+
+        assertEquals(1, books.size());
+        Book book = books.get(0);
+        assertEquals("v1", book.getId());
+        assertEquals("Title 1", book.getTitle());
+        assertEquals("Author A", book.getAuthor());
+        assertEquals(Arrays.asList("Author A", "Author B"), book.getAuthors());
+        assertEquals("2020-01-01", book.getPublishedDate());
+        assertEquals("desc", book.getDescription());
+        assertEquals(Arrays.asList("Fiction"), book.getCategories());
+        assertEquals("t", book.getThumbnailUrl());
+        assertEquals("9784000000000", book.getIsbn());
+    }
+
+    @Test
+    public void testVolumeList_noItems_returnsEmpty() throws Exception {
+        assertTrue(GoogleBooksJsonAdapters.VOLUME_LIST.fromJson("{\"totalItems\":0}").isEmpty());
+    }
+
+    @Test
+    public void testVolume_largestImagePreferred() throws Exception {
+        String json = "{\"id\":\"v2\",\"volumeInfo\":{\"title\":\"T\","
+                + "\"imageLinks\":{\"thumbnail\":\"t\",\"small\":\"s\",\"medium\":\"m\"}}}";
+
+        assertEquals("m", GoogleBooksJsonAdapters.VOLUME_LARGEST_IMAGE.fromJson(json).getThumbnailUrl());
+        assertEquals("t", GoogleBooksJsonAdapters.VOLUME.fromJson(json).getThumbnailUrl());
+    }
+
+    @Test
+    public void testVolume_missingOptionalFields_leftNull() throws Exception {
+        Book book = GoogleBooksJsonAdapters.VOLUME.fromJson("{\"id\":\"v3\",\"volumeInfo\":{\"title\":null}}");
+
+        assertEquals("v3", book.getId());
+        assertNull(book.getTitle());
+        assertNull(book.getAuthor());
+        assertNull(book.getThumbnailUrl());
+        assertNull(book.getCategories());
+    }
+
+    @Test
+    public void testVolumeList_writeThenRead_keepsReadFields() throws Exception {
+        List<Book> books = GoogleBooksJsonAdapters.VOLUME_LIST.fromJson(SEARCH_JSON);
+
+        String json = GoogleBooksJsonAdapters.VOLUME_LIST.toJson(books);
+        Book book = GoogleBooksJsonAdapters.VOLUME_LIST.fromJson(json).get(0);
+
+        assertEquals("v1", book.getId());
+        assertEquals("Title 1", book.getTitle());
+        assertEquals(Arrays.asList("Author A", "Author B"), book.getAuthors());
+        assertEquals("2020-01-01", book.getPublishedDate());
+        assertEquals("desc", book.getDescription());
+        assertEquals(Arrays.asList("Fiction"), book.getCategories());
+        assertEquals("t", book.getThumbnailUrl());
+        assertEquals("9784000000000", book.getIsbn());
+    }
+
+    @Test
+    public void testVolume_writeNull_writesJsonNull() {
+        assertEquals("null", GoogleBooksJsonAdapters.VOLUME.toJson(null));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.bookapp03.C4SearchProcessing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SuggestionPrefixCacheの単体テスト
+ * - ブラックボックス: 取得済みの接頭辞を延長した入力がローカルで応答され、ヒット率が計測されることを確認
+ * - ホワイトボックス: 候補が尽きた場合の問い合わせ、最近の検索タイトルの合成、LRUによる破棄を検証
+ */
+public class SuggestionPrefixCacheTest {
+
+    private static final List<String> HARRY = Arrays.asList(
+            "ハリー・ポッターと賢者の石", "ハリー・ポッターと秘密の部屋", "ハリーとトント");
+
+    private SuggestionPrefixCache sut;
+
+    @Before
+    public void setUp() {
+        sut = new SuggestionPrefixCache(2, 10, 5);
+    }
+
+    @Test
+    public void testLookup_refinementOfCachedPrefix_servedLocally() {
+        assertNull(sut.lookup("ハリー"));
+        sut.put("ハリー", HARRY);
+
+        assertEquals(Arrays.asList("ハリー・ポッターと賢者の石", "ハリー・ポッターと秘密の部屋"), sut.lookup("ハリーポ"));
+        assertEquals(Collections.singletonList("ハリー・ポッターと秘密の部屋"), sut.lookup("ﾊﾘｰ ﾎﾟｯﾀｰと秘密"));
+        assertEquals(3, sut.getLookupCount());
+        assertEquals(2, sut.getLocalHitCount());
+        assertEquals(2.0 / 3, sut.getLocalHitRate(), 1e-9);
+    }
+
+    @Test
+    public void testLookup_noLocalCandidates_goesToNetwork() {
+        sut.put("ハリー", HARRY);
+
+        assertNull(sut.lookup("ハリーウィンストン"));
+        assertNull(sut.lookup("ロン"));
+        assertEquals(0, sut.getLocalHitCount());
+    }
+
+    @Test
+    public void testRecordSearch_matchingRecentTitlesComeFirst() {
+        sut.recordSearch(Arrays.asList("ハリー・ポッターと炎のゴブレット", "指輪物語"));
+
+        List<String> merged = sut.put("ハリー", HARRY);
+
+        assertEquals("ハリー・ポッターと炎のゴブレット", merged.get(0));
+        assertEquals(4, merged.size());
+    }
+
+    @Test
+    public void testPut_leastRecentlyUsedPrefixEvicted() {
+        sut.put("ハリー", HARRY);
+        sut.put("指輪", Collections.singletonList("指輪物語"));
+        sut.lookup("ハリー");
+        sut.put("ロン", Collections.singletonList("ロンドン"));
+
+        assertNull(sut.lookup("指輪物"));
+        assertEquals(HARRY, sut.lookup("ハリー"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.bookapp03.C4SearchProcessing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Locale;
+
+/**
+ * TitleMatcherのベンチマーク
+ * - 楽天のタイトル1件を Google Books の候補と比較する処理について、候補1件あたりの所要時間を
+ *   従来の方式（候補ごとに正規表現をコンパイルし、文字列を正規化し直して contains で比較）と比較して出力する
+ * - 計測値は実行環境に依存するため、結果の判定は両方式で同じ候補が最良と判定されることのみ確認する
+ * - 通常の単体テストでは実行しない。計測する場合は ./gradlew testDebugUnitTest -Pbenchmark で実行する
+ *   （システムプロパティ bookapp.benchmark が true の場合のみ実行）
+ */
+public class TitleMatcherBenchmarkTest {
+
+    /** ベンチマークを実行するかどうかを指定するシステムプロパティ */
+    private static final String BENCHMARK_PROPERTY = "bookapp.benchmark";
+
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int MEASURED_ROUNDS = 20_000;
+
+    private static final String RAKUTEN_TITLE = "ハリー・ポッターと賢者の石 （1） 【楽天ブックス限定特典付き】";
+    private static final String[] GOOGLE_TITLES = {
+            "ハリー・ポッターと秘密の部屋",
+            "ハリー・ポッターと賢者の石",
+            "ハリー・ポッターと賢者の石 1-1",
+            "Harry Potter and the Philosopher's Stone",
+            "ハリー・ポッター大事典",
+            "賢者の石",
+            "ファンタスティック・ビーストと魔法使いの旅",
+            "ハリー・ポッターと炎のゴブレット",
+            "ハリー・ポッターとアズカバンの囚人",
+            "ハリー・ポッターと呪いの子",
+    };
+
+    @Before
+    public void setUp() {
+        assumeTrue("ベンチマークは -Pbenchmark 指定時のみ実行", Boolean.getBoolean(BENCHMARK_PROPERTY));
+    }
+
+    @Test
+    public void benchmarkPerCandidateCost() {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            bestByLegacy();
+            bestByTitleMatcher();
+        }
+
+        long legacyStart = System.nanoTime();
+        int legacyBest = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            legacyBest = bestByLegacy();
+        }
+        long legacyNanos = System.nanoTime() - legacyStart;
+
+        long matcherStart = System.nanoTime();
+        int matcherBest = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            matcherBest = bestByTitleMatcher();
+        }
+        long matcherNanos = System.nanoTime() - matcherStart;
+
+        long comparisons = (long) MEASURED_ROUNDS * GOOGLE_TITLES.length;
+        System.out.printf(Locale.ROOT, "TitleMatcher benchmark: legacy %.0f ns/candidate, TitleMatcher %.0f ns/candidate%n",
+                (double) legacyNanos / comparisons, (double) matcherNanos / comparisons);
+        assertEquals(1, legacyBest);
+        assertEquals(1, matcherBest);
+    }
+
+    /**
+     * 従来の RakutenBooksApiService の方式で最良の候補を選ぶ（候補ごとに楽天のタイトルも前処理し直していた）。
+     */
+    private static int bestByLegacy() {
+        int best = -1;
+        int highestScore = -1;
+        for (int i = 0; i < GOOGLE_TITLES.length; i++) {
+            String rakuten = legacyNormalize(legacyClean(RAKUTEN_TITLE));
+            String google = legacyNormalize(GOOGLE_TITLES[i]);
+            int score = 0;
+            if (google.equals(rakuten)) {
+                score = 300;
+            } else if (google.contains(rakuten)) {
+                score = 150;
+            } else if (rakuten.contains(google)) {
+                score = 100;
+            }
+            if (score > highestScore) {
+                highestScore = score;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static int bestByTitleMatcher() {
+        TitleMatcher.Title rakuten = TitleMatcher.compile(RAKUTEN_TITLE);
+        int best = -1;
+        double highest = -1;
+        for (int i = 0; i < GOOGLE_TITLES.length; i++) {
+            double similarity = rakuten.similarity(TitleMatcher.compile(GOOGLE_TITLES[i]));
+            if (similarity > highest) {
+                highest = similarity;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static String legacyClean(String title) {
+        String cleaned = title;
+        cleaned = cleaned.replaceAll("\\（.*?\\）|\\(.*?\\)", "");
+        cleaned = cleaned.replaceAll("【.*?】", "");
+        cleaned = cleaned.replaceAll("\\[.*?\\]", "");
+        cleaned = cleaned.replaceAll("　", " ");
+        return cleaned.replaceAll("\\s+", " ").trim();
+    }
+
+    private static String legacyNormalize(String title) {
+        return title.toLowerCase(Locale.ROOT).trim();
+    }
+}
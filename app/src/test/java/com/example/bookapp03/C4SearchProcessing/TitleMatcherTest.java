@@ -0,0 +1,52 @@
+package com.example.bookapp03.C4SearchProcessing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * TitleMatcherの単体テスト
+ * - ブラックボックス: 表記ゆれ（全角・半角、ひらがな・カタカナ、記号、括弧の補足）を吸収して一致と判定されることを確認
+ * - ホワイトボックス: バイグラムの類似度の境界（空のタイトル・1文字のタイトル・共通部分なし）を検証
+ */
+public class TitleMatcherTest {
+
+    @Test
+    public void testCleanTitle_removesBracketedNotesAndExtraSpaces() {
+        assertEquals("ONE PIECE 108", TitleMatcher.cleanTitle("ONE PIECE　108 （ジャンプコミックス）【特典付き】"));
+        assertEquals("変な家", TitleMatcher.cleanTitle("変な家 [文庫]"));
+        assertEquals("", TitleMatcher.cleanTitle(null));
+    }
+
+    @Test
+    public void testMatchesExactly_absorbsNotationDifferences() {
+        TitleMatcher.Title rakuten = TitleMatcher.compile("ﾊﾘｰ・ﾎﾟｯﾀｰと賢者の石 (1)");
+
+        assertTrue(rakuten.matchesExactly(TitleMatcher.compile("ハリー ポッターと賢者の石")));
+        assertTrue(TitleMatcher.compile("わんぴーす").matchesExactly(TitleMatcher.compile("ワンピース")));
+        assertTrue(TitleMatcher.compile("ＯＮＥ　ＰＩＥＣＥ").matchesExactly(TitleMatcher.compile("one piece")));
+        assertEquals(1.0, rakuten.similarity(TitleMatcher.compile("ハリー・ポッターと賢者の石")), 1e-9);
+    }
+
+    @Test
+    public void testSimilarity_partialTitleScoresBetweenZeroAndOne() {
+        TitleMatcher.Title rakuten = TitleMatcher.compile("ONE PIECE 108");
+
+        double partial = rakuten.similarity(TitleMatcher.compile("ONE PIECE"));
+        double unrelated = rakuten.similarity(TitleMatcher.compile("コンビニ人間"));
+
+        assertTrue(partial > 0.5 && partial < 1.0);
+        assertEquals(0.0, unrelated, 1e-9);
+        assertEquals(partial, TitleMatcher.compile("ONE PIECE").similarity(rakuten), 1e-9);
+    }
+
+    @Test
+    public void testSimilarity_emptyAndSingleCharacterTitles() {
+        assertEquals(0.0, TitleMatcher.compile("").similarity(TitleMatcher.compile("")), 1e-9);
+        assertFalse(TitleMatcher.compile("（限定版）").matchesExactly(TitleMatcher.compile("")));
+        assertEquals(1.0, TitleMatcher.compile("海").similarity(TitleMatcher.compile("海")), 1e-9);
+        assertEquals(0.0, TitleMatcher.compile("海").similarity(TitleMatcher.compile("山")), 1e-9);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.bookapp03.C5UserInformationManaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * AvatarImagePipelineの単体テスト
+ * - ブラックボックス: 画像の大きさから、短い辺が目標を下回らない最大の縮小率が求められることを確認
+ * - ホワイトボックス: キャッシュのキーがユーザーIDと内容の両方で変わること、ユーザーIDがない場合の扱いを検証
+ */
+public class AvatarImagePipelineTest {
+
+    @Test
+    public void testCalculateInSampleSize_keepsShortSideAboveTarget() {
+        assertEquals(1, AvatarImagePipeline.calculateInSampleSize(320, 320, 320));
+        assertEquals(1, AvatarImagePipeline.calculateInSampleSize(639, 1000, 320));
+        assertEquals(2, AvatarImagePipeline.calculateInSampleSize(640, 480, 240));
+        assertEquals(8, AvatarImagePipeline.calculateInSampleSize(4032, 3024, 320));
+        assertEquals(1, AvatarImagePipeline.calculateInSampleSize(100, 80, 320));
+    }
+
+    @Test
+    public void testCalculateInSampleSize_unknownBounds_noSubsampling() {
+        assertEquals(1, AvatarImagePipeline.calculateInSampleSize(-1, -1, 320));
+    }
+
+    @Test
+    public void testCacheKey_changesWithUidAndContent() {
+        String key = AvatarImagePipeline.cacheKey("u1", "QUJD");
+
+        assertEquals(key, AvatarImagePipeline.cacheKey("u1", "QUJD"));
+        assertNotEquals(key, AvatarImagePipeline.cacheKey("u2", "QUJD"));
+        assertNotEquals(key, AvatarImagePipeline.cacheKey("u1", "QUJE"));
+        assertTrue(key.startsWith("u1:"));
+        assertEquals(3 + 64, key.length());
+        assertTrue(AvatarImagePipeline.cacheKey(null, "QUJD").startsWith(":"));
+    }
+}
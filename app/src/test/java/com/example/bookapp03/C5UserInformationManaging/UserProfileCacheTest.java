@@ -0,0 +1,130 @@
+package com.example.bookapp03.C5UserInformationManaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * UserProfileCacheの単体テスト
+ * - ブラックボックス: 続けて要求されたユーザーが1回の問い合わせにまとめられ、再要求はメモリから応答されることを確認
+ * - ホワイトボックス: 上限件数ごとの分割、存在しないユーザー・取得失敗の扱い、LRU による破棄を検証
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 29)
+public class UserProfileCacheTest {
+
+    private static final long DELAY = 50;
+
+    private final List<List<String>> queries = new ArrayList<>();
+    private final List<UserProfileCache.BatchListener> listeners = new ArrayList<>();
+    private final List<String> delivered = new ArrayList<>();
+    private UserProfileCache sut;
+
+    @Before
+    public void setUp() {
+        UserProfileCache.ProfileSource source = (uids, listener) -> {
+            queries.add(uids);
+            listeners.add(listener);
+        };
+        sut = new UserProfileCache(source, new Handler(Looper.getMainLooper()), 3, 2, DELAY);
+    }
+
+    @Test
+    public void testRequest_rowsBoundTogether_batchedIntoChunkedQueries() {
+        sut.request("u1", this::record);
+        sut.request("u2", this::record);
+        sut.request("u1", this::record);
+        sut.request("u3", this::record);
+
+        assertTrue(queries.isEmpty());
+        idle(DELAY);
+        assertEquals(List.of(List.of("u1", "u2"), List.of("u3")), queries);
+
+        listeners.get(0).onSuccess(found("u1", "Alice"));
+        listeners.get(1).onSuccess(Collections.emptyMap());
+        idle(0);
+        assertEquals(List.of("u1=Alice", "u1=Alice", "u2=missing", "u3=missing"), delivered);
+        assertEquals(2, sut.getQueryCount());
+    }
+
+    @Test
+    public void testRequest_rebind_servedFromMemory() {
+        sut.request("u1", this::record);
+        idle(DELAY);
+        listeners.get(0).onSuccess(found("u1", "Alice"));
+        idle(0);
+
+        delivered.clear();
+        sut.request("u1", this::record);
+
+        assertEquals(List.of("u1=Alice"), delivered);
+        assertEquals(1, queries.size());
+    }
+
+    @Test
+    public void testRequest_failure_notCachedAndRetried() {
+        sut.request("u1", this::record);
+        idle(DELAY);
+        listeners.get(0).onFailure(new Exception("offline"));
+        idle(0);
+
+        assertEquals(List.of("u1=error"), delivered);
+        assertNull(sut.getCached("u1"));
+        sut.request("u1", this::record);
+        idle(DELAY);
+        assertEquals(2, queries.size());
+    }
+
+    @Test
+    public void testCache_leastRecentlyUsedEvicted() {
+        for (String uid : List.of("u1", "u2", "u3", "u4")) {
+            sut.request(uid, this::record);
+        }
+        idle(DELAY);
+        listeners.get(0).onSuccess(found("u1", "A"));
+        listeners.get(1).onSuccess(found("u3", "C"));
+        idle(0);
+
+        assertNull(sut.getCached("u1"));
+        assertFalse(sut.getCached("u2").exists());
+        assertEquals("C", sut.getCached("u3").getNickname());
+    }
+
+    private void record(String uid, UserProfileCache.Profile profile) {
+        if (profile == null) {
+            delivered.add(uid + "=error");
+        } else if (!profile.exists()) {
+            delivered.add(uid + "=missing");
+        } else {
+            delivered.add(uid + "=" + profile.getNickname());
+        }
+    }
+
+    private static Map<String, UserProfileCache.Profile> found(String uid, String nickname) {
+        Map<String, UserProfileCache.Profile> map = new HashMap<>();
+        map.put(uid, new UserProfileCache.Profile(true, nickname));
+        return map;
+    }
+
+    private static void idle(long millis) {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(millis));
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.bookapp03.C5UserInformationManaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * UserProfileStoreの単体テスト
+ * - ブラックボックス: ジャンル・ニックネームの保存で users/{uid} のアイコン画像を書き換えないことを確認
+ * - ホワイトボックス: アイコン画像を変更した場合の user_avatars への保存と、以前の形式のドキュメントの移行を検証
+ */
+public class UserProfileStoreTest {
+
+    private FirebaseFirestore mockFs;
+    private DocumentReference mockUser;
+    private DocumentReference mockAvatar;
+    private WriteBatch mockBatch;
+    private UserProfileStore sut;
+
+    @Before
+    public void setUp() {
+        mockFs = mock(FirebaseFirestore.class);
+        CollectionReference users = mock(CollectionReference.class);
+        CollectionReference avatars = mock(CollectionReference.class);
+        mockUser = mock(DocumentReference.class);
+        mockAvatar = mock(DocumentReference.class);
+        mockBatch = mock(WriteBatch.class);
+        when(mockFs.collection(UserProfileStore.USERS)).thenReturn(users);
+        when(mockFs.collection(UserProfileStore.AVATARS)).thenReturn(avatars);
+        when(users.document("u1")).thenReturn(mockUser);
+        when(avatars.document("u1")).thenReturn(mockAvatar);
+        when(mockFs.batch()).thenReturn(mockBatch);
+        sut = new UserProfileStore(mockFs);
+    }
+
+    @Test
+    public void testSaveGenres_mergesGenreOnly() {
+        List<String> genres = Arrays.asList("Fiction", "History");
+
+        sut.saveGenres("u1", genres);
+
+        verify(mockUser).set(eq(Collections.singletonMap(UserProfileStore.FIELD_GENRE, genres)), any(SetOptions.class));
+        verify(mockFs, never()).collection(UserProfileStore.AVATARS);
+    }
+
+    @Test
+    public void testSaveProfile_iconUnchanged_updatesNicknameOnly() {
+        sut.saveProfile("u1", "たろう", null);
+
+        verify(mockUser).update(Collections.<String, Object>singletonMap(UserProfileStore.FIELD_NICKNAME, "たろう"));
+        verify(mockFs, never()).batch();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSaveProfile_iconChanged_writesAvatarSeparately() {
+        sut.saveProfile("u1", "たろう", "QUJD");
+
+        ArgumentCaptor<Map<String, Object>> userFields = ArgumentCaptor.forClass(Map.class);
+        verify(mockBatch).update(eq(mockUser), userFields.capture());
+        assertEquals("たろう", userFields.getValue().get(UserProfileStore.FIELD_NICKNAME));
+        assertTrue(userFields.getValue().get(UserProfileStore.FIELD_ICON_BASE64) instanceof FieldValue);
+        verify(mockBatch).set(mockAvatar, Collections.singletonMap(UserProfileStore.FIELD_ICON_BASE64, "QUJD"));
+        verify(mockBatch).commit();
+    }
+
+    @Test
+    public void testMigrateLegacyAvatar_noLegacyField_doesNothing() {
+        DocumentSnapshot document = mock(DocumentSnapshot.class);
+        when(document.exists()).thenReturn(true);
+        when(document.getString(UserProfileStore.FIELD_ICON_BASE64)).thenReturn(null);
+
+        sut.migrateLegacyAvatar(document);
+
+        verify(mockFs, never()).batch();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMigrateLegacyAvatar_movesIconToAvatars() {
+        DocumentSnapshot document = mock(DocumentSnapshot.class);
+        when(document.exists()).thenReturn(true);
+        when(document.getId()).thenReturn("u1");
+        when(document.getReference()).thenReturn(mockUser);
+        when(document.getString(UserProfileStore.FIELD_ICON_BASE64)).thenReturn("QUJD");
+        Task<Void> commit = mock(Task.class);
+        when(mockBatch.commit()).thenReturn(commit);
+        when(commit.addOnSuccessListener(any(OnSuccessListener.class))).thenReturn(commit);
+        when(commit.addOnFailureListener(any(OnFailureListener.class))).thenReturn(commit);
+
+        sut.migrateLegacyAvatar(document);
+
+        verify(mockBatch).set(mockAvatar, Collections.singletonMap(UserProfileStore.FIELD_ICON_BASE64, "QUJD"));
+        ArgumentCaptor<Map<String, Object>> userFields = ArgumentCaptor.forClass(Map.class);
+        verify(mockBatch).update(eq(mockUser), userFields.capture());
+        assertTrue(userFields.getValue().get(UserProfileStore.FIELD_ICON_BASE64) instanceof FieldValue);
+        verify(mockBatch).commit();
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.bookapp03.C6BookInformationManaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * AppExecutorsの単体テスト
+ * - ブラックボックス: 用途ごとのプールが名前で取得でき、集計値が登録順に返ることを確認
+ * - ブラックボックス: 名前付きの直列プール・予約実行用プールが同じ名前で同じインスタンスを返し、集計対象に含まれることを確認
+ * - ホワイトボックス: スレッド名、待ち行列の上限と溢れた場合の扱い、待ち時間の集計（予約の遅延を含まないこと）を検証
+ */
+public class AppExecutorsTest {
+
+    private final List<ThreadPoolExecutor> created = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        for (ThreadPoolExecutor executor : created) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRegistry_namedPoolsInOrder() {
+        AppExecutors sut = new AppExecutors();
+        created.add(sut.get(AppExecutors.IO));
+        created.add(sut.get(AppExecutors.DB));
+        created.add(sut.get(AppExecutors.CPU));
+
+        assertSame(sut.get(AppExecutors.IO), sut.io());
+        assertSame(sut.get(AppExecutors.DB), sut.db());
+        assertSame(sut.get(AppExecutors.CPU), sut.cpu());
+        assertEquals(AppExecutors.IO, sut.snapshot().get(0).getName());
+        assertEquals(AppExecutors.DB, sut.snapshot().get(1).getName());
+        assertEquals(AppExecutors.CPU, sut.snapshot().get(2).getName());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGet_unknownNameThrows() {
+        AppExecutors sut = new AppExecutors();
+        created.add(sut.get(AppExecutors.IO));
+        created.add(sut.get(AppExecutors.DB));
+        created.add(sut.get(AppExecutors.CPU));
+
+        sut.get("network");
+    }
+
+    @Test
+    public void testSerial_sameNameReturnsRegisteredSingleThreadPool() throws Exception {
+        AppExecutors sut = newAppExecutors();
+        ExecutorService serial = sut.serial("file");
+        created.add((ThreadPoolExecutor) serial);
+        AtomicReference<String> threadName = new AtomicReference<>();
+
+        serial.submit(() -> threadName.set(Thread.currentThread().getName())).get(5, TimeUnit.SECONDS);
+
+        assertSame(serial, sut.serial("file"));
+        assertSame(serial, sut.get("file"));
+        assertEquals(1, ((ThreadPoolExecutor) serial).getMaximumPoolSize());
+        assertEquals("bookapp-file-1", threadName.get());
+        assertEquals(4, sut.snapshot().size());
+        assertEquals("file", sut.snapshot().get(3).getName());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSerial_poolNameThrows() {
+        newAppExecutors().serial(AppExecutors.IO);
+    }
+
+    @Test
+    public void testScheduled_sameNameReturnsRegisteredScheduler() {
+        AppExecutors sut = newAppExecutors();
+        ScheduledExecutorService scheduler = sut.scheduled("timeout");
+        created.add((ThreadPoolExecutor) scheduler);
+
+        assertSame(scheduler, sut.scheduled("timeout"));
+        assertEquals("timeout", sut.snapshot().get(3).getName());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testScheduled_serialNameThrows() {
+        AppExecutors sut = newAppExecutors();
+        created.add((ThreadPoolExecutor) sut.serial("file"));
+
+        sut.scheduled("file");
+    }
+
+    @Test
+    public void testScheduled_waitExcludesRequestedDelay() throws Exception {
+        AppExecutors.MeteredScheduledExecutor scheduler = new AppExecutors.MeteredScheduledExecutor("test");
+        created.add(scheduler);
+        AtomicReference<String> threadName = new AtomicReference<>();
+
+        scheduler.schedule(() -> threadName.set(Thread.currentThread().getName()), 200, TimeUnit.MILLISECONDS)
+                .get(5, TimeUnit.SECONDS);
+        scheduler.shutdown();
+        assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+
+        AppExecutors.Stats stats = scheduler.stats();
+        assertEquals("bookapp-test-1", threadName.get());
+        assertEquals(1, stats.getCompletedCount());
+        assertTrue(stats.getMaxWaitMillis() < 200);
+    }
+
+    @Test
+    public void testExecute_threadNamedAfterPool() throws Exception {
+        AppExecutors.MeteredExecutor executor = newExecutor(1, 1, new ThreadPoolExecutor.AbortPolicy());
+        AtomicReference<String> threadName = new AtomicReference<>();
+
+        executor.submit(() -> threadName.set(Thread.currentThread().getName())).get(5, TimeUnit.SECONDS);
+
+        assertEquals("bookapp-test-1", threadName.get());
+    }
+
+    @Test
+    public void testExecute_fullQueueRejectedAndCounted() throws Exception {
+        AppExecutors.MeteredExecutor executor = newExecutor(1, 1, new ThreadPoolExecutor.AbortPolicy());
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        started.await(5, TimeUnit.SECONDS);
+        executor.execute(() -> { });
+
+        try {
+            executor.execute(() -> { });
+            fail("待ち行列が溢れた処理は拒否される");
+        } catch (RejectedExecutionException expected) {
+            // 期待どおり
+        }
+        AppExecutors.Stats stats = executor.stats();
+        assertEquals(1, stats.getQueueDepth());
+        assertEquals(1, stats.getActiveCount());
+        assertEquals(1, stats.getRejectedCount());
+        release.countDown();
+    }
+
+    @Test
+    public void testExecute_callerRunsWhenQueueFull() throws Exception {
+        AppExecutors.MeteredExecutor executor = newExecutor(1, 1, new ThreadPoolExecutor.CallerRunsPolicy());
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        started.await(5, TimeUnit.SECONDS);
+        executor.execute(() -> { });
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        executor.execute(() -> ranOn.set(Thread.currentThread()));
+
+        assertSame(Thread.currentThread(), ranOn.get());
+        assertEquals(1, executor.stats().getRejectedCount());
+        release.countDown();
+    }
+
+    @Test
+    public void testStats_recordsWaitTime() throws Exception {
+        AppExecutors.MeteredExecutor executor = newExecutor(1, 4, new ThreadPoolExecutor.AbortPolicy());
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> await(release));
+        Future<?> queued = executor.submit(() -> { });
+        Thread.sleep(50);
+        release.countDown();
+        queued.get(5, TimeUnit.SECONDS);
+        // 集計は処理の終了後に記録されるため、プールを止めてから取得する
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        AppExecutors.Stats stats = executor.stats();
+        assertTrue(stats.getMaxWaitMillis() >= 40);
+        assertEquals(2, stats.getCompletedCount());
+    }
+
+    private AppExecutors newAppExecutors() {
+        AppExecutors sut = new AppExecutors();
+        created.add(sut.get(AppExecutors.IO));
+        created.add(sut.get(AppExecutors.DB));
+        created.add(sut.get(AppExecutors.CPU));
+        return sut;
+    }
+
+    private AppExecutors.MeteredExecutor newExecutor(int threads, int queueCapacity,
+                                                     java.util.concurrent.RejectedExecutionHandler policy) {
+        AppExecutors.MeteredExecutor executor = new AppExecutors.MeteredExecutor("test", threads, queueCapacity, policy);
+        created.add(executor);
+        return executor;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.bookapp03.C6BookInformationManaging;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+import android.content.Context;
+import android.util.Log;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+/**
+ * AppServicesの単体テスト
+ * - ブラックボックス: 同じサービスを要求すると同一インスタンスが返ることを確認
+ * - ホワイトボックス: MyApplication が保持するインスタンスへの委譲と、それ以外の Application での共有インスタンスを検証
+ */
+public class AppServicesTest {
+
+    private MockedStatic<Log> mockedLog;
+    private Context mockContext;
+
+    @Before
+    public void setUp() {
+        mockedLog = mockStatic(Log.class);
+        mockContext = mock(Context.class);
+        when(mockContext.getApplicationContext()).thenReturn(mockContext);
+    }
+
+    @After
+    public void tearDown() {
+        mockedLog.close();
+    }
+
+    @Test
+    public void testGetServices_returnsSameInstances() {
+        AppServices sut = new AppServices(mockContext);
+
+        assertSame(sut.getGson(), sut.getGson());
+        assertSame(sut.getGoogleBooksApiService(), sut.getGoogleBooksApiService());
+        assertSame(sut.getRakutenBooksApiService(), sut.getRakutenBooksApiService());
+    }
+
+    @Test
+    public void testFrom_myApplication_delegatesToApplication() {
+        MyApplication mockApplication = mock(MyApplication.class);
+        AppServices services = new AppServices(mockApplication);
+        when(mockApplication.getApplicationContext()).thenReturn(mockApplication);
+        when(mockApplication.getServices()).thenReturn(services);
+        Context activity = mock(Context.class);
+        when(activity.getApplicationContext()).thenReturn(mockApplication);
+
+        assertSame(services, AppServices.from(activity));
+    }
+
+    @Test
+    public void testFrom_otherApplication_returnsSharedInstance() {
+        assertSame(AppServices.from(mockContext), AppServices.from(mockContext));
+    }
+}
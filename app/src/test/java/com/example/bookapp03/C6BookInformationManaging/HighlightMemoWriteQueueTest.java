@@ -0,0 +1,140 @@
+package com.example.bookapp03.C6BookInformationManaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import android.util.Log;
+
+import com.example.bookapp03.C1UIProcessing.HighlightMemoData;
+import com.example.bookapp03.C6BookInformationManaging.database.HighlightMemoEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HighlightMemoWriteQueueの単体テスト
+ * - ブラックボックス: 続けて登録されたメモが1回の挿入にまとめられ、メモごとに結果が通知されることを確認
+ * - ホワイトボックス: 挿入の予約、最大件数での即時挿入、挿入失敗時の通知を検証
+ */
+public class HighlightMemoWriteQueueTest {
+
+    private static final long DELAY = 300;
+
+    private MockedStatic<Log> mockedLog;
+    private ScheduledExecutorService mockWriter;
+    private List<List<HighlightMemoEntity>> inserted;
+    private List<Long> nextIds;
+    private RuntimeException nextError;
+    private List<Boolean> results;
+    private HighlightMemoWriteQueue sut;
+
+    @Before
+    public void setUp() {
+        mockedLog = mockStatic(Log.class);
+        mockWriter = mock(ScheduledExecutorService.class);
+        inserted = new ArrayList<>();
+        nextIds = null;
+        nextError = null;
+        results = new ArrayList<>();
+        sut = new HighlightMemoWriteQueue(entities -> {
+            inserted.add(new ArrayList<>(entities));
+            if (nextError != null) {
+                throw nextError;
+            }
+            return nextIds;
+        }, mockWriter, Runnable::run, DELAY, 3);
+    }
+
+    @After
+    public void tearDown() {
+        mockedLog.close();
+    }
+
+    @Test
+    public void testEnqueue_groupsMemosIntoOneInsert() {
+        sut.enqueue("u", "v", new HighlightMemoData(1, 2, "a"), results::add);
+        sut.enqueue("u", "v", new HighlightMemoData(3, 4, "b"), results::add);
+
+        // 書き込みは予約されるのみで、enqueue は挿入を待たない
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(mockWriter, times(1)).schedule(flush.capture(), eq(DELAY), eq(TimeUnit.MILLISECONDS));
+        assertEquals(0, inserted.size());
+
+        nextIds = Arrays.asList(10L, 11L);
+        flush.getValue().run();
+
+        assertEquals(1, inserted.size());
+        assertEquals(2, inserted.get(0).size());
+        assertEquals("a", inserted.get(0).get(0).memo);
+        assertEquals(3, inserted.get(0).get(1).page);
+        assertEquals(Arrays.asList(true, true), results);
+    }
+
+    @Test
+    public void testEnqueue_maxBatchSizeFlushesImmediately() {
+        sut.enqueue("u", "v", new HighlightMemoData(1, 1, "a"), results::add);
+        sut.enqueue("u", "v", new HighlightMemoData(1, 2, "b"), results::add);
+        verify(mockWriter, never()).execute(any(Runnable.class));
+
+        sut.enqueue("u", "v", new HighlightMemoData(1, 3, "c"), results::add);
+
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(mockWriter).execute(flush.capture());
+        nextIds = Arrays.asList(1L, 2L, 3L);
+        flush.getValue().run();
+        assertEquals(3, inserted.get(0).size());
+
+        // 予約済みの挿入は挿入待ちがなければ何もしない
+        sut.flush();
+        assertEquals(1, inserted.size());
+    }
+
+    @Test
+    public void testFlush_newMemoAfterFlushIsScheduledAgain() {
+        sut.enqueue("u", "v", new HighlightMemoData(1, 1, "a"), results::add);
+        nextIds = Arrays.asList(1L);
+        sut.flush();
+
+        sut.enqueue("u", "v", new HighlightMemoData(1, 2, "b"), results::add);
+
+        verify(mockWriter, times(2)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testFlush_insertFailureReportsFalseForEveryMemo() {
+        sut.enqueue("u", "v", new HighlightMemoData(1, 1, "a"), results::add);
+        sut.enqueue("u", "v", new HighlightMemoData(1, 2, "b"), results::add);
+        nextError = new IllegalStateException("disk full");
+
+        sut.flush();
+
+        assertEquals(Arrays.asList(false, false), results);
+    }
+
+    @Test
+    public void testFlush_invalidRowIdReportsFalseForThatMemo() {
+        sut.enqueue("u", "v", new HighlightMemoData(1, 1, "a"), results::add);
+        sut.enqueue("u", "v", new HighlightMemoData(1, 2, "b"), results::add);
+        nextIds = Arrays.asList(5L, -1L);
+
+        sut.flush();
+
+        assertEquals(Arrays.asList(true, false), results);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.bookapp03.C6BookInformationManaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.bookapp03.C4SearchProcessing.Book;
+import com.google.gson.Gson;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * HotBooksSnapshotStoreの単体テスト
+ * - ブラックボックス: 保存したランキングの書籍の項目が読み取れ、スナップショットの有効期限で期限切れと判定されることを確認
+ * （ファイルの読み書き・壊れたファイルの扱いは VersionedJsonFileStoreTest で検証）
+ */
+public class HotBooksSnapshotStoreTest {
+
+    private static final long TTL = Duration.ofHours(12).toMillis();
+    private static final Instant SAVED_AT = Instant.parse("2026-10-18T00:00:00Z");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setUp() {
+        file = new File(folder.getRoot(), "hot_books_snapshot.json");
+    }
+
+    @Test
+    public void testWriteThenRead_roundTripsBooks() {
+        Book book = new Book("vol1", "タイトル", "著者", null, "https://example.com/t.jpg",
+                Collections.singletonList("Fiction"));
+
+        storeAt(SAVED_AT).write(Arrays.asList(book));
+        HotBooksSnapshotStore.Snapshot snapshot = storeAt(SAVED_AT).read();
+
+        assertNotNull(snapshot);
+        assertEquals(SAVED_AT.toEpochMilli(), snapshot.getSavedAtMillis());
+        assertEquals(1, snapshot.getBooks().size());
+        Book read = snapshot.getBooks().get(0);
+        assertEquals("vol1", read.getId());
+        assertEquals("タイトル", read.getTitle());
+        assertEquals("https://example.com/t.jpg", read.getThumbnailUrl());
+        assertEquals(Collections.singletonList("Fiction"), read.getCategories());
+    }
+
+    @Test
+    public void testIsExpired_afterTtl() {
+        storeAt(SAVED_AT).write(Collections.singletonList(new Book()));
+
+        HotBooksSnapshotStore.Snapshot snapshot = storeAt(SAVED_AT).read();
+
+        assertFalse(storeAt(SAVED_AT.plusMillis(TTL - 1)).isExpired(snapshot));
+        assertTrue(storeAt(SAVED_AT.plusMillis(TTL)).isExpired(snapshot));
+    }
+
+    private HotBooksSnapshotStore storeAt(Instant now) {
+        return new HotBooksSnapshotStore(file, new Gson(), TTL, Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.bookapp03.C6BookInformationManaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * HttpClientProviderの単体テスト
+ * - ブラックボックス: 共有クライアントが同一インスタンスであることを確認
+ * - ホワイトボックス: Google Books のキャッシュ指定なしレスポンスのみヘッダを付与することを検証
+ */
+public class HttpClientProviderTest {
+
+    @Test
+    public void testGet_returnsSameInstance() {
+        assertSame(HttpClientProvider.get(), HttpClientProvider.get());
+    }
+
+    @Test
+    public void testInterceptor_googleBooksWithoutHeader_addsMaxAge() throws Exception {
+        Response result = intercept("https://www.googleapis.com/books/v1/volumes?q=java", null);
+
+        assertEquals("public, max-age=" + HttpClientProvider.GOOGLE_BOOKS_MAX_AGE_SECONDS,
+                result.header("Cache-Control"));
+    }
+
+    @Test
+    public void testInterceptor_googleBooksWithHeader_keepsServerValue() throws Exception {
+        Response result = intercept("https://www.googleapis.com/books/v1/volumes?q=java", "no-store");
+
+        assertEquals("no-store", result.header("Cache-Control"));
+    }
+
+    @Test
+    public void testInterceptor_otherHost_untouched() throws Exception {
+        Response result = intercept("https://app.rakuten.co.jp/services/api/IchibaItem/Ranking/20170628", null);
+
+        assertNull(result.header("Cache-Control"));
+    }
+
+    private Response intercept(String url, String cacheControl) throws Exception {
+        Request request = new Request.Builder().url(url).build();
+        Response.Builder builder = new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK");
+        if (cacheControl != null) {
+            builder.header("Cache-Control", cacheControl);
+        }
+        Interceptor.Chain chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(any(Request.class))).thenReturn(builder.build());
+        return new HttpClientProvider.GoogleBooksCacheInterceptor().intercept(chain);
+    }
+}
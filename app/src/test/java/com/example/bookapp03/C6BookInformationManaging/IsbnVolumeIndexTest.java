@@ -0,0 +1,107 @@
+package com.example.bookapp03.C6BookInformationManaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.util.Log;
+
+import com.example.bookapp03.C6BookInformationManaging.database.IsbnVolumeDao;
+import com.example.bookapp03.C6BookInformationManaging.database.IsbnVolumeEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+
+import java.io.IOException;
+
+/**
+ * IsbnVolumeIndexの単体テスト
+ * - ブラックボックス: ISBN-10/13 の正規化と、解決済みの ISBN は API を再度呼び出さないことを検証
+ * - ホワイトボックス: 該当なしの結果に短い TTL が適用されること、通信エラーは記録しないことを検証
+ */
+public class IsbnVolumeIndexTest {
+    private static final long FOUND_TTL = 600_000L;
+    private static final long NOT_FOUND_TTL = 60_000L;
+
+    private IsbnVolumeDao mockDao;
+    private MockedStatic<VolumeIdProvider> providerStatic;
+    private MockedStatic<Log> mockedLog;
+    private IsbnVolumeIndex sut;
+
+    @Before
+    public void setUp() {
+        mockDao = mock(IsbnVolumeDao.class);
+        providerStatic = mockStatic(VolumeIdProvider.class);
+        mockedLog = mockStatic(Log.class);
+        sut = new IsbnVolumeIndex(mockDao, 16, FOUND_TTL, NOT_FOUND_TTL);
+    }
+
+    @After
+    public void tearDown() {
+        providerStatic.close();
+        mockedLog.close();
+    }
+
+    @Test
+    public void testToIsbn13_normalizesBothForms() {
+        assertEquals("9784101010014", IsbnVolumeIndex.toIsbn13("4-10-101001-3"));
+        assertEquals("9784101010014", IsbnVolumeIndex.toIsbn13("978-4-10-101001-4"));
+        assertEquals("9780804429573", IsbnVolumeIndex.toIsbn13("080442957X"));
+        assertNull(IsbnVolumeIndex.toIsbn13("4101010012"));
+        assertNull(IsbnVolumeIndex.toIsbn13("9784101010015"));
+        assertNull(IsbnVolumeIndex.toIsbn13("dummy"));
+    }
+
+    @Test
+    public void testResolve_isbn10And13ShareOneLookup() throws Exception {
+        providerStatic.when(() -> VolumeIdProvider.requestVolumeId("9784101010014")).thenReturn("VOL1");
+
+        assertEquals("VOL1", sut.resolve("4101010013"));
+        assertEquals("VOL1", sut.resolve("978-4-10-101001-4"));
+
+        providerStatic.verify(() -> VolumeIdProvider.requestVolumeId(anyString()), times(1));
+        ArgumentCaptor<IsbnVolumeEntity> saved = ArgumentCaptor.forClass(IsbnVolumeEntity.class);
+        verify(mockDao).upsert(saved.capture());
+        assertEquals("9784101010014", saved.getValue().isbn13);
+        assertEquals("VOL1", saved.getValue().volumeId);
+    }
+
+    @Test
+    public void testResolve_notFoundExpiresSoonerThanFound() {
+        long now = System.currentTimeMillis();
+        when(mockDao.get("9784101010014")).thenReturn(
+                new IsbnVolumeEntity("9784101010014", null, now - NOT_FOUND_TTL / 2));
+        when(mockDao.get("9780804429573")).thenReturn(
+                new IsbnVolumeEntity("9780804429573", null, now - NOT_FOUND_TTL * 2));
+        when(mockDao.get("9784062748681")).thenReturn(
+                new IsbnVolumeEntity("9784062748681", "VOL2", now - NOT_FOUND_TTL * 2));
+
+        assertEquals("", sut.resolve("9784101010014"));
+        assertFalse(sut.find("9784101010014").isFound());
+        assertNull(sut.find("9780804429573"));
+        assertEquals("VOL2", sut.resolve("9784062748681"));
+
+        providerStatic.verify(() -> VolumeIdProvider.requestVolumeId(anyString()), never());
+    }
+
+    @Test
+    public void testResolve_networkError_notRecorded() throws Exception {
+        providerStatic.when(() -> VolumeIdProvider.requestVolumeId("9784101010014"))
+                .thenThrow(new IOException("offline"));
+
+        assertEquals("", sut.resolve("9784101010014"));
+        assertNull(sut.find("9784101010014"));
+        verify(mockDao, never()).upsert(any());
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.bookapp03.C6BookInformationManaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.bookapp03.C4SearchProcessing.Book;
+import com.google.gson.Gson;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * RecommendationFeedCacheの単体テスト
+ * - ブラックボックス: 保存した候補が Firestore の取得順のまま読み取れ、ボリュームIDで検索できることを確認
+ * - ホワイトボックス: 候補一覧と書籍詳細にそれぞれの有効期限が適用されること、ボリュームIDのない書籍を読み捨てることを検証
+ * （ファイルの読み書き・壊れたファイルの扱いは VersionedJsonFileStoreTest で検証）
+ */
+public class RecommendationFeedCacheTest {
+
+    private static final long FEED_TTL = Duration.ofMinutes(30).toMillis();
+    private static final long VOLUME_TTL = Duration.ofDays(7).toMillis();
+    private static final Instant SAVED_AT = Instant.parse("2026-10-18T00:00:00Z");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setUp() {
+        file = new File(folder.getRoot(), "recommendation_feed.json");
+    }
+
+    @Test
+    public void testWriteThenRead_keepsOrderAndFindsById() {
+        Book first = new Book("vol1", "一冊目", "著者", null, null, Collections.singletonList("Fiction"));
+        first.setOverallSummary("面白い");
+        Book second = new Book("vol2", "二冊目", "著者", null, null, Collections.singletonList("History"));
+        long fetchedAt = SAVED_AT.minus(Duration.ofDays(1)).toEpochMilli();
+
+        cacheAt(SAVED_AT).write(Arrays.asList(
+                new RecommendationFeedCache.Entry(first, fetchedAt),
+                new RecommendationFeedCache.Entry(second, SAVED_AT.toEpochMilli())));
+        RecommendationFeedCache.Feed feed = cacheAt(SAVED_AT).read();
+
+        assertNotNull(feed);
+        assertEquals(SAVED_AT.toEpochMilli(), feed.getSavedAtMillis());
+        assertEquals("vol1", feed.getBooks().get(0).getId());
+        assertEquals("vol2", feed.getBooks().get(1).getId());
+        assertEquals("面白い", feed.find("vol1").getBook().getOverallSummary());
+        assertEquals(fetchedAt, feed.find("vol1").getFetchedAtMillis());
+        assertNull(feed.find("vol3"));
+    }
+
+    @Test
+    public void testIsExpired_feedAndVolumeUseSeparateTtls() {
+        cacheAt(SAVED_AT).write(Collections.singletonList(
+                new RecommendationFeedCache.Entry(new Book("vol1", "t", "a", null, null, null), SAVED_AT.toEpochMilli())));
+        RecommendationFeedCache.Feed feed = cacheAt(SAVED_AT).read();
+        RecommendationFeedCache.Entry entry = feed.find("vol1");
+
+        assertFalse(cacheAt(SAVED_AT.plusMillis(FEED_TTL - 1)).isExpired(feed));
+        assertTrue(cacheAt(SAVED_AT.plusMillis(FEED_TTL)).isExpired(feed));
+        assertFalse(cacheAt(SAVED_AT.plusMillis(FEED_TTL)).isExpired(entry));
+        assertTrue(cacheAt(SAVED_AT.plusMillis(VOLUME_TTL)).isExpired(entry));
+    }
+
+    @Test
+    public void testRead_dropsEntriesWithoutVolumeId() {
+        cacheAt(SAVED_AT).write(Arrays.asList(
+                new RecommendationFeedCache.Entry(new Book(null, "IDなし", "a", null, null, null), SAVED_AT.toEpochMilli()),
+                new RecommendationFeedCache.Entry(new Book("vol1", "t", "a", null, null, null), SAVED_AT.toEpochMilli())));
+
+        RecommendationFeedCache.Feed feed = cacheAt(SAVED_AT).read();
+
+        assertEquals(1, feed.getBooks().size());
+        assertEquals("vol1", feed.getBooks().get(0).getId());
+    }
+
+    private RecommendationFeedCache cacheAt(Instant now) {
+        return new RecommendationFeedCache(file, new Gson(), FEED_TTL, VOLUME_TTL, Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
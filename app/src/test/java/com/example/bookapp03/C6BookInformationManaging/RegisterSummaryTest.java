@@ -8,6 +8,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import android.content.Context;
+import android.util.Log;
 
 import com.google.firebase.firestore.CollectionReference;
 import com.google.firebase.firestore.DocumentReference;
@@ -33,6 +34,7 @@ public class RegisterSummaryTest {
     private BookInformationDatabase mockDb;
     private MockedStatic<BookInformationDatabase> dbStatic;
     private MockedStatic<FirebaseFirestore> fsStatic;
+    private MockedStatic<Log> logStatic;
 
     @Before
     public void setUp() {
@@ -43,6 +45,7 @@ public class RegisterSummaryTest {
 
         dbStatic = Mockito.mockStatic(BookInformationDatabase.class);
         fsStatic = Mockito.mockStatic(FirebaseFirestore.class);
+        logStatic = Mockito.mockStatic(Log.class);
 
         dbStatic.when(() -> BookInformationDatabase.getDatabase(mockContext))
                 .thenReturn(mockDb);
@@ -56,6 +59,7 @@ public class RegisterSummaryTest {
     public void tearDown() {
         dbStatic.close();
         fsStatic.close();
+        logStatic.close();
     }
 
     @Test
@@ -0,0 +1,364 @@
+package com.example.bookapp03.C6BookInformationManaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Transaction;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ReviewCountIndexの単体テスト
+ * - ブラックボックス: 複数の書籍の件数が上限数ごとの問い合わせでまとめて取得され、1回だけ通知されることを確認
+ * - ホワイトボックス: 保持中の件数による応答、有効期限、取得失敗時の扱い、公開時の加算と初期化の条件、
+ *   件数の記録がない書籍での既存の投稿者からの初期化、投稿者が初期化の上限を超える場合に件数を保存しないことを検証
+ */
+public class ReviewCountIndexTest {
+
+    private static final long TTL = Duration.ofMinutes(10).toMillis();
+
+    private MockedStatic<Log> mockedLog;
+    private FakeSource source;
+    private MutableClock clock;
+    private ReviewCountIndex sut;
+
+    @Before
+    public void setUp() {
+        mockedLog = mockStatic(Log.class);
+        source = new FakeSource();
+        clock = new MutableClock(Instant.parse("2026-10-18T00:00:00Z"));
+        sut = new ReviewCountIndex(source, clock, 16, 2, TTL);
+    }
+
+    @After
+    public void tearDown() {
+        mockedLog.close();
+    }
+
+    @Test
+    public void testFetchCounts_chunksByMaxIdsAndNotifiesOnce() {
+        List<Map<String, Long>> notified = new ArrayList<>();
+
+        sut.fetchCounts(Arrays.asList("v1", "v2", "v3", "v1", null), notified::add);
+
+        assertEquals(Arrays.asList(Arrays.asList("v1", "v2"), Collections.singletonList("v3")), source.requested);
+        source.listeners.get(0).onSuccess(counts("v1", 3L));
+        assertTrue(notified.isEmpty());
+        source.listeners.get(1).onSuccess(counts("v3", 1L));
+
+        assertEquals(1, notified.size());
+        assertEquals(counts("v1", 3L, "v3", 1L), notified.get(0));
+        assertEquals(2, sut.getQueryCount());
+    }
+
+    @Test
+    public void testFetchCounts_cachedCountsServedWithoutQuery() {
+        sut.fetchCounts(Arrays.asList("v1", "v2"), counts -> { });
+        source.listeners.get(0).onSuccess(counts("v1", 3L));
+        List<Map<String, Long>> notified = new ArrayList<>();
+
+        sut.fetchCounts(Collections.singletonList("v1"), notified::add);
+
+        assertEquals(counts("v1", 3L), notified.get(0));
+        assertEquals(1, sut.getQueryCount());
+
+        // 件数の記録がなかった書籍は保持せず、次回も問い合わせる
+        sut.fetchCounts(Arrays.asList("v1", "v2"), counts -> { });
+        assertEquals(Collections.singletonList("v2"), source.requested.get(1));
+    }
+
+    @Test
+    public void testGetCached_expiresAfterTtl() {
+        sut.fetchCounts(Collections.singletonList("v1"), counts -> { });
+        source.listeners.get(0).onSuccess(counts("v1", 3L));
+
+        clock.advance(TTL - 1);
+        assertEquals(Long.valueOf(3L), sut.getCached("v1"));
+        clock.advance(1);
+        assertNull(sut.getCached("v1"));
+    }
+
+    @Test
+    public void testFetchCounts_failedChunkLeftUnknown() {
+        List<Map<String, Long>> notified = new ArrayList<>();
+
+        sut.fetchCounts(Arrays.asList("v1", "v2", "v3"), notified::add);
+        source.listeners.get(0).onFailure(new Exception("offline"));
+        source.listeners.get(1).onSuccess(counts("v3", 2L));
+
+        assertEquals(counts("v3", 2L), notified.get(0));
+        assertNull(sut.getCached("v1"));
+    }
+
+    @Test
+    public void testRecordPublished_incrementsCachedCountWhenCounted() {
+        sut.fetchCounts(Collections.singletonList("v1"), counts -> { });
+        source.listeners.get(0).onSuccess(counts("v1", 3L));
+
+        sut.recordPublished("u1", "v1");
+        assertEquals(Long.valueOf(3L), sut.getCached("v1"));
+        source.onAdded.get(0).run();
+
+        assertEquals(Long.valueOf(4L), sut.getCached("v1"));
+    }
+
+    @Test
+    public void testRecordObservedReviewers_onlyWhenCountUnknown() {
+        sut.recordObservedReviewers("v2", Arrays.asList("u1", "u2", "u1"));
+        sut.fetchCounts(Collections.singletonList("v1"), counts -> { });
+        source.listeners.get(0).onSuccess(counts("v1", 3L));
+        sut.recordObservedReviewers("v1", Arrays.asList("u3"));
+
+        // 同じ投稿者は1人として記録する
+        assertEquals(Collections.singletonMap("v2", Arrays.asList("u1", "u2")), source.initialized);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFirestoreAddReviewer_noCounter_seedsFromPublicSummariesThenAdds() throws Exception {
+        FirestoreFixture firestore = new FirestoreFixture();
+        List<Boolean> added = new ArrayList<>();
+
+        firestore.source.addReviewer("u", "v1", () -> added.add(true));
+        // 1回目のトランザクション: 件数の記録がないため加算せずに初期化へ進む
+        assertNull(firestore.applyTransaction(0, false));
+        firestore.transactionSucceeded(0, null);
+        firestore.summariesLoaded("a", "b");
+        Boolean result = (Boolean) firestore.applyTransaction(1, false);
+
+        // 既存の投稿者と今回の投稿者を記録し、件数は3件で保存される
+        assertTrue(result);
+        verify(firestore.transaction).set(eq(firestore.reviewer("a")), any());
+        verify(firestore.transaction).set(eq(firestore.reviewer("b")), any());
+        verify(firestore.transaction).set(eq(firestore.reviewer("u")), any());
+        verify(firestore.transaction).set(firestore.counter,
+                Collections.singletonMap(ReviewCountIndex.FIELD_COUNT, 3L));
+        firestore.transactionSucceeded(1, result);
+        assertEquals(Collections.singletonList(true), added);
+    }
+
+    @Test
+    public void testFirestoreAddReviewer_existingReviewerRepublishes_notCountedTwice() throws Exception {
+        FirestoreFixture firestore = new FirestoreFixture();
+        List<Boolean> added = new ArrayList<>();
+
+        firestore.source.addReviewer("u", "v1", () -> added.add(true));
+        firestore.applyTransaction(0, false);
+        firestore.transactionSucceeded(0, null);
+        firestore.summariesLoaded("a", "u");
+        Boolean result = (Boolean) firestore.applyTransaction(1, false);
+
+        assertEquals(Boolean.FALSE, result);
+        verify(firestore.transaction).set(firestore.counter,
+                Collections.singletonMap(ReviewCountIndex.FIELD_COUNT, 2L));
+        firestore.transactionSucceeded(1, result);
+        assertTrue(added.isEmpty());
+    }
+
+    @Test
+    public void testFirestoreAddReviewer_tooManyExistingReviewers_leavesVolumeUncounted() throws Exception {
+        FirestoreFixture firestore = new FirestoreFixture();
+        List<Boolean> added = new ArrayList<>();
+        String[] existing = new String[ReviewCountIndex.MAX_BACKFILL_REVIEWERS];
+        for (int i = 0; i < existing.length; i++) {
+            existing[i] = "r" + i;
+        }
+
+        firestore.source.addReviewer("u", "v1", () -> added.add(true));
+        firestore.applyTransaction(0, false);
+        firestore.transactionSucceeded(0, null);
+        firestore.summariesLoaded(existing);
+        Boolean result = (Boolean) firestore.applyTransaction(1, false);
+
+        // 投稿者を記録しきれないため、件数も投稿者も保存しない
+        assertEquals(Boolean.FALSE, result);
+        verify(firestore.transaction, never()).set(eq(firestore.counter), any());
+        verify(firestore.transaction, never()).set(eq(firestore.reviewer("u")), any());
+        firestore.transactionSucceeded(1, result);
+        assertTrue(added.isEmpty());
+    }
+
+    @Test
+    public void testFirestoreAddReviewer_counterExists_incrementsOnlyNewReviewer() throws Exception {
+        FirestoreFixture firestore = new FirestoreFixture();
+
+        firestore.source.addReviewer("u", "v1", () -> { });
+        when(firestore.reviewerSnapshot.exists()).thenReturn(true);
+
+        assertEquals(Boolean.FALSE, firestore.applyTransaction(0, true));
+        verify(firestore.transaction, never()).set(eq(firestore.counter), any(), any(SetOptions.class));
+    }
+
+    private static Map<String, Long> counts(Object... idAndCount) {
+        Map<String, Long> map = new HashMap<>();
+        for (int i = 0; i < idAndCount.length; i += 2) {
+            map.put((String) idAndCount[i], (Long) idAndCount[i + 1]);
+        }
+        return map;
+    }
+
+    private static final class FakeSource implements ReviewCountIndex.CountSource {
+        final List<List<String>> requested = new ArrayList<>();
+        final List<ReviewCountIndex.BatchListener> listeners = new ArrayList<>();
+        final List<Runnable> onAdded = new ArrayList<>();
+        final Map<String, List<String>> initialized = new HashMap<>();
+
+        @Override
+        public void fetch(List<String> volumeIds, ReviewCountIndex.BatchListener listener) {
+            requested.add(volumeIds);
+            listeners.add(listener);
+        }
+
+        @Override
+        public void addReviewer(String uid, String volumeId, Runnable onAdded) {
+            this.onAdded.add(onAdded);
+        }
+
+        @Override
+        public void initialize(String volumeId, Collection<String> reviewerUids) {
+            initialized.put(volumeId, new ArrayList<>(reviewerUids));
+        }
+    }
+
+    /**
+     * FirestoreCountSource が使用する Firestore の参照・トランザクションのモックです。
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final class FirestoreFixture {
+        final FirebaseFirestore db = mock(FirebaseFirestore.class);
+        final DocumentReference counter = mock(DocumentReference.class);
+        final Transaction transaction = mock(Transaction.class);
+        final DocumentSnapshot counterSnapshot = mock(DocumentSnapshot.class);
+        final DocumentSnapshot reviewerSnapshot = mock(DocumentSnapshot.class);
+        final Map<String, DocumentReference> reviewers = new HashMap<>();
+        final Task transactionTask = mock(Task.class);
+        final Task<QuerySnapshot> queryTask = mock(Task.class);
+        final ReviewCountIndex.FirestoreCountSource source;
+
+        FirestoreFixture() throws Exception {
+            CollectionReference countsCollection = mock(CollectionReference.class);
+            CollectionReference reviewersCollection = mock(CollectionReference.class);
+            CollectionReference summaries = mock(CollectionReference.class);
+            Query publicSummaries = mock(Query.class);
+            when(db.collection(ReviewCountIndex.COLLECTION)).thenReturn(countsCollection);
+            when(countsCollection.document("v1")).thenReturn(counter);
+            when(counter.collection(ReviewCountIndex.REVIEWERS)).thenReturn(reviewersCollection);
+            when(reviewersCollection.document(anyString()))
+                    .thenAnswer(invocation -> reviewer(invocation.getArgument(0)));
+            when(db.collection(ReviewCountIndex.SUMMARIES)).thenReturn(summaries);
+            when(summaries.whereEqualTo("volumeId", "v1")).thenReturn(publicSummaries);
+            when(publicSummaries.whereEqualTo("isPublic", true)).thenReturn(publicSummaries);
+            when(publicSummaries.get()).thenReturn(queryTask);
+            when(queryTask.addOnSuccessListener(any(OnSuccessListener.class))).thenReturn(queryTask);
+            when(queryTask.addOnFailureListener(any(OnFailureListener.class))).thenReturn(queryTask);
+            doReturn(transactionTask).when(db).runTransaction(any(Transaction.Function.class));
+            when(transactionTask.addOnSuccessListener(any(OnSuccessListener.class))).thenReturn(transactionTask);
+            when(transactionTask.addOnFailureListener(any(OnFailureListener.class))).thenReturn(transactionTask);
+            when(transaction.get(counter)).thenReturn(counterSnapshot);
+            when(transaction.get(argThat(ref -> ref != counter))).thenReturn(reviewerSnapshot);
+            source = new ReviewCountIndex.FirestoreCountSource(db);
+        }
+
+        DocumentReference reviewer(String uid) {
+            return reviewers.computeIfAbsent(uid, key -> mock(DocumentReference.class));
+        }
+
+        /** index 番目に開始されたトランザクションを実行します */
+        Object applyTransaction(int index, boolean counterExists) throws Exception {
+            when(counterSnapshot.exists()).thenReturn(counterExists);
+            ArgumentCaptor<Transaction.Function> function = ArgumentCaptor.forClass(Transaction.Function.class);
+            verify(db, atLeast(index + 1)).runTransaction(function.capture());
+            return function.getAllValues().get(index).apply(transaction);
+        }
+
+        /** index 番目に開始されたトランザクションの成功を通知します */
+        void transactionSucceeded(int index, Object result) {
+            ArgumentCaptor<OnSuccessListener> listener = ArgumentCaptor.forClass(OnSuccessListener.class);
+            verify(transactionTask, atLeast(index + 1)).addOnSuccessListener(listener.capture());
+            listener.getAllValues().get(index).onSuccess(result);
+        }
+
+        /** 公開まとめの取得結果として、指定した投稿者のまとめを返します */
+        void summariesLoaded(String... uids) {
+            List<DocumentSnapshot> documents = new ArrayList<>();
+            for (String uid : uids) {
+                DocumentSnapshot document = mock(DocumentSnapshot.class);
+                when(document.getString("uid")).thenReturn(uid);
+                documents.add(document);
+            }
+            QuerySnapshot snapshots = mock(QuerySnapshot.class);
+            when(snapshots.getDocuments()).thenReturn(documents);
+            ArgumentCaptor<OnSuccessListener> listener = ArgumentCaptor.forClass(OnSuccessListener.class);
+            verify(queryTask).addOnSuccessListener(listener.capture());
+            listener.getValue().onSuccess(snapshots);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
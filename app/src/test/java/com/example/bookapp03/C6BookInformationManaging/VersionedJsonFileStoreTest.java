@@ -0,0 +1,107 @@
+package com.example.bookapp03.C6BookInformationManaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mockStatic;
+
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.MockedStatic;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * VersionedJsonFileStoreの単体テスト
+ * - ブラックボックス: 保存した内容が保存時刻とともに読み取れ、有効期限で期限切れと判定されることを確認
+ * - ホワイトボックス: ファイルがない・壊れている・バージョンが異なる場合に null を返すこと、
+ *   一時ファイルが残らないこと、時刻が戻された場合の扱いを検証
+ */
+public class VersionedJsonFileStoreTest {
+
+    private static final long TTL = Duration.ofHours(1).toMillis();
+    private static final Instant SAVED_AT = Instant.parse("2026-10-18T00:00:00Z");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockedStatic<Log> mockedLog;
+    private File file;
+
+    @Before
+    public void setUp() {
+        mockedLog = mockStatic(Log.class);
+        file = new File(folder.getRoot(), "store.json");
+    }
+
+    @After
+    public void tearDown() {
+        mockedLog.close();
+    }
+
+    @Test
+    public void testWriteThenRead_roundTripsPayloadAndSavedAt() {
+        storeAt(SAVED_AT, 1).write(Arrays.asList("a", "b"));
+
+        VersionedJsonFileStore.Stored<List<String>> stored = storeAt(SAVED_AT.plusSeconds(5), 1).read();
+
+        assertNotNull(stored);
+        assertEquals(Arrays.asList("a", "b"), stored.getPayload());
+        assertEquals(SAVED_AT.toEpochMilli(), stored.getSavedAtMillis());
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void testRead_otherFormatVersion_returnsNull() {
+        storeAt(SAVED_AT, 1).write(Arrays.asList("a"));
+
+        assertNull(storeAt(SAVED_AT, 2).read());
+    }
+
+    @Test
+    public void testRead_missingOrCorruptFile_returnsNull() throws Exception {
+        VersionedJsonFileStore<List<String>> sut = storeAt(SAVED_AT, 1);
+        assertNull(sut.read());
+
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write("{\"version\":1,\"items\":[");
+        }
+        assertNull(sut.read());
+
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write("{\"version\":1,\"savedAtMillis\":0}");
+        }
+        assertNull(sut.read());
+    }
+
+    @Test
+    public void testIsExpired_afterTtlOrWhenClockMovedBack() {
+        long savedAt = SAVED_AT.toEpochMilli();
+
+        assertFalse(storeAt(SAVED_AT.plusMillis(TTL - 1), 1).isExpired(savedAt, TTL));
+        assertTrue(storeAt(SAVED_AT.plusMillis(TTL), 1).isExpired(savedAt, TTL));
+        assertTrue(storeAt(SAVED_AT.minusSeconds(60), 1).isExpired(savedAt, TTL));
+    }
+
+    private VersionedJsonFileStore<List<String>> storeAt(Instant now, int formatVersion) {
+        return new VersionedJsonFileStore<>(file, new Gson(), new TypeToken<List<String>>() { }.getType(),
+                "items", formatVersion, Clock.fixed(now, ZoneOffset.UTC), "test-file");
+    }
+}
@@ -9,7 +9,11 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.example.bookapp03.C4SearchProcessing.Book;
+
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 
 /**
  * VolumeIdProviderの単体テスト
@@ -68,4 +72,22 @@ public class VolumeIdProviderTest {
         String id = VolumeIdProvider.fetchVolumeId("dummy");
         assertEquals("", id);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAuthorsOf_keepsAllAuthors() {
+        Book book = new Book();
+        book.setAuthor("Author A");
+        book.setAuthors(Arrays.asList("Author A", "Author B"));
+
+        assertEquals(Arrays.asList("Author A", "Author B"), VolumeIdProvider.authorsOf(book));
+    }
+
+    @Test
+    public void testAuthorsOf_withoutList_fallsBackToAuthor() {
+        Book book = new Book();
+        book.setAuthor("Author A");
+
+        assertEquals(Collections.singletonList("Author A"), VolumeIdProvider.authorsOf(book));
+        assertEquals(Collections.emptyList(), VolumeIdProvider.authorsOf(new Book()));
+    }
+}
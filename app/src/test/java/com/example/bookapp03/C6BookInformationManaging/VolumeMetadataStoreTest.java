@@ -0,0 +1,100 @@
+package com.example.bookapp03.C6BookInformationManaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.bookapp03.C6BookInformationManaging.database.VolumeMetadataDao;
+import com.example.bookapp03.C6BookInformationManaging.database.VolumeMetadataEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * VolumeMetadataStoreの単体テスト
+ * - ブラックボックス: メモリ／DB／API の順に解決されることを検証
+ * - ホワイトボックス: TTL 内は API を再度呼び出さないこと、期限切れ時に再取得することを検証
+ */
+public class VolumeMetadataStoreTest {
+    private static final long TTL = 60_000L;
+
+    private VolumeMetadataDao mockDao;
+    private MockedStatic<VolumeIdProvider> providerStatic;
+    private VolumeMetadataStore sut;
+
+    @Before
+    public void setUp() {
+        mockDao = mock(VolumeMetadataDao.class);
+        providerStatic = Mockito.mockStatic(VolumeIdProvider.class);
+        sut = new VolumeMetadataStore(mockDao, 16, TTL);
+    }
+
+    @After
+    public void tearDown() {
+        providerStatic.close();
+    }
+
+    @Test
+    public void testGet_fetchesOnceThenServesFromMemory() {
+        VolumeMetadataEntity fetched = new VolumeMetadataEntity(
+                "v1", "title", Collections.singletonList("a"), "url", null, System.currentTimeMillis());
+        providerStatic.when(() -> VolumeIdProvider.fetchVolumeMetadata("v1")).thenReturn(fetched);
+
+        assertSame(fetched, sut.get("v1"));
+        assertSame(fetched, sut.get("v1"));
+
+        providerStatic.verify(() -> VolumeIdProvider.fetchVolumeMetadata("v1"), times(1));
+        verify(mockDao).upsert(fetched);
+    }
+
+    @Test
+    public void testGet_freshDbRow_noNetwork() {
+        VolumeMetadataEntity stored = new VolumeMetadataEntity(
+                "v2", "stored", null, "url", null, System.currentTimeMillis());
+        when(mockDao.get("v2")).thenReturn(stored);
+
+        assertSame(stored, sut.get("v2"));
+        providerStatic.verify(() -> VolumeIdProvider.fetchVolumeMetadata(any()), never());
+    }
+
+    @Test
+    public void testGet_expiredDbRow_refetches() {
+        VolumeMetadataEntity expired = new VolumeMetadataEntity(
+                "v3", "old", null, "url", null, System.currentTimeMillis() - TTL * 2);
+        VolumeMetadataEntity fresh = new VolumeMetadataEntity(
+                "v3", "new", null, "url", null, System.currentTimeMillis());
+        when(mockDao.get("v3")).thenReturn(expired);
+        providerStatic.when(() -> VolumeIdProvider.fetchVolumeMetadata("v3")).thenReturn(fresh);
+
+        assertEquals("new", sut.get("v3").title);
+    }
+
+    @Test
+    public void testGetAll_singleDbQueryAndFetchOnlyMisses() {
+        long now = System.currentTimeMillis();
+        VolumeMetadataEntity stored = new VolumeMetadataEntity("a", "A", null, null, null, now);
+        VolumeMetadataEntity fetched = new VolumeMetadataEntity("b", "B", null, null, null, now);
+        when(mockDao.getAll(anyList())).thenReturn(Collections.singletonList(stored));
+        providerStatic.when(() -> VolumeIdProvider.fetchVolumeMetadata("b")).thenReturn(fetched);
+
+        Map<String, VolumeMetadataEntity> result = sut.getAll(Arrays.asList("a", "b"));
+
+        assertEquals(2, result.size());
+        verify(mockDao, times(1)).getAll(Arrays.asList("a", "b"));
+        providerStatic.verify(() -> VolumeIdProvider.fetchVolumeMetadata("a"), never());
+        providerStatic.verify(() -> VolumeIdProvider.fetchVolumeMetadata("b"), times(1));
+    }
+}
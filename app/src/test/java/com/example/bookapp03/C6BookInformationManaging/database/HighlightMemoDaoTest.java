@@ -5,6 +5,8 @@ import static org.junit.Assert.*;
 import androidx.room.Room;
 import androidx.test.core.app.ApplicationProvider;
 
+import com.example.bookapp03.C1UIProcessing.HighlightMemoData;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -17,6 +19,7 @@ import java.util.List;
  * HighlightMemoDaoの単体テスト
  * - ブラックボックス: insert/getByUserAndVolume/delete/deleteAll の動作検証
  * - ホワイトボックス: リストサイズや戻り値を検証
+ * - ページ単位の取得: ページ・行・登録順で、前のページの最後のメモの直後から取得されることを検証
  */
 @RunWith(RobolectricTestRunner.class)
 public class HighlightMemoDaoTest {
@@ -70,4 +73,46 @@ public class HighlightMemoDaoTest {
         List<HighlightMemoEntity> empty = dao.getByUserAndVolume("uidC", "volC");
         assertTrue(empty.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetByUserAndVolume_orderedByPageLineAndId() {
+        dao.insert(new HighlightMemoEntity("uidD", "volD", 3, 1, "c"));
+        dao.insert(new HighlightMemoEntity("uidD", "volD", 1, 5, "b"));
+        dao.insert(new HighlightMemoEntity("uidD", "volD", 1, 2, "a"));
+
+        List<HighlightMemoEntity> list = dao.getByUserAndVolume("uidD", "volD");
+        assertEquals("a", list.get(0).memo);
+        assertEquals("b", list.get(1).memo);
+        assertEquals("c", list.get(2).memo);
+        assertTrue(list.get(0).createdAt > 0);
+    }
+
+    @Test
+    public void testGetPage_walksAllMemosWithoutGapsOrDuplicates() {
+        // 同じページ・行のメモを含めて登録順を入れ替えて挿入する
+        dao.insert(new HighlightMemoEntity("uidE", "volE", 2, 1, "p2l1"));
+        dao.insert(new HighlightMemoEntity("uidE", "volE", 1, 3, "p1l3-first"));
+        dao.insert(new HighlightMemoEntity("uidE", "volE", 1, 1, "p1l1"));
+        dao.insert(new HighlightMemoEntity("uidE", "volE", 1, 3, "p1l3-second"));
+        dao.insert(new HighlightMemoEntity("uidE", "volE", 4, 2, "p4l2"));
+        dao.insert(new HighlightMemoEntity("uidX", "volE", 1, 2, "other user"));
+
+        List<HighlightMemoData> first = dao.getPage("uidE", "volE", null, 2);
+        assertEquals(2, first.size());
+        assertEquals("p1l1", first.get(0).getMemo());
+        assertEquals("p1l3-first", first.get(1).getMemo());
+
+        List<HighlightMemoData> second = dao.getPage("uidE", "volE", first.get(1), 2);
+        assertEquals(2, second.size());
+        assertEquals("p1l3-second", second.get(0).getMemo());
+        assertEquals("p2l1", second.get(1).getMemo());
+
+        List<HighlightMemoData> third = dao.getPage("uidE", "volE", second.get(1), 2);
+        assertEquals(1, third.size());
+        assertEquals("p4l2", third.get(0).getMemo());
+        assertEquals(4, third.get(0).getPage());
+        assertEquals(2, third.get(0).getLine());
+
+        assertTrue(dao.getPage("uidE", "volE", third.get(0), 2).isEmpty());
+    }
+}
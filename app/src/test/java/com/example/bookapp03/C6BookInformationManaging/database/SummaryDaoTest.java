@@ -76,4 +76,20 @@ public class SummaryDaoTest {
         SummaryEntity loaded = dao.getSummary("uid3", "vol3");
         assertNull(loaded);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testUpdateBookInfo_keepsSummaryAndPublicFlag() {
+        dao.insert(new SummaryEntity("uid4", "vol4", "text", true));
+
+        int count = dao.updateBookInfo("uid4", "vol4", "title", "author", "url");
+        assertEquals(1, count);
+
+        SummaryEntity loaded = dao.getSummary("uid4", "vol4");
+        assertEquals("title", loaded.title);
+        assertEquals("author", loaded.author);
+        assertEquals("url", loaded.coverImageUrl);
+        assertEquals("text", loaded.overallSummary);
+        assertTrue(loaded.isPublic);
+        assertTrue(loaded.hasBookInfo());
+    }
+}
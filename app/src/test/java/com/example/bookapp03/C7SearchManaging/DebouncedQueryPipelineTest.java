@@ -0,0 +1,144 @@
+package com.example.bookapp03.C7SearchManaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DebouncedQueryPipelineの単体テスト
+ * - ブラックボックス: 連続入力が待ち時間経過後の1回の検索にまとめられ、最新の入力の結果のみ通知されることを確認
+ * - ホワイトボックス: 新しい入力で送信中の検索が取り消されること、短い入力・同一入力・失敗後の同一入力・cancel 後の扱いを検証
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 29)
+public class DebouncedQueryPipelineTest {
+
+    private static final long DEBOUNCE = DebouncedQueryPipeline.DEFAULT_DEBOUNCE_MILLIS;
+
+    private final List<String> fetched = new ArrayList<>();
+    private final List<Integer> cancelled = new ArrayList<>();
+    private final List<DebouncedQueryPipeline.ResultCallback<String>> callbacks = new ArrayList<>();
+    private final List<String> delivered = new ArrayList<>();
+    private DebouncedQueryPipeline<String> sut;
+
+    @Before
+    public void setUp() {
+        DebouncedQueryPipeline.Fetcher<String> fetcher = (query, callback) -> {
+            int index = fetched.size();
+            fetched.add(query);
+            callbacks.add(callback);
+            return () -> cancelled.add(index);
+        };
+        sut = new DebouncedQueryPipeline<>(new Handler(Looper.getMainLooper()), fetcher,
+                new DebouncedQueryPipeline.Listener<String>() {
+                    @Override
+                    public void onResult(String query, String result) {
+                        delivered.add(query + "=" + result);
+                    }
+
+                    @Override
+                    public void onFailure(String query, String errorMessage) {
+                        delivered.add(query + "!" + errorMessage);
+                    }
+
+                    @Override
+                    public void onCleared() {
+                        delivered.add("cleared");
+                    }
+                });
+    }
+
+    @Test
+    public void testSubmit_rapidTyping_fetchesOnceAfterDebounce() {
+        sut.submit("ha");
+        idle(DEBOUNCE / 2);
+        sut.submit("har");
+        idle(DEBOUNCE / 2);
+        sut.submit("harr");
+
+        assertTrue(fetched.isEmpty());
+        idle(DEBOUNCE);
+        assertEquals(List.of("harr"), fetched);
+    }
+
+    @Test
+    public void testSubmit_newerQuery_cancelsOutstandingAndDropsStaleResult() {
+        sut.submit("ha");
+        idle(DEBOUNCE);
+        sut.submit("harry");
+        idle(DEBOUNCE);
+
+        assertEquals(List.of("ha", "harry"), fetched);
+        assertEquals(List.of(0), cancelled);
+
+        // 取り消し後に古い結果が届いても通知しない
+        callbacks.get(0).onResult("old");
+        callbacks.get(1).onResult("new");
+        idle(0);
+        assertEquals(List.of("harry=new"), delivered);
+    }
+
+    @Test
+    public void testSubmit_shortOrSameQuery_doesNotFetch() {
+        sut.submit("h");
+        sut.submit("  ha ");
+        idle(DEBOUNCE);
+        sut.submit("ha");
+        idle(DEBOUNCE);
+
+        assertEquals(List.of("ha"), fetched);
+
+        sut.submit("h");
+        assertEquals(List.of("cleared"), delivered);
+        assertEquals(List.of(0), cancelled);
+    }
+
+    @Test
+    public void testSubmit_sameQueryAfterFailure_fetchesAgain() {
+        sut.submit("ha");
+        idle(DEBOUNCE);
+        callbacks.get(0).onFailure("offline");
+        idle(0);
+
+        sut.submit("ha");
+        idle(DEBOUNCE);
+        callbacks.get(1).onResult("ok");
+        idle(0);
+        sut.submit("ha");
+        idle(DEBOUNCE);
+
+        assertEquals(List.of("ha", "ha"), fetched);
+        assertEquals(List.of("ha!offline", "ha=ok"), delivered);
+    }
+
+    @Test
+    public void testCancel_dropsPendingAndOutstanding() {
+        sut.submit("ha");
+        idle(DEBOUNCE);
+        sut.submit("harry");
+        sut.cancel();
+        idle(DEBOUNCE);
+
+        assertEquals(List.of("ha"), fetched);
+        callbacks.get(0).onFailure("error");
+        idle(0);
+        assertTrue(delivered.isEmpty());
+    }
+
+    private static void idle(long millis) {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(millis));
+    }
+}
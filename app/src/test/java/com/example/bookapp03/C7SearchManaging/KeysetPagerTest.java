@@ -0,0 +1,184 @@
+package com.example.bookapp03.C7SearchManaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * KeysetPagerの単体テスト
+ * - ブラックボックス: 末尾に近づいたときだけ前のページの最後のカーソルから次のページを読み込むことを確認
+ * - ホワイトボックス: 読み込み中の重複要求、最終ページの判定、先頭ページの置き換えと失敗時の再試行を検証
+ * - ホワイトボックス: 先頭ページの変更の反映で読み込み済みのページ・カーソル・読み込み中の処理が保たれることを検証
+ */
+public class KeysetPagerTest {
+
+    private static final int PAGE_SIZE = 3;
+    private static final int PREFETCH_DISTANCE = 1;
+
+    /** fetchAfter に渡されたカーソル */
+    private final List<Integer> requestedCursors = new ArrayList<>();
+    /** 結果を返していない読み込み */
+    private final List<KeysetPager.PageCallback<Integer, Integer>> pending = new ArrayList<>();
+    private List<Integer> shown;
+    private int changeCount;
+    private int failureCount;
+
+    private KeysetPager<Integer, Integer> sut;
+
+    @Before
+    public void setUp() {
+        sut = new KeysetPager<>(
+                (cursor, limit, callback) -> {
+                    assertEquals(PAGE_SIZE, limit);
+                    requestedCursors.add(cursor);
+                    pending.add(callback);
+                },
+                new KeysetPager.Listener<Integer>() {
+                    @Override
+                    public void onItemsChanged(List<Integer> items) {
+                        shown = items;
+                        changeCount++;
+                    }
+
+                    @Override
+                    public void onLoadFailed(Exception e) {
+                        failureCount++;
+                    }
+                },
+                PAGE_SIZE, PREFETCH_DISTANCE);
+    }
+
+    @Test
+    public void testOnScrolled_withinPrefetchDistance_loadsAfterLastCursor() {
+        sut.setFirstPage(Arrays.asList(1, 2, 3), 3);
+
+        sut.onScrolled(0);
+        assertTrue(requestedCursors.isEmpty());
+
+        sut.onScrolled(1);
+        sut.onScrolled(2);
+        assertEquals(Arrays.asList(3), requestedCursors);
+        assertTrue(sut.isLoading());
+
+        pending.get(0).onPage(Arrays.asList(4, 5, 6), 6);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), shown);
+
+        sut.onScrolled(4);
+        assertEquals(Arrays.asList(3, 6), requestedCursors);
+    }
+
+    @Test
+    public void testShortPage_marksEndReached() {
+        sut.setFirstPage(Arrays.asList(1, 2), 2);
+
+        sut.onScrolled(1);
+
+        assertTrue(sut.isEndReached());
+        assertTrue(requestedCursors.isEmpty());
+
+        sut.setFirstPage(Arrays.asList(1, 2, 3), 3);
+        sut.onScrolled(2);
+        pending.get(0).onPage(Arrays.asList(4), 4);
+        sut.onScrolled(3);
+
+        assertTrue(sut.isEndReached());
+        assertEquals(1, requestedCursors.size());
+    }
+
+    @Test
+    public void testSetFirstPage_discardsLoadStartedBeforeReplacement() {
+        sut.setFirstPage(Arrays.asList(1, 2, 3), 3);
+        sut.onScrolled(2);
+
+        sut.setFirstPage(Arrays.asList(0, 1, 2), 2);
+        assertFalse(sut.isLoading());
+        pending.get(0).onPage(Arrays.asList(4, 5, 6), 6);
+
+        assertEquals(Arrays.asList(0, 1, 2), shown);
+        sut.onScrolled(2);
+        assertEquals(Arrays.asList(3, 2), requestedCursors);
+    }
+
+    @Test
+    public void testFailure_allowsRetryOnNextScroll() {
+        sut.setFirstPage(Arrays.asList(1, 2, 3), 3);
+        sut.onScrolled(2);
+
+        pending.get(0).onFailure(new Exception("offline"));
+
+        assertEquals(1, failureCount);
+        assertFalse(sut.isLoading());
+        sut.onScrolled(2);
+        assertEquals(Arrays.asList(3, 3), requestedCursors);
+    }
+
+    @Test
+    public void testMergeFirstPage_unchangedPage_keepsLoadedPagesWithoutNotifying() {
+        loadTwoPages();
+        int changes = changeCount;
+
+        sut.mergeFirstPage(Arrays.asList(1, 2, 3), 3, Comparator.naturalOrder());
+
+        assertEquals(changes, changeCount);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), sut.getItems());
+    }
+
+    @Test
+    public void testMergeFirstPage_insertedItem_keepsPushedOutItemAndCursor() {
+        loadTwoPages();
+
+        sut.mergeFirstPage(Arrays.asList(0, 1, 2), 2, Comparator.naturalOrder());
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6), shown);
+        sut.onScrolled(6);
+        assertEquals(Arrays.asList(3, 6), requestedCursors);
+    }
+
+    @Test
+    public void testMergeFirstPage_deletedItem_removedAndLaterPagesKept() {
+        loadTwoPages();
+
+        sut.mergeFirstPage(Arrays.asList(1, 3, 4), 4, Comparator.naturalOrder());
+
+        assertEquals(Arrays.asList(1, 3, 4, 5, 6), shown);
+    }
+
+    @Test
+    public void testMergeFirstPage_duringLoad_keepsLoadResult() {
+        sut.setFirstPage(Arrays.asList(1, 2, 3), 3);
+        sut.onScrolled(2);
+
+        sut.mergeFirstPage(Arrays.asList(0, 1, 2), 2, Comparator.naturalOrder());
+        assertTrue(sut.isLoading());
+        pending.get(0).onPage(Arrays.asList(4, 5, 6), 6);
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6), shown);
+    }
+
+    @Test
+    public void testMergeFirstPage_shortPage_replacesAllItems() {
+        loadTwoPages();
+
+        sut.mergeFirstPage(Arrays.asList(1, 2), 2, Comparator.naturalOrder());
+
+        assertEquals(Arrays.asList(1, 2), shown);
+        assertTrue(sut.isEndReached());
+    }
+
+    /**
+     * 先頭ページと2ページ目（1〜6）を読み込む
+     */
+    private void loadTwoPages() {
+        sut.setFirstPage(Arrays.asList(1, 2, 3), 3);
+        sut.onScrolled(2);
+        pending.get(0).onPage(Arrays.asList(4, 5, 6), 6);
+    }
+}
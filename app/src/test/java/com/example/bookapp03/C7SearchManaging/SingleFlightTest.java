@@ -0,0 +1,177 @@
+package com.example.bookapp03.C7SearchManaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SingleFlightの単体テスト
+ * - ブラックボックス: 同一キーの同時呼び出しが1回の実行にまとめられ、全リスナーに結果が届くことを確認
+ * - ホワイトボックス: 完了後の再呼び出しは新たに実行されること、失敗も全リスナーに届くこと、
+ *   取り消した呼び出しには通知されず、全員が取り消した場合のみ処理が中断されることを検証
+ */
+public class SingleFlightTest {
+
+    private ExecutorService executor;
+    private SingleFlight<String> sut;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        sut = new SingleFlight<>();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testExecute_sameKeyInFlight_loadsOnceAndFansOut() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        AtomicInteger loads = new AtomicInteger();
+        List<String> results = new CopyOnWriteArrayList<>();
+        SingleFlight.Loader<String> loader = cancellation -> {
+            loads.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return "result";
+        };
+
+        for (int i = 0; i < 3; i++) {
+            sut.execute("q", executor, loader, new RecordingListener(results, done));
+        }
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(3, results.size());
+        assertEquals(1, sut.getExecutedCount());
+        assertEquals(2, sut.getCoalescedCount());
+    }
+
+    @Test
+    public void testExecute_afterCompletion_loadsAgain() throws Exception {
+        List<String> results = new CopyOnWriteArrayList<>();
+        CountDownLatch first = new CountDownLatch(1);
+        sut.execute("q", executor, cancellation -> "a", new RecordingListener(results, first));
+        assertTrue(first.await(5, TimeUnit.SECONDS));
+
+        CountDownLatch second = new CountDownLatch(1);
+        sut.execute("q", executor, cancellation -> "b", new RecordingListener(results, second));
+        assertTrue(second.await(5, TimeUnit.SECONDS));
+
+        assertEquals(2, sut.getExecutedCount());
+        assertEquals(0, sut.getCoalescedCount());
+    }
+
+    @Test
+    public void testExecute_failure_notifiesAllWaiters() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        List<String> results = new CopyOnWriteArrayList<>();
+        SingleFlight.Loader<String> loader = cancellation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("boom");
+        };
+
+        sut.execute("q", executor, loader, new RecordingListener(results, done));
+        sut.execute("q", executor, loader, new RecordingListener(results, done));
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(2, results.size());
+        assertEquals("error:boom", results.get(0));
+    }
+
+    @Test
+    public void testCancel_oneOfTwoWaiters_otherStillReceivesResult() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        List<String> cancelledResults = new CopyOnWriteArrayList<>();
+        List<String> results = new CopyOnWriteArrayList<>();
+        SingleFlight.Loader<String> loader = cancellation -> {
+            cancellation.setOnCancel(() -> interrupted.set(true));
+            release.await(5, TimeUnit.SECONDS);
+            return "result";
+        };
+
+        SingleFlight.Cancellable first = sut.execute("q", executor, loader,
+                new RecordingListener(cancelledResults, new CountDownLatch(1)));
+        sut.execute("q", executor, loader, new RecordingListener(results, done));
+        first.cancel();
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, results.size());
+        assertTrue(cancelledResults.isEmpty());
+        assertFalse(interrupted.get());
+        assertEquals(0, sut.getCancelledCount());
+    }
+
+    @Test
+    public void testCancel_allWaiters_interruptsLoadAndNextCallRunsAgain() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        List<String> cancelledResults = new CopyOnWriteArrayList<>();
+        SingleFlight.Loader<String> blocking = cancellation -> {
+            cancellation.setOnCancel(interrupted::countDown);
+            started.countDown();
+            interrupted.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("canceled");
+        };
+
+        SingleFlight.Cancellable handle = sut.execute("q", executor, blocking,
+                new RecordingListener(cancelledResults, new CountDownLatch(1)));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        handle.cancel();
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+
+        // 中断した処理には合流せず、新たに実行される
+        List<String> results = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        sut.execute("q", executor, cancellation -> "fresh", new RecordingListener(results, done));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("fresh", results.get(0));
+        assertTrue(cancelledResults.isEmpty());
+        assertEquals(2, sut.getExecutedCount());
+        assertEquals(1, sut.getCancelledCount());
+    }
+
+    private static final class RecordingListener implements SingleFlight.Listener<String> {
+        private final List<String> results;
+        private final CountDownLatch latch;
+
+        RecordingListener(List<String> results, CountDownLatch latch) {
+            this.results = results;
+            this.latch = latch;
+        }
+
+        @Override
+        public void onSuccess(String result) {
+            results.add(result);
+            latch.countDown();
+        }
+
+        @Override
+        public void onFailure(Exception error) {
+            results.add("error:" + error.getMessage());
+            latch.countDown();
+        }
+    }
+}
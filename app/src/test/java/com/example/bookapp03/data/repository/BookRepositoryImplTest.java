@@ -5,12 +5,13 @@ import android.content.Context;
 import com.example.bookapp03.C6BookInformationManaging.BookRepositoryImpl;
 import com.example.bookapp03.C6BookInformationManaging.RegisterHighlightMemo;
 import com.example.bookapp03.C6BookInformationManaging.RegisterSummary;
-import com.example.bookapp03.C6BookInformationManaging.VolumeIdProvider; // 静的メソッドを含みます
+import com.example.bookapp03.C6BookInformationManaging.VolumeMetadataStore;
 import com.example.bookapp03.C6BookInformationManaging.database.BookInformationDatabase; // 静的メソッドを含みます
 import com.example.bookapp03.C6BookInformationManaging.database.HighlightMemoDao;
 import com.example.bookapp03.C6BookInformationManaging.database.HighlightMemoEntity;
 import com.example.bookapp03.C6BookInformationManaging.database.SummaryDao;
 import com.example.bookapp03.C6BookInformationManaging.database.SummaryEntity;
+import com.example.bookapp03.C6BookInformationManaging.database.VolumeMetadataEntity;
 import com.example.bookapp03.C3BookInformationProcessing.BookDetailData;
 import com.example.bookapp03.C3BookInformationProcessing.BookSummaryData;
 import com.example.bookapp03.C1UIProcessing.HighlightMemoData;
@@ -23,7 +24,9 @@ import org.mockito.MockedStatic; // staticメソッドをモックするため
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Future;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors; // 本来はテスト用にExecutorServiceをモックするか、同期Executorを使うべき
@@ -65,6 +68,8 @@ public class BookRepositoryImplTest {
     RegisterHighlightMemo mockRegisterHighlightMemo;
     @Mock
     BookInformationDatabase mockBookInformationDatabase; // staticメソッドgetDatabase()の戻り値として利用
+    @Mock
+    VolumeMetadataStore mockVolumeMetadataStore;
 
     // テスト対象のインスタンス
     private BookRepositoryImpl bookRepository;
@@ -101,7 +106,7 @@ public class BookRepositoryImplTest {
             // 実際には RegisterSummary と RegisterHighlightMemo も new で作られますが、
             // その内部メソッドの挙動は別途モックすることでテストします。
             // 本来は依存性注入 (DI) を利用して、これらのインスタンスも外部から注入できるように設計すべきです。
-            bookRepository = new BookRepositoryImpl(mockContext);
+            bookRepository = new BookRepositoryImpl(mockContext, mockVolumeMetadataStore);
 
             // BookRepositoryImpl の内部で生成される RegisterSummary/HighlightMemo インスタンスの代わりに、
             // @Mock で作成したモックを使用できるように、BookRepositoryImpl の内部状態を（テストのために）設定します。
@@ -147,7 +152,7 @@ public class BookRepositoryImplTest {
 
     @Test
     public void testGetAllBookSummaries_success() throws Exception {
-        // GIVEN:
+        // GIVEN: 書籍情報が未保存の行（旧バージョンで登録された行）
         String uid = "user123";
         SummaryEntity entity1 = new SummaryEntity(uid, "vol1", "Summary 1", true);
         SummaryEntity entity2 = new SummaryEntity(uid, "vol2", "Summary 2", false);
@@ -156,41 +161,88 @@ public class BookRepositoryImplTest {
         // mockSummaryDao.getAllSummariesByUser() が特定の値を返すように設定
         when(mockSummaryDao.getAllSummariesByUser(uid)).thenReturn(entities);
 
-        // VolumeIdProvider.fetchBookName と fetchCoverImageUrl の静的メソッドをモック
-        // 【重要】これらの静的メソッドをモックするには `mockito-inline` が必須です。
-        try (MockedStatic<VolumeIdProvider> mockedVolumeIdProvider = mockStatic(VolumeIdProvider.class)) {
-            mockedVolumeIdProvider.when(() -> VolumeIdProvider.fetchBookName("vol1")).thenReturn("Book One");
-            mockedVolumeIdProvider.when(() -> VolumeIdProvider.fetchCoverImageUrl("vol1")).thenReturn("url1");
-            mockedVolumeIdProvider.when(() -> VolumeIdProvider.fetchBookName("vol2")).thenReturn("Book Two");
-            mockedVolumeIdProvider.when(() -> VolumeIdProvider.fetchCoverImageUrl("vol2")).thenReturn("url2");
-
-            // WHEN:
-            Future<List<BookSummaryData>> futureSummaries = bookRepository.getAllBookSummaries(uid);
-            List<BookSummaryData> result = futureSummaries.get(); // 非同期処理の結果を取得
-
-            // THEN:
-            assertNotNull(result);
-            assertEquals(2, result.size());
-
-            BookSummaryData summary1 = result.get(0);
-            assertEquals("vol1", summary1.getVolumeId());
-            assertEquals("Book One", summary1.getTitle());
-            assertEquals("url1", summary1.getImageUrl());
-            assertTrue(summary1.isPublic());
-
-            BookSummaryData summary2 = result.get(1);
-            assertEquals("vol2", summary2.getVolumeId());
-            assertEquals("Book Two", summary2.getTitle());
-            assertEquals("url2", summary2.getImageUrl());
-            assertFalse(summary2.isPublic());
-
-            // 依存関係が正しく呼び出されたことを検証
-            verify(mockSummaryDao).getAllSummariesByUser(uid);
-            mockedVolumeIdProvider.verify(() -> VolumeIdProvider.fetchBookName("vol1"));
-            mockedVolumeIdProvider.verify(() -> VolumeIdProvider.fetchCoverImageUrl("vol1"));
-            mockedVolumeIdProvider.verify(() -> VolumeIdProvider.fetchBookName("vol2"));
-            mockedVolumeIdProvider.verify(() -> VolumeIdProvider.fetchCoverImageUrl("vol2"));
-        }
+        // WHEN:
+        Future<List<BookSummaryData>> futureSummaries = bookRepository.getAllBookSummaries(uid);
+        List<BookSummaryData> result = futureSummaries.get(); // 非同期処理の結果を取得
+
+        // THEN: メタデータを待たずにプレースホルダ行として返される
+        assertNotNull(result);
+        assertEquals(2, result.size());
+
+        BookSummaryData summary1 = result.get(0);
+        assertEquals("vol1", summary1.getVolumeId());
+        assertEquals("", summary1.getTitle());
+        assertTrue(summary1.needsHydration());
+        assertTrue(summary1.isPublic());
+
+        BookSummaryData summary2 = result.get(1);
+        assertEquals("vol2", summary2.getVolumeId());
+        assertTrue(summary2.needsHydration());
+        assertFalse(summary2.isPublic());
+
+        // 依存関係が正しく呼び出されたことを検証
+        verify(mockSummaryDao).getAllSummariesByUser(uid);
+        verifyNoInteractions(mockVolumeMetadataStore);
+    }
+
+    @Test
+    public void testHydrateBookSummaries_fetchesOnlyRequestedMissingRows() throws Exception {
+        // GIVEN: 表示範囲の2行のうち1行は補完済み
+        String uid = "user123";
+        SummaryEntity legacy = new SummaryEntity(uid, "vol1", "Summary 1", true);
+        SummaryEntity stored = new SummaryEntity(uid, "vol2", "Summary 2", false, "Book Two", null, "url2");
+        when(mockSummaryDao.getSummariesByVolumeIds(uid, Arrays.asList("vol1", "vol2")))
+                .thenReturn(Arrays.asList(legacy, stored));
+        Map<String, VolumeMetadataEntity> metadata = new HashMap<>();
+        metadata.put("vol1", new VolumeMetadataEntity("vol1", "Book One", null, "url1", null, 0L));
+        when(mockVolumeMetadataStore.getAll(Arrays.asList("vol1"))).thenReturn(metadata);
+
+        // WHEN:
+        List<BookSummaryData> result = bookRepository.hydrateBookSummaries(uid, Arrays.asList("vol1", "vol2")).get();
+
+        // THEN: 未保存の行のみメタデータを解決し、SummaryEntityに書き戻す
+        assertEquals(2, result.size());
+        verify(mockVolumeMetadataStore).getAll(Arrays.asList("vol1"));
+        verify(mockSummaryDao).updateBookInfo(uid, "vol1", "Book One", null, "url1");
+        verify(mockSummaryDao, never()).updateBookInfo(eq(uid), eq("vol2"), any(), any(), any());
+    }
+
+    @Test
+    public void testGetAllBookSummaries_denormalizedRows_noMetadataLookup() throws Exception {
+        // GIVEN: 登録時に書籍情報が保存済みの行
+        String uid = "userDenorm";
+        SummaryEntity entity = new SummaryEntity(uid, "vol1", "Summary", true, "Stored Title", "Author", "stored-url");
+        when(mockSummaryDao.getAllSummariesByUser(uid)).thenReturn(Arrays.asList(entity));
+
+        // WHEN:
+        List<BookSummaryData> result = bookRepository.getAllBookSummaries(uid).get();
+
+        // THEN: SQLの結果のみで一覧が構築され、メタデータストアは参照されない
+        assertEquals(1, result.size());
+        assertEquals("Stored Title", result.get(0).getTitle());
+        assertEquals("stored-url", result.get(0).getImageUrl());
+        verifyNoInteractions(mockVolumeMetadataStore);
+    }
+
+    @Test
+    public void testHydrateBookSummaries_coverlessRowNotRefetched() throws Exception {
+        // GIVEN: タイトルは保存済みだが表紙のない書籍
+        String uid = "userNoCover";
+        SummaryEntity coverless = new SummaryEntity(uid, "vol1", "Summary", true, "No Cover", "Author", null);
+        when(mockSummaryDao.getSummariesByVolumeIds(uid, Arrays.asList("vol1")))
+                .thenReturn(Arrays.asList(coverless));
+        when(mockSummaryDao.getAllSummariesByUser(uid)).thenReturn(Arrays.asList(coverless));
+
+        // WHEN:
+        List<BookSummaryData> listed = bookRepository.getAllBookSummaries(uid).get();
+        List<BookSummaryData> hydrated = bookRepository.hydrateBookSummaries(uid, Arrays.asList("vol1")).get();
+
+        // THEN: 補完済みとして扱われ、メタデータの再取得も書き戻しも行われない
+        assertFalse(listed.get(0).needsHydration());
+        assertEquals(1, hydrated.size());
+        assertEquals("No Cover", hydrated.get(0).getTitle());
+        verifyNoInteractions(mockVolumeMetadataStore);
+        verify(mockSummaryDao, never()).updateBookInfo(any(), any(), any(), any(), any());
     }
 
     @Test
@@ -218,28 +270,25 @@ public class BookRepositoryImplTest {
 
         when(mockSummaryDao.getSummary(uid, volumeId)).thenReturn(summaryEntity);
 
-        // VolumeIdProvider の静的メソッドをモック
-        try (MockedStatic<VolumeIdProvider> mockedVolumeIdProvider = mockStatic(VolumeIdProvider.class)) {
-            mockedVolumeIdProvider.when(() -> VolumeIdProvider.fetchBookName(volumeId)).thenReturn("Detailed Book Name");
-            mockedVolumeIdProvider.when(() -> VolumeIdProvider.fetchCoverImageUrl(volumeId)).thenReturn("http://detail.cover.url");
-
-            // WHEN:
-            Future<BookDetailData> futureDetail = bookRepository.getBookDetail(uid, volumeId);
-            BookDetailData result = futureDetail.get();
-
-            // THEN:
-            assertNotNull(result);
-            assertEquals(volumeId, result.getVolumeId());
-            assertEquals("Detailed Book Name", result.getName());
-            assertEquals("Overall Summary Content", result.getSummary());
-            assertEquals("http://detail.cover.url", result.getCoverImageUrl());
-            assertEquals("public", result.getPublicStatus());
-
-            // 依存関係が正しく呼び出されたことを検証
-            verify(mockSummaryDao).getSummary(uid, volumeId);
-            mockedVolumeIdProvider.verify(() -> VolumeIdProvider.fetchBookName(volumeId));
-            mockedVolumeIdProvider.verify(() -> VolumeIdProvider.fetchCoverImageUrl(volumeId));
-        }
+        // 書籍メタデータはストアから解決される
+        when(mockVolumeMetadataStore.get(volumeId)).thenReturn(
+                new VolumeMetadataEntity(volumeId, "Detailed Book Name", null, "http://detail.cover.url", null, 0L));
+
+        // WHEN:
+        Future<BookDetailData> futureDetail = bookRepository.getBookDetail(uid, volumeId);
+        BookDetailData result = futureDetail.get();
+
+        // THEN:
+        assertNotNull(result);
+        assertEquals(volumeId, result.getVolumeId());
+        assertEquals("Detailed Book Name", result.getName());
+        assertEquals("Overall Summary Content", result.getSummary());
+        assertEquals("http://detail.cover.url", result.getCoverImageUrl());
+        assertEquals("public", result.getPublicStatus());
+
+        // 依存関係が正しく呼び出されたことを検証
+        verify(mockSummaryDao).getSummary(uid, volumeId);
+        verify(mockVolumeMetadataStore).get(volumeId);
     }
 
     @Test
@@ -256,7 +305,8 @@ public class BookRepositoryImplTest {
         // THEN:
         assertNull(result); // 存在しない場合はnullが返されることを確認
         verify(mockSummaryDao).getSummary(uid, volumeId);
-        // VolumeIdProvider.fetchBookName/fetchCoverImageUrl は呼ばれないことを検証 (mockedStaticスコープの外なのでここでは検証できない)
+        // 要約が存在しない場合はメタデータを解決しない
+        verifyNoInteractions(mockVolumeMetadataStore);
     }
 
     @Test
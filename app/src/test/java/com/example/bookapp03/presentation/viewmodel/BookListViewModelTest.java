@@ -19,8 +19,8 @@ import org.robolectric.annotation.Config;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -28,8 +28,9 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -43,10 +44,6 @@ public class BookListViewModelTest {
 
     @Mock
     private BookRepository mockBookRepository;
-    @Mock
-    private Future<List<BookSummaryData>> mockBooksFuture;
-    @Mock
-    private Future<Boolean> mockUpdatePublicStatusFuture;
 
     // Log.e と Log.d をモックするためのMockedStatic
     private MockedStatic<Log> mockedLog;
@@ -81,56 +78,53 @@ public class BookListViewModelTest {
                 new BookSummaryData("id1", "Title 1", "url1"),
                 new BookSummaryData("id2", "Title 2", "url2")
         );
-        when(mockBookRepository.getAllBooks(anyString())).thenReturn(mockBooksFuture);
-        when(mockBooksFuture.get()).thenReturn(testList);
+        when(mockBookRepository.getAllBookSummaries(anyString())).thenReturn(CompletableFuture.completedFuture(testList));
 
         // When
         viewModel.loadBooks("uid");
 
         // Then
-        verify(mockBookRepository).getAllBooks(eq("uid"));
+        verify(mockBookRepository).getAllBookSummaries(eq("uid"));
         Thread.sleep(100); // 非同期処理完了を待機
         assertEquals(testList, viewModel.bookList.getValue());
         mockedLog.verify(() -> Log.e(anyString(), anyString()), never());
     }
 
     /**
-     * loadBooks: 書籍リストの取得中にExecutionExceptionが発生した場合
+     * loadBooks: 書籍リストの取得中に例外が発生した場合
      * _bookList LiveDataがnullで更新され、エラーログが出力されることをテスト
      * 命令網羅、分岐網羅
      */
     @Test
     public void loadBooks_executionException_postsNullAndLogsError() throws Exception {
         // Given
-        when(mockBookRepository.getAllBooks(anyString())).thenReturn(mockBooksFuture);
-        when(mockBooksFuture.get()).thenThrow(new ExecutionException(new Throwable("Test Exception")));
+        when(mockBookRepository.getAllBookSummaries(anyString())).thenReturn(failedFuture(new IllegalStateException("Test Exception")));
 
         // When
         viewModel.loadBooks("uid");
 
         // Then
-        verify(mockBookRepository).getAllBooks(eq("uid"));
+        verify(mockBookRepository).getAllBookSummaries(eq("uid"));
         Thread.sleep(100); // 非同期処理完了を待機
         assertEquals(null, viewModel.bookList.getValue());
         mockedLog.verify(() -> Log.e(eq("BookListViewModel"), contains("Error loading books")), times(1));
     }
 
     /**
-     * loadBooks: 書籍リストの取得中にInterruptedExceptionが発生した場合
+     * loadBooks: 書籍リストの処理がプールに受け付けられなかった場合
      * _bookList LiveDataがnullで更新され、エラーログが出力されることをテスト
      * 命令網羅、分岐網羅
      */
     @Test
-    public void loadBooks_interruptedException_postsNullAndLogsError() throws Exception {
+    public void loadBooks_rejected_postsNullAndLogsError() throws Exception {
         // Given
-        when(mockBookRepository.getAllBooks(anyString())).thenReturn(mockBooksFuture);
-        when(mockBooksFuture.get()).thenThrow(new InterruptedException("Test Interrupted"));
+        when(mockBookRepository.getAllBookSummaries(anyString())).thenReturn(failedFuture(new RejectedExecutionException("Test Rejected")));
 
         // When
         viewModel.loadBooks("uid");
 
         // Then
-        verify(mockBookRepository).getAllBooks(eq("uid"));
+        verify(mockBookRepository).getAllBookSummaries(eq("uid"));
         Thread.sleep(100); // 非同期処理完了を待機
         assertEquals(null, viewModel.bookList.getValue());
         mockedLog.verify(() -> Log.e(eq("BookListViewModel"), contains("Error loading books")), times(1));
@@ -144,8 +138,7 @@ public class BookListViewModelTest {
     public void isEmpty_emptyList_returnsTrue() throws Exception {
         // Given
         List<BookSummaryData> emptyList = new ArrayList<>();
-        when(mockBookRepository.getAllBooks(anyString())).thenReturn(mockBooksFuture);
-        when(mockBooksFuture.get()).thenReturn(emptyList);
+        when(mockBookRepository.getAllBookSummaries(anyString())).thenReturn(CompletableFuture.completedFuture(emptyList));
         viewModel.loadBooks("uid");
         Thread.sleep(100); // 非同期処理完了を待機
 
@@ -163,8 +156,7 @@ public class BookListViewModelTest {
     @Test
     public void isEmpty_nullList_returnsTrue() throws Exception {
         // Given
-        when(mockBookRepository.getAllBooks(anyString())).thenReturn(mockBooksFuture);
-        when(mockBooksFuture.get()).thenReturn(null);
+        when(mockBookRepository.getAllBookSummaries(anyString())).thenReturn(CompletableFuture.completedFuture(null));
         viewModel.loadBooks("uid");
         Thread.sleep(100); // 非同期処理完了を待機
 
@@ -183,8 +175,7 @@ public class BookListViewModelTest {
     public void isEmpty_nonEmptyList_returnsFalse() throws Exception {
         // Given
         List<BookSummaryData> nonEmptyList = Arrays.asList(new BookSummaryData("id1", "Title 1", "url1"));
-        when(mockBookRepository.getAllBooks(anyString())).thenReturn(mockBooksFuture);
-        when(mockBooksFuture.get()).thenReturn(nonEmptyList);
+        when(mockBookRepository.getAllBookSummaries(anyString())).thenReturn(CompletableFuture.completedFuture(nonEmptyList));
         viewModel.loadBooks("uid");
         Thread.sleep(100); // 非同期処理完了を待機
 
@@ -208,14 +199,11 @@ public class BookListViewModelTest {
         boolean newPublicStatus = true;
 
         when(mockBookRepository.updateBookPublicStatus(anyString(), anyString(), anyBoolean()))
-                .thenReturn(mockUpdatePublicStatusFuture);
-        when(mockUpdatePublicStatusFuture.get()).thenReturn(true); // 更新成功
+                .thenReturn(CompletableFuture.completedFuture(true)); // 更新成功
 
         // loadBooksが呼ばれた時に返される書籍リストのモック
         List<BookSummaryData> reloadedBooks = Arrays.asList(new BookSummaryData("id1", "Title 1", "url1"));
-        Future<List<BookSummaryData>> reloadedFuture = mock(Future.class);
-        when(mockBookRepository.getAllBooks(anyString())).thenReturn(reloadedFuture);
-        when(reloadedFuture.get()).thenReturn(reloadedBooks);
+        when(mockBookRepository.getAllBookSummaries(anyString())).thenReturn(CompletableFuture.completedFuture(reloadedBooks));
 
         // When
         viewModel.updatePublicStatus(uid, volumeId, newPublicStatus);
@@ -225,8 +213,8 @@ public class BookListViewModelTest {
         Thread.sleep(100); // 非同期処理完了を待機
 
         mockedLog.verify(() -> Log.d(eq("BookListViewModel"), contains("Public status updated successfully")), times(1));
-        // 更新成功後にloadBooksが呼ばれるため、getAllBooksが再度呼ばれる
-        verify(mockBookRepository, times(1)).getAllBooks(eq(uid)); // 1回目はテスト設定のため、2回目はreloadのため
+        // 更新成功後にloadBooksが呼ばれるため、getAllBookSummariesが再度呼ばれる
+        verify(mockBookRepository, times(1)).getAllBookSummaries(eq(uid)); // 1回目はテスト設定のため、2回目はreloadのため
         // loadBooksの結果がLiveDataに反映されることを検証
         Thread.sleep(100); // reload処理完了を待機
         assertEquals(reloadedBooks, viewModel.bookList.getValue());
@@ -246,8 +234,7 @@ public class BookListViewModelTest {
         boolean newPublicStatus = false;
 
         when(mockBookRepository.updateBookPublicStatus(anyString(), anyString(), anyBoolean()))
-                .thenReturn(mockUpdatePublicStatusFuture);
-        when(mockUpdatePublicStatusFuture.get()).thenReturn(false); // 更新失敗
+                .thenReturn(CompletableFuture.completedFuture(false)); // 更新失敗
 
         // When
         viewModel.updatePublicStatus(uid, volumeId, newPublicStatus);
@@ -258,11 +245,11 @@ public class BookListViewModelTest {
 
         mockedLog.verify(() -> Log.e(eq("BookListViewModel"), contains("Failed to update public status")), times(1));
         // 更新失敗の場合、loadBooksは呼ばれないことを検証
-        verify(mockBookRepository, never()).getAllBooks(anyString());
+        verify(mockBookRepository, never()).getAllBookSummaries(anyString());
     }
 
     /**
-     * updatePublicStatus: 公開ステータスの更新中にExecutionExceptionが発生した場合
+     * updatePublicStatus: 公開ステータスの更新中に例外が発生した場合
      * エラーログが出力され、書籍リストが再ロードされないことをテスト
      * 命令網羅、分岐網羅
      */
@@ -274,8 +261,7 @@ public class BookListViewModelTest {
         boolean newPublicStatus = true;
 
         when(mockBookRepository.updateBookPublicStatus(anyString(), anyString(), anyBoolean()))
-                .thenReturn(mockUpdatePublicStatusFuture);
-        when(mockUpdatePublicStatusFuture.get()).thenThrow(new ExecutionException(new Throwable("Test Exception")));
+                .thenReturn(failedFuture(new IllegalStateException("Test Exception")));
 
         // When
         viewModel.updatePublicStatus(uid, volumeId, newPublicStatus);
@@ -286,6 +272,12 @@ public class BookListViewModelTest {
 
         mockedLog.verify(() -> Log.e(eq("BookListViewModel"), contains("Error updating public status")), times(1));
         // 更新失敗の場合、loadBooksは呼ばれないことを検証
-        verify(mockBookRepository, never()).getAllBooks(anyString());
+        verify(mockBookRepository, never()).getAllBookSummaries(anyString());
+    }
+
+    private static <T> CompletableFuture<T> failedFuture(Throwable error) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+        return future;
     }
 }
\ No newline at end of file